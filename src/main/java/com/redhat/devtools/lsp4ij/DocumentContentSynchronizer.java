@@ -14,9 +14,10 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.event.DocumentEvent;
 import com.intellij.openapi.editor.event.DocumentListener;
-import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiDocumentManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.features.diagnostics.LSPPullDiagnosticsSupport;
+import com.redhat.devtools.lsp4ij.internal.DocumentEditLog;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.jetbrains.annotations.NotNull;
@@ -25,15 +26,26 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Synchronize IntelliJ document (open, content changed, close, save)
  * with LSP notifications (didOpen, didChanged, didClose, didSave).
+ *
+ * <p>
+ * The document changes are not sent one by one: they are collected (and merged when it is possible)
+ * and sent in one 'textDocument/didChange' notification after an adaptive delay which grows
+ * when the document is updated in burst (fast typing, macro, multi-caret) and shrinks when the user pauses.
+ * The pending changes are flushed before any LSP request which depends on the document
+ * (see {@link #flushDidChangeEvents()}).
+ * </p>
  */
 public class DocumentContentSynchronizer implements DocumentListener {
 
-    private static final long WAIT_AFTER_SENDING_DID_OPEN = 500L;
+    // Min/Max delay (in ms) used to batch document changes in one 'textDocument/didChange' notification.
+    private static final long MIN_DID_CHANGE_DELAY = 10L;
+    private static final long MAX_DID_CHANGE_DELAY = 200L;
 
     private final @NotNull LanguageServerWrapper languageServerWrapper;
     private final @NotNull Document document;
@@ -43,6 +55,15 @@ public class DocumentContentSynchronizer implements DocumentListener {
     private int version = 0;
     private final List<TextDocumentContentChangeEvent> changeEvents;
     @NotNull final CompletableFuture<Void> didOpenFuture;
+    private final @NotNull LSPPullDiagnosticsSupport pullDiagnosticsSupport;
+
+    // Adaptive delay used to batch document changes
+    private long didChangeDelay = MIN_DID_CHANGE_DELAY;
+    private long lastDocumentChangedTime;
+    private @Nullable ScheduledFuture<?> pendingDidChange;
+    private boolean closed;
+    // Future completed when the last 'textDocument/didChange' notification has been written in the output stream of the language server
+    private volatile @NotNull CompletableFuture<Void> lastDidChangeFuture = CompletableFuture.completedFuture(null);
 
     public DocumentContentSynchronizer(@NotNull LanguageServerWrapper languageServerWrapper,
                                        @NotNull String fileUri,
@@ -62,33 +83,27 @@ public class DocumentContentSynchronizer implements DocumentListener {
         @NotNull String languageId = languageServerWrapper.getServerDefinition().getLanguageId(file, languageServerWrapper.getProject());
         textDocument.setLanguageId(languageId);
         textDocument.setVersion(++version);
+        // The 'textDocument/didOpen' notification is sent with the dispatcher of the language server
+        // to respect the order with the other notifications (ex : 'textDocument/didChange').
+        // The future is completed when the notification has been written in the output stream of the language server,
+        // so the LSP requests which depend on the didOpen (ex : 'textDocument/codeLens') can be consumed immediately after.
         didOpenFuture = languageServerWrapper
-                .getInitializedServer()
-                .thenAcceptAsync(ls -> ls.getTextDocumentService()
-                        .didOpen(new DidOpenTextDocumentParams(textDocument)))
-                .thenCompose(result ->
-                        CompletableFuture.runAsync(() -> {
-                            if (ApplicationManager.getApplication().isUnitTestMode()) {
-                                return;
-                            }
-                            try {
-                                // Wait 500ms after sending didOpen notification
-                                // to be sure that the notification has been sent before
-                                // consuming other LSP request like 'textDocument/codeLens'.
-                                TimeUnit.MILLISECONDS.sleep(WAIT_AFTER_SENDING_DID_OPEN);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                            }
-                        })
-                );
+                .sendNotificationAndWaitForWrite(ls -> ls.getTextDocumentService()
+                        .didOpen(new DidOpenTextDocumentParams(textDocument)));
 
         // Initialize LSP change events
         changeEvents = new ArrayList<>();
+
+        // Pull the diagnostics once the document is opened in the language server
+        pullDiagnosticsSupport = new LSPPullDiagnosticsSupport(languageServerWrapper, file, fileUri);
+        didOpenFuture.thenRun(pullDiagnosticsSupport::pullDiagnostics);
     }
 
     @Override
     public void documentChanged(@NotNull DocumentEvent event) {
         DocumentListener.super.documentChanged(event);
+        // Record the change to rebase the LSP results computed for a previous version of the document
+        DocumentEditLog.getInstance(event.getDocument()).documentChanged(event);
         if (syncKind == TextDocumentSyncKind.None) {
             return;
         }
@@ -102,16 +117,69 @@ public class DocumentContentSynchronizer implements DocumentListener {
         if (ApplicationManager.getApplication().isUnitTestMode()) {
             sendDidChangeEvents();
         } else {
-            Project project = languageServerWrapper.getProject();
-            PsiDocumentManager.getInstance(project)
-                    .performForCommittedDocument(event.getDocument(), this::sendDidChangeEvents);
+            scheduleDidChangeEvents();
+        }
+    }
+
+    /**
+     * Schedule the send of the pending 'textDocument/didChange' events with an adaptive delay:
+     *
+     * <ul>
+     *     <li>the delay grows when the document is updated in burst (fast typing, macro, multi-caret edit).</li>
+     *     <li>the delay shrinks when the user pauses.</li>
+     * </ul>
+     */
+    private void scheduleDidChangeEvents() {
+        synchronized (changeEvents) {
+            long now = System.currentTimeMillis();
+            long elapsed = now - lastDocumentChangedTime;
+            lastDocumentChangedTime = now;
+            if (elapsed < MAX_DID_CHANGE_DELAY) {
+                // The document is updated in burst, grow the delay
+                didChangeDelay = Math.min(didChangeDelay * 2, MAX_DID_CHANGE_DELAY);
+            } else {
+                // The user has paused, shrink the delay
+                didChangeDelay = Math.max(didChangeDelay / 2, MIN_DID_CHANGE_DELAY);
+            }
+            if (pendingDidChange == null) {
+                pendingDidChange = AppExecutorUtil.getAppScheduledExecutorService()
+                        .schedule(this::sendDidChangeEvents, didChangeDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Send immediately the pending 'textDocument/didChange' events (if any).
+     * <p>
+     * This method must be called before consuming an LSP request which depends on the document
+     * (ex : 'textDocument/completion', 'textDocument/hover', 'textDocument/signatureHelp').
+     * </p>
+     *
+     * @return a future which is completed when the last 'textDocument/didChange' notification
+     * has been written in the output stream of the language server.
+     */
+    @NotNull
+    CompletableFuture<Void> flushDidChangeEvents() {
+        boolean hasPendingEvents;
+        synchronized (changeEvents) {
+            hasPendingEvents = !changeEvents.isEmpty();
+        }
+        if (hasPendingEvents) {
+            sendDidChangeEvents();
         }
+        // The last didChange can have been sent (by the scheduler) but not yet written,
+        // the LSP request must wait for it too.
+        return lastDidChangeFuture;
     }
 
-    private void sendDidChangeEvents() {
+    private synchronized void sendDidChangeEvents() {
         List<TextDocumentContentChangeEvent> events;
         synchronized (changeEvents) {
-            if (changeEvents.isEmpty()) {
+            if (pendingDidChange != null) {
+                pendingDidChange.cancel(false);
+                pendingDidChange = null;
+            }
+            if (closed || changeEvents.isEmpty()) {
                 // Don't send didChange notification with empty contentChanges.
                 return;
             }
@@ -122,7 +190,12 @@ public class DocumentContentSynchronizer implements DocumentListener {
         DidChangeTextDocumentParams changeParamsToSend = new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(), events);
         changeParamsToSend.getTextDocument().setUri(fileUri);
         changeParamsToSend.getTextDocument().setVersion(++version);
-        languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didChange(changeParamsToSend));
+        // The didChange is sent with the dispatcher (like the didOpen) and the returned future is completed
+        // when it has been written, so that the LSP requests which depend on the document can wait for it.
+        lastDidChangeFuture = languageServerWrapper
+                .sendNotificationAndWaitForWrite(ls -> ls.getTextDocumentService().didChange(changeParamsToSend));
+        // Pull the diagnostics of the new version of the document
+        pullDiagnosticsSupport.pullDiagnostics();
     }
 
     @Override
@@ -131,11 +204,84 @@ public class DocumentContentSynchronizer implements DocumentListener {
             // this really needs to happen before event gets actually
             // applied, to properly compute positions
             synchronized (changeEvents) {
-                changeEvents.add(createChangeEvent(event));
+                addChangeEvent(createChangeEvent(event));
             }
         }
     }
 
+    /**
+     * Add the given incremental change event to the pending change events by merging it
+     * with the last pending change event when it is possible.
+     *
+     * @param changeEvent the incremental change event.
+     */
+    private void addChangeEvent(@NotNull TextDocumentContentChangeEvent changeEvent) {
+        if (!changeEvents.isEmpty()) {
+            int lastIndex = changeEvents.size() - 1;
+            var merged = mergeChangeEvents(changeEvents.get(lastIndex), changeEvent);
+            if (merged != null) {
+                changeEvents.set(lastIndex, merged);
+                return;
+            }
+        }
+        changeEvents.add(changeEvent);
+    }
+
+    /**
+     * Returns the merge of the two given consecutive incremental change events and null if they cannot be merged.
+     * <p>
+     * Two change events can be merged when they are on the same line, their text doesn't contain line breaks
+     * and the next change event touches the text produced by the previous change event
+     * (ex : typing 'a', 'b', 'c' generates one insert of 'abc', pressing backspace several times generates one delete).
+     * </p>
+     *
+     * @param previous the previous change event.
+     * @param next     the next change event, with a range computed on the document updated by the previous change event.
+     * @return the merge of the two given consecutive incremental change events and null if they cannot be merged.
+     */
+    @Nullable
+    static TextDocumentContentChangeEvent mergeChangeEvents(@NotNull TextDocumentContentChangeEvent previous,
+                                                            @NotNull TextDocumentContentChangeEvent next) {
+        Range previousRange = previous.getRange();
+        Range nextRange = next.getRange();
+        String previousText = previous.getText();
+        String nextText = next.getText();
+        if (!isSingleLine(previousRange, previousText) || !isSingleLine(nextRange, nextText)) {
+            return null;
+        }
+        int line = previousRange.getStart().getLine();
+        if (nextRange.getStart().getLine() != line) {
+            return null;
+        }
+        int previousStart = previousRange.getStart().getCharacter();
+        int previousEnd = previousRange.getEnd().getCharacter();
+        // End of the text inserted by the previous change event
+        int previousTextEnd = previousStart + previousText.length();
+        int nextStart = nextRange.getStart().getCharacter();
+        int nextEnd = nextRange.getEnd().getCharacter();
+        if (nextStart > previousTextEnd || nextEnd < previousStart) {
+            // The next change event doesn't touch the text produced by the previous change event
+            return null;
+        }
+        String prefix = nextStart > previousStart ? previousText.substring(0, nextStart - previousStart) : "";
+        String suffix = nextEnd < previousTextEnd ? previousText.substring(nextEnd - previousStart) : "";
+        int start = Math.min(previousStart, nextStart);
+        int end = previousEnd + Math.max(0, nextEnd - previousTextEnd);
+        TextDocumentContentChangeEvent merged = new TextDocumentContentChangeEvent();
+        merged.setRange(new Range(new Position(line, start), new Position(line, end)));
+        merged.setText(prefix + nextText + suffix);
+        merged.setRangeLength(end - start);
+        return merged;
+    }
+
+    private static boolean isSingleLine(@Nullable Range range, @Nullable String text) {
+        return range != null &&
+                text != null &&
+                range.getStart().getLine() == range.getEnd().getLine() &&
+                text.indexOf('\n') == -1 &&
+                text.indexOf('\r') == -1;
+    }
+
     private TextDocumentContentChangeEvent createChangeEvent(DocumentEvent event) {
         Document document = event.getDocument();
         TextDocumentSyncKind syncKind = getTextDocumentSyncKind();
@@ -178,12 +324,24 @@ public class DocumentContentSynchronizer implements DocumentListener {
                 return;
             }
         }
+        // The 'textDocument/didSave' must be sent after the pending 'textDocument/didChange'
+        flushDidChangeEvents();
         TextDocumentIdentifier identifier = new TextDocumentIdentifier(fileUri);
         DidSaveTextDocumentParams params = new DidSaveTextDocumentParams(identifier, document.getText());
-        languageServerWrapper.getInitializedServer().thenAcceptAsync(ls -> ls.getTextDocumentService().didSave(params));
+        languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didSave(params));
     }
 
     public void documentClosed() {
+        // The pending 'textDocument/didChange' are useless since the server will forget the document content.
+        synchronized (changeEvents) {
+            closed = true;
+            changeEvents.clear();
+            if (pendingDidChange != null) {
+                pendingDidChange.cancel(false);
+                pendingDidChange = null;
+            }
+        }
+        pullDiagnosticsSupport.cancel();
         // When LS is shut down all documents are being disconnected. No need to send "didClose" message to the LS that is being shut down or not yet started
         if (languageServerWrapper.isActive()) {
             TextDocumentIdentifier identifier = new TextDocumentIdentifier(fileUri);
@@ -210,6 +368,24 @@ public class DocumentContentSynchronizer implements DocumentListener {
         return this.document;
     }
 
+    /**
+     * Returns the uri of the document used by the language server.
+     *
+     * @return the uri of the document used by the language server.
+     */
+    public @NotNull String getFileUri() {
+        return fileUri;
+    }
+
+    /**
+     * Returns the LSP pull diagnostics support of the document.
+     *
+     * @return the LSP pull diagnostics support of the document.
+     */
+    public @NotNull LSPPullDiagnosticsSupport getPullDiagnosticsSupport() {
+        return pullDiagnosticsSupport;
+    }
+
     /**
      * Returns the current version of the LSP {@link TextDocumentItem}.
      *
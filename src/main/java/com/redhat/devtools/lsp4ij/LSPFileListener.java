@@ -12,6 +12,7 @@ package com.redhat.devtools.lsp4ij;
 
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.*;
 import com.redhat.devtools.lsp4ij.features.files.watcher.FileSystemWatcherManager;
 import org.eclipse.lsp4j.*;
@@ -41,6 +42,22 @@ class LSPFileListener implements FileEditorManagerListener, VirtualFileListener
         this.fileSystemWatcherManager = new FileSystemWatcherManager();
     }
 
+    @Override
+    public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+        if (!Objects.equals(source.getProject(), languageServerWrapper.getProject())) {
+            return;
+        }
+        URI uri = languageServerWrapper.toUri(file);
+        if (uri != null) {
+            LSPVirtualFileData data = languageServerWrapper.connectedDocuments.get(uri);
+            if (data != null) {
+                // The file has been connected to the language server before being opened in an editor,
+                // its diagnostics have not been pulled (they are pulled only for the files opened in an editor).
+                data.getSynchronizer().getPullDiagnosticsSupport().pullDiagnostics();
+            }
+        }
+    }
+
     @Override
     public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
         if (!Objects.equals(source.getProject(), languageServerWrapper.getProject())) {
@@ -87,6 +104,8 @@ class LSPFileListener implements FileEditorManagerListener, VirtualFileListener
     }
 
     private void moveFile(URI oldFileUri, VirtualFile newFile) {
+        // The symbols of the old file location are reported again by the language server with the new location
+        removeIndexedSymbols(oldFileUri);
         if (hasFilePatterns()) {
             List<FileEvent> changes = new ArrayList<>(2);
             if (isMatchFilePatterns(oldFileUri, WatchKind.Delete)) {
@@ -133,6 +152,8 @@ class LSPFileListener implements FileEditorManagerListener, VirtualFileListener
     public void fileDeleted(@NotNull VirtualFileEvent event) {
         VirtualFile file = event.getFile();
         URI uri = languageServerWrapper.toUri(file);
+        // The symbols of the deleted file must not be displayed in the Go to Symbol popup anymore
+        removeIndexedSymbols(uri);
         if (isMatchFilePatterns(uri, WatchKind.Delete)) {
             // Send a workspace/didChangeWatchedFiles with 'Deleted' file change type.
             didChangeWatchedFiles(fe(uri, FileChangeType.Deleted));
@@ -152,6 +173,17 @@ class LSPFileListener implements FileEditorManagerListener, VirtualFileListener
         moveFile(oldFileUri, movedFile);
     }
 
+    private void removeIndexedSymbols(@Nullable URI uri) {
+        Project project = languageServerWrapper.getProject();
+        if (uri == null || project.isDisposed()) {
+            return;
+        }
+        LSPWorkspaceSupport.getSupport(project)
+                .getWorkspaceSymbolSupport()
+                .getIndex()
+                .removeFileSymbols(uri.toASCIIString());
+    }
+
     private FileEvent fe(URI uri, FileChangeType type) {
         return new FileEvent(uri.toASCIIString(), type);
     }
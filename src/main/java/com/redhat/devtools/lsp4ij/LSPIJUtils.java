@@ -39,6 +39,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.internal.DocumentPositionIndex;
 import com.redhat.devtools.lsp4ij.internal.SimpleLanguageUtils;
 import com.redhat.devtools.lsp4ij.internal.StringUtils;
 import com.redhat.devtools.lsp4ij.usages.LocationData;
@@ -594,6 +595,11 @@ public class LSPIJUtils {
     }
 
     public static int toOffset(int line, int character, @NotNull Document document) {
+        var index = DocumentPositionIndex.getIfUpToDate(document);
+        if (index != null) {
+            // The position index has been built by a bulk conversion of the current document version
+            return index.toOffset(line, character);
+        }
         // See https://github.com/microsoft/vscode-languageserver-node/blob/8e625564b531da607859b8cb982abb7cdb2fbe2e/textDocument/src/main.ts#L304
 
         // Adjust position line/character according to this comment https://github.com/microsoft/vscode-languageserver-node/blob/ed3cd0f78c1495913bda7318ace2be7f968008af/textDocument/src/main.ts#L26
@@ -610,6 +616,28 @@ public class LSPIJUtils {
         return Math.max(Math.min(lineOffset + character, nextLineOffset), lineOffset);
     }
 
+    /**
+     * Returns the valid offsets from the given positions in the given document even if positions are invalid.
+     * <p>
+     * This method should be used when a lot of positions must be converted: the positions are converted
+     * with the {@link DocumentPositionIndex} of the document, which is built once per document version.
+     * </p>
+     *
+     * @param positions the LSP positions.
+     * @param document  the IJ document.
+     * @return the valid offsets from the given positions in the given document.
+     * @see #toOffset(Position, Document)
+     */
+    public static int[] toOffsets(@NotNull List<Position> positions, @NotNull Document document) {
+        var index = DocumentPositionIndex.getInstance(document);
+        int[] offsets = new int[positions.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            Position position = positions.get(i);
+            offsets[i] = index.toOffset(position.getLine(), position.getCharacter());
+        }
+        return offsets;
+    }
+
     /**
      * Returns the LSP position from the given offset in the given document.
      *
@@ -619,6 +647,11 @@ public class LSPIJUtils {
      */
     @NotNull
     public static Position toPosition(int offset, @NotNull Document document) {
+        var index = DocumentPositionIndex.getIfUpToDate(document);
+        if (index != null) {
+            // The position index has been built by a bulk conversion of the current document version
+            return index.toPosition(offset);
+        }
         // Adjust offset
         offset = Math.max(Math.min(offset, document.getTextLength()), 0);
         int line = document.getLineNumber(offset);
@@ -626,6 +659,27 @@ public class LSPIJUtils {
         return new Position(line, character);
     }
 
+    /**
+     * Returns the LSP positions from the given offsets in the given document.
+     * <p>
+     * This method should be used when a lot of offsets must be converted: the offsets are converted
+     * with the {@link DocumentPositionIndex} of the document, which is built once per document version.
+     * </p>
+     *
+     * @param offsets  the offsets.
+     * @param document the document.
+     * @return the LSP positions from the given offsets in the given document.
+     */
+    @NotNull
+    public static List<Position> toPositions(int[] offsets, @NotNull Document document) {
+        var index = DocumentPositionIndex.getInstance(document);
+        List<Position> positions = new ArrayList<>(offsets.length);
+        for (int offset : offsets) {
+            positions.add(index.toPosition(offset));
+        }
+        return positions;
+    }
+
     @NotNull
     public static List<WorkspaceFolder> toWorkspaceFolders(@NotNull Project project) {
         Set<VirtualFile> roots = getRoots(project);
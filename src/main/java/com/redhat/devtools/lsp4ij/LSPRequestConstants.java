@@ -21,15 +21,20 @@ public class LSPRequestConstants {
     public static final String WORKSPACE_WILL_DELETE_FILES = "workspace/willDeleteFiles";
     public static final String WORKSPACE_WILL_RENAME_FILES = "workspace/willRenameFiles";
     public static final String WORKSPACE_SYMBOL = "workspace/symbol";
+    public static final String WORKSPACE_SYMBOL_RESOLVE = "workspaceSymbol/resolve";
+    public static final String WORKSPACE_DIAGNOSTIC = "workspace/diagnostic";
 
     // textDocument/* LSP requests
 
+    public static final String TEXT_DOCUMENT_DIAGNOSTIC = "textDocument/diagnostic";
     public static final String TEXT_DOCUMENT_DECLARATION = "textDocument/declaration";
     public static final String TEXT_DOCUMENT_DEFINITION = "textDocument/definition";
     public static final String TEXT_DOCUMENT_DOCUMENT_LINK = "textDocument/documentLink";
     public static final String TEXT_DOCUMENT_FOLDING_RANGE = "textDocument/foldingRange";
     public static final String TEXT_DOCUMENT_SELECTION_RANGE = "textDocument/selectionRange";
     public static final String TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL = "textDocument/semanticTokens/full";
+    public static final String TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL_DELTA = "textDocument/semanticTokens/full/delta";
+    public static final String TEXT_DOCUMENT_SEMANTIC_TOKENS_RANGE = "textDocument/semanticTokens/range";
     public static final String TEXT_DOCUMENT_TYPE_DEFINITION = "textDocument/typeDefinition";
     public static final String TEXT_DOCUMENT_CODE_ACTION = "textDocument/codeAction";
     public static final String TEXT_DOCUMENT_CODE_LENS = "textDocument/codeLens";
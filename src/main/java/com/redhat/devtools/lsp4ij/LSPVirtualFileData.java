@@ -16,6 +16,7 @@ package com.redhat.devtools.lsp4ij;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.redhat.devtools.lsp4ij.features.diagnostics.LSPDiagnosticsForServer;
 import org.eclipse.lsp4j.Diagnostic;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -56,6 +57,10 @@ public class LSPVirtualFileData {
     }
 
     public void updateDiagnostics(List<Diagnostic> diagnostics) {
-        diagnosticsForServer.update(diagnostics);
+        updateDiagnostics(diagnostics, null);
+    }
+
+    public boolean updateDiagnostics(List<Diagnostic> diagnostics, @Nullable String resultId) {
+        return diagnosticsForServer.update(diagnostics, resultId);
     }
 }
@@ -43,6 +43,7 @@ public class LSPWorkspaceSupport extends UserDataHolderBase implements Disposabl
         // cancel all LSP requests
         project.putUserData(LSP_WORKSPACE_SUPPORT_KEY, null);
         getWorkspaceSymbolSupport().cancel();
+        getWorkspaceSymbolSupport().getIndex().clear();
     }
 
     /**
@@ -27,8 +27,11 @@ import com.intellij.util.messages.MessageBusConnection;
 import com.redhat.devtools.lsp4ij.client.LanguageClientImpl;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
 import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
+import com.redhat.devtools.lsp4ij.features.diagnostics.LSPWorkspaceDiagnosticsSupport;
 import com.redhat.devtools.lsp4ij.features.files.operations.FileOperationsManager;
+import com.redhat.devtools.lsp4ij.features.progress.LSPProgressManager;
 import com.redhat.devtools.lsp4ij.internal.ClientCapabilitiesFactory;
+import com.redhat.devtools.lsp4ij.internal.OutgoingMessageQueue;
 import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
 import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
 import com.redhat.devtools.lsp4ij.lifecycle.LanguageServerLifecycleManager;
@@ -47,11 +50,15 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
@@ -87,6 +94,7 @@ public class LanguageServerWrapper implements Disposable {
     private LanguageServer languageServer;
     private LanguageClientImpl languageClient;
     private ServerCapabilities serverCapabilities;
+    private @Nullable ServerInfo serverInfo;
     private Timer timer;
     private final AtomicBoolean stopping = new AtomicBoolean(false);
 
@@ -104,6 +112,15 @@ public class LanguageServerWrapper implements Disposable {
 
     private final ExecutorService listener;
 
+    // Single thread which writes the messages in the output stream of the language server.
+    private final ExecutorService writer;
+
+    // The queue of the messages to write in the output stream of the language server.
+    private @Nullable OutgoingMessageQueue outgoingMessages;
+
+    // Set only while sendNotificationAndWaitForWrite sends its notification, to capture the message enqueued by the current thread.
+    private final ThreadLocal<AtomicReference<OutgoingMessageQueue.PendingMessage>> sentMessageCapture = new ThreadLocal<>();
+
     /**
      * Map containing unregistration handlers for dynamic capability registrations.
      */
@@ -114,6 +131,8 @@ public class LanguageServerWrapper implements Disposable {
 
     private FileOperationsManager fileOperationsManager;
 
+    private final LSPWorkspaceDiagnosticsSupport workspaceDiagnosticsSupport = new LSPWorkspaceDiagnosticsSupport(this);
+
     private LSPClientFeatures clientFeatures;
     private final AtomicInteger keepAliveCounter = new AtomicInteger();
     // error notification displayed when server start fails.
@@ -137,14 +156,23 @@ public class LanguageServerWrapper implements Disposable {
         String projectName = sanitize(!serverDefinition.isSingleton() ? ("@" + project.getName()) : "");  //$NON-NLS-1$//$NON-NLS-2$
         String dispatcherThreadNameFormat = "LS-" + serverDefinition.getId() + projectName + "#dispatcher"; //$NON-NLS-1$ //$NON-NLS-2$
         this.dispatcher = Executors
-                .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(dispatcherThreadNameFormat).build());
+                .newSingleThreadExecutor(new ThreadFactoryBuilder()
+                        .setThreadFactory(NonBlockingThread::new)
+                        .setNameFormat(dispatcherThreadNameFormat).build());
 
         // Executor service passed through to the LSP4j layer when we attempt to start the LS. It will be used
         // to create a listener that sits on the input stream and processes inbound messages (responses, or server-initiated
         // requests).
         String listenerThreadNameFormat = "LS-" + serverDefinition.getId() + projectName + "#listener-%d"; //$NON-NLS-1$ //$NON-NLS-2$
         this.listener = Executors
-                .newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(listenerThreadNameFormat).build());
+                .newCachedThreadPool(new ThreadFactoryBuilder()
+                        .setThreadFactory(NonBlockingThread::new)
+                        .setNameFormat(listenerThreadNameFormat).build());
+
+        // Executor service used to write, in order, the messages in the output stream of the LS.
+        String writerThreadNameFormat = "LS-" + serverDefinition.getId() + projectName + "#writer"; //$NON-NLS-1$ //$NON-NLS-2$
+        this.writer = Executors
+                .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(writerThreadNameFormat).build());
         updateStatus(ServerStatus.none);
 
         // When project is disposed, we dispose the language server
@@ -174,6 +202,7 @@ public class LanguageServerWrapper implements Disposable {
         // If we don't do this then a full test run will generate a lot of threads because we create new
         // instances of this class for each test
         this.listener.shutdownNow();
+        this.writer.shutdownNow();
     }
 
     public synchronized void stopAndDisable() {
@@ -321,33 +350,54 @@ public class LanguageServerWrapper implements Disposable {
                             initParams.setRootPath(rootURI.getPath());
                         }
 
-                        UnaryOperator<MessageConsumer> wrapper = consumer -> (message -> {
-                            logMessage(message, consumer);
-                            try {
-                                // To avoid having some lock problem when message is written in the stream output
-                                // (when there are a lot of messages to write it)
-                                // we consume the message in async mode
-                                CompletableFuture.runAsync(() -> consumer.consume(message))
-                                        .exceptionally(e -> {
-                                            // Log in the LSP console the error
-                                            getLanguageServerLifecycleManager().onError(this, e);
-                                            return null;
-                                        });
-                            } catch (Throwable e) {
-                                // Log in the LSP console the error
-                                getLanguageServerLifecycleManager().onError(this, e);
-                                throw e;
-                            }
-                            final StreamConnectionProvider currentConnectionProvider = this.lspStreamProvider;
-                            if (currentConnectionProvider != null && isActive()) {
-                                currentConnectionProvider.handleMessage(message, this.languageServer, rootURI);
-                            }
-                        });
+                        // To avoid having some lock problem when message is written in the stream output
+                        // (when there are a lot of messages to write it)
+                        // the messages are written in order by the writer thread.
+                        var messageQueue = new OutgoingMessageQueue(writer, e -> getLanguageServerLifecycleManager().onError(this, e),
+                                thread -> !(thread instanceof NonBlockingThread));
+                        this.outgoingMessages = messageQueue;
+                        var input = new ReaderInputStream(lspStreamProvider.getInputStream());
+                        UnaryOperator<MessageConsumer> wrapper = consumer -> {
+                            // The consumer can be wrapped by lsp4j (ex : message tracer, message validator), its direction is known
+                            // when it consumes its first message: the messages of the language server are consumed by the thread
+                            // which reads them, and the messages sent to the language server are consumed by the other threads.
+                            var outgoing = new AtomicReference<Boolean>();
+                            return message -> {
+                                logMessage(message, consumer);
+                                try {
+                                    outgoing.compareAndSet(null, !input.isReaderThread());
+                                    if (outgoing.get()) {
+                                        // Message sent to the language server
+                                        var pending = messageQueue.enqueue(message, consumer);
+                                        var capture = sentMessageCapture.get();
+                                        if (capture != null) {
+                                            capture.set(pending);
+                                        }
+                                    } else {
+                                        // Message received from the language server, we consume the message in async mode
+                                        CompletableFuture.runAsync(() -> consumer.consume(message))
+                                                .exceptionally(e -> {
+                                                    // Log in the LSP console the error
+                                                    getLanguageServerLifecycleManager().onError(this, e);
+                                                    return null;
+                                                });
+                                    }
+                                } catch (Throwable e) {
+                                    // Log in the LSP console the error
+                                    getLanguageServerLifecycleManager().onError(this, e);
+                                    throw e;
+                                }
+                                final StreamConnectionProvider currentConnectionProvider = this.lspStreamProvider;
+                                if (currentConnectionProvider != null && isActive()) {
+                                    currentConnectionProvider.handleMessage(message, this.languageServer, rootURI);
+                                }
+                            };
+                        };
                         Launcher<LanguageServer> launcher = serverDefinition.createLauncherBuilder() //
                                 .setLocalService(languageClient)//
                                 .setRemoteInterface(serverDefinition.getServerInterface())//
-                                .setInput(lspStreamProvider.getInputStream())//
-                                .setOutput(lspStreamProvider.getOutputStream())//
+                                .setInput(input)//
+                                .setOutput(messageQueue.wrapOutputStream(lspStreamProvider.getOutputStream()))//
                                 .setExecutorService(listener)//
                                 .wrapMessages(wrapper)//
                                 .create();
@@ -365,6 +415,7 @@ public class LanguageServerWrapper implements Disposable {
                             errorNotification = null;
                         }
                         serverCapabilities = res.getCapabilities();
+                        serverInfo = res.getServerInfo();
                         getClientFeatures().setServerCapabilities(serverCapabilities);
                         this.initiallySupportsWorkspaceFolders = supportsWorkspaceFolders(serverCapabilities);
                     }).thenRun(() -> this.languageServer.initialized(new InitializedParams())).thenRun(() -> {
@@ -381,6 +432,9 @@ public class LanguageServerWrapper implements Disposable {
                         fileOperationsManager = new FileOperationsManager(this);
                         fileOperationsManager.setServerCapabilities(serverCapabilities);
 
+                        workspaceDiagnosticsSupport.connect(languageClient.getProgressManager());
+                        workspaceDiagnosticsSupport.pullWorkspaceDiagnostics();
+
                         updateStatus(ServerStatus.started);
                         getLanguageServerLifecycleManager().onStatusChanged(this);
                     }).exceptionally(e -> {
@@ -543,6 +597,7 @@ public class LanguageServerWrapper implements Disposable {
             getLanguageServerLifecycleManager().onStatusChanged(this);
 
             removeStopTimer(true);
+            workspaceDiagnosticsSupport.dispose();
             if (this.languageClient != null) {
                 this.languageClient.dispose();
             }
@@ -553,6 +608,7 @@ public class LanguageServerWrapper implements Disposable {
             }
 
             this.serverCapabilities = null;
+            this.serverInfo = null;
             this.dynamicRegistrations.clear();
 
             if (isDisposed()) {
@@ -745,9 +801,14 @@ public class LanguageServerWrapper implements Disposable {
         var existingData = connectedDocuments.get(fileUri);
         if (existingData != null) {
             // The file is already connected.
-            // returns the language server instance when didOpen happened
-            var didOpenFuture = existingData.getSynchronizer().didOpenFuture;
-            return getLanguageServerWhenDidOpen(didOpenFuture);
+            var synchronizer = existingData.getSynchronizer();
+            // The LSP request which will be consumed depends on the document content,
+            // send the pending 'textDocument/didChange' notification before it.
+            var didChangeFuture = synchronizer.flushDidChangeEvents();
+            // returns the language server instance when didOpen and the last didChange have been written,
+            // otherwise the LSP request could be received by the language server before them.
+            var didOpenFuture = synchronizer.didOpenFuture;
+            return getLanguageServerWhenDidOpen(didChangeFuture.isDone() ? didOpenFuture : CompletableFuture.allOf(didOpenFuture, didChangeFuture));
         }
         return null;
     }
@@ -904,6 +965,46 @@ public class LanguageServerWrapper implements Disposable {
         getInitializedServer().thenAcceptAsync(fn, this.dispatcher);
     }
 
+    /**
+     * Sends a notification to the wrapped language server with the dispatcher (like {@link #sendNotification(Consumer)})
+     * and returns a future which is completed when the notification has been written in the output stream of the language server.
+     * <p>
+     * This future can be used as an ordering barrier: the LSP requests which are sent after the done of this future
+     * are received by the language server after the notification.
+     * </p>
+     *
+     * @param fn LS notification to send
+     * @return a future which is completed when the notification has been written in the output stream of the language server.
+     */
+    @NotNull
+    CompletableFuture<Void> sendNotificationAndWaitForWrite(@NotNull Consumer<LanguageServer> fn) {
+        return getInitializedServer().thenComposeAsync(ls -> {
+            var capture = new AtomicReference<OutgoingMessageQueue.PendingMessage>();
+            sentMessageCapture.set(capture);
+            try {
+                fn.accept(ls);
+            } finally {
+                sentMessageCapture.remove();
+            }
+            var sent = capture.get();
+            var messageQueue = outgoingMessages;
+            return sent != null && messageQueue != null ? messageQueue.whenWritten(sent) : CompletableFuture.completedFuture(null);
+        }, this.dispatcher);
+    }
+
+    /**
+     * Returns the number of messages which are waiting to be written in the output stream of the language server.
+     * <p>
+     * A growing number means that the language server doesn't read its input stream fast enough.
+     * </p>
+     *
+     * @return the number of messages which are waiting to be written in the output stream of the language server.
+     */
+    public int getPendingMessageCount() {
+        var messageQueue = outgoingMessages;
+        return messageQueue != null ? messageQueue.getPendingMessageCount() : 0;
+    }
+
     /**
      * Warning: this is a long running operation
      *
@@ -1170,6 +1271,16 @@ public class LanguageServerWrapper implements Disposable {
         return serverDefinition;
     }
 
+    /**
+     * Returns the information (name and version) sent by the language server in the 'initialize' response and null otherwise.
+     *
+     * @return the information sent by the language server in the 'initialize' response and null otherwise.
+     */
+    @Nullable
+    public ServerInfo getServerInfo() {
+        return serverInfo;
+    }
+
     /**
      * Returns true if the given file support the 'workspace/willRenameFiles' and false otherwise.
      *
@@ -1196,6 +1307,27 @@ public class LanguageServerWrapper implements Disposable {
         return fileOperationsManager.canDidRenameFiles(LSPIJUtils.toUri(file), file.isDirectory());
     }
 
+    /**
+     * Returns the LSP workspace pull diagnostics support.
+     *
+     * @return the LSP workspace pull diagnostics support.
+     */
+    @NotNull
+    public LSPWorkspaceDiagnosticsSupport getWorkspaceDiagnosticsSupport() {
+        return workspaceDiagnosticsSupport;
+    }
+
+    /**
+     * Returns the progress manager of the started language server and null otherwise.
+     *
+     * @return the progress manager of the started language server and null otherwise.
+     */
+    @Nullable
+    public LSPProgressManager getProgressManager() {
+        var languageClient = this.languageClient;
+        return languageClient != null ? languageClient.getProgressManager() : null;
+    }
+
     @NotNull
     public LSPClientFeatures getClientFeatures() {
         if (clientFeatures == null) {
@@ -1218,4 +1350,43 @@ public class LanguageServerWrapper implements Disposable {
         return FileUriSupport.getFileUri(file, getClientFeatures());
     }
 
+    /**
+     * Thread which reads or dispatches the messages of the language server and which must never wait
+     * for the writer of the outgoing messages, otherwise the responses which could drain the queue are never read.
+     */
+    private static final class NonBlockingThread extends Thread {
+
+        private NonBlockingThread(Runnable runnable) {
+            super(runnable);
+        }
+    }
+
+    /**
+     * Input stream of the language server which records the thread which reads the messages of the language server.
+     */
+    private static final class ReaderInputStream extends FilterInputStream {
+
+        private volatile @Nullable Thread readerThread;
+
+        private ReaderInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            readerThread = Thread.currentThread();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            readerThread = Thread.currentThread();
+            return super.read(b, off, len);
+        }
+
+        boolean isReaderThread() {
+            return readerThread == Thread.currentThread();
+        }
+    }
+
 }
\ No newline at end of file
@@ -71,6 +71,16 @@ public class LanguageClientImpl implements LanguageClient, Disposable {
         this.progressManager.connect(server, wrapper);
     }
 
+    /**
+     * Returns the LSP progress manager.
+     *
+     * @return the LSP progress manager.
+     */
+    @NotNull
+    public final LSPProgressManager getProgressManager() {
+        return progressManager;
+    }
+
     protected final LanguageServer getLanguageServer() {
         return server;
     }
@@ -204,6 +214,20 @@ public class LanguageClientImpl implements LanguageClient, Disposable {
                 .submit(AppExecutorUtil.getAppExecutorService());
     }
 
+    @Override
+    public CompletableFuture<Void> refreshDiagnostics() {
+        return CompletableFuture.runAsync(() -> {
+            if (wrapper == null) {
+                return;
+            }
+            // Received request 'workspace/diagnostic/refresh'
+            for (var fileData : wrapper.getConnectedFiles()) {
+                fileData.getSynchronizer().getPullDiagnosticsSupport().pullDiagnostics();
+            }
+            wrapper.getWorkspaceDiagnosticsSupport().pullWorkspaceDiagnostics();
+        });
+    }
+
     @Override
     public CompletableFuture<Void> createProgress(WorkDoneProgressCreateParams params) {
         return progressManager.createProgress(params);
@@ -43,18 +43,38 @@ public class LSPCompletionFeature extends AbstractLSPDocumentFeature {
 
         private final @NotNull CompletionParameters parameters;
         private final @NotNull LanguageServerItem languageServer;
+        private final int completionOffset;
         private Boolean signatureHelpSupported;
         private Boolean resolveCompletionSupported;
 
         public LSPCompletionContext(@NotNull CompletionParameters parameters, @NotNull LanguageServerItem languageServer) {
+            this(parameters, languageServer, parameters.getOffset());
+        }
+
+        @ApiStatus.Internal
+        public LSPCompletionContext(@NotNull CompletionParameters parameters, @NotNull LanguageServerItem languageServer, int completionOffset) {
             this.parameters = parameters;
             this.languageServer = languageServer;
+            this.completionOffset = completionOffset;
         }
 
         public @NotNull CompletionParameters getParameters() {
             return parameters;
         }
 
+        /**
+         * Returns the offset where the LSP 'textDocument/completion' request has been sent.
+         * <p>
+         * It can be lower than the offset of the completion parameters when the completion items of
+         * a complete list are filtered on client side while the user types the prefix.
+         * </p>
+         *
+         * @return the offset where the LSP 'textDocument/completion' request has been sent.
+         */
+        public int getCompletionOffset() {
+            return completionOffset;
+        }
+
         public boolean isSignatureHelpSupported() {
             if (signatureHelpSupported == null) {
                 signatureHelpSupported = languageServer.getClientFeatures().getSignatureHelpFeature().isSupported(parameters.getOriginalFile());
@@ -36,6 +36,7 @@ import com.intellij.platform.backend.documentation.DocumentationTarget;
 import com.intellij.platform.backend.presentation.TargetPresentation;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.containers.ContainerUtil;
+import com.redhat.devtools.lsp4ij.LSPFileSupport;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.commands.CommandExecutor;
@@ -87,7 +88,11 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
 
     private final Editor editor;
 
-    private CompletableFuture<CompletionItem> resolvedCompletionItemFuture;
+    private volatile CompletableFuture<CompletionItem> resolvedCompletionItemFuture;
+
+    // The snippet content without placeholders, used instead of the completion item text
+    // which is not modified since the completion item can be reused by the next completions.
+    private @Nullable String templateText;
 
     public LSPCompletionProposal(@NotNull CompletionItem item,
                                  @NotNull LSPCompletionFeature.LSPCompletionContext completionContext,
@@ -96,7 +101,7 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
         this.item = item;
         this.editor = completionContext.getParameters().getEditor();
         this.completionContext = completionContext;
-        this.completionOffset = completionContext.getParameters().getOffset();
+        this.completionOffset = completionContext.getCompletionOffset();
         this.prefixStartOffset = getPrefixStartOffset(editor.getDocument(), completionOffset);
         this.completionFeature = completionFeature;
         putUserData(CodeCompletionHandlerBase.DIRECT_INSERTION, true);
@@ -213,16 +218,8 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
      */
     private void updateInsertTextForTemplateProcessing(String newText) {
         Either<TextEdit, InsertReplaceEdit> textEdit = this.item.getTextEdit();
-        if (textEdit != null) {
-            if (textEdit.isLeft()) {
-                textEdit.getLeft().setNewText(newText);
-            } else {
-                textEdit.getRight().setNewText(newText);
-            }
-        } else {
-            if (item.getInsertText() != null) {
-                item.setInsertText(newText);
-            }
+        if (textEdit != null || item.getInsertText() != null) {
+            this.templateText = newText;
         }
     }
 
@@ -232,6 +229,9 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
      * @return the text content to insert coming from the LSP CompletionItem.
      */
     private String getInsertText() {
+        if (templateText != null) {
+            return templateText;
+        }
         Either<TextEdit, InsertReplaceEdit> textEdit = this.item.getTextEdit();
         if (textEdit != null) {
             if (textEdit.isLeft()) {
@@ -310,12 +310,13 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
         Either<TextEdit, InsertReplaceEdit> eitherTextEdit = item.getTextEdit();
         TextEdit textEdit = null;
         if (eitherTextEdit != null) {
+            // Copy the text edit range which is updated below, since the completion item can be reused by the next completions.
             if (eitherTextEdit.isLeft()) {
-                textEdit = eitherTextEdit.getLeft();
+                textEdit = new TextEdit(copy(eitherTextEdit.getLeft().getRange()), getInsertText());
             } else {
                 // trick to partially support the new InsertReplaceEdit from LSP 3.16. Reuse previously code for TextEdit.
                 InsertReplaceEdit insertReplaceEdit = eitherTextEdit.getRight();
-                textEdit = new TextEdit(insertReplaceEdit.getInsert(), insertReplaceEdit.getNewText());
+                textEdit = new TextEdit(copy(insertReplaceEdit.getInsert()), getInsertText());
             }
         }
         try {
@@ -394,6 +395,11 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
     }
 
 
+    private static Range copy(@NotNull Range range) {
+        return new Range(new Position(range.getStart().getLine(), range.getStart().getCharacter()),
+                new Position(range.getEnd().getLine(), range.getEnd().getCharacter()));
+    }
+
     /**
      * Execute custom command of the completion item.
      *
@@ -480,17 +486,49 @@ public class LSPCompletionProposal extends LookupElement implements Pointer<LSPC
         }
     }
 
+    /**
+     * Returns true if the LSP completion item can be resolved, is not resolved yet and has some properties
+     * which can be filled by the resolve ('detail', 'documentation', 'additionalTextEdits') and false otherwise.
+     *
+     * @return true if the LSP completion item must be resolved and false otherwise.
+     */
+    public boolean needToResolveCompletionItem() {
+        var future = resolvedCompletionItemFuture;
+        if (!completionContext.isResolveCompletionSupported() || (future != null && !future.isCancelled())) {
+            return false;
+        }
+        var additionalTextEdits = item.getAdditionalTextEdits();
+        return needToResolveCompletionDetail() ||
+                item.getDocumentation() == null ||
+                additionalTextEdits == null || additionalTextEdits.isEmpty();
+    }
+
+    /**
+     * Returns the LSP 'completionItem/resolve' request of the completion item without waiting for its result.
+     * <p>
+     * The request is shared by all the proposals of the same completion item in the current completion session.
+     * </p>
+     *
+     * @return the LSP 'completionItem/resolve' request of the completion item.
+     */
+    public CompletableFuture<CompletionItem> resolveCompletionItem() {
+        var future = resolvedCompletionItemFuture;
+        if (future == null || future.isCancelled()) {
+            future = LSPFileSupport.getSupport(file)
+                    .getCompletionSupport()
+                    .resolveCompletionItem(item, completionContext.getLanguageServer());
+            resolvedCompletionItemFuture = future;
+        }
+        return future;
+    }
+
     /**
      * Returns the resolved completion item and null otherwise.
      *
      * @return the resolved completion item and null otherwise.
      */
     private CompletionItem getResolvedCompletionItem() {
-        if (resolvedCompletionItemFuture == null) {
-            resolvedCompletionItemFuture = completionContext.getLanguageServer().getServer()
-                    .getTextDocumentService()
-                    .resolveCompletionItem(item);
-        }
+        var resolvedCompletionItemFuture = resolveCompletionItem();
         try {
             // Wait until the future is finished and stop the wait if there are some ProcessCanceledException.
             waitUntilDone(resolvedCompletionItemFuture, file);
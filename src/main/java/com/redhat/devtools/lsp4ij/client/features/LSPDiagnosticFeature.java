@@ -62,6 +62,21 @@ public class LSPDiagnosticFeature extends AbstractLSPDocumentFeature {
         return true;
     }
 
+    /**
+     * Returns true if the diagnostics of the whole workspace must be pulled with the LSP 'workspace/diagnostic' request
+     * (when the language server supports it) and false otherwise.
+     * <p>
+     * This feature is disabled by default since the language server analyzes the whole workspace: only the diagnostics
+     * of the opened files are pulled with the LSP 'textDocument/diagnostic' request.
+     * When it is enabled, the files which are not opened and which have errors are highlighted in the Project view.
+     * </p>
+     *
+     * @return true if the diagnostics of the whole workspace must be pulled and false otherwise.
+     */
+    public boolean isWorkspaceDiagnosticsEnabled() {
+        return false;
+    }
+
     /**
      * Create an IntelliJ annotation in the given holder by using given LSP diagnostic and fixes.
      * @param diagnostic the LSP diagnostic.
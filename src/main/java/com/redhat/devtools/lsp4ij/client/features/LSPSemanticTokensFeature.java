@@ -62,6 +62,36 @@ public class LSPSemanticTokensFeature extends AbstractLSPDocumentFeature impleme
                 serverCapabilities.getSemanticTokensProvider() != null;
     }
 
+    /**
+     * Returns true if the file associated with a language server can support 'textDocument/semanticTokens/full/delta' and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the file associated with a language server can support 'textDocument/semanticTokens/full/delta' and false otherwise.
+     */
+    public boolean isSemanticTokensDeltaSupported(@NotNull PsiFile file) {
+        var serverCapabilities = getClientFeatures().getServerWrapper().getServerCapabilitiesSync();
+        if (serverCapabilities == null || serverCapabilities.getSemanticTokensProvider() == null) {
+            return false;
+        }
+        var full = serverCapabilities.getSemanticTokensProvider().getFull();
+        return full != null && full.isRight() && Boolean.TRUE.equals(full.getRight().getDelta());
+    }
+
+    /**
+     * Returns true if the file associated with a language server can support 'textDocument/semanticTokens/range' and false otherwise.
+     *
+     * @param file the file.
+     * @return true if the file associated with a language server can support 'textDocument/semanticTokens/range' and false otherwise.
+     */
+    public boolean isSemanticTokensRangeSupported(@NotNull PsiFile file) {
+        var serverCapabilities = getClientFeatures().getServerWrapper().getServerCapabilitiesSync();
+        if (serverCapabilities == null || serverCapabilities.getSemanticTokensProvider() == null) {
+            return false;
+        }
+        var range = serverCapabilities.getSemanticTokensProvider().getRange();
+        return range != null && (range.isRight() ? range.getRight() != null : Boolean.TRUE.equals(range.getLeft()));
+    }
+
     @Override
     public void setServerCapabilities(@Nullable ServerCapabilities serverCapabilities) {
         // Do nothing
@@ -36,6 +36,42 @@ public class LSPWorkspaceSymbolFeature extends AbstractLSPWorkspaceFeature {
                 hasCapability(serverCapabilities.getWorkspaceSymbolProvider());
     }
 
+    /**
+     * Returns true if the language server supports 'workspaceSymbol/resolve' and false otherwise.
+     *
+     * @return true if the language server supports 'workspaceSymbol/resolve' and false otherwise.
+     */
+    public boolean isResolveWorkspaceSymbolSupported() {
+        var serverCapabilities = getClientFeatures().getServerWrapper().getServerCapabilitiesSync();
+        if (serverCapabilities == null) {
+            return false;
+        }
+        var workspaceSymbolProvider = serverCapabilities.getWorkspaceSymbolProvider();
+        return workspaceSymbolProvider != null
+                && workspaceSymbolProvider.isRight()
+                && hasCapability(workspaceSymbolProvider.getRight().getResolveProvider());
+    }
+
+    /**
+     * Returns the number of symbols from which a 'workspace/symbol' result is considered as truncated by the language server.
+     * <p>
+     * A result which is not truncated contains all symbols matching the query, and is filtered by LSP4IJ to answer
+     * the longer queries (ex : 'FooB' after 'Foo') without consuming 'workspace/symbol'.
+     * </p>
+     * <p>
+     * The default value (100) fits the language servers which truncate the result to 100 symbols or more.
+     * A language server which truncates the result to fewer symbols (or with a configurable max number of symbols)
+     * must override this method to return its own limit, otherwise the truncated results are considered as complete
+     * and the longer queries miss the symbols which have not been returned.
+     * </p>
+     *
+     * @return the number of symbols from which a 'workspace/symbol' result is considered as truncated by the language server.
+     */
+    public int getResultLimit() {
+        // Most of language servers truncate the result to 100 symbols or more
+        return 100;
+    }
+
     @Override
     public void setServerCapabilities(@Nullable ServerCapabilities serverCapabilities) {
         // Do nothing
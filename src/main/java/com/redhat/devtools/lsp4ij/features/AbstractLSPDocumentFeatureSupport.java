@@ -10,11 +10,14 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features;
 
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
 import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
+import com.redhat.devtools.lsp4ij.internal.DocumentSnapshot;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,6 +34,16 @@ import java.util.function.Predicate;
  */
 public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends AbstractLSPFeatureSupport<Params, Result> {
 
+    /**
+     * LSP response results with the snapshot of the document version used to compute them.
+     *
+     * @param result   the LSP response results.
+     * @param snapshot the snapshot of the document version used to compute the results.
+     * @param <T>      the LSP response results type.
+     */
+    public record VersionedResult<T>(@NotNull T result, @NotNull DocumentSnapshot snapshot) {
+    }
+
     // The Psi file
     private final @NotNull PsiFile file;
     // The current modification stamp of the Psi file
@@ -39,6 +52,9 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
     // true if the future must be canceled when the Psi file is modified and false otherwise.
     private final boolean cancelWhenFileModified;
 
+    // The last LSP response results (when keepSupersededRequests() returns true)
+    private volatile @Nullable VersionedResult<Result> lastResult;
+
     public AbstractLSPDocumentFeatureSupport(@NotNull PsiFile file) {
         this(file, true);
     }
@@ -70,12 +86,45 @@ public abstract class AbstractLSPDocumentFeatureSupport<Params, Result> extends
      * @return the LSP response results.
      */
     protected synchronized CompletableFuture<Result> load(Params params) {
+        Document document = keepSupersededRequests() ? LSPIJUtils.getDocument(file.getVirtualFile()) : null;
         CompletableFuture<Result> future = super.load(params);
         // Update the modification stamp with the current modification stamp of the Psi file
         this.modificationStamp = this.file.getModificationStamp();
+        if (document != null) {
+            // Store the results with the document version used to compute them
+            // to use them while the Psi file is modified and new results are not available.
+            var snapshot = DocumentSnapshot.create(document);
+            future.thenAccept(result -> updateLastResult(result, snapshot));
+        }
         return future;
     }
 
+    private synchronized void updateLastResult(@Nullable Result result, @NotNull DocumentSnapshot snapshot) {
+        if (result == null) {
+            return;
+        }
+        var lastResult = this.lastResult;
+        if (lastResult == null || lastResult.snapshot().getModificationStamp() <= snapshot.getModificationStamp()) {
+            this.lastResult = new VersionedResult<>(result, snapshot);
+        }
+    }
+
+    /**
+     * Returns the last LSP response results with the snapshot of the document version used to compute them
+     * and null otherwise.
+     * <p>
+     * Those results can be computed for a previous version of the document, the positions must be rebased
+     * with the snapshot (see {@link DocumentSnapshot#toCurrentOffset}). They are available only
+     * when {@link #keepSupersededRequests()} returns true.
+     * </p>
+     *
+     * @return the last LSP response results with the snapshot of the document version used to compute them
+     * and null otherwise.
+     */
+    public @Nullable VersionedResult<Result> getLastResult() {
+        return lastResult;
+    }
+
     protected static CompletableFuture<List<LanguageServerItem>> getLanguageServers(@NotNull PsiFile file,
                                                                   @Nullable Predicate<LSPClientFeatures> beforeStartingServerFilter,
                                                                   @Nullable Predicate<LSPClientFeatures> afterStartingServerFilter) {
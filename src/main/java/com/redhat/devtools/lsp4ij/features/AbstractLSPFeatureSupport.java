@@ -34,6 +34,11 @@ public abstract class AbstractLSPFeatureSupport<Params, Result> {
     // The current cancellation support
     private @Nullable CancellationSupport cancellationSupport;
 
+    // The previous LSP requests superseded by the current LSP requests, which are not canceled
+    // when keepSupersededRequests() returns true
+    private @Nullable CompletableFuture<Result> supersededFuture;
+    private @Nullable CancellationSupport supersededCancellationSupport;
+
     /**
      * Returns the (cached or not) LSP requests for all language servers applying to a given Psi file or project.
      *
@@ -83,8 +88,17 @@ public abstract class AbstractLSPFeatureSupport<Params, Result> {
         if (isValidLSPFuture()) {
             return future;
         }
+        if (keepSupersededRequests() && future != null && !future.isDone()) {
+            // Let the previous LSP requests finish to use their results until the new LSP requests are finished,
+            // only the last superseded LSP requests are kept.
+            cancelSupersededRequests();
+            supersededFuture = future;
+            supersededCancellationSupport = cancellationSupport;
+            future = null;
+            cancellationSupport = null;
+        }
         // Cancel previous LSP requests future
-        cancel();
+        cancelCurrentRequests();
         // Load a new LSP requests future
         cancellationSupport = new CancellationSupport();
         return doLoad(params, cancellationSupport);
@@ -99,10 +113,38 @@ public abstract class AbstractLSPFeatureSupport<Params, Result> {
      */
     protected abstract CompletableFuture<Result> doLoad(Params params, CancellationSupport cancellationSupport);
 
+    /**
+     * Returns true if the previous LSP requests must not be canceled when they are superseded by new LSP requests
+     * (ex : the Psi file has been modified) and false otherwise.
+     *
+     * @return true if the previous LSP requests must not be canceled when they are superseded by new LSP requests and false otherwise.
+     */
+    protected boolean keepSupersededRequests() {
+        return false;
+    }
+
     /**
      * Cancel all LSP requests.
      */
     public void cancel() {
+        cancelCurrentRequests();
+        cancelSupersededRequests();
+    }
+
+    private void cancelSupersededRequests() {
+        var future = this.supersededFuture;
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+        this.supersededFuture = null;
+        CancellationSupport cancellation = supersededCancellationSupport;
+        this.supersededCancellationSupport = null;
+        if (cancellation != null) {
+            cancellation.cancel();
+        }
+    }
+
+    private void cancelCurrentRequests() {
         // Store the CancellationSupport in a local variable to prevent from NPE (very rare case)
         CancellationSupport cancellation = cancellationSupport;
         var future = this.future;
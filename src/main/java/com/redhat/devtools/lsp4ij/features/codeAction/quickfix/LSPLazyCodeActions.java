@@ -14,6 +14,8 @@
 package com.redhat.devtools.lsp4ij.features.codeAction.quickfix;
 
 import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
@@ -61,6 +63,12 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
     // LSP code actions request used to load code action for the diagnostic.
     private CompletableFuture<List<CodeActionData>> lspCodeActionRequest = null;
 
+    // Modification stamp of the document when the LSP code actions request has been created.
+    private long lspCodeActionRequestStamp;
+
+    // true when the LSP code actions request has been created by the prefetch and is not used by the quick fixes.
+    private boolean prefetchOnlyRequest;
+
     public LSPLazyCodeActions(@NotNull List<Diagnostic> diagnostics,
                               @NotNull VirtualFile file,
                               @NotNull LanguageServerItem languageServer) {
@@ -94,10 +102,7 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
     }
 
     private List<CodeActionData> getOrLoadCodeActions() {
-        if (lspCodeActionRequest == null) {
-            // Create LSP textDocument/codeAction request
-            lspCodeActionRequest = loadCodeActionsFor(diagnostics);
-        }
+        var lspCodeActionRequest = getOrCreateCodeActionsRequest();
         // Get the response of the LSP textDocument/codeAction request.
         List<CodeActionData> codeActions = null;
         try {
@@ -112,6 +117,60 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
         return codeActions;
     }
 
+    /**
+     * Loads in background the LSP code actions if they are not loaded (or loading) for the current version of the document.
+     *
+     * @return the LSP textDocument/codeAction request.
+     */
+    public CompletableFuture<List<CodeActionData>> prefetchCodeActions() {
+        return getOrCreateCodeActionsRequest(true);
+    }
+
+    /**
+     * Cancel the given LSP textDocument/codeAction request returned by {@link #prefetchCodeActions()} if it is only used by the prefetch.
+     * <p>
+     * The request is not canceled when the quick fixes are waiting for it.
+     * </p>
+     *
+     * @param request the LSP textDocument/codeAction request returned by {@link #prefetchCodeActions()}.
+     * @return true if the request has been canceled and false otherwise.
+     */
+    public synchronized boolean cancelPrefetch(@NotNull CompletableFuture<?> request) {
+        if (!prefetchOnlyRequest || lspCodeActionRequest != request || request.isDone()) {
+            return false;
+        }
+        request.cancel(true);
+        return true;
+    }
+
+    CompletableFuture<List<CodeActionData>> getOrCreateCodeActionsRequest() {
+        return getOrCreateCodeActionsRequest(false);
+    }
+
+    private synchronized CompletableFuture<List<CodeActionData>> getOrCreateCodeActionsRequest(boolean prefetch) {
+        long stamp = getDocumentStamp();
+        if (lspCodeActionRequest == null
+                || lspCodeActionRequest.isCancelled()
+                || lspCodeActionRequest.isCompletedExceptionally()
+                || lspCodeActionRequestStamp != stamp) {
+            // The code actions are not loaded, the request has been canceled (ex : by the prefetch when the user scrolls)
+            // or the document has changed: create LSP textDocument/codeAction request
+            cancel();
+            lspCodeActionRequest = loadCodeActionsFor(diagnostics);
+            lspCodeActionRequestStamp = stamp;
+            prefetchOnlyRequest = prefetch;
+        } else if (!prefetch) {
+            // The quick fixes wait for the request, the prefetch must not cancel it anymore
+            prefetchOnlyRequest = false;
+        }
+        return lspCodeActionRequest;
+    }
+
+    private long getDocumentStamp() {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        return document != null ? document.getModificationStamp() : file.getModificationStamp();
+    }
+
     /**
      * load code actions for the given diagnostic.
      *
@@ -175,6 +234,15 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
         return params;
     }
 
+    /**
+     * Returns the diagnostics for which the code actions are loaded.
+     *
+     * @return the diagnostics for which the code actions are loaded.
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
     /**
      * Returns the list of lazy code actions.
      *
@@ -187,7 +255,7 @@ public class LSPLazyCodeActions implements LSPLazyCodeActionProvider {
     /**
      * Cancel if needed the LSP request textDocument/codeAction
      */
-    public void cancel() {
+    public synchronized void cancel() {
         if (lspCodeActionRequest != null && !lspCodeActionRequest.isDone()) {
             lspCodeActionRequest.cancel(true);
         }
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.codeAction.quickfix;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.VisibleAreaEvent;
+import com.intellij.openapi.editor.event.VisibleAreaListener;
+import com.intellij.openapi.editor.ex.util.EditorUtil;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.Alarm;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.LSPVirtualFileData;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.net.URI;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Prefetch of the LSP quick fixes ('textDocument/codeAction') of the diagnostics displayed in the visible area of an editor,
+ * so the first Alt+Enter on a diagnostic doesn't wait for the language server.
+ *
+ * <ul>
+ *     <li>the code actions of the diagnostics closest to the caret are loaded first.</li>
+ *     <li>at most {@link #MAX_CONCURRENT_REQUESTS} requests are sent at the same time.</li>
+ *     <li>when the user scrolls, the requests started by the prefetch for the diagnostics which are not visible anymore are canceled,
+ *     except when the quick fixes wait for them.</li>
+ * </ul>
+ *
+ * <p>
+ * The loaded code actions are cached by {@link LSPLazyCodeActions} until the document changes.
+ * </p>
+ */
+@ApiStatus.Internal
+public class LSPQuickFixPrefetcher implements VisibleAreaListener, Disposable {
+
+    private static final Key<LSPQuickFixPrefetcher> PREFETCHER_KEY = Key.create("lsp.quickfix.prefetcher");
+
+    // Max number of 'textDocument/codeAction' requests sent at the same time by the prefetch of an editor.
+    private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    // Delay (in ms) before prefetching the code actions when the user scrolls.
+    private static final int SCROLL_DELAY = 300;
+
+    private final @NotNull Editor editor;
+    private final @NotNull Project project;
+    private final @NotNull Alarm alarm;
+
+    // Lazy code actions waiting to be loaded, sorted by priority
+    private final Deque<LSPLazyCodeActions> pendingActions = new ArrayDeque<>();
+    // Lazy code actions which are loading
+    private final Map<LSPLazyCodeActions, CompletableFuture<?>> runningActions = new IdentityHashMap<>();
+
+    LSPQuickFixPrefetcher(@NotNull Editor editor, @NotNull Project project) {
+        this.editor = editor;
+        this.project = project;
+        this.alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+    }
+
+    /**
+     * Prefetch the quick fixes of the diagnostics displayed in the visible area of the editors of the given file.
+     *
+     * @param file     the Psi file.
+     * @param document the document of the file.
+     */
+    public static void prefetch(@NotNull PsiFile file, @NotNull Document document) {
+        Project project = file.getProject();
+        ApplicationManager.getApplication().invokeLater(() -> {
+            for (Editor editor : EditorFactory.getInstance().getEditors(document, project)) {
+                getOrInstall(editor, project).schedulePrefetch(0);
+            }
+        }, project.getDisposed());
+    }
+
+    private static LSPQuickFixPrefetcher getOrInstall(@NotNull Editor editor, @NotNull Project project) {
+        LSPQuickFixPrefetcher prefetcher = editor.getUserData(PREFETCHER_KEY);
+        if (prefetcher == null) {
+            prefetcher = new LSPQuickFixPrefetcher(editor, project);
+            editor.putUserData(PREFETCHER_KEY, prefetcher);
+            EditorUtil.disposeWithEditor(editor, prefetcher);
+            editor.getScrollingModel().addVisibleAreaListener(prefetcher, prefetcher);
+        }
+        return prefetcher;
+    }
+
+    @Override
+    public void visibleAreaChanged(@NotNull VisibleAreaEvent e) {
+        schedulePrefetch(SCROLL_DELAY);
+    }
+
+    private void schedulePrefetch(int delay) {
+        if (alarm.isDisposed()) {
+            return;
+        }
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::prefetchVisibleArea, delay);
+    }
+
+    private void prefetchVisibleArea() {
+        if (editor.isDisposed() || project.isDisposed()) {
+            return;
+        }
+        PsiFile file = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
+        if (file == null) {
+            return;
+        }
+        // Collect the lazy code actions of the diagnostics displayed in the visible area
+        Rectangle visibleArea = editor.getScrollingModel().getVisibleArea();
+        int startLine = editor.xyToLogicalPosition(visibleArea.getLocation()).line;
+        int endLine = editor.xyToLogicalPosition(new Point(visibleArea.x, visibleArea.y + visibleArea.height)).line;
+        Range visibleRange = new Range(new Position(startLine, 0), new Position(endLine + 1, 0));
+        List<LSPLazyCodeActions> actions = new ArrayList<>();
+        URI fileUri = LSPIJUtils.toUri(file);
+        for (var ls : LanguageServiceAccessor.getInstance(project).getStartedServers()) {
+            LSPVirtualFileData data = ls.getLSPVirtualFileData(fileUri);
+            if (data != null) {
+                var diagnosticsForServer = data.getDiagnosticsForServer();
+                if (diagnosticsForServer.getClientFeatures().getCodeActionFeature().isQuickFixesEnabled(file)) {
+                    actions.addAll(diagnosticsForServer.getLazyCodeActions(visibleRange, file));
+                }
+            }
+        }
+        // Load first the code actions of the diagnostics closest to the caret
+        int caretLine = editor.getCaretModel().getLogicalPosition().line;
+        actions.sort(Comparator.comparingInt(action -> Math.abs(getStartLine(action) - caretLine)));
+        prefetch(actions);
+    }
+
+    private static int getStartLine(@NotNull LSPLazyCodeActions actions) {
+        // The first diagnostic covers the other diagnostics
+        return actions.getDiagnostics().get(0).getRange().getStart().getLine();
+    }
+
+    void prefetch(@NotNull List<LSPLazyCodeActions> actions) {
+        // Cancel the loading of the code actions which are not visible anymore
+        Set<LSPLazyCodeActions> visibleActions = Collections.newSetFromMap(new IdentityHashMap<>());
+        visibleActions.addAll(actions);
+        Map<LSPLazyCodeActions, CompletableFuture<?>> requestsToCancel = new IdentityHashMap<>();
+        synchronized (this) {
+            var it = runningActions.entrySet().iterator();
+            while (it.hasNext()) {
+                var running = it.next();
+                if (!visibleActions.contains(running.getKey())) {
+                    requestsToCancel.put(running.getKey(), running.getValue());
+                    it.remove();
+                }
+            }
+            pendingActions.clear();
+            for (LSPLazyCodeActions action : actions) {
+                if (!runningActions.containsKey(action)) {
+                    pendingActions.add(action);
+                }
+            }
+        }
+        // The requests used by the quick fixes are not canceled
+        requestsToCancel.forEach(LSPLazyCodeActions::cancelPrefetch);
+        loadNextActions();
+    }
+
+    synchronized int getRunningRequestCount() {
+        return runningActions.size();
+    }
+
+    private synchronized void loadNextActions() {
+        while (runningActions.size() < MAX_CONCURRENT_REQUESTS && !pendingActions.isEmpty()) {
+            LSPLazyCodeActions actions = pendingActions.poll();
+            var request = actions.prefetchCodeActions();
+            if (request.isDone()) {
+                // The code actions are already loaded for the current version of the document
+                continue;
+            }
+            runningActions.put(actions, request);
+            // The next actions are loaded asynchronously, because the request can be completed by a cancellation
+            // from a thread which holds the lock of the lazy code actions
+            request.whenCompleteAsync((result, error) -> {
+                synchronized (this) {
+                    if (runningActions.get(actions) == request) {
+                        runningActions.remove(actions);
+                    }
+                }
+                loadNextActions();
+            });
+        }
+    }
+
+    @Override
+    public void dispose() {
+        editor.putUserData(PREFETCHER_KEY, null);
+        Map<LSPLazyCodeActions, CompletableFuture<?>> requestsToCancel;
+        synchronized (this) {
+            pendingActions.clear();
+            requestsToCancel = new IdentityHashMap<>(runningActions);
+            runningActions.clear();
+        }
+        requestsToCancel.forEach(LSPLazyCodeActions::cancelPrefetch);
+    }
+}
@@ -23,9 +23,15 @@ import java.util.concurrent.CompletableFuture;
  * @param codeLens               the LSP codeLens
  * @param languageServer         the language server which has created the codeLens.
  * @param resolvedCodeLensFuture the codeLens/resolve future and null otherwise.
+ * @param resolveScheduler       the scheduler which sends the codeLens/resolve request and null otherwise.
  */
 record CodeLensData(@NotNull CodeLens codeLens,
                     @NotNull LanguageServerItem languageServer,
-                    @Nullable CompletableFuture<CodeLens> resolvedCodeLensFuture) {
+                    @Nullable CompletableFuture<CodeLens> resolvedCodeLensFuture,
+                    @Nullable CodeLensResolveScheduler resolveScheduler) {
+
+    CodeLensData(@NotNull CodeLens codeLens, @NotNull LanguageServerItem languageServer) {
+        this(codeLens, languageServer, null, null);
+    }
 
 }
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.codeLens;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.redhat.devtools.lsp4ij.LSPRequestConstants;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import org.eclipse.lsp4j.CodeLens;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scheduler of the LSP 'codeLens/resolve' requests of the code lenses returned by a language server
+ * for a given version of the document.
+ *
+ * <ul>
+ *     <li>the code lenses displayed in the visible lines of the editor are resolved first, then the code lenses closest to the visible lines.</li>
+ *     <li>at most {@link #MAX_CONCURRENT_REQUESTS} requests are sent at the same time.</li>
+ *     <li>the code visions are refreshed when the code lenses of the visible lines are resolved, and once when
+ *     all the other code lenses are resolved (see {@link #registerRefresh(Collection)}).</li>
+ * </ul>
+ *
+ * <p>
+ * The resolved code lenses are stored in the {@link CodeLensData#resolvedCodeLensFuture()} of the code lenses
+ * which are cached by {@link LSPCodeLensSupport} until the document changes.
+ * </p>
+ */
+class CodeLensResolveScheduler {
+
+    // Max number of 'codeLens/resolve' requests sent at the same time to the language server.
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    private final @NotNull LanguageServerItem languageServer;
+    private final @NotNull CancellationSupport cancellationSupport;
+
+    // Code lenses whose 'codeLens/resolve' request is not sent, sorted by priority
+    private final Deque<CodeLensData> pendingCodeLenses = new ArrayDeque<>();
+    // Code lenses whose 'codeLens/resolve' request is sent and not done
+    private final Set<CodeLensData> runningCodeLenses = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Completed when the code lenses of the visible area waited by the pending refresh of the code visions are resolved
+    private @Nullable CompletableFuture<Void> pendingRefresh;
+    // Completed when there are no pending and running 'codeLens/resolve' requests
+    private final CompletableFuture<Void> allResolved = new CompletableFuture<>();
+    // True when the refresh of the code visions waiting for all the code lenses has been registered
+    private boolean allResolvedRefreshRegistered;
+
+    CodeLensResolveScheduler(@NotNull LanguageServerItem languageServer,
+                             @NotNull CancellationSupport cancellationSupport) {
+        this.languageServer = languageServer;
+        this.cancellationSupport = cancellationSupport;
+    }
+
+    /**
+     * Creates the code lens data of the given code lens which must be resolved.
+     * <p>
+     * The 'codeLens/resolve' request is sent when the code lens is scheduled with {@link #schedule(int, int)}.
+     * </p>
+     *
+     * @param codeLens the code lens to resolve.
+     * @return the code lens data of the given code lens.
+     */
+    synchronized @NotNull CodeLensData createCodeLensData(@NotNull CodeLens codeLens) {
+        var data = new CodeLensData(codeLens, languageServer, cancellationSupport.execute(new CompletableFuture<>()), this);
+        pendingCodeLenses.add(data);
+        return data;
+    }
+
+    /**
+     * Resolves the code lenses of the given visible lines first, then the code lenses closest to the visible lines.
+     *
+     * @param startLine the first visible line.
+     * @param endLine   the last visible line.
+     */
+    void schedule(int startLine, int endLine) {
+        synchronized (this) {
+            List<CodeLensData> codeLenses = new ArrayList<>(pendingCodeLenses);
+            codeLenses.sort(Comparator.<CodeLensData>comparingInt(data -> getDistance(data, startLine, endLine))
+                    .thenComparingInt(CodeLensResolveScheduler::getLine));
+            pendingCodeLenses.clear();
+            pendingCodeLenses.addAll(codeLenses);
+        }
+        sendNextRequests();
+    }
+
+    /**
+     * Returns a future which is completed when the given code lenses of the visible area are resolved,
+     * or when all the code lenses are resolved if there are no given code lenses, to refresh the code visions.
+     * <p>
+     * At most one refresh of the visible area is pending: null is returned when the future returned by a previous call
+     * for the visible area is not done. The refresh waiting for all the code lenses is returned only once, to avoid
+     * computing the code visions of the whole document after each 'codeLens/resolve' request of the code lenses
+     * which are not visible.
+     * </p>
+     *
+     * @param visibleFutures the resolve futures of the code lenses of the visible area which are not resolved.
+     * @return a future which is completed when the code visions must be refreshed and null otherwise.
+     */
+    synchronized @Nullable CompletableFuture<Void> registerRefresh(@NotNull Collection<CompletableFuture<CodeLens>> visibleFutures) {
+        if (visibleFutures.isEmpty()) {
+            if (allResolvedRefreshRegistered || allResolved.isDone()) {
+                return null;
+            }
+            // Refresh the code visions once when the code lenses which are not visible are resolved
+            allResolvedRefreshRegistered = true;
+            return allResolved;
+        }
+        if (pendingRefresh != null && !pendingRefresh.isDone()) {
+            return null;
+        }
+        // A code lens which cannot be resolved must not prevent the refresh
+        pendingRefresh = CompletableFuture.allOf(visibleFutures
+                .stream()
+                .map(future -> future.handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new));
+        return pendingRefresh;
+    }
+
+    synchronized int getRunningRequestCount() {
+        return runningCodeLenses.size();
+    }
+
+    private static int getDistance(@NotNull CodeLensData data, int startLine, int endLine) {
+        int line = getLine(data);
+        if (line < startLine) {
+            return startLine - line;
+        }
+        return line > endLine ? line - endLine : 0;
+    }
+
+    private static int getLine(@NotNull CodeLensData data) {
+        return data.codeLens().getRange().getStart().getLine();
+    }
+
+    private void sendNextRequests() {
+        List<CodeLensData> codeLensesToResolve = new ArrayList<>();
+        synchronized (this) {
+            while (runningCodeLenses.size() < MAX_CONCURRENT_REQUESTS && !pendingCodeLenses.isEmpty()) {
+                CodeLensData data = pendingCodeLenses.poll();
+                if (!data.resolvedCodeLensFuture().isDone()) {
+                    // The code lens has not been canceled
+                    runningCodeLenses.add(data);
+                    codeLensesToResolve.add(data);
+                }
+            }
+            completeIfAllResolved();
+        }
+        codeLensesToResolve.forEach(this::resolve);
+    }
+
+    private void resolve(@NotNull CodeLensData data) {
+        CompletableFuture<CodeLens> resolvedCodeLensFuture = data.resolvedCodeLensFuture();
+        CompletableFuture<CodeLens> request;
+        try {
+            request = cancellationSupport.execute(languageServer
+                    .getTextDocumentService()
+                    .resolveCodeLens(data.codeLens()), languageServer, LSPRequestConstants.CODE_LENS_RESOLVE);
+        } catch (ProcessCanceledException e) {
+            //Since 2024.2 ProcessCanceledException extends CancellationException so we can't use multicatch to keep backward compatibility
+            //TODO delete block when minimum required version is 2024.2
+            cancel(data);
+            return;
+        } catch (CancellationException e) {
+            cancel(data);
+            return;
+        }
+        CancellationSupport.forwardCancellation(resolvedCodeLensFuture, request);
+        request.whenComplete((resolved, error) -> {
+            if (error != null) {
+                resolvedCodeLensFuture.completeExceptionally(error);
+            } else {
+                resolvedCodeLensFuture.complete(resolved);
+            }
+            synchronized (this) {
+                runningCodeLenses.remove(data);
+            }
+            sendNextRequests();
+        });
+    }
+
+    private void cancel(@NotNull CodeLensData data) {
+        // The document has changed, cancel the code lens and the pending code lenses
+        data.resolvedCodeLensFuture().cancel(true);
+        synchronized (this) {
+            runningCodeLenses.remove(data);
+            pendingCodeLenses.forEach(pending -> pending.resolvedCodeLensFuture().cancel(true));
+            pendingCodeLenses.clear();
+            completeIfAllResolved();
+        }
+    }
+
+    private void completeIfAllResolved() {
+        if (runningCodeLenses.isEmpty() && pendingCodeLenses.isEmpty()) {
+            allResolved.complete(null);
+        }
+    }
+}
@@ -13,6 +13,7 @@ package com.redhat.devtools.lsp4ij.features.codeLens;
 import com.intellij.codeInsight.codeVision.*;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.DumbService;
@@ -28,22 +29,33 @@ import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.client.ExecuteLSPFeatureStatus;
 import com.redhat.devtools.lsp4ij.client.indexing.ProjectIndexingManager;
 import com.redhat.devtools.lsp4ij.client.features.LSPCodeLensFeature;
+import com.redhat.devtools.lsp4ij.internal.DocumentSnapshot;
 import com.redhat.devtools.lsp4ij.internal.StringUtils;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
 import kotlin.Pair;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.intellij.codeInsight.codeVision.CodeVisionState.Ready;
 import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.isDoneNormally;
@@ -51,13 +63,24 @@ import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.waitUntilDo
 
 /**
  * LSP textDocument/codeLens support.
+ * <p>
+ * The code lenses of the visible area of the editor are resolved first (see {@link CodeLensResolveScheduler}),
+ * the code visions are refreshed when the pending resolved code lenses are available.
+ * </p>
  */
-public class LSPCodeLensProvider implements CodeVisionProvider<Void> {
+public class LSPCodeLensProvider implements CodeVisionProvider<TextRange> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LSPCodeLensProvider.class);
     public static final String LSP_CODE_LENS_PROVIDER_ID = "LSPCodeLensProvider";
     public static final String LSP_CODE_LENS_GROUP_ID = "LSPCodeLens";
 
+    // Delay (in ms) to wait for the resolve of the code lenses of the visible area before rendering the code visions.
+    private static final int RESOLVE_CODE_LENS_TIMEOUT = 200;
+
+    // Delay (in ms) to wait for the code lenses of the current version of the document before rendering
+    // the code lenses of a previous version rebased to the current version.
+    private static final int CODE_LENS_REBASE_TIMEOUT = 200;
+
     @NotNull
     @Override
     public CodeVisionAnchorKind getDefaultAnchor() {
@@ -85,7 +108,7 @@ public class LSPCodeLensProvider implements CodeVisionProvider<Void> {
 
     @NotNull
     @Override
-    public CodeVisionState computeCodeVision(@NotNull Editor editor, Void uiData) {
+    public CodeVisionState computeCodeVision(@NotNull Editor editor, @Nullable TextRange visibleRange) {
         final Project project = editor.getProject();
         if (project == null || project.isDisposed()) {
             return CodeVisionState.Companion.getREADY_EMPTY();
@@ -109,88 +132,161 @@ public class LSPCodeLensProvider implements CodeVisionProvider<Void> {
             // Here PsiFile is associated with some language servers.
 
             // Get LSP code lenses from cache or create them
-            CompletableFuture<List<CodeLensData>> future = getCodeLenses(psiFile);
+            LSPCodeLensSupport codeLensSupport = LSPFileSupport.getSupport(psiFile).getCodeLensSupport();
+            CompletableFuture<List<CodeLensData>> future = getCodeLenses(psiFile, codeLensSupport);
+            var lastResult = codeLensSupport.getLastResult();
+            if (future != null && lastResult != null && !lastResult.snapshot().isCurrent() && !future.isDone()) {
+                try {
+                    waitUntilDone(future, psiFile, CODE_LENS_REBASE_TIMEOUT);
+                } catch (TimeoutException e) {
+                    // The code lenses are loading, render the last code lenses (computed for a previous version of the document)
+                    // rebased to the current version of the document and refresh the code vision when the code lenses are loaded.
+                    EditorFeatureManager.getInstance(project)
+                            .refreshEditorFeatureWhenAllDone(Set.of(future), psiFile.getModificationStamp(), psiFile, EditorFeatureType.CODE_VISION);
+                    return createCodeVisions(psiFile, editor, lastResult.result(), lastResult.snapshot());
+                }
+            }
             // Wait until the future is finished and stop the wait if there are some ProcessCanceledException.
             waitUntilDone(future, psiFile);
             if (isDoneNormally(future)) {
                 // All code lenses from all language server are loaded.
-                List<Pair<TextRange, CodeVisionEntry>> result = new ArrayList<>();
                 List<CodeLensData> data = future.getNow(null);
                 if (data == null) {
                     return CodeVisionState.Companion.getREADY_EMPTY();
                 }
-                if (!data.isEmpty()) {
-                    Map<LanguageServerItem, LSPCodeLensFeature.LSPCodeLensContext> codeLensContexts = new HashMap<>();
-                    // At this step codelens are sorted by line number
-                    // Create IJ CodeVision from LSP CodeLens
-                    // As CodeVision cannot support showing several CodeVision entries for the same line, we create
-                    // CodeVision entry with different providerId ('LSPCodelensProvider', 'LSPCodelensProvider0', 'LSPCodelensProvider1', etc)
-                    CodeLensData previous = null;
-                    int nbCodeLensForCurrentLine = -1;
-                    for (var codeLensData : data) {
-                        if (previous != null) {
-                            if (getCodeLensLine(previous) == getCodeLensLine(codeLensData)) {
-                                // The current LSP Codelens must be shown in the same line as previous LSP Codelens,
-                                // increment nbCodeLensForCurrentLine to generate the proper providerId LSPCodelensProvider0', 'LSPCodelensProvider1', etc
-                                nbCodeLensForCurrentLine++;
-                            } else {
-                                nbCodeLensForCurrentLine = -1;
-                            }
-                        }
-                        CodeLens codeLens = codeLensData.codeLens();
-                        var resolvedCodeLensFuture = codeLensData.resolvedCodeLensFuture();
-                        if (resolvedCodeLensFuture != null && !resolvedCodeLensFuture.isDone()) {
-                            // The resolve code lens future is not finished, wait for...
-                            try {
-                                waitUntilDone(resolvedCodeLensFuture, psiFile);
-                            } catch (ProcessCanceledException e) {
-                                //Since 2024.2 ProcessCanceledException extends CancellationException so we can't use multicatch to keep backward compatibility
-                                //TODO delete block when minimum required version is 2024.2
-                            } catch (CancellationException e) {
-                                // Do nothing
-                            } catch (ExecutionException e) {
-                                LOGGER.error("Error while consuming LSP 'textDocument/resolveCodeLens' request", e);
-                            }
-                        }
-                        if (isDoneNormally(resolvedCodeLensFuture)) {
-                            // The resolve code lens future is finished, use the resolved code lens
-                            CodeLens resolved = resolvedCodeLensFuture.getNow(null);
-                            if (resolved != null) {
-                                codeLens = resolved;
-                            }
+                resolveCodeLenses(psiFile, editor.getDocument(), data, visibleRange);
+                return createCodeVisions(psiFile, editor, data, null);
+            }
+            return CodeVisionState.NotReady.INSTANCE;
+        }, project);
+    }
+
+    private @NotNull CodeVisionState createCodeVisions(@NotNull PsiFile psiFile,
+                                                       @NotNull Editor editor,
+                                                       @NotNull List<CodeLensData> data,
+                                                       @Nullable DocumentSnapshot snapshot) {
+        List<Pair<TextRange, CodeVisionEntry>> result = new ArrayList<>();
+        if (!data.isEmpty()) {
+            Map<LanguageServerItem, LSPCodeLensFeature.LSPCodeLensContext> codeLensContexts = new HashMap<>();
+            // At this step codelens are sorted by line number
+            // Create IJ CodeVision from LSP CodeLens
+            // As CodeVision cannot support showing several CodeVision entries for the same line, we create
+            // CodeVision entry with different providerId ('LSPCodelensProvider', 'LSPCodelensProvider0', 'LSPCodelensProvider1', etc)
+            CodeLensData previous = null;
+            int nbCodeLensForCurrentLine = -1;
+            for (var codeLensData : data) {
+                if (previous != null) {
+                    if (getCodeLensLine(previous) == getCodeLensLine(codeLensData)) {
+                        // The current LSP Codelens must be shown in the same line as previous LSP Codelens,
+                        // increment nbCodeLensForCurrentLine to generate the proper providerId LSPCodelensProvider0', 'LSPCodelensProvider1', etc
+                        nbCodeLensForCurrentLine++;
+                    } else {
+                        nbCodeLensForCurrentLine = -1;
+                    }
+                }
+                CodeLens codeLens = codeLensData.codeLens();
+                var resolvedCodeLensFuture = codeLensData.resolvedCodeLensFuture();
+                if (isDoneNormally(resolvedCodeLensFuture)) {
+                    // The resolve code lens future is finished, use the resolved code lens
+                    CodeLens resolved = resolvedCodeLensFuture.getNow(null);
+                    if (resolved != null) {
+                        codeLens = resolved;
+                    }
+                }
+                if (codeLens.getCommand() != null) {
+                    var codeLensFeature = codeLensData.languageServer().getClientFeatures().getCodeLensFeature();
+                    // Code lens is valid, create the proper code vision entry and text range.
+                    String text = codeLens.getCommand().getTitle();
+                    if (!StringUtils.isEmpty(text)) {
+                        // If LSP CodeLens is the  first lens for the current line, we use the same providerId as this LSPCodeLensProvider ('LSPCodeLensProvider)
+                        // other we generate a providerId like 'LSPCodeLensProvider0' and as DummyCodeVisionProvider are registered with 'LSPCodeLensProvider0', etc
+                        // the code vision entry will be updated correctly
+                        // See https://github.com/JetBrains/intellij-community/blob/f18aa7b9d65ab4b03d75a26aaec1e726821dc4d7/platform/lang-impl/src/com/intellij/codeInsight/codeVision/CodeVisionHost.kt#L348
+                        var ls = codeLensData.languageServer();
+                        var context = codeLensContexts.get(ls);
+                        if (context == null) {
+                            context = new LSPCodeLensFeature.LSPCodeLensContext(psiFile, ls);
+                            codeLensContexts.put(ls, context);
                         }
-                        if (codeLens.getCommand() != null) {
-                            var codeLensFeature = codeLensData.languageServer().getClientFeatures().getCodeLensFeature();
-                            // Code lens is valid, create the proper code vision entry and text range.
-                            String text = codeLens.getCommand().getTitle();
-                            if (!StringUtils.isEmpty(text)) {
-                                // If LSP CodeLens is the  first lens for the current line, we use the same providerId as this LSPCodeLensProvider ('LSPCodeLensProvider)
-                                // other we generate a providerId like 'LSPCodeLensProvider0' and as DummyCodeVisionProvider are registered with 'LSPCodeLensProvider0', etc
-                                // the code vision entry will be updated correctly
-                                // See https://github.com/JetBrains/intellij-community/blob/f18aa7b9d65ab4b03d75a26aaec1e726821dc4d7/platform/lang-impl/src/com/intellij/codeInsight/codeVision/CodeVisionHost.kt#L348
-                                var ls = codeLensData.languageServer();
-                                var context = codeLensContexts.get(ls);
-                                if (context == null) {
-                                    context = new LSPCodeLensFeature.LSPCodeLensContext(psiFile, ls);
-                                    codeLensContexts.put(ls, context);
-                                }
-                                String providerId = nbCodeLensForCurrentLine == -1 ? getId() : getId() + nbCodeLensForCurrentLine;
-                                CodeVisionEntry entry = codeLensFeature.createCodeVisionEntry(codeLens, providerId, context);
-                                if (entry != null) {
-                                    TextRange textRange = LSPIJUtils.toTextRange(codeLens.getRange(), editor.getDocument(), null, true);
-                                    result.add(new Pair<>(textRange, entry));
-                                }
+                        String providerId = nbCodeLensForCurrentLine == -1 ? getId() : getId() + nbCodeLensForCurrentLine;
+                        CodeVisionEntry entry = codeLensFeature.createCodeVisionEntry(codeLens, providerId, context);
+                        if (entry != null) {
+                            TextRange textRange = snapshot != null ?
+                                    snapshot.toCurrentTextRange(codeLens.getRange()) :
+                                    LSPIJUtils.toTextRange(codeLens.getRange(), editor.getDocument(), null, true);
+                            if (textRange != null) {
+                                result.add(new Pair<>(textRange, entry));
                             }
                         }
-                        previous = codeLensData;
-
                     }
                 }
-                // Returns the code visions
-                return new Ready(result);
+                previous = codeLensData;
+
             }
-            return CodeVisionState.NotReady.INSTANCE;
-        }, project);
+        }
+        // Returns the code visions
+        return new Ready(result);
+    }
+
+    /**
+     * Resolve the code lenses of the visible area first, wait for them for a short delay and refresh the code visions
+     * when the pending code lenses are resolved (at most one refresh is pending per {@link CodeLensResolveScheduler}).
+     *
+     * @param psiFile      the Psi file.
+     * @param document     the document.
+     * @param data         the code lenses.
+     * @param visibleRange the visible area of the editor and null otherwise.
+     */
+    private static void resolveCodeLenses(@NotNull PsiFile psiFile,
+                                          @NotNull Document document,
+                                          @NotNull List<CodeLensData> data,
+                                          @Nullable TextRange visibleRange) {
+        int startLine = 0;
+        int endLine = Integer.MAX_VALUE;
+        if (visibleRange != null && visibleRange.getEndOffset() <= document.getTextLength()) {
+            startLine = document.getLineNumber(visibleRange.getStartOffset());
+            endLine = document.getLineNumber(visibleRange.getEndOffset());
+        }
+        // Schedule the 'codeLens/resolve' requests of each language server
+        Map<CodeLensResolveScheduler, Set<CompletableFuture<CodeLens>>> visibleFuturesPerScheduler = new IdentityHashMap<>();
+        Set<CompletableFuture<?>> visibleFutures = new HashSet<>();
+        for (var codeLensData : data) {
+            var resolvedCodeLensFuture = codeLensData.resolvedCodeLensFuture();
+            if (codeLensData.resolveScheduler() != null && resolvedCodeLensFuture != null && !resolvedCodeLensFuture.isDone()) {
+                var schedulerVisibleFutures = visibleFuturesPerScheduler.computeIfAbsent(codeLensData.resolveScheduler(), scheduler -> new HashSet<>());
+                int line = getCodeLensLine(codeLensData);
+                if (line >= startLine && line <= endLine) {
+                    schedulerVisibleFutures.add(resolvedCodeLensFuture);
+                    visibleFutures.add(resolvedCodeLensFuture);
+                }
+            }
+        }
+        for (var scheduler : visibleFuturesPerScheduler.keySet()) {
+            scheduler.schedule(startLine, endLine);
+        }
+        if (!visibleFutures.isEmpty()) {
+            // Wait for the code lenses of the visible area
+            // (in tests [computeCodeVision] is executed in sync mode, all code lenses are waited)
+            boolean waitAll = visibleRange == null || ApplicationManager.getApplication().isUnitTestMode();
+            try {
+                waitUntilDone(CompletableFuture.allOf(visibleFutures.toArray(new CompletableFuture[0])), psiFile,
+                        waitAll ? null : RESOLVE_CODE_LENS_TIMEOUT);
+            } catch (TimeoutException e) {
+                // The code lenses of the visible area are resolving, render the resolved code lenses
+                // and refresh the code vision when the code lenses of the visible area are resolved.
+            } catch (ExecutionException e) {
+                LOGGER.error("Error while consuming LSP 'textDocument/resolveCodeLens' request", e);
+            }
+        }
+        // Publish the resolved code lenses of the visible area first, then the other code lenses once they are all resolved.
+        visibleFuturesPerScheduler.forEach((scheduler, schedulerVisibleFutures) -> {
+            schedulerVisibleFutures.removeIf(CompletableFuture::isDone);
+            var refresh = scheduler.registerRefresh(schedulerVisibleFutures);
+            if (refresh != null) {
+                EditorFeatureManager.getInstance(psiFile.getProject())
+                        .refreshEditorFeatureWhenAllDone(Set.of(refresh), psiFile.getModificationStamp(), psiFile, EditorFeatureType.CODE_VISION);
+            }
+        });
     }
 
     private static CodeVisionState computeCodeVisionUnderReadAction(@NotNull ThrowableComputable<CodeVisionState, Throwable> computable,
@@ -228,8 +324,8 @@ public class LSPCodeLensProvider implements CodeVisionProvider<Void> {
         return codeLensData.codeLens().getRange().getStart().getLine();
     }
 
-    private static CompletableFuture<List<CodeLensData>> getCodeLenses(@NotNull PsiFile psiFile) {
-        LSPCodeLensSupport codeLensSupport = LSPFileSupport.getSupport(psiFile).getCodeLensSupport();
+    private static CompletableFuture<List<CodeLensData>> getCodeLenses(@NotNull PsiFile psiFile,
+                                                                       @NotNull LSPCodeLensSupport codeLensSupport) {
         var params = new CodeLensParams(LSPIJUtils.toTextDocumentIdentifier(psiFile.getVirtualFile()));
         CompletableFuture<List<CodeLensData>> future;
         try {
@@ -243,8 +339,12 @@ public class LSPCodeLensProvider implements CodeVisionProvider<Void> {
     }
 
     @Override
-    public Void precomputeOnUiThread(@NotNull Editor editor) {
-        return null;
+    public TextRange precomputeOnUiThread(@NotNull Editor editor) {
+        // Compute the visible area of the editor to resolve first its code lenses
+        Rectangle visibleArea = editor.getScrollingModel().getVisibleArea();
+        int startOffset = editor.logicalPositionToOffset(editor.xyToLogicalPosition(visibleArea.getLocation()));
+        int endOffset = editor.logicalPositionToOffset(editor.xyToLogicalPosition(new Point(visibleArea.x, visibleArea.y + visibleArea.height)));
+        return startOffset <= endOffset ? new TextRange(startOffset, endOffset) : null;
     }
 
     @NotNull
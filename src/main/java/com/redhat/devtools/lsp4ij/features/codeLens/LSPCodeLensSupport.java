@@ -50,6 +50,12 @@ public class LSPCodeLensSupport extends AbstractLSPDocumentFeatureSupport<CodeLe
         return getCodeLenses(file, params, cancellationSupport);
     }
 
+    @Override
+    protected boolean keepSupersededRequests() {
+        // Code lenses from a previous version of the document are rendered while typing
+        return true;
+    }
+
     private static @NotNull CompletableFuture<List<CodeLensData>> getCodeLenses(@NotNull PsiFile file,
                                                                                 @NotNull CodeLensParams params,
                                                                                 @NotNull CancellationSupport cancellationSupport) {
@@ -96,22 +102,19 @@ public class LSPCodeLensSupport extends AbstractLSPDocumentFeatureSupport<CodeLe
                         return Collections.emptyList();
                     }
                     List<CodeLensData> data = new ArrayList<>();
+                    var codeLensFeature = languageServer.getClientFeatures().getCodeLensFeature();
+                    var resolveScheduler = new CodeLensResolveScheduler(languageServer, cancellationSupport);
                     codeLenses
                             .stream()
                             .filter(LSPCodeLensSupport::isValidCodeLens)
                             .forEach(codeLens -> {
-                                CompletableFuture<CodeLens> resolvedCodeLensFuture = null;
-                                var codeLensFeature = languageServer.getClientFeatures().getCodeLensFeature();
                                 if (codeLens.getCommand() == null && codeLensFeature.isResolveCodeLensSupported(file)) {
                                     // - the codelens has no command, and the language server supports codeLens/resolve
-                                    // prepare the future which resolves the codelens.
-                                    resolvedCodeLensFuture = cancellationSupport.execute(languageServer
-                                            .getTextDocumentService()
-                                            .resolveCodeLens(codeLens), languageServer, LSPRequestConstants.CODE_LENS_RESOLVE);
-                                }
-                                if (codeLensFeature.getText(codeLens) != null || resolvedCodeLensFuture != null) {
-                                    // The codelens content is filled or the codelens must be resolved
-                                    data.add(new CodeLensData(codeLens, languageServer, resolvedCodeLensFuture));
+                                    // the codelens will be resolved when it is displayed (see CodeLensResolveScheduler).
+                                    data.add(resolveScheduler.createCodeLensData(codeLens));
+                                } else if (codeLensFeature.getText(codeLens) != null) {
+                                    // The codelens content is filled
+                                    data.add(new CodeLensData(codeLens, languageServer));
                                 }
                             });
                     return data;
@@ -15,7 +15,11 @@ import com.intellij.openapi.util.text.StringUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Compares LSP CompletionItems / DAP CompletionItems by their sortText property (falls back to comparing labels)
@@ -33,6 +37,134 @@ public abstract class AbstractCompletionItemComparator<T> implements Comparator<
 		this.caseSensitive = caseSensitive;
 	}
 
+	/**
+	 * Sort key of an item, computed once before sorting a large list of items.
+	 *
+	 * @param item      the item.
+	 * @param index     the index of the item in the unsorted list, used to keep the sort stable.
+	 * @param rank      the rank of the item against the current word and the prefix (lower is better).
+	 * @param sortText  the sort text of the item (case-folded if the comparison is case-insensitive).
+	 * @param label     the label of the item (case-folded if the comparison is case-insensitive).
+	 * @param <T>       the item type.
+	 */
+	private record SortKey<T>(T item, int index, long rank, @Nullable String sortText, @Nullable String label) {
+	}
+
+	/**
+	 * Sorts the given items and consumes them in order with their position in the sorted list.
+	 * <p>
+	 * Unlike {@link java.util.List#sort(Comparator)}, the matching against the current word and the prefix
+	 * and the case folding are computed once per item instead of once per comparison. The first
+	 * {@code firstPageSize} items are selected and consumed before the remaining items are sorted,
+	 * so the best items of a huge list can be displayed before the whole list is processed.
+	 * </p>
+	 * <p>
+	 * Labels which are quoted strings are ranked like labels which don't match the current word and the prefix.
+	 * </p>
+	 *
+	 * @param items         the items to sort.
+	 * @param firstPageSize the number of best items which are consumed before sorting the remaining items.
+	 * @param consumer      the consumer of each item with its position in the sorted list.
+	 */
+	public void forEachSorted(@NotNull List<T> items,
+							  int firstPageSize,
+							  @NotNull ObjIntConsumer<T> consumer) {
+		int size = items.size();
+		List<SortKey<T>> keys = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			keys.add(createSortKey(items.get(i), i));
+		}
+		Comparator<SortKey<T>> keyComparator = this::compare;
+		int position = 0;
+		if (firstPageSize > 0 && size > firstPageSize) {
+			// Select the first page with a bounded heap whose head is the worst item of the page
+			PriorityQueue<SortKey<T>> firstPage = new PriorityQueue<>(firstPageSize + 1, keyComparator.reversed());
+			List<SortKey<T>> remainingKeys = new ArrayList<>(size - firstPageSize);
+			for (SortKey<T> key : keys) {
+				firstPage.add(key);
+				if (firstPage.size() > firstPageSize) {
+					remainingKeys.add(firstPage.poll());
+				}
+			}
+			List<SortKey<T>> firstPageKeys = new ArrayList<>(firstPage);
+			firstPageKeys.sort(keyComparator);
+			for (SortKey<T> key : firstPageKeys) {
+				consumer.accept(key.item(), position++);
+			}
+			keys = remainingKeys;
+		}
+		keys.sort(keyComparator);
+		for (SortKey<T> key : keys) {
+			consumer.accept(key.item(), position++);
+		}
+	}
+
+	private SortKey<T> createSortKey(@NotNull T item, int index) {
+		String label = getLabel(item);
+		int wordRank = 0;
+		int prefixRank = 0;
+		int matchingDegree = 0;
+		if (label == null || !StringUtil.isQuotedString(label)) {
+			if (currentWord != null) {
+				// Exact match, then starts with
+				if (equals(currentWord, label)) {
+					wordRank = 0;
+				} else if (startsWith(currentWord, label) || startsWith(label, currentWord)) {
+					wordRank = 1;
+				} else {
+					wordRank = 2;
+				}
+			}
+			if (prefixMatcher != null) {
+				// Starts with, then loose/camel-hump starts with
+				if (!startsWith(label, prefixMatcher.getPrefix())) {
+					prefixRank |= 2;
+				}
+				if (label != null && prefixMatcher.isStartMatch(label)) {
+					// Better matches are ranked higher and we want those ordered earlier
+					matchingDegree = prefixMatcher.matchingDegree(label);
+				} else {
+					prefixRank |= 1;
+				}
+			}
+		} else {
+			wordRank = currentWord != null ? 2 : 0;
+			prefixRank = prefixMatcher != null ? 3 : 0;
+		}
+		long rank = ((long) (wordRank << 2 | prefixRank) << 32) | ((long) Integer.MAX_VALUE - matchingDegree);
+		return new SortKey<>(item, index, rank, fold(getSortText(item)), fold(label));
+	}
+
+	@Nullable
+	private String fold(@Nullable String text) {
+		if (text == null || caseSensitive) {
+			return text;
+		}
+		// Same case folding as String#compareToIgnoreCase
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+	private int compare(@NotNull SortKey<T> key1, @NotNull SortKey<T> key2) {
+		int comparison = Long.compare(key1.rank(), key2.rank());
+		if (comparison != 0) {
+			return comparison;
+		}
+		// Order by language server-provided sort text, then by label
+		comparison = StringUtil.compare(key1.sortText(), key2.sortText(), false);
+		if (comparison != 0) {
+			return comparison;
+		}
+		comparison = StringUtil.compare(key1.label(), key2.label(), false);
+		if (comparison != 0) {
+			return comparison;
+		}
+		return Integer.compare(key1.index(), key2.index());
+	}
+
 	@Override
 	public int compare(T item1, T item2) {
 		if (item1 == item2) {
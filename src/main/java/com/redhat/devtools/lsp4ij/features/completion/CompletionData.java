@@ -23,7 +23,19 @@ import java.util.List;
  *
  * @param completion               the LSP completion response
  * @param languageServer         the language server which has created the completion response.
+ * @param completionOffset       the offset where the completion has been requested.
  */
 record CompletionData(@NotNull Either<List<CompletionItem>, CompletionList> completion,
-                      @NotNull LanguageServerItem languageServer) {
+                      @NotNull LanguageServerItem languageServer,
+                      int completionOffset) {
+
+    /**
+     * Returns true if the completion response contains all the completion items for the word being typed
+     * and false if the language server must be queried again when the word changes.
+     *
+     * @return true if the completion response is a complete list and false otherwise.
+     */
+    boolean isComplete() {
+        return completion.isLeft() || !completion.getRight().isIncomplete();
+    }
 }
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.internal.json.LSPTypeAdapters;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Completion items streamed by the language servers with '$/progress' notifications when the
+ * 'textDocument/completion' requests are sent with a partial result token.
+ * <p>
+ * Each batch of completion items is available as soon as it is received, so it can be added to the
+ * completion result set while the requests are processing.
+ * </p>
+ */
+class CompletionPartialResults {
+
+    private static final Type COMPLETION_ITEMS_TYPE = new TypeToken<List<CompletionItem>>() {
+    }.getType();
+
+    private final List<CompletionData> batches = new ArrayList<>();
+
+    /**
+     * Returns the handler of the partial results of the given language server.
+     *
+     * @param languageServer   the language server.
+     * @param completionOffset the offset where the completion has been requested.
+     * @return the handler of the partial results of the given language server.
+     */
+    @NotNull
+    ServerPartialResults createHandler(@NotNull LanguageServerItem languageServer, int completionOffset) {
+        return new ServerPartialResults(languageServer, completionOffset);
+    }
+
+    /**
+     * Returns the batches of completion items received since the given index.
+     *
+     * @param fromIndex the index of the first batch to return.
+     * @return the batches of completion items received since the given index.
+     */
+    @NotNull
+    synchronized List<CompletionData> getBatches(int fromIndex) {
+        if (fromIndex >= batches.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(batches.subList(fromIndex, batches.size()));
+    }
+
+    private synchronized void addBatch(@NotNull CompletionData batch) {
+        batches.add(batch);
+    }
+
+    /**
+     * Partial results of a language server.
+     * <p>
+     * As defined by the LSP specification, if the first partial result is a {@link CompletionList},
+     * the next partial results (a list of {@link CompletionItem}) are added to the items of this completion list.
+     * </p>
+     */
+    class ServerPartialResults implements Consumer<JsonElement> {
+
+        private final @NotNull LanguageServerItem languageServer;
+        private final int completionOffset;
+        private final List<CompletionItem> items = new ArrayList<>();
+        private @Nullable CompletionList completionList;
+
+        private ServerPartialResults(@NotNull LanguageServerItem languageServer, int completionOffset) {
+            this.languageServer = languageServer;
+            this.completionOffset = completionOffset;
+        }
+
+        @Override
+        public void accept(@NotNull JsonElement json) {
+            Either<List<CompletionItem>, CompletionList> batch;
+            synchronized (this) {
+                List<CompletionItem> batchItems;
+                if (json.isJsonObject()) {
+                    CompletionList list = LSPTypeAdapters.getGson().fromJson(json, CompletionList.class);
+                    if (completionList == null) {
+                        completionList = list;
+                    }
+                    batchItems = list != null ? list.getItems() : null;
+                } else {
+                    batchItems = LSPTypeAdapters.getGson().fromJson(json, COMPLETION_ITEMS_TYPE);
+                }
+                if (batchItems == null || batchItems.isEmpty()) {
+                    return;
+                }
+                items.addAll(batchItems);
+                batch = completionList != null ? Either.forRight(new CompletionList(completionList.isIncomplete(), batchItems, completionList.getItemDefaults())) : Either.forLeft(batchItems);
+            }
+            addBatch(new CompletionData(batch, languageServer, completionOffset));
+        }
+
+        /**
+         * Returns the completion items of the partial results followed by the completion items of the given
+         * final result of the 'textDocument/completion' request.
+         *
+         * @param result the final result of the 'textDocument/completion' request.
+         * @return the completion items of the partial results and of the final result.
+         */
+        @Nullable
+        synchronized Either<List<CompletionItem>, CompletionList> merge(@Nullable Either<List<CompletionItem>, CompletionList> result) {
+            if (items.isEmpty() && completionList == null) {
+                // The language server doesn't support partial results
+                return result;
+            }
+            List<CompletionItem> allItems = new ArrayList<>(items);
+            CompletionList list = completionList;
+            boolean incomplete = list != null && list.isIncomplete();
+            if (result != null) {
+                if (result.isLeft()) {
+                    if (result.getLeft() != null) {
+                        allItems.addAll(result.getLeft());
+                    }
+                } else if (result.getRight() != null) {
+                    CompletionList resultList = result.getRight();
+                    if (resultList.getItems() != null) {
+                        allItems.addAll(resultList.getItems());
+                    }
+                    incomplete |= resultList.isIncomplete();
+                    if (list == null) {
+                        list = resultList;
+                    }
+                }
+            }
+            if (list == null) {
+                return Either.forLeft(allItems);
+            }
+            return Either.forRight(new CompletionList(incomplete, allItems, list.getItemDefaults()));
+        }
+    }
+}
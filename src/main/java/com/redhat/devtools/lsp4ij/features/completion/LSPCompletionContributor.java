@@ -42,6 +42,7 @@ import java.util.*;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.isDoneNormally;
 import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.waitUntilDone;
@@ -52,6 +53,9 @@ import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.waitUntilDo
 public class LSPCompletionContributor extends CompletionContributor {
     private static final Logger LOGGER = LoggerFactory.getLogger(LSPCompletionContributor.class);
 
+    // Number of best completion items added to the completion popup before sorting the other items
+    private static final int FIRST_PAGE_SIZE = 50;
+
     @Override
     public void fillCompletionVariants(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result) {
         PsiFile psiFile = parameters.getOriginalFile();
@@ -74,13 +78,28 @@ public class LSPCompletionContributor extends CompletionContributor {
                 LSPIJUtils.toPosition(offset, document),
                 offset,
                 autoPopup ? getCompletionChar(offset, document) : null,
-                autoPopup);
+                autoPopup,
+                result.getPrefixMatcher().getPrefix());
         CompletableFuture<List<CompletionData>> future = LSPFileSupport.getSupport(psiFile)
                 .getCompletionSupport()
                 .getCompletions(params);
+        CompletionPrefix completionPrefix = new CompletionPrefix(offset, document);
+        Set<CompletionItem> addedItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> addedLookupStrings = new HashSet<>();
         try {
             // Wait until the future is finished and stop the wait if there are some ProcessCanceledException.
-            waitUntilDone(future, psiFile);
+            // While waiting, add the completion items streamed by the language servers with '$/progress' notifications.
+            // The partial results are polled from a single wait, so the wait is stopped when the projects are indexing for too long.
+            CompletionPartialResults partialResults = params.getPartialResults();
+            AtomicInteger batchIndex = new AtomicInteger();
+            waitUntilDone(future, psiFile, () -> {
+                for (var batch : partialResults.getBatches(batchIndex.get())) {
+                    batchIndex.incrementAndGet();
+                    ProgressManager.checkCanceled();
+                    addCompletionItems(parameters, completionPrefix, batch.completion(), batch.languageServer(), batch.completionOffset(), result,
+                            addedItems, addedLookupStrings, true);
+                }
+            });
         } catch (
                 ProcessCanceledException ignore) {//Since 2024.2 ProcessCanceledException extends CancellationException so we can't use multicatch to keep backward compatibility
             //TODO delete block when minimum required version is 2024.2
@@ -96,10 +115,11 @@ public class LSPCompletionContributor extends CompletionContributor {
         if (isDoneNormally(future)) {
             List<CompletionData> data = future.getNow(Collections.emptyList());
             if (!data.isEmpty()) {
-                CompletionPrefix completionPrefix = new CompletionPrefix(offset, document);
                 for (var item : data) {
                     ProgressManager.checkCanceled();
-                    addCompletionItems(parameters, completionPrefix, item.completion(), item.languageServer(), result);
+                    // The completion items which have been streamed are not added twice
+                    addCompletionItems(parameters, completionPrefix, item.completion(), item.languageServer(), item.completionOffset(), result,
+                            addedItems, addedLookupStrings, false);
                 }
             }
         }
@@ -109,16 +129,13 @@ public class LSPCompletionContributor extends CompletionContributor {
                                     @NotNull CompletionPrefix completionPrefix,
                                     @NotNull Either<List<CompletionItem>, CompletionList> completion,
                                     @NotNull LanguageServerItem languageServer,
-                                    @NotNull CompletionResultSet result) {
-        CompletionItemDefaults itemDefaults = null;
-        List<CompletionItem> items = new ArrayList<>();
-        if (completion.isLeft()) {
-            items.addAll(completion.getLeft());
-        } else {
-            CompletionList completionList = completion.getRight();
-            itemDefaults = completionList.getItemDefaults();
-            items.addAll(completionList.getItems());
-        }
+                                    int completionOffset,
+                                    @NotNull CompletionResultSet result,
+                                    @NotNull Set<CompletionItem> addedItems,
+                                    @NotNull Set<String> addedLookupStrings,
+                                    boolean partialResult) {
+        List<CompletionItem> items = completion.isLeft() ? completion.getLeft() : completion.getRight().getItems();
+        CompletionItemDefaults itemDefaults = completion.isRight() ? completion.getRight().getItemDefaults() : null;
 
         PsiFile originalFile = parameters.getOriginalFile();
         LSPClientFeatures clientFeatures = languageServer.getClientFeatures();
@@ -132,16 +149,20 @@ public class LSPCompletionContributor extends CompletionContributor {
         PrefixMatcher prefixMatcher = useContextAwareSorting ? result.getPrefixMatcher() : null;
         String currentWord = useContextAwareSorting ? getCurrentWord(parameters) : null;
         boolean caseSensitive = clientFeatures.isCaseSensitive(originalFile);
-        items.sort(new LSPCompletionItemComparator(prefixMatcher, currentWord, caseSensitive));
+        var comparator = new LSPCompletionItemComparator(prefixMatcher, currentWord, caseSensitive);
         int size = items.size();
 
-        Set<String> addedLookupStrings = new HashSet<>();
         var completionFeature = clientFeatures.getCompletionFeature();
-        LSPCompletionFeature.LSPCompletionContext context = new LSPCompletionFeature.LSPCompletionContext(parameters, languageServer);
-        // Items now sorted by priority, low index == high priority
-        for (int i = 0; i < size; i++) {
-            var item = items.get(i);
+        LSPCompletionFeature.LSPCompletionContext context = new LSPCompletionFeature.LSPCompletionContext(parameters, languageServer, completionOffset);
+        // Items are consumed sorted by priority, low index == high priority.
+        // The lookup items of the first page are created and added before sorting the other items
+        // to display the completion popup as soon as possible for huge completion lists.
+        comparator.forEachSorted(items, FIRST_PAGE_SIZE, (item, i) -> {
             ProgressManager.checkCanceled();
+            if (!addedItems.add(item)) {
+                // The completion item has already been added
+                return;
+            }
             // Update text edit range, commitCharacters, ... with item defaults if needed
             updateWithItemDefaults(item, itemDefaults);
             // Create lookup item
@@ -150,6 +171,11 @@ public class LSPCompletionContributor extends CompletionContributor {
                 completionFeature.addLookupItem(context, completionPrefix, result, lookupItem, size - i, item);
                 ContainerUtil.addIfNotNull(addedLookupStrings, lookupItem.getLookupString());
             }
+        });
+
+        if (partialResult) {
+            // The remaining completion contributors are executed when all completion items are added
+            return;
         }
 
         // If completions were added from LSP and this is auto-completion or the explicit completion was triggered an
@@ -257,6 +283,9 @@ public class LSPCompletionContributor extends CompletionContributor {
      * LSP lookup listener to track the selected completion item
      * and resolve if needed the LSP completionItem to get the detail
      * only for the selected completion item.
+     * <p>
+     * It also installs the prefetch of the LSP 'completionItem/resolve' requests of the top and selected items.
+     * </p>
      */
     public static class LSPLookupManagerListener implements LookupManagerListener {
 
@@ -265,6 +294,7 @@ public class LSPCompletionContributor extends CompletionContributor {
             if (newLookup == null) {
                 return;
             }
+            LSPCompletionResolvePrefetcher.install(newLookup);
             newLookup.addLookupListener(new LookupListener() {
                 @Override
                 public void currentItemChanged(@NotNull LookupEvent event) {
@@ -25,13 +25,23 @@ public class LSPCompletionParams extends CompletionParams {
 
     private transient final String completionChar;
     private final transient boolean autoPopup;
+    // The prefix of the IntelliJ completion (see PrefixMatcher#getPrefix()), the text before the offset used to filter the completion items
+    private final transient @Nullable String prefix;
+
+    // The completion items streamed by the language servers while the completion requests are processing
+    private final transient CompletionPartialResults partialResults = new CompletionPartialResults();
 
     public LSPCompletionParams(TextDocumentIdentifier textDocument, Position position, int offset, @Nullable String completionChar, boolean autoPopup) {
+        this(textDocument, position, offset, completionChar, autoPopup, null);
+    }
+
+    public LSPCompletionParams(TextDocumentIdentifier textDocument, Position position, int offset, @Nullable String completionChar, boolean autoPopup, @Nullable String prefix) {
         super.setTextDocument(textDocument);
         super.setPosition(position);
         this.offset = offset;
         this.completionChar = completionChar;
         this.autoPopup = autoPopup;
+        this.prefix = prefix;
     }
 
     public int getOffset() {
@@ -45,4 +55,24 @@ public class LSPCompletionParams extends CompletionParams {
     public boolean isAutoPopup() {
         return autoPopup;
     }
+
+    /**
+     * Returns the prefix of the IntelliJ completion, the text before the offset used to filter the completion items
+     * and null if it is unknown.
+     *
+     * @return the prefix of the IntelliJ completion and null if it is unknown.
+     */
+    public @Nullable String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns the completion items streamed by the language servers with '$/progress' notifications
+     * while the 'textDocument/completion' requests sent with those parameters are processing.
+     *
+     * @return the completion items streamed by the language servers.
+     */
+    CompletionPartialResults getPartialResults() {
+        return partialResults;
+    }
 }
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.intellij.codeInsight.lookup.Lookup;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupEvent;
+import com.intellij.codeInsight.lookup.LookupListener;
+import com.intellij.codeInsight.lookup.impl.LookupImpl;
+import com.redhat.devtools.lsp4ij.client.features.LSPCompletionProposal;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Prefetch of the LSP 'completionItem/resolve' requests of the completion items displayed in a lookup,
+ * so the documentation and the detail of the selected item are available when the user navigates in the lookup.
+ *
+ * <ul>
+ *     <li>the selected item and its adjacent items are resolved first, then the top items of the lookup.</li>
+ *     <li>at most {@link #MAX_CONCURRENT_REQUESTS} requests are sent at the same time.</li>
+ *     <li>when the lookup is closed, the requests which are not done are canceled.</li>
+ * </ul>
+ *
+ * <p>
+ * The resolved completion items are cached by {@link LSPCompletionSupport} for the current completion session
+ * and are reused by the documentation rendering and the insert handling.
+ * </p>
+ */
+@ApiStatus.Internal
+public class LSPCompletionResolvePrefetcher implements LookupListener {
+
+    // Number of top items of the lookup which are resolved
+    private static final int TOP_ITEMS_COUNT = 10;
+
+    // Number of items before and after the selected item which are resolved
+    private static final int ADJACENT_ITEMS_COUNT = 2;
+
+    // Max number of 'completionItem/resolve' requests sent at the same time by the prefetch of a lookup.
+    private static final int MAX_CONCURRENT_REQUESTS = 2;
+
+    private final @NotNull LookupImpl lookup;
+
+    // Proposals waiting to be resolved, sorted by priority
+    private final Deque<LSPCompletionProposal> pendingProposals = new ArrayDeque<>();
+    // Proposals which are resolving
+    private final Map<LSPCompletionProposal, CompletableFuture<?>> runningProposals = new IdentityHashMap<>();
+
+    private boolean closed;
+
+    private LSPCompletionResolvePrefetcher(@NotNull LookupImpl lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Install the prefetch of the LSP 'completionItem/resolve' requests in the given lookup.
+     *
+     * @param lookup the lookup.
+     */
+    public static void install(@NotNull Lookup lookup) {
+        if (lookup instanceof LookupImpl lookupImpl) {
+            lookupImpl.addLookupListener(new LSPCompletionResolvePrefetcher(lookupImpl));
+        }
+    }
+
+    @Override
+    public void uiRefreshed() {
+        prefetch();
+    }
+
+    @Override
+    public void currentItemChanged(@NotNull LookupEvent event) {
+        prefetch();
+    }
+
+    @Override
+    public void itemSelected(@NotNull LookupEvent event) {
+        // The resolved completion item of the selected item is used by the insert handling
+        close(getProposal(event.getItem()));
+    }
+
+    @Override
+    public void lookupCanceled(@NotNull LookupEvent event) {
+        close(null);
+    }
+
+    private void prefetch() {
+        if (lookup.isLookupDisposed()) {
+            return;
+        }
+        // Collect the proposals to resolve by priority: the selected item, its adjacent items and the top items
+        JList<LookupElement> list = lookup.getList();
+        ListModel<LookupElement> model = list.getModel();
+        int size = model.getSize();
+        int selectedIndex = list.getSelectedIndex();
+        Set<LSPCompletionProposal> proposals = Collections.newSetFromMap(new LinkedHashMap<>());
+        if (selectedIndex >= 0 && selectedIndex < size) {
+            addProposal(model.getElementAt(selectedIndex), proposals);
+            for (int i = 1; i <= ADJACENT_ITEMS_COUNT; i++) {
+                if (selectedIndex + i < size) {
+                    addProposal(model.getElementAt(selectedIndex + i), proposals);
+                }
+                if (selectedIndex - i >= 0) {
+                    addProposal(model.getElementAt(selectedIndex - i), proposals);
+                }
+            }
+        }
+        for (int i = 0; i < Math.min(TOP_ITEMS_COUNT, size); i++) {
+            addProposal(model.getElementAt(i), proposals);
+        }
+        prefetch(proposals);
+    }
+
+    private static void addProposal(@Nullable LookupElement element,
+                                    @NotNull Set<LSPCompletionProposal> proposals) {
+        LSPCompletionProposal proposal = getProposal(element);
+        if (proposal != null && proposal.needToResolveCompletionItem()) {
+            proposals.add(proposal);
+        }
+    }
+
+    @Nullable
+    private static LSPCompletionProposal getProposal(@Nullable LookupElement element) {
+        return element != null && element.getObject() instanceof LSPCompletionProposal proposal ? proposal : null;
+    }
+
+    private synchronized void prefetch(@NotNull Collection<LSPCompletionProposal> proposals) {
+        if (closed) {
+            return;
+        }
+        pendingProposals.clear();
+        for (LSPCompletionProposal proposal : proposals) {
+            if (!runningProposals.containsKey(proposal)) {
+                pendingProposals.add(proposal);
+            }
+        }
+        resolveNextProposals();
+    }
+
+    private synchronized void resolveNextProposals() {
+        while (!closed && runningProposals.size() < MAX_CONCURRENT_REQUESTS && !pendingProposals.isEmpty()) {
+            LSPCompletionProposal proposal = pendingProposals.poll();
+            var request = proposal.resolveCompletionItem();
+            if (request.isDone()) {
+                // The completion item is already resolved for the current completion session
+                continue;
+            }
+            runningProposals.put(proposal, request);
+            request.whenComplete((result, error) -> {
+                synchronized (this) {
+                    if (runningProposals.get(proposal) == request) {
+                        runningProposals.remove(proposal);
+                    }
+                }
+                resolveNextProposals();
+            });
+        }
+    }
+
+    private void close(@Nullable LSPCompletionProposal selectedProposal) {
+        List<CompletableFuture<?>> requestsToCancel = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            pendingProposals.clear();
+            runningProposals.forEach((proposal, request) -> {
+                if (proposal != selectedProposal) {
+                    requestsToCancel.add(request);
+                }
+            });
+            runningProposals.clear();
+        }
+        requestsToCancel.forEach(request -> request.cancel(true));
+    }
+}
@@ -10,18 +10,30 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.completion;
 
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.progress.LSPProgressManager;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
+import com.redhat.devtools.lsp4ij.internal.DocumentEditLog;
 import org.eclipse.lsp4j.CompletionContext;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.CompletionTriggerKind;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -30,22 +42,156 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *     <li>LSP 'textDocument/completion' requests</li>
  * </ul>
+ *
+ * <p>
+ * When all language servers return a complete list (isIncomplete=false), the list is kept in a completion session
+ * and is reused while the user types the word where the completion has been triggered: the completion items are
+ * filtered and sorted again on client side with the new prefix, without sending a new 'textDocument/completion' request.
+ * The word is delimited by the prefix of the IntelliJ completion (see {@link LSPCompletionParams#getPrefix()}).
+ * </p>
  */
 public class LSPCompletionSupport extends AbstractLSPDocumentFeatureSupport<LSPCompletionParams, List<CompletionData>> {
 
+    /**
+     * Completion session which hosts the completion lists returned for the word started at the given offset.
+     *
+     * @param document          the document.
+     * @param wordStartOffset   the offset where the word starts.
+     * @param modificationStamp the modification stamp of the document when the completion has been requested.
+     * @param prefix            the text between the word start offset and the offset where the completion has been requested.
+     * @param autoPopup         true if the completion has been triggered automatically and false otherwise.
+     * @param completions       the completion lists.
+     */
+    private record CompletionSession(@NotNull Document document,
+                                     int wordStartOffset,
+                                     long modificationStamp,
+                                     @NotNull String prefix,
+                                     boolean autoPopup,
+                                     @NotNull CompletableFuture<List<CompletionData>> completions) {
+    }
+
     private Integer previousOffset;
 
+    private @Nullable CompletionSession session;
+
+    // The LSP 'completionItem/resolve' requests of the completion items of the current completion session
+    private final Map<CompletionItem, CompletableFuture<CompletionItem>> resolvedItems = new IdentityHashMap<>();
+
     public LSPCompletionSupport(@NotNull PsiFile file) {
         super(file);
     }
 
-    public CompletableFuture<List<CompletionData>> getCompletions(LSPCompletionParams params) {
+    public synchronized CompletableFuture<List<CompletionData>> getCompletions(LSPCompletionParams params) {
         int offset = params.getOffset();
+        Document document = LSPIJUtils.getDocument(getFile().getVirtualFile());
+        CompletableFuture<List<CompletionData>> sessionCompletions = document != null ? getSessionCompletions(params, document) : null;
+        if (sessionCompletions != null) {
+            // The completion lists of the session are complete for the current word, filter them on client side.
+            previousOffset = offset;
+            return sessionCompletions;
+        }
         if (previousOffset != null && !previousOffset.equals(offset)) {
             super.cancel();
         }
         previousOffset = offset;
-        return super.getFeatureData(params);
+        var completions = super.getFeatureData(params);
+        var session = document != null ? createSession(params, document, completions) : null;
+        if (session == null || this.session == null || this.session.completions() != completions) {
+            // The completion items have changed, the resolved completion items cannot be reused.
+            cancelResolveRequests();
+        }
+        this.session = session;
+        return completions;
+    }
+
+    /**
+     * Returns the LSP 'completionItem/resolve' request of the given completion item.
+     * <p>
+     * The request is sent once per completion item of the current completion session, so the resolved
+     * completion item is shared between the prefetch, the documentation rendering and the insert handling.
+     * </p>
+     *
+     * @param item           the completion item to resolve.
+     * @param languageServer the language server which has returned the completion item.
+     * @return the LSP 'completionItem/resolve' request of the given completion item.
+     */
+    public synchronized CompletableFuture<CompletionItem> resolveCompletionItem(@NotNull CompletionItem item,
+                                                                             @NotNull LanguageServerItem languageServer) {
+        var future = resolvedItems.get(item);
+        if (future == null || future.isCancelled()) {
+            future = languageServer.getTextDocumentService().resolveCompletionItem(item);
+            resolvedItems.put(item, future);
+        }
+        return future;
+    }
+
+    private synchronized void cancelResolveRequests() {
+        for (var future : resolvedItems.values()) {
+            if (!future.isDone()) {
+                future.cancel(true);
+            }
+        }
+        resolvedItems.clear();
+    }
+
+    @Nullable
+    private CompletableFuture<List<CompletionData>> getSessionCompletions(@NotNull LSPCompletionParams params,
+                                                                          @NotNull Document document) {
+        var session = this.session;
+        if (session == null || session.document() != document || session.autoPopup() != params.isAutoPopup()) {
+            return null;
+        }
+        var completions = session.completions();
+        if (!completions.isDone() || completions.isCompletedExceptionally()) {
+            return null;
+        }
+        List<CompletionData> data = completions.getNow(Collections.emptyList());
+        if (data.isEmpty() || !data.stream().allMatch(CompletionData::isComplete)) {
+            // Some language servers must be queried again when the word changes.
+            return null;
+        }
+        // The text before the word must not have been modified since the completion request
+        int wordStartOffset = session.wordStartOffset();
+        if (DocumentEditLog.getInstance(document).rebase(wordStartOffset, session.modificationStamp(), document.getModificationStamp()) != wordStartOffset) {
+            return null;
+        }
+        // The current prefix must be the prefix of the session followed by the typed characters,
+        // a shorter prefix (ex : backspace) can match completion items which have been filtered by the language server.
+        String prefix = params.getPrefix();
+        if (prefix == null || params.getOffset() - prefix.length() != wordStartOffset || !prefix.startsWith(session.prefix())) {
+            return null;
+        }
+        return completions;
+    }
+
+    @Nullable
+    private static CompletionSession createSession(@NotNull LSPCompletionParams params,
+                                                   @NotNull Document document,
+                                                   @NotNull CompletableFuture<List<CompletionData>> completions) {
+        String prefix = params.getPrefix();
+        int offset = params.getOffset();
+        CharSequence text = document.getCharsSequence();
+        if (prefix == null || offset > text.length() || offset < prefix.length()) {
+            return null;
+        }
+        // The word starts where the prefix of the IntelliJ completion starts
+        int wordStartOffset = offset - prefix.length();
+        if (!prefix.contentEquals(text.subSequence(wordStartOffset, offset))) {
+            return null;
+        }
+        return new CompletionSession(document,
+                wordStartOffset,
+                document.getModificationStamp(),
+                prefix,
+                params.isAutoPopup(),
+                completions);
+    }
+
+    @Override
+    public synchronized void cancel() {
+        session = null;
+        cancelResolveRequests();
+        super.cancel();
     }
 
     @Override
@@ -85,18 +231,37 @@ public class LSPCompletionSupport extends AbstractLSPDocumentFeatureSupport<LSPC
                                                                              @NotNull LanguageServerItem languageServer,
                                                                              @NotNull CancellationSupport cancellationSupport) {
 
+        // Each language server receives its own copy of the parameters: the request is serialized later by the writer thread,
+        // so the text document Uri, the context and the partial result token must not be shared between language servers.
+        var serverParams = new CompletionParams(new TextDocumentIdentifier(params.getTextDocument().getUri()),
+                params.getPosition(),
+                createCompletionContext(params, file, languageServer));
         // Update textDocument Uri with custom file Uri if needed
-        updateTextDocumentUri(params.getTextDocument(), file, languageServer);
-        params.setContext(createCompletionContext(params, file, languageServer));
+        updateTextDocumentUri(serverParams.getTextDocument(), file, languageServer);
+        // Stream the completion items with a partial result token, so the items computed quickly by the language server
+        // can be displayed before the slowest items are computed.
+        LSPProgressManager progressManager = languageServer.getServerWrapper().getProgressManager();
+        String partialResultToken = progressManager != null ? UUID.randomUUID().toString() : null;
+        var partialResults = params.getPartialResults().createHandler(languageServer, params.getOffset());
+        if (partialResultToken != null) {
+            progressManager.registerPartialResultHandler(partialResultToken, partialResults);
+            serverParams.setPartialResultToken(Either.forLeft(partialResultToken));
+        }
         return cancellationSupport.execute(languageServer
                         .getTextDocumentService()
-                        .completion(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_COMPLETION)
+                        .completion(serverParams), languageServer, LSPRequestConstants.TEXT_DOCUMENT_COMPLETION)
+                .whenComplete((result, error) -> {
+                    if (partialResultToken != null) {
+                        progressManager.unregisterPartialResultHandler(partialResultToken);
+                    }
+                })
                 .thenApplyAsync(result -> {
-                    if (result == null) {
+                    var completion = partialResults.merge(result);
+                    if (completion == null) {
                         // textDocument/completion may return null
                         return Collections.emptyList();
                     }
-                    return List.of(new CompletionData(result, languageServer));
+                    return List.of(new CompletionData(completion, languageServer, params.getOffset()));
                 });
     }
 
@@ -18,7 +18,7 @@ import com.intellij.codeInsight.template.Template;
 import com.intellij.codeInsight.template.TemplateManager;
 import com.intellij.openapi.project.Project;
 import com.redhat.devtools.lsp4ij.features.completion.snippet.LspSnippetIndentOptions;
-import com.redhat.devtools.lsp4ij.features.completion.snippet.LspSnippetParser;
+import com.redhat.devtools.lsp4ij.features.completion.snippet.LspSnippet;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Function;
@@ -47,13 +47,13 @@ public class SnippetTemplateFactory {
                                                    boolean useTemplateForInvocationOnlySnippet) {
         Template template = TemplateManager.getInstance(project).createTemplate("", "");
         template.setInline(true);
-        LspSnippetParser parser = new LspSnippetParser(new SnippetTemplateLoader(
+        // The parsed snippet is cached, the variables are resolved by the loader each time the template is created
+        LspSnippet.parse(snippetContent).accept(new SnippetTemplateLoader(
                 template,
                 variableResolver,
                 indentOptions,
                 useTemplateForInvocationOnlySnippet
         ));
-        parser.parse(snippetContent);
         return template;
     }
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion.snippet;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Parsed LSP snippet which can be replayed to a {@link LspSnippetHandler} without parsing the snippet content again.
+ * <p>
+ * Language servers often return many completion items which share the same snippet content, so the parsed snippets
+ * are cached by their content (see {@link #parse(String)}). The snippet variables (ex : ${TM_SELECTED_TEXT}) are not
+ * resolved while parsing, they are resolved by the handler each time the snippet is replayed.
+ * </p>
+ *
+ * @see <a href="https://microsoft.github.io/language-server-protocol/specifications/lsp/3.17/specification/#snippet_syntax">https://microsoft.github.io/language-server-protocol/specifications/lsp/3.17/specification/#snippet_syntax</a>
+ */
+public class LspSnippet {
+
+    // Max number of parsed snippets kept in the cache
+    private static final int MAX_CACHE_SIZE = 500;
+
+    // Parsed snippets by snippet content, the least recently used snippet is removed when the cache is full.
+    private static final Map<String, LspSnippet> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LspSnippet> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private final List<Consumer<LspSnippetHandler>> events;
+
+    private LspSnippet(@NotNull List<Consumer<LspSnippetHandler>> events) {
+        this.events = events;
+    }
+
+    /**
+     * Returns the parsed snippet of the given LSP snippet content.
+     *
+     * @param snippetContent the LSP snippet content.
+     * @return the parsed snippet of the given LSP snippet content.
+     * @throws ParseException if the snippet content is not valid.
+     */
+    @NotNull
+    public static LspSnippet parse(@NotNull String snippetContent) {
+        synchronized (CACHE) {
+            LspSnippet snippet = CACHE.get(snippetContent);
+            if (snippet != null) {
+                return snippet;
+            }
+        }
+        SnippetRecorder recorder = new SnippetRecorder();
+        new LspSnippetParser(recorder).parse(snippetContent);
+        LspSnippet snippet = new LspSnippet(Collections.unmodifiableList(recorder.events));
+        synchronized (CACHE) {
+            CACHE.put(snippetContent, snippet);
+        }
+        return snippet;
+    }
+
+    /**
+     * Replays the parsed snippet to the given handler.
+     *
+     * @param handler the LSP snippet handler.
+     */
+    public void accept(@NotNull LspSnippetHandler handler) {
+        for (Consumer<LspSnippetHandler> event : events) {
+            event.accept(handler);
+        }
+    }
+
+    /**
+     * {@link LspSnippetHandler} which records the parsing events.
+     */
+    private static class SnippetRecorder implements LspSnippetHandler {
+
+        private final List<Consumer<LspSnippetHandler>> events = new ArrayList<>();
+
+        @Override
+        public void startSnippet() {
+            events.add(LspSnippetHandler::startSnippet);
+        }
+
+        @Override
+        public void endSnippet() {
+            events.add(LspSnippetHandler::endSnippet);
+        }
+
+        @Override
+        public void text(String text) {
+            events.add(handler -> handler.text(text));
+        }
+
+        @Override
+        public void tabstop(int index) {
+            events.add(handler -> handler.tabstop(index));
+        }
+
+        @Override
+        public void choice(int index, List<String> choices) {
+            List<String> copy = Collections.unmodifiableList(new ArrayList<>(choices));
+            events.add(handler -> handler.choice(index, copy));
+        }
+
+        @Override
+        public void choice(String name, List<String> choices) {
+            List<String> copy = Collections.unmodifiableList(new ArrayList<>(choices));
+            events.add(handler -> handler.choice(name, copy));
+        }
+
+        @Override
+        public void startPlaceholder(int index, String name, int level) {
+            events.add(handler -> handler.startPlaceholder(index, name, level));
+        }
+
+        @Override
+        public void endPlaceholder(int level) {
+            events.add(handler -> handler.endPlaceholder(level));
+        }
+
+        @Override
+        public void variable(String name) {
+            events.add(handler -> handler.variable(name));
+        }
+    }
+}
@@ -26,6 +26,8 @@ import com.redhat.devtools.lsp4ij.LSPVirtualFileData;
 import com.redhat.devtools.lsp4ij.LanguageServersRegistry;
 import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPExternalAnnotator;
+import com.redhat.devtools.lsp4ij.features.codeAction.quickfix.LSPQuickFixPrefetcher;
+import com.redhat.devtools.lsp4ij.internal.DocumentPositionIndex;
 import org.eclipse.lsp4j.Diagnostic;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -71,11 +73,17 @@ public class LSPDiagnosticAnnotator extends AbstractLSPExternalAnnotator<Boolean
         // Loop for language server which report diagnostics for the given file
         var servers = LanguageServiceAccessor.getInstance(file.getProject())
                 .getStartedServers();
+        boolean hasDiagnostics = false;
         for (var ls : servers) {
             LSPVirtualFileData data = ls.getLSPVirtualFileData(fileUri);
             if (data != null) {
                 // The file is mapped with the current language server
                 var ds = data.getDiagnosticsForServer();
+                if (!hasDiagnostics && !ds.getDiagnostics().isEmpty() && document != null) {
+                    // The diagnostic ranges are converted with the position index of the current document version
+                    DocumentPositionIndex.getInstance(document);
+                }
+                hasDiagnostics |= !ds.getDiagnostics().isEmpty();
                 // Loop for LSP diagnostics to transform it to Intellij annotation.
                 for (Diagnostic diagnostic : ds.getDiagnostics()) {
                     ProgressManager.checkCanceled();
@@ -83,6 +91,10 @@ public class LSPDiagnosticAnnotator extends AbstractLSPExternalAnnotator<Boolean
                 }
             }
         }
+        if (hasDiagnostics && document != null) {
+            // Load in background the quick fixes of the diagnostics displayed in the editor
+            LSPQuickFixPrefetcher.prefetch(file, document);
+        }
     }
 
     private static void createAnnotation(@NotNull Diagnostic diagnostic,
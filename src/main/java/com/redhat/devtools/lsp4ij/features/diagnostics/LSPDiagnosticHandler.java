@@ -26,10 +26,13 @@ import com.redhat.devtools.lsp4ij.LSPVirtualFileData;
 import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
 import com.redhat.devtools.lsp4ij.client.CoalesceByKey;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 
@@ -49,18 +52,32 @@ public class LSPDiagnosticHandler implements Consumer<PublishDiagnosticsParams>
 
     @Override
     public void accept(PublishDiagnosticsParams params) {
+        updateDiagnostics(params.getUri(), params.getDiagnostics(), null);
+    }
+
+    /**
+     * Update the diagnostics of the given file uri reported by the language server
+     * (with 'textDocument/publishDiagnostics' notification or 'textDocument/diagnostic' request).
+     *
+     * @param uri         the file uri.
+     * @param diagnostics the new diagnostics.
+     * @param resultId    the result id of the 'textDocument/diagnostic' report and null otherwise.
+     */
+    public void updateDiagnostics(@NotNull String uri,
+                                  @NotNull List<Diagnostic> diagnostics,
+                                  @Nullable String resultId) {
         Project project = languageServerWrapper.getProject();
         if (project == null || project.isDisposed()) {
             return;
         }
         if (ApplicationManager.getApplication().isReadAccessAllowed()) {
-            updateDiagnostics(params, project);
+            updateDiagnostics(uri, diagnostics, resultId, project);
         } else {
             // Cancel if needed the previous "textDocument/publishDiagnostics" for a given uri.
-            var coalesceBy = new CoalesceByKey("textDocument/publishDiagnostics", params.getUri());
+            var coalesceBy = new CoalesceByKey("textDocument/publishDiagnostics", uri);
             var executeInSmartMode = DumbService.getInstance(languageServerWrapper.getProject()).isDumb();
             var action = ReadAction.nonBlocking((Callable<Void>) () -> {
-                            updateDiagnostics(params, project);
+                            updateDiagnostics(uri, diagnostics, resultId, project);
                             return null;
                         }).expireWith(languageServerWrapper)
                         .coalesceBy(coalesceBy);
@@ -71,11 +88,14 @@ public class LSPDiagnosticHandler implements Consumer<PublishDiagnosticsParams>
         }
     }
 
-    private void updateDiagnostics(@NotNull PublishDiagnosticsParams params, @NotNull Project project) {
+    private void updateDiagnostics(@NotNull String uri,
+                                   @NotNull List<Diagnostic> diagnostics,
+                                   @Nullable String resultId,
+                                   @NotNull Project project) {
         if (project.isDisposed()) {
             return;
         }
-        VirtualFile file = FileUriSupport.findFileByUri(params.getUri(), languageServerWrapper.getClientFeatures());
+        VirtualFile file = FileUriSupport.findFileByUri(uri, languageServerWrapper.getClientFeatures());
         if (file == null) {
             return;
         }
@@ -88,8 +108,13 @@ public class LSPDiagnosticHandler implements Consumer<PublishDiagnosticsParams>
         URI fileURI = LSPIJUtils.toUri(file);
         LSPVirtualFileData data = languageServerWrapper.getLSPVirtualFileData(fileURI);
         if (data != null) {
+            boolean changed;
             synchronized (data) {
-                data.updateDiagnostics(params.getDiagnostics());
+                changed = data.updateDiagnostics(diagnostics, resultId);
+            }
+            if (!changed) {
+                // The diagnostics are the same as the previous report, the annotations are up-to-date.
+                return;
             }
             // Trigger Intellij validation to execute
             // {@link LSPDiagnosticAnnotator}.
@@ -23,7 +23,6 @@ import com.redhat.devtools.lsp4ij.features.codeAction.quickfix.LSPLazyCodeAction
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
-import org.eclipse.lsp4j.util.Ranges;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,19 +40,38 @@ import java.util.*;
  */
 public class LSPDiagnosticsForServer {
 
-    private record DiagnosticData(Range range, List<Diagnostic> diagnostics) {};
+    /**
+     * Diagnostics grouped by covered range, the first diagnostic covers the others.
+     */
+    record DiagnosticGroup(Position start, Position end, List<Diagnostic> diagnostics) {}
+
+    // Sort diagnostics by start and by end descending, so a diagnostic is sorted after the diagnostics which cover it.
+    static final Comparator<Diagnostic> DIAGNOSTIC_COMPARATOR = (d1, d2) -> {
+        int result = comparePositions(d1.getRange().getStart(), d2.getRange().getStart());
+        return result != 0 ? result : comparePositions(d2.getRange().getEnd(), d1.getRange().getEnd());
+    };
 
     private final LanguageServerItem languageServer;
 
     private final VirtualFile file;
 
     // Map which contains all current diagnostics (as key) and future which load associated quick fixes (as value)
-    private Map<Diagnostic, LSPLazyCodeActions> diagnostics;
+    private volatile Map<Diagnostic, LSPLazyCodeActions> diagnostics;
+
+    // Groups of the current diagnostics sorted by range
+    private volatile List<DiagnosticGroup> groups;
+
+    // Fingerprint of the last reported diagnostics (number of diagnostics and sum of their hash codes)
+    private long fingerprint;
+
+    // The result id of the last 'textDocument/diagnostic' report
+    private volatile @Nullable String resultId;
 
     public LSPDiagnosticsForServer(LanguageServerItem languageServer, VirtualFile file) {
         this.languageServer = languageServer;
         this.file = file;
         this.diagnostics = Collections.emptyMap();
+        this.groups = Collections.emptyList();
     }
 
     public LSPClientFeatures getClientFeatures() {
@@ -65,66 +83,162 @@ public class LSPDiagnosticsForServer {
      * @param diagnostics the new LSP published diagnosics
      */
     public void update(List<Diagnostic> diagnostics) {
+        update(diagnostics, null);
+    }
+
+    /**
+     * Update the new LSP diagnostics.
+     *
+     * @param diagnostics the new LSP diagnostics
+     * @param resultId    the result id of the 'textDocument/diagnostic' report and null if diagnostics are published.
+     * @return true if the diagnostics have changed and false otherwise.
+     */
+    public boolean update(List<Diagnostic> diagnostics, @Nullable String resultId) {
+        this.resultId = resultId;
+        long fingerprint = computeFingerprint(diagnostics);
+        if (fingerprint == this.fingerprint && this.diagnostics.keySet().equals(new HashSet<>(diagnostics))) {
+            // The diagnostics have not changed (ex : the language server publishes the same diagnostics after a save)
+            return false;
+        }
         // initialize diagnostics map
-        this.diagnostics = toMap(diagnostics, this.diagnostics);
+        updateDiagnostics(diagnostics);
+        this.fingerprint = fingerprint;
+        return true;
     }
 
-    private Map<Diagnostic, LSPLazyCodeActions> toMap(List<Diagnostic> diagnostics,
-                                                      Map<Diagnostic, LSPLazyCodeActions> existingDiagnostics) {
-        // Collect quick fixes from LSP code action
-        Map<Diagnostic, LSPLazyCodeActions> map = new HashMap<>(diagnostics.size());
+    private static long computeFingerprint(List<Diagnostic> diagnostics) {
+        int hash = 0;
+        for (Diagnostic diagnostic : diagnostics) {
+            hash += diagnostic.hashCode();
+        }
+        return ((long) diagnostics.size() << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the result id of the last 'textDocument/diagnostic' report and null otherwise.
+     *
+     * @return the result id of the last 'textDocument/diagnostic' report and null otherwise.
+     */
+    @Nullable
+    public String getResultId() {
+        return resultId;
+    }
+
+    /**
+     * Set the result id of the last 'textDocument/diagnostic' report (ex : for an 'unchanged' report).
+     *
+     * @param resultId the result id.
+     */
+    public void setResultId(@Nullable String resultId) {
+        this.resultId = resultId;
+    }
+
+    private void updateDiagnostics(List<Diagnostic> diagnostics) {
+        Map<Diagnostic, LSPLazyCodeActions> existingDiagnostics = this.diagnostics;
         // Sort diagnostics by range
-        List<Diagnostic> sortedDiagnostics = diagnostics
-                .stream()
-                .sorted((d1, d2) -> {
-                    if (Ranges.containsRange(d1.getRange(), d2.getRange())) {
-                        return -1;
-                    }
-                    return 1;
-                })
-                .toList();
+        List<Diagnostic> sortedDiagnostics = new ArrayList<>(diagnostics);
+        sortedDiagnostics.sort(DIAGNOSTIC_COMPARATOR);
         // Group diagnostics by covered range
-        List<DiagnosticData> diagnosticsGroupByCoveredRange = new ArrayList<>();
+        List<DiagnosticGroup> groups = groupByCoveredRange(sortedDiagnostics);
+        // Associate each diagnostic with the list of code actions to load for a given range
+        Map<Diagnostic, LSPLazyCodeActions> map = new HashMap<>(diagnostics.size());
+        Set<LSPLazyCodeActions> reusedActions = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DiagnosticGroup group : groups) {
+            // Reuse the existing LSP lazy code actions when the diagnostics of the group have not changed
+            LSPLazyCodeActions actions = existingDiagnostics.get(group.diagnostics().get(0));
+            if (actions != null && actions.getDiagnostics().equals(group.diagnostics())) {
+                reusedActions.add(actions);
+            } else {
+                actions = new LSPLazyCodeActions(group.diagnostics(), file, languageServer);
+            }
+            for (Diagnostic diagnostic : group.diagnostics()) {
+                map.put(diagnostic, actions);
+            }
+        }
+        for (LSPLazyCodeActions actions : existingDiagnostics.values()) {
+            if (!reusedActions.contains(actions)) {
+                // cancel the LSP textDocument/codeAction request if needed
+                actions.cancel();
+            }
+        }
+        this.groups = groups;
+        this.diagnostics = map;
+    }
+
+    /**
+     * Group the given sorted diagnostics by covered range: a diagnostic belongs to the first group
+     * whose range covers the diagnostic range.
+     * <p>
+     * As diagnostics are sorted by start and by end descending, no group covers another group, and the groups
+     * are sorted both by start and by end. The first group which ends after the diagnostic end is then
+     * the first group which covers the diagnostic and it is found with a binary search.
+     * </p>
+     *
+     * @param sortedDiagnostics the diagnostics sorted with {@link #DIAGNOSTIC_COMPARATOR}.
+     * @return the groups of diagnostics sorted by range.
+     */
+    static List<DiagnosticGroup> groupByCoveredRange(List<Diagnostic> sortedDiagnostics) {
+        List<DiagnosticGroup> groups = new ArrayList<>();
         for (Diagnostic diagnostic : sortedDiagnostics) {
-            DiagnosticData data = getDiagnosticWhichCoversTheRange(diagnostic.getRange(), diagnosticsGroupByCoveredRange);
-            if (data != null) {
-                data.diagnostics().add(diagnostic);
+            Range range = diagnostic.getRange();
+            int index = findFirstGroupEndingAfter(groups, range.getEnd());
+            if (index < groups.size()) {
+                groups.get(index).diagnostics().add(diagnostic);
             } else {
                 List<Diagnostic> list = new ArrayList<>();
                 list.add(diagnostic);
-                Position start = diagnostic.getRange().getStart();
-                Position end = diagnostic.getRange().getEnd();
-                data = new DiagnosticData(new Range(new Position(start.getLine(), start.getCharacter()),
-                        new Position(end.getLine(), end.getCharacter())), list);
-                diagnosticsGroupByCoveredRange.add(data);
+                Position start = range.getStart();
+                Position end = range.getEnd();
+                groups.add(new DiagnosticGroup(new Position(start.getLine(), start.getCharacter()),
+                        new Position(end.getLine(), end.getCharacter()), list));
             }
         }
-        // Associate each diagnostic with the list of code actions to load for a given range
-        for (DiagnosticData data : diagnosticsGroupByCoveredRange) {
-            var action = new LSPLazyCodeActions(data.diagnostics(), file, languageServer);
-            data.diagnostics()
-                    .forEach(d -> {
-                        // Get the existing LSP lazy code actions for the current diagnostic
-                        LSPLazyCodeActions actions = existingDiagnostics != null ? existingDiagnostics.get(d) : null;
-                        if (actions != null) {
-                            // cancel the LSP textDocument/codeAction request if needed
-                            actions.cancel();
-                        }
-                        map.put(d, action);
-                    });
+        return groups;
+    }
 
+    private static int findFirstGroupEndingAfter(List<DiagnosticGroup> groups, Position position) {
+        int low = 0;
+        int high = groups.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePositions(groups.get(mid).end(), position) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
         }
-        return map;
+        return low;
     }
 
-    @Nullable
-    private static DiagnosticData getDiagnosticWhichCoversTheRange(Range diagnosticRange, List<DiagnosticData> diagnosticsGroupByCoveredRange) {
-        for (DiagnosticData data : diagnosticsGroupByCoveredRange) {
-            if (Ranges.containsRange(data.range(), diagnosticRange)) {
-                return data;
+    private static int comparePositions(Position p1, Position p2) {
+        int result = Integer.compare(p1.getLine(), p2.getLine());
+        return result != 0 ? result : Integer.compare(p1.getCharacter(), p2.getCharacter());
+    }
+
+    /**
+     * Returns the current diagnostics for the file which intersect the given range.
+     *
+     * @param range the range.
+     * @return the current diagnostics for the file which intersect the given range.
+     */
+    public List<Diagnostic> getDiagnostics(@NotNull Range range) {
+        List<DiagnosticGroup> groups = this.groups;
+        List<Diagnostic> result = new ArrayList<>();
+        for (int i = findFirstGroupEndingAfter(groups, range.getStart()); i < groups.size(); i++) {
+            DiagnosticGroup group = groups.get(i);
+            if (comparePositions(group.start(), range.getEnd()) > 0) {
+                // The next groups start after the range
+                break;
+            }
+            for (Diagnostic diagnostic : group.diagnostics()) {
+                Range diagnosticRange = diagnostic.getRange();
+                if (comparePositions(diagnosticRange.getEnd(), range.getStart()) >= 0
+                        && comparePositions(diagnosticRange.getStart(), range.getEnd()) <= 0) {
+                    result.add(diagnostic);
+                }
             }
         }
-        return null;
+        return result;
     }
 
     /**
@@ -153,6 +267,31 @@ public class LSPDiagnosticsForServer {
         return codeActions != null ? codeActions.getCodeActions() : Collections.emptyList();
     }
 
+    /**
+     * Returns the lazy code actions of the diagnostics which intersect the given range (without duplicate).
+     *
+     * @param range the range.
+     * @param file  the Psi file.
+     * @return the lazy code actions of the diagnostics which intersect the given range.
+     */
+    public List<LSPLazyCodeActions> getLazyCodeActions(@NotNull Range range,
+                                                       @NotNull PsiFile file) {
+        boolean codeActionSupported = isCodeActionSupported(languageServer.getServerWrapper(), file);
+        if (!codeActionSupported || diagnostics.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Diagnostic, LSPLazyCodeActions> diagnostics = this.diagnostics;
+        Set<LSPLazyCodeActions> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<LSPLazyCodeActions> codeActions = new ArrayList<>();
+        for (Diagnostic diagnostic : getDiagnostics(range)) {
+            LSPLazyCodeActions actions = diagnostics.get(diagnostic);
+            if (actions != null && result.add(actions)) {
+                codeActions.add(actions);
+            }
+        }
+        return codeActions;
+    }
+
     private static boolean isCodeActionSupported(@NotNull LanguageServerWrapper languageServerWrapper,
                                                  @NotNull PsiFile file) {
         if (!languageServerWrapper.isActive() || languageServerWrapper.isStopping()) {
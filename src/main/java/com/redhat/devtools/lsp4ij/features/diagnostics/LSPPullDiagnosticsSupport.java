@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.LSPRequestConstants;
+import com.redhat.devtools.lsp4ij.LSPVirtualFileData;
+import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
+import com.redhat.devtools.lsp4ij.internal.CancellationUtil;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * LSP pull diagnostics support for a file connected to a language server, which consumes
+ * LSP 'textDocument/diagnostic' requests (LSP 3.17) when the file is opened in an editor:
+ *
+ * <ul>
+ *     <li>after the 'textDocument/didOpen' notification.</li>
+ *     <li>when the file is opened in an editor while it is already connected to the language server.</li>
+ *     <li>after each 'textDocument/didChange' notification.</li>
+ *     <li>when the language server sends a 'workspace/diagnostic/refresh' request.</li>
+ * </ul>
+ *
+ * <p>
+ * The result id of the last report is stored in {@link LSPDiagnosticsForServer} and is sent with the next request,
+ * an 'unchanged' report keeps the current diagnostics as is.
+ * </p>
+ */
+public class LSPPullDiagnosticsSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LSPPullDiagnosticsSupport.class);
+
+    private final @NotNull LanguageServerWrapper languageServerWrapper;
+    private final @NotNull VirtualFile file;
+    private final @NotNull String fileUri;
+    private final @NotNull LSPDiagnosticHandler diagnosticHandler;
+
+    // The current 'textDocument/diagnostic' request
+    private volatile @Nullable CompletableFuture<DocumentDiagnosticReport> pendingRequest;
+
+    public LSPPullDiagnosticsSupport(@NotNull LanguageServerWrapper languageServerWrapper,
+                                     @NotNull VirtualFile file,
+                                     @NotNull String fileUri) {
+        this.languageServerWrapper = languageServerWrapper;
+        this.file = file;
+        this.fileUri = fileUri;
+        this.diagnosticHandler = new LSPDiagnosticHandler(languageServerWrapper);
+    }
+
+    /**
+     * Consume the LSP 'textDocument/diagnostic' request if the language server supports it and if the file
+     * is opened in an editor.
+     * <p>
+     * The request is sent with the dispatcher of the language server, after the pending notifications
+     * (ex : 'textDocument/didChange') and the previous request is canceled. This method can be called
+     * from the EDT: the checks are done in the dispatcher thread.
+     * </p>
+     */
+    public void pullDiagnostics() {
+        languageServerWrapper.sendNotification(ls -> {
+            if (!isPullDiagnosticsSupported(languageServerWrapper.getServerCapabilitiesSync()) || !isOpenedInEditor()) {
+                return;
+            }
+            LSPDiagnosticsForServer diagnosticsForServer = getDiagnosticsForServer();
+            if (diagnosticsForServer == null) {
+                // The file is not connected anymore
+                return;
+            }
+            cancel();
+            var params = new DocumentDiagnosticParams(new TextDocumentIdentifier(fileUri));
+            params.setIdentifier(getIdentifier(languageServerWrapper.getServerCapabilitiesSync()));
+            params.setPreviousResultId(diagnosticsForServer.getResultId());
+            var request = ls.getTextDocumentService().diagnostic(params);
+            pendingRequest = request;
+            request.whenComplete((report, error) -> {
+                if (error != null) {
+                    if (!CancellationUtil.isRequestCancelledException(error)) {
+                        LOGGER.warn("Error while consuming LSP '{}' request", LSPRequestConstants.TEXT_DOCUMENT_DIAGNOSTIC, error);
+                    }
+                    return;
+                }
+                updateDiagnostics(report, diagnosticsForServer);
+            });
+        });
+    }
+
+    private void updateDiagnostics(@Nullable DocumentDiagnosticReport report,
+                                   @NotNull LSPDiagnosticsForServer diagnosticsForServer) {
+        if (report == null) {
+            return;
+        }
+        // The diagnostics of the connected file are not stored anymore in the workspace diagnostics
+        languageServerWrapper.getWorkspaceDiagnosticsSupport().removeFile(fileUri);
+        if (report.isRelatedUnchangedDocumentDiagnosticReport()) {
+            // The diagnostics have not changed since the previous report, keep the current diagnostics as is.
+            diagnosticsForServer.setResultId(report.getRelatedUnchangedDocumentDiagnosticReport().getResultId());
+            return;
+        }
+        var fullReport = report.getRelatedFullDocumentDiagnosticReport();
+        if (fullReport != null && fullReport.getItems() != null) {
+            diagnosticHandler.updateDiagnostics(fileUri, fullReport.getItems(), fullReport.getResultId());
+        }
+    }
+
+    /**
+     * Cancel the current 'textDocument/diagnostic' request.
+     */
+    public void cancel() {
+        var request = pendingRequest;
+        pendingRequest = null;
+        if (request != null && !request.isDone()) {
+            request.cancel(true);
+        }
+    }
+
+    private boolean isOpenedInEditor() {
+        Project project = languageServerWrapper.getProject();
+        return !project.isDisposed() && FileEditorManager.getInstance(project).isFileOpen(file);
+    }
+
+    @Nullable
+    private LSPDiagnosticsForServer getDiagnosticsForServer() {
+        LSPVirtualFileData data = languageServerWrapper.getLSPVirtualFileData(LSPIJUtils.toUri(file));
+        return data != null ? data.getDiagnosticsForServer() : null;
+    }
+
+    /**
+     * Returns true if the language server supports LSP 'textDocument/diagnostic' and false otherwise.
+     *
+     * @param serverCapabilities the server capabilities.
+     * @return true if the language server supports LSP 'textDocument/diagnostic' and false otherwise.
+     */
+    public static boolean isPullDiagnosticsSupported(@Nullable ServerCapabilities serverCapabilities) {
+        return serverCapabilities != null && serverCapabilities.getDiagnosticProvider() != null;
+    }
+
+    @Nullable
+    private static String getIdentifier(@Nullable ServerCapabilities serverCapabilities) {
+        return serverCapabilities != null && serverCapabilities.getDiagnosticProvider() != null ?
+                serverCapabilities.getDiagnosticProvider().getIdentifier() : null;
+    }
+}
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.google.gson.JsonElement;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.problems.WolfTheProblemSolver;
+import com.redhat.devtools.lsp4ij.LSPRequestConstants;
+import com.redhat.devtools.lsp4ij.LSPVirtualFileData;
+import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.client.features.LSPDiagnosticFeature;
+import com.redhat.devtools.lsp4ij.features.progress.LSPProgressManager;
+import com.redhat.devtools.lsp4ij.internal.CancellationUtil;
+import com.redhat.devtools.lsp4ij.internal.json.LSPTypeAdapters;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * LSP workspace pull diagnostics support for a language server, which consumes the LSP 'workspace/diagnostic'
+ * request (LSP 3.17) when the language server is started and when it sends a 'workspace/diagnostic/refresh' request.
+ * <p>
+ * This support is opt-in (see {@link LSPDiagnosticFeature#isWorkspaceDiagnosticsEnabled()}), by default only the
+ * diagnostics of the opened files are pulled.
+ * </p>
+ * <p>
+ * The request is sent with a partial result token, so the reports are processed as soon as the language server
+ * streams them with '$/progress' notifications:
+ *
+ * <ul>
+ *     <li>the reports of the files connected to the language server update their {@link LSPDiagnosticsForServer}.</li>
+ *     <li>the reports of the other files are stored in the {@link WorkspaceDiagnosticsStore} and the files
+ *     which have errors are reported to the {@link WolfTheProblemSolver}, so they are highlighted in the Project view.</li>
+ * </ul>
+ */
+public class LSPWorkspaceDiagnosticsSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LSPWorkspaceDiagnosticsSupport.class);
+
+    private final @NotNull LanguageServerWrapper languageServerWrapper;
+    private final @NotNull LSPDiagnosticHandler diagnosticHandler;
+    private final @NotNull WorkspaceDiagnosticsStore store;
+
+    private @Nullable LSPProgressManager progressManager;
+
+    // The current 'workspace/diagnostic' request and its partial result token
+    private @Nullable CompletableFuture<WorkspaceDiagnosticReport> pendingRequest;
+    private @Nullable String pendingToken;
+
+    public LSPWorkspaceDiagnosticsSupport(@NotNull LanguageServerWrapper languageServerWrapper) {
+        this.languageServerWrapper = languageServerWrapper;
+        this.diagnosticHandler = new LSPDiagnosticHandler(languageServerWrapper);
+        this.store = new WorkspaceDiagnosticsStore();
+    }
+
+    /**
+     * Connects the support to the progress manager of the started language server.
+     *
+     * @param progressManager the progress manager which dispatches the partial results.
+     */
+    public synchronized void connect(@NotNull LSPProgressManager progressManager) {
+        this.progressManager = progressManager;
+    }
+
+    /**
+     * Consume the LSP 'workspace/diagnostic' request if the language server supports it.
+     * <p>
+     * The previous request is canceled and the result ids of the previous reports are sent,
+     * so the language server only reports the files whose diagnostics have changed.
+     * </p>
+     */
+    public synchronized void pullWorkspaceDiagnostics() {
+        var progressManager = this.progressManager;
+        var serverCapabilities = languageServerWrapper.getServerCapabilitiesSync();
+        if (progressManager == null
+                || !isWorkspaceDiagnosticsSupported(serverCapabilities)
+                || !languageServerWrapper.getClientFeatures().getDiagnosticFeature().isWorkspaceDiagnosticsEnabled()) {
+            return;
+        }
+        cancel();
+        String token = UUID.randomUUID().toString();
+        var params = new WorkspaceDiagnosticParams(getPreviousResultIds());
+        params.setIdentifier(serverCapabilities.getDiagnosticProvider().getIdentifier());
+        params.setPartialResultToken(Either.forLeft(token));
+        progressManager.registerPartialResultHandler(token, this::onPartialResult);
+        pendingToken = token;
+        languageServerWrapper.sendNotification(ls -> {
+            synchronized (this) {
+                if (!token.equals(pendingToken)) {
+                    // The request has been canceled
+                    return;
+                }
+                var request = ls.getWorkspaceService().diagnostic(params);
+                pendingRequest = request;
+                request.whenComplete((report, error) -> {
+                    progressManager.unregisterPartialResultHandler(token);
+                    if (error != null) {
+                        if (!CancellationUtil.isRequestCancelledException(error)) {
+                            LOGGER.warn("Error while consuming LSP '{}' request", LSPRequestConstants.WORKSPACE_DIAGNOSTIC, error);
+                        }
+                        return;
+                    }
+                    if (report != null) {
+                        updateDiagnostics(report.getItems());
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPartialResult(@NotNull JsonElement json) {
+        try {
+            var partialResult = LSPTypeAdapters.getGson().fromJson(json, WorkspaceDiagnosticReportPartialResult.class);
+            if (partialResult != null) {
+                updateDiagnostics(partialResult.getItems());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Error while reading LSP '{}' partial result", LSPRequestConstants.WORKSPACE_DIAGNOSTIC, e);
+        }
+    }
+
+    private void updateDiagnostics(@Nullable List<WorkspaceDocumentDiagnosticReport> reports) {
+        if (reports == null || reports.isEmpty()) {
+            return;
+        }
+        Map<String, LSPVirtualFileData> connectedFiles = getConnectedFiles();
+        Set<String> updatedUris = new HashSet<>();
+        for (var report : reports) {
+            if (report.isWorkspaceFullDocumentDiagnosticReport()) {
+                var fullReport = report.getWorkspaceFullDocumentDiagnosticReport();
+                String uri = fullReport.getUri();
+                List<Diagnostic> diagnostics = fullReport.getItems() != null ? fullReport.getItems() : List.of();
+                if (connectedFiles.containsKey(uri)) {
+                    // The file is connected, its diagnostics are stored in its LSPDiagnosticsForServer
+                    store.remove(uri);
+                    diagnosticHandler.updateDiagnostics(uri, diagnostics, fullReport.getResultId());
+                } else {
+                    store.update(uri, diagnostics, fullReport.getResultId());
+                }
+                updatedUris.add(uri);
+            } else if (report.isWorkspaceUnchangedDocumentDiagnosticReport()) {
+                // The diagnostics have not changed since the previous report, keep the current diagnostics as is.
+                var unchangedReport = report.getWorkspaceUnchangedDocumentDiagnosticReport();
+                String uri = unchangedReport.getUri();
+                var data = connectedFiles.get(uri);
+                if (data != null) {
+                    data.getDiagnosticsForServer().setResultId(unchangedReport.getResultId());
+                } else {
+                    store.updateResultId(uri, unchangedReport.getResultId());
+                }
+            }
+        }
+        updateProblemFiles(updatedUris);
+    }
+
+    /**
+     * Removes the diagnostics of the given file uri from the store (ex : when the file is connected to the language server,
+     * its diagnostics are pulled with 'textDocument/diagnostic').
+     *
+     * @param uri the file uri.
+     */
+    public void removeFile(@NotNull String uri) {
+        if (store.remove(uri)) {
+            updateProblemFiles(Set.of(uri));
+        }
+    }
+
+    /**
+     * Reports the files of the given uris which have errors in the store to the {@link WolfTheProblemSolver}
+     * and clears the problems of the other files.
+     *
+     * @param uris the file uris.
+     */
+    private void updateProblemFiles(@NotNull Set<String> uris) {
+        if (uris.isEmpty()) {
+            return;
+        }
+        Project project = languageServerWrapper.getProject();
+        var clientFeatures = languageServerWrapper.getClientFeatures();
+        ApplicationManager.getApplication().invokeLater(() -> {
+            var problemSolver = WolfTheProblemSolver.getInstance(project);
+            for (String uri : uris) {
+                VirtualFile file = FileUriSupport.findFileByUri(uri, clientFeatures);
+                if (file == null) {
+                    continue;
+                }
+                if (store.hasErrors(uri)) {
+                    problemSolver.reportProblemsFromExternalSource(file, this);
+                } else {
+                    problemSolver.clearProblemsFromExternalSource(file, this);
+                }
+            }
+        }, project.getDisposed());
+    }
+
+    @NotNull
+    private List<PreviousResultId> getPreviousResultIds() {
+        List<PreviousResultId> previousResultIds = store.getPreviousResultIds();
+        getConnectedFiles().forEach((uri, data) -> {
+            String resultId = data.getDiagnosticsForServer().getResultId();
+            if (resultId != null) {
+                previousResultIds.add(new PreviousResultId(uri, resultId));
+            }
+        });
+        return previousResultIds;
+    }
+
+    @NotNull
+    private Map<String, LSPVirtualFileData> getConnectedFiles() {
+        Map<String, LSPVirtualFileData> connectedFiles = new HashMap<>();
+        for (var data : languageServerWrapper.getConnectedFiles()) {
+            connectedFiles.put(data.getSynchronizer().getFileUri(), data);
+        }
+        return connectedFiles;
+    }
+
+    /**
+     * Returns the diagnostics of the files which are not connected to the language server.
+     *
+     * @return the diagnostics of the files which are not connected to the language server.
+     */
+    @NotNull
+    public WorkspaceDiagnosticsStore getStore() {
+        return store;
+    }
+
+    /**
+     * Cancel the current 'workspace/diagnostic' request.
+     */
+    public synchronized void cancel() {
+        var progressManager = this.progressManager;
+        if (progressManager != null && pendingToken != null) {
+            progressManager.unregisterPartialResultHandler(pendingToken);
+        }
+        pendingToken = null;
+        var request = pendingRequest;
+        pendingRequest = null;
+        if (request != null && !request.isDone()) {
+            request.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel the current 'workspace/diagnostic' request and clear the stored diagnostics when the language server stops.
+     */
+    public synchronized void dispose() {
+        cancel();
+        progressManager = null;
+        Set<String> uris = store.getFileUris();
+        store.clear();
+        updateProblemFiles(uris);
+    }
+
+    /**
+     * Returns true if the language server supports LSP 'workspace/diagnostic' and false otherwise.
+     *
+     * @param serverCapabilities the server capabilities.
+     * @return true if the language server supports LSP 'workspace/diagnostic' and false otherwise.
+     */
+    public static boolean isWorkspaceDiagnosticsSupported(@Nullable ServerCapabilities serverCapabilities) {
+        return serverCapabilities != null
+                && serverCapabilities.getDiagnosticProvider() != null
+                && serverCapabilities.getDiagnosticProvider().isWorkspaceDiagnostics();
+    }
+}
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import com.intellij.util.containers.Interner;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-compact store of the diagnostics reported by 'workspace/diagnostic' for files which are not
+ * connected to the language server.
+ * <p>
+ * The diagnostics of a file are packed in arrays (4 ints per range, 1 byte for severity and tags)
+ * and messages, codes and sources are interned, so a diagnostic costs a few dozen bytes instead of the
+ * graph of objects of a lsp4j {@link Diagnostic}. Related information, code description and data are not stored.
+ * </p>
+ */
+public class WorkspaceDiagnosticsStore {
+
+    // Bits of the packed flags of a diagnostic
+    private static final int SEVERITY_MASK = 0x7;
+    private static final int UNNECESSARY_FLAG = 1 << 3;
+    private static final int DEPRECATED_FLAG = 1 << 4;
+    private static final int NUMERIC_CODE_FLAG = 1 << 5;
+
+    private record FileDiagnostics(@Nullable String resultId,
+                                   int[] ranges,
+                                   byte[] flags,
+                                   String[] messages,
+                                   String[] codes,
+                                   String[] sources) {
+
+        private static final FileDiagnostics EMPTY = new FileDiagnostics(null, new int[0], new byte[0], new String[0], new String[0], new String[0]);
+
+        int size() {
+            return flags.length;
+        }
+
+        FileDiagnostics withResultId(@Nullable String resultId) {
+            return new FileDiagnostics(resultId, ranges, flags, messages, codes, sources);
+        }
+    }
+
+    private final Map<String /* file uri */, FileDiagnostics> files = new ConcurrentHashMap<>();
+    private final Interner<String> strings = Interner.createWeakInterner();
+
+    /**
+     * Stores the diagnostics of the given file uri.
+     *
+     * @param uri         the file uri.
+     * @param diagnostics the diagnostics of the file.
+     * @param resultId    the result id of the report and null otherwise.
+     */
+    public void update(@NotNull String uri,
+                       @NotNull List<Diagnostic> diagnostics,
+                       @Nullable String resultId) {
+        if (diagnostics.isEmpty() && resultId == null) {
+            files.remove(uri);
+            return;
+        }
+        files.put(uri, pack(diagnostics, resultId));
+    }
+
+    /**
+     * Updates the result id of the given file uri (ex : for an 'unchanged' report) and keeps its diagnostics.
+     *
+     * @param uri      the file uri.
+     * @param resultId the result id of the report.
+     */
+    public void updateResultId(@NotNull String uri, @Nullable String resultId) {
+        files.compute(uri, (k, file) -> (file != null ? file : FileDiagnostics.EMPTY).withResultId(resultId));
+    }
+
+    /**
+     * Removes the diagnostics of the given file uri.
+     *
+     * @param uri the file uri.
+     * @return true if the store contained the given file uri and false otherwise.
+     */
+    public boolean remove(@NotNull String uri) {
+        return files.remove(uri) != null;
+    }
+
+    /**
+     * Removes all diagnostics.
+     */
+    public void clear() {
+        files.clear();
+    }
+
+    /**
+     * Returns the uris of the files which have diagnostics.
+     *
+     * @return the uris of the files which have diagnostics.
+     */
+    @NotNull
+    public Set<String> getFileUris() {
+        Set<String> uris = new HashSet<>();
+        files.forEach((uri, file) -> {
+            if (file.size() > 0) {
+                uris.add(uri);
+            }
+        });
+        return uris;
+    }
+
+    /**
+     * Returns the diagnostics of the given file uri.
+     * <p>
+     * The lsp4j diagnostics are created on each call and should not be kept.
+     * </p>
+     *
+     * @param uri the file uri.
+     * @return the diagnostics of the given file uri.
+     */
+    @NotNull
+    public List<Diagnostic> getDiagnostics(@NotNull String uri) {
+        FileDiagnostics file = files.get(uri);
+        if (file == null || file.size() == 0) {
+            return Collections.emptyList();
+        }
+        List<Diagnostic> diagnostics = new ArrayList<>(file.size());
+        for (int i = 0; i < file.size(); i++) {
+            diagnostics.add(unpack(file, i));
+        }
+        return diagnostics;
+    }
+
+    /**
+     * Returns true if the given file uri has error diagnostics (or diagnostics without severity) and false otherwise.
+     *
+     * @param uri the file uri.
+     * @return true if the given file uri has error diagnostics and false otherwise.
+     */
+    public boolean hasErrors(@NotNull String uri) {
+        FileDiagnostics file = files.get(uri);
+        if (file == null) {
+            return false;
+        }
+        for (byte flag : file.flags()) {
+            int severity = flag & SEVERITY_MASK;
+            if (severity == 0 || severity == DiagnosticSeverity.Error.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the result id of the last report of the given file uri and null otherwise.
+     *
+     * @param uri the file uri.
+     * @return the result id of the last report of the given file uri and null otherwise.
+     */
+    @Nullable
+    public String getResultId(@NotNull String uri) {
+        FileDiagnostics file = files.get(uri);
+        return file != null ? file.resultId() : null;
+    }
+
+    /**
+     * Returns the result ids of the last reports, to send them in the next 'workspace/diagnostic' request.
+     *
+     * @return the result ids of the last reports.
+     */
+    @NotNull
+    public List<PreviousResultId> getPreviousResultIds() {
+        List<PreviousResultId> resultIds = new ArrayList<>();
+        files.forEach((uri, file) -> {
+            if (file.resultId() != null) {
+                resultIds.add(new PreviousResultId(uri, file.resultId()));
+            }
+        });
+        return resultIds;
+    }
+
+    /**
+     * Returns the number of stored diagnostics.
+     *
+     * @return the number of stored diagnostics.
+     */
+    public int getDiagnosticCount() {
+        int count = 0;
+        for (FileDiagnostics file : files.values()) {
+            count += file.size();
+        }
+        return count;
+    }
+
+    private FileDiagnostics pack(@NotNull List<Diagnostic> diagnostics, @Nullable String resultId) {
+        int size = diagnostics.size();
+        int[] ranges = new int[size * 4];
+        byte[] flags = new byte[size];
+        String[] messages = new String[size];
+        String[] codes = new String[size];
+        String[] sources = new String[size];
+        for (int i = 0; i < size; i++) {
+            Diagnostic diagnostic = diagnostics.get(i);
+            Range range = diagnostic.getRange();
+            if (range != null) {
+                ranges[i * 4] = range.getStart().getLine();
+                ranges[i * 4 + 1] = range.getStart().getCharacter();
+                ranges[i * 4 + 2] = range.getEnd().getLine();
+                ranges[i * 4 + 3] = range.getEnd().getCharacter();
+            }
+            int flag = diagnostic.getSeverity() != null ? diagnostic.getSeverity().getValue() : 0;
+            List<DiagnosticTag> tags = diagnostic.getTags();
+            if (tags != null) {
+                if (tags.contains(DiagnosticTag.Unnecessary)) {
+                    flag |= UNNECESSARY_FLAG;
+                }
+                if (tags.contains(DiagnosticTag.Deprecated)) {
+                    flag |= DEPRECATED_FLAG;
+                }
+            }
+            Either<String, Integer> code = diagnostic.getCode();
+            if (code != null) {
+                if (code.isRight()) {
+                    flag |= NUMERIC_CODE_FLAG;
+                    codes[i] = intern(String.valueOf(code.getRight()));
+                } else {
+                    codes[i] = intern(code.getLeft());
+                }
+            }
+            flags[i] = (byte) flag;
+            messages[i] = intern(Objects.requireNonNullElse(diagnostic.getMessage(), ""));
+            sources[i] = intern(diagnostic.getSource());
+        }
+        return new FileDiagnostics(resultId, ranges, flags, messages, codes, sources);
+    }
+
+    private static Diagnostic unpack(@NotNull FileDiagnostics file, int index) {
+        int[] ranges = file.ranges();
+        Range range = new Range(new Position(ranges[index * 4], ranges[index * 4 + 1]),
+                new Position(ranges[index * 4 + 2], ranges[index * 4 + 3]));
+        Diagnostic diagnostic = new Diagnostic(range, file.messages()[index]);
+        int flag = file.flags()[index];
+        int severity = flag & SEVERITY_MASK;
+        if (severity != 0) {
+            diagnostic.setSeverity(DiagnosticSeverity.forValue(severity));
+        }
+        if ((flag & (UNNECESSARY_FLAG | DEPRECATED_FLAG)) != 0) {
+            List<DiagnosticTag> tags = new ArrayList<>(2);
+            if ((flag & UNNECESSARY_FLAG) != 0) {
+                tags.add(DiagnosticTag.Unnecessary);
+            }
+            if ((flag & DEPRECATED_FLAG) != 0) {
+                tags.add(DiagnosticTag.Deprecated);
+            }
+            diagnostic.setTags(tags);
+        }
+        String code = file.codes()[index];
+        if (code != null) {
+            diagnostic.setCode((flag & NUMERIC_CODE_FLAG) != 0 ? Either.forRight(Integer.valueOf(code)) : Either.forLeft(code));
+        }
+        diagnostic.setSource(file.sources()[index]);
+        return diagnostic;
+    }
+
+    @Nullable
+    private String intern(@Nullable String value) {
+        return value != null ? strings.intern(value) : null;
+    }
+}
@@ -12,18 +12,26 @@ package com.redhat.devtools.lsp4ij.features.documentSymbol;
 
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
+import com.redhat.devtools.lsp4ij.LSPWorkspaceSupport;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.features.workspaceSymbol.WorkspaceSymbolIndex;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.DocumentSymbolParams;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -32,8 +40,27 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *     <li>LSP 'textDocument/documentSymbol' requests</li>
  * </ul>
+ *
+ * <p>
+ * The symbols of the language servers which support 'workspace/symbol' are stored in the {@link WorkspaceSymbolIndex}
+ * of the project, so the Go to Symbol popup shows the current symbols of the opened files. Like 'workspace/symbol',
+ * only the top-level symbols and the members of the containers (ex : the methods of a class) are indexed, not the local
+ * symbols of the functions (ex : variables, parameters).
+ * </p>
  */
 public class LSPDocumentSymbolSupport extends AbstractLSPDocumentFeatureSupport<DocumentSymbolParams, List<DocumentSymbolData>> {
+
+    // Kinds of the symbols whose children are indexed
+    private static final Set<SymbolKind> CONTAINER_KINDS = EnumSet.of(SymbolKind.File,
+            SymbolKind.Module,
+            SymbolKind.Namespace,
+            SymbolKind.Package,
+            SymbolKind.Class,
+            SymbolKind.Interface,
+            SymbolKind.Enum,
+            SymbolKind.Struct,
+            SymbolKind.Object);
+
     public LSPDocumentSymbolSupport(@NotNull PsiFile file) {
         super(file);
     }
@@ -86,7 +113,7 @@ public class LSPDocumentSymbolSupport extends AbstractLSPDocumentFeatureSupport<
                         // textDocument/documentSymbol may return null
                         return Collections.emptyList();
                     }
-                    return documentSymbol.stream()
+                    List<DocumentSymbolData> result = documentSymbol.stream()
                             .filter(Objects::nonNull)
                             .map(symbol -> {
                                 if (symbol.isLeft()) {
@@ -97,9 +124,49 @@ public class LSPDocumentSymbolSupport extends AbstractLSPDocumentFeatureSupport<
                                 }
                             })
                             .toList();
+                    updateWorkspaceSymbolIndex(result, file, languageServer);
+                    return result;
                 });
     }
 
+    private static void updateWorkspaceSymbolIndex(@NotNull List<DocumentSymbolData> documentSymbols,
+                                                   @NotNull PsiFile file,
+                                                   @NotNull LanguageServerItem languageServer) {
+        LSPClientFeatures clientFeatures = languageServer.getClientFeatures();
+        if (!clientFeatures.getWorkspaceSymbolFeature().isSupported()) {
+            // The symbols of the language server are not displayed in the Go to Symbol popup
+            return;
+        }
+        String fileUri = FileUriSupport.getFileUri(file.getVirtualFile(), clientFeatures).toASCIIString();
+        List<WorkspaceSymbolIndex.Symbol> symbols = new ArrayList<>();
+        for (var documentSymbol : documentSymbols) {
+            collectIndexedSymbols(documentSymbol.getDocumentSymbol(), fileUri, clientFeatures, symbols);
+        }
+        LSPWorkspaceSupport.getSupport(file.getProject())
+                .getWorkspaceSymbolSupport()
+                .getIndex()
+                .updateFileSymbols(clientFeatures, fileUri, symbols);
+    }
+
+    private static void collectIndexedSymbols(@NotNull DocumentSymbol documentSymbol,
+                                              @NotNull String fileUri,
+                                              @NotNull LSPClientFeatures clientFeatures,
+                                              @NotNull List<WorkspaceSymbolIndex.Symbol> symbols) {
+        if (documentSymbol.getKind() == SymbolKind.TypeParameter) {
+            return;
+        }
+        if (documentSymbol.getName() != null && documentSymbol.getSelectionRange() != null) {
+            symbols.add(new WorkspaceSymbolIndex.Symbol(documentSymbol.getName(), documentSymbol.getKind(), fileUri,
+                    documentSymbol.getSelectionRange().getStart(), clientFeatures));
+        }
+        // The children of a function, a method, a variable, etc are local symbols
+        if (documentSymbol.getChildren() != null && CONTAINER_KINDS.contains(documentSymbol.getKind())) {
+            for (var child : documentSymbol.getChildren()) {
+                collectIndexedSymbols(child, fileUri, clientFeatures, symbols);
+            }
+        }
+    }
+
     private static DocumentSymbol convertToDocumentSymbol(SymbolInformation symbolInformation) {
         var name = symbolInformation.getName();
         var kind = symbolInformation.getKind();
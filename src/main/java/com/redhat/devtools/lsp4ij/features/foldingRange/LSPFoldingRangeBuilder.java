@@ -26,6 +26,8 @@ import com.redhat.devtools.lsp4ij.LSPIJEditorUtils;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.client.ExecuteLSPFeatureStatus;
 import com.redhat.devtools.lsp4ij.client.indexing.ProjectIndexingManager;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
 import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.FoldingRangeRequestParams;
 import org.eclipse.lsp4j.Position;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -84,7 +87,12 @@ public class LSPFoldingRangeBuilder extends CustomFoldingBuilder {
     @NotNull
     @ApiStatus.Internal
     public static List<FoldingRange> getFoldingRanges(@Nullable PsiFile file) {
-        if (ProjectIndexingManager.canExecuteLSPFeature(file) != ExecuteLSPFeatureStatus.NOW) {
+        ExecuteLSPFeatureStatus status = ProjectIndexingManager.canExecuteLSPFeature(file);
+        if (status == ExecuteLSPFeatureStatus.AFTER_INDEXING && file != null) {
+            // Display the folding ranges computed for the same content before (ex : before the IDE restart)
+            return getCachedFoldingRanges(file);
+        }
+        if (status != ExecuteLSPFeatureStatus.NOW) {
             return Collections.emptyList();
         }
 
@@ -95,7 +103,18 @@ public class LSPFoldingRangeBuilder extends CustomFoldingBuilder {
         // Consume LSP 'textDocument/foldingRanges' request
         LSPFoldingRangeSupport foldingRangeSupport = LSPFileSupport.getSupport(file).getFoldingRangeSupport();
         var params = new FoldingRangeRequestParams(LSPIJUtils.toTextDocumentIdentifier(file.getVirtualFile()));
+        long modificationStamp = file.getModificationStamp();
         CompletableFuture<List<FoldingRange>> foldingRangesFuture = foldingRangeSupport.getFoldingRanges(params);
+        if (!foldingRangesFuture.isDone()) {
+            // The language servers are starting or computing the folding ranges,
+            // display the cached folding ranges and refresh the folding when the request is done.
+            List<FoldingRange> cachedFoldingRanges = getCachedFoldingRanges(file);
+            if (!cachedFoldingRanges.isEmpty()) {
+                EditorFeatureManager.getInstance(file.getProject())
+                        .refreshEditorFeatureWhenAllDone(Set.of(foldingRangesFuture), modificationStamp, file, EditorFeatureType.FOLDING);
+                return cachedFoldingRanges;
+            }
+        }
         try {
             waitUntilDone(foldingRangesFuture, file);
         } catch (
@@ -120,6 +139,15 @@ public class LSPFoldingRangeBuilder extends CustomFoldingBuilder {
         return foldingRangesFuture.getNow(null);
     }
 
+    @NotNull
+    private static List<FoldingRange> getCachedFoldingRanges(@NotNull PsiFile file) {
+        Document document = LSPIJUtils.getDocument(file.getVirtualFile());
+        if (document == null) {
+            return Collections.emptyList();
+        }
+        return LSPFileSupport.getSupport(file).getFoldingRangeSupport().getCachedFoldingRanges(document);
+    }
+
     @Nullable
     private static TextRange getTextRange(@NotNull FoldingRange foldingRange,
                                           @NotNull PsiFile file,
@@ -10,21 +10,33 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.foldingRange;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.client.features.LSPFoldingRangeFeature;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
+import com.redhat.devtools.lsp4ij.internal.cache.DocumentResultsCache;
+import com.redhat.devtools.lsp4ij.internal.json.LSPTypeAdapters;
 import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.FoldingRangeRequestParams;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * LSP foldingRange support which loads and caches folding ranges by consuming:
@@ -32,9 +44,25 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *     <li>LSP 'textDocument/foldingRange' requests</li>
  * </ul>
+ *
+ * <p>
+ * The folding ranges are stored in the {@link DocumentResultsCache} by hash of the document content, so they can be
+ * displayed when the file is reopened before the language servers are started. The hash is computed lazily, only when
+ * the folding ranges are stored or when the cache has results.
+ * </p>
  */
 public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<FoldingRangeRequestParams, List<FoldingRange>> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(LSPFoldingRangeSupport.class);
+
+    private static final String FOLDING_RANGE_FEATURE = "foldingRange";
+    private static final String FOLDING_RANGES = "foldingRanges";
+    private static final String COLLAPSED_BY_DEFAULT = "collapsedByDefault";
+
+    // Hash of the document content computed for the document modification stamp
+    private @Nullable String contentHash;
+    private long contentHashStamp = -1;
+
     public LSPFoldingRangeSupport(@NotNull PsiFile file) {
         super(file);
     }
@@ -46,11 +74,64 @@ public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<Fo
     @Override
     protected CompletableFuture<List<FoldingRange>> doLoad(FoldingRangeRequestParams params, CancellationSupport cancellationSupport) {
         PsiFile file = super.getFile();
-        return getFoldingRanges(file, params, cancellationSupport);
+        Document document = LSPIJUtils.getDocument(file.getVirtualFile());
+        // The hash of the content used by the request is computed when the folding ranges are stored
+        Supplier<String> contentHash = null;
+        if (document != null) {
+            CharSequence content = document.getImmutableCharSequence();
+            long modificationStamp = document.getModificationStamp();
+            contentHash = () -> getContentHash(content, modificationStamp);
+        }
+        return getFoldingRanges(file, params, document, contentHash, cancellationSupport);
+    }
+
+    /**
+     * Returns the folding ranges stored in the {@link DocumentResultsCache} for the current content of the given document.
+     * <p>
+     * Those folding ranges have been computed by the language servers for the same content (ex : before the IDE restart),
+     * and should be used only while the 'textDocument/foldingRange' requests are not done.
+     * </p>
+     *
+     * @param document the document of the file.
+     * @return the cached folding ranges and an empty list otherwise.
+     */
+    @NotNull
+    public List<FoldingRange> getCachedFoldingRanges(@NotNull Document document) {
+        if (DocumentResultsCache.getInstance().isEmpty()) {
+            return Collections.emptyList();
+        }
+        String contentHash = getContentHash(document.getImmutableCharSequence(), document.getModificationStamp());
+        List<FoldingRange> foldingRanges = new ArrayList<>();
+        try {
+            for (var cachedResult : DocumentResultsCache.getInstance().get(FOLDING_RANGE_FEATURE, contentHash)) {
+                JsonObject result = cachedResult.result().getAsJsonObject();
+                for (JsonElement json : result.getAsJsonArray(FOLDING_RANGES)) {
+                    FoldingRange foldingRange = LSPTypeAdapters.getGson().fromJson(json, FoldingRange.class);
+                    JsonElement collapsedByDefault = json.getAsJsonObject().get(COLLAPSED_BY_DEFAULT);
+                    foldingRanges.add(new LSPFoldingRange(foldingRange,
+                            collapsedByDefault != null && collapsedByDefault.getAsBoolean()));
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Error while reading cached LSP folding ranges", e);
+            return Collections.emptyList();
+        }
+        return foldingRanges;
+    }
+
+    @NotNull
+    private synchronized String getContentHash(@NotNull CharSequence content, long modificationStamp) {
+        if (contentHash == null || contentHashStamp != modificationStamp) {
+            contentHash = DocumentResultsCache.getContentHash(content);
+            contentHashStamp = modificationStamp;
+        }
+        return contentHash;
     }
 
     private static @NotNull CompletableFuture<List<FoldingRange>> getFoldingRanges(@NotNull PsiFile file,
                                                                                    @NotNull FoldingRangeRequestParams params,
+                                                                                   @Nullable Document document,
+                                                                                   @Nullable Supplier<String> contentHash,
                                                                                    @NotNull CancellationSupport cancellationSupport) {
 
         return getLanguageServers(file,
@@ -66,7 +147,7 @@ public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<Fo
                     // Collect list of textDocument/foldingRange future for each language servers
                     List<CompletableFuture<List<FoldingRange>>> foldingRangesPerServerFutures = languageServers
                             .stream()
-                            .map(languageServer -> getFoldingRangesFor(params, file, languageServer, cancellationSupport))
+                            .map(languageServer -> getFoldingRangesFor(params, file, document, contentHash, languageServer, cancellationSupport))
                             .toList();
 
                     // Merge list of textDocument/foldingRange future in one future which return the list of folding ranges
@@ -76,6 +157,8 @@ public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<Fo
 
     private static CompletableFuture<List<FoldingRange>> getFoldingRangesFor(@NotNull FoldingRangeRequestParams params,
                                                                              @NotNull PsiFile file,
+                                                                             @Nullable Document document,
+                                                                             @Nullable Supplier<String> contentHash,
                                                                              @NotNull LanguageServerItem languageServer,
                                                                              @NotNull CancellationSupport cancellationSupport) {
         // Update textDocument Uri with custom file Uri if needed
@@ -91,11 +174,31 @@ public class LSPFoldingRangeSupport extends AbstractLSPDocumentFeatureSupport<Fo
 
                     // Add whether or not the folding range should be collapsed by default
                     LSPFoldingRangeFeature foldingRangeFeature = languageServer.getClientFeatures().getFoldingRangeFeature();
-                    return foldingRanges
+                    List<FoldingRange> result = foldingRanges
                             .stream()
                             .filter(Objects::nonNull)
                             .map(foldingRange -> (FoldingRange) new LSPFoldingRange(foldingRange, foldingRangeFeature.isCollapsedByDefault(file, foldingRange)))
                             .toList();
+                    if (document != null && contentHash != null) {
+                        cacheFoldingRanges(result, document, contentHash, languageServer);
+                    }
+                    return result;
                 });
     }
+
+    private static void cacheFoldingRanges(@NotNull List<FoldingRange> foldingRanges,
+                                           @NotNull Document document,
+                                           @NotNull Supplier<String> contentHash,
+                                           @NotNull LanguageServerItem languageServer) {
+        JsonArray jsonFoldingRanges = new JsonArray();
+        for (FoldingRange foldingRange : foldingRanges) {
+            // Serialize the folding range as a lsp4j FoldingRange with the 'collapsedByDefault' flag
+            JsonObject json = LSPTypeAdapters.getGson().toJsonTree(foldingRange, FoldingRange.class).getAsJsonObject();
+            json.addProperty(COLLAPSED_BY_DEFAULT, ((LSPFoldingRange) foldingRange).isCollapsedByDefault());
+            jsonFoldingRanges.add(json);
+        }
+        JsonObject result = new JsonObject();
+        result.add(FOLDING_RANGES, jsonFoldingRanges);
+        DocumentResultsCache.getInstance().put(FOLDING_RANGE_FEATURE, document, contentHash, languageServer, result);
+    }
 }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.inlayhint;
+
+import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport.VersionedResult;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import com.redhat.devtools.lsp4ij.internal.DocumentSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.isDoneNormally;
+
+/**
+ * Inlay hints of a tile of lines of a document, loaded with a LSP 'textDocument/inlayHint' request for the range of the tile.
+ *
+ * @param startLine           the first line of the tile.
+ * @param endLine             the last line of the tile.
+ * @param startOffset         the start offset of the tile in the document version of the snapshot.
+ * @param endOffset           the end offset of the tile in the document version of the snapshot.
+ * @param snapshot            the snapshot of the document version for which the inlay hints are valid.
+ * @param inlayHintsFuture    the textDocument/inlayHint future of the tile.
+ * @param cancellationSupport the cancellation support of the LSP requests of the tile.
+ * @param previousResult      the inlay hints loaded for a previous version of the tile and null otherwise.
+ */
+record InlayHintsTile(int startLine,
+                      int endLine,
+                      int startOffset,
+                      int endOffset,
+                      @NotNull DocumentSnapshot snapshot,
+                      @NotNull CompletableFuture<List<InlayHintData>> inlayHintsFuture,
+                      @NotNull CancellationSupport cancellationSupport,
+                      @Nullable VersionedResult<List<InlayHintData>> previousResult) {
+
+    /**
+     * Returns the tile with the given snapshot, when the edits between the two document versions have not modified nor shifted the lines of the tile.
+     *
+     * @param snapshot    the snapshot of the current document version.
+     * @param startOffset the start offset of the tile in the current document version.
+     * @param endOffset   the end offset of the tile in the current document version.
+     * @return the tile with the given snapshot.
+     */
+    InlayHintsTile withSnapshot(@NotNull DocumentSnapshot snapshot, int startOffset, int endOffset) {
+        return new InlayHintsTile(startLine, endLine, startOffset, endOffset, snapshot, inlayHintsFuture, cancellationSupport, previousResult);
+    }
+
+    /**
+     * Cancel the LSP requests of the tile and returns a tile which must be loaded again, with the last inlay hints as previous result.
+     *
+     * @return a tile which must be loaded again.
+     */
+    InlayHintsTile invalidate() {
+        cancellationSupport.cancel();
+        return new InlayHintsTile(startLine, endLine, startOffset, endOffset, snapshot,
+                CompletableFuture.failedFuture(new CancellationException()), cancellationSupport, getLastResult());
+    }
+
+    /**
+     * Returns the last loaded inlay hints of the tile with the snapshot of the document version used to compute them and null otherwise.
+     *
+     * @return the last loaded inlay hints of the tile and null otherwise.
+     */
+    @Nullable
+    VersionedResult<List<InlayHintData>> getLastResult() {
+        if (isDoneNormally(inlayHintsFuture)) {
+            return new VersionedResult<>(inlayHintsFuture.getNow(List.of()), snapshot);
+        }
+        return previousResult;
+    }
+}
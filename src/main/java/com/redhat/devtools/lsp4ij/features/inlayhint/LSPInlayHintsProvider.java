@@ -16,11 +16,14 @@ import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiFile;
 import com.redhat.devtools.lsp4ij.LSPFileSupport;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDeclarativeInlayHintsProvider;
+import com.redhat.devtools.lsp4ij.internal.DocumentSnapshot;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorVisibleRange;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.jetbrains.annotations.NotNull;
@@ -29,7 +32,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -39,11 +41,15 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.isDoneNormally;
 import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.waitUntilDone;
 
 /**
  * LSP textDocument/inlayHint support.
+ * <p>
+ * The inlay hints are loaded by tiles of lines (see {@link LSPInlayHintsSupport#getInlayHintsTiles(Document, int, int)}):
+ * the tiles of the visible area are loaded first, then the other tiles of the document are loaded progressively,
+ * the closest to the visible area first (see {@link LSPInlayHintsSupport#loadOffScreenInlayHintsTiles(Document, int, int)}).
+ * </p>
  */
 public class LSPInlayHintsProvider extends AbstractLSPDeclarativeInlayHintsProvider {
 
@@ -51,66 +57,103 @@ public class LSPInlayHintsProvider extends AbstractLSPDeclarativeInlayHintsProvi
 
     public static final String PROVIDER_ID = "LSPInlayHintsProvider";
 
+    // Number of lines loaded before and after the visible area
+    private static final int VISIBLE_AREA_MARGIN = 50;
+
     @Override
     protected void doCollect(@NotNull PsiFile psiFile,
                              @NotNull Editor editor,
                              @NotNull InlayTreeSink inlayHintsSink,
                              @NotNull Set<CompletableFuture<?>> pendingFutures) {
-        // Get LSP inlay hints from cache or create them
+        // Get LSP inlay hints tiles of the visible area from cache or create them
         LSPInlayHintsSupport inlayHintSupport = LSPFileSupport.getSupport(psiFile).getInlayHintsSupport();
-        Range viewPortRange = getViewPortRange(editor);
-        InlayHintParams params = new InlayHintParams(LSPIJUtils.toTextDocumentIdentifier(psiFile.getVirtualFile()), viewPortRange);
-        CompletableFuture<List<InlayHintData>> future = inlayHintSupport.getInlayHints(params);
+        Document document = editor.getDocument();
+        int lineCount = Math.max(document.getLineCount(), 1);
+        int startLine;
+        int endLine;
+        TextRange visibleRange = EditorVisibleRange.getVisibleRange(editor);
+        if (visibleRange != null && visibleRange.getEndOffset() <= document.getTextLength()) {
+            startLine = document.getLineNumber(visibleRange.getStartOffset());
+            endLine = document.getLineNumber(visibleRange.getEndOffset());
+        } else {
+            // The visible area is not known yet, load first the lines around the caret
+            startLine = endLine = document.getLineNumber(Math.min(editor.getCaretModel().getOffset(), document.getTextLength()));
+        }
+        startLine = Math.max(startLine - VISIBLE_AREA_MARGIN, 0);
+        endLine = Math.min(endLine + VISIBLE_AREA_MARGIN, lineCount - 1);
+        List<InlayHintsTile> visibleTiles = inlayHintSupport.getInlayHintsTiles(document, startLine, endLine);
+        CompletableFuture<?>[] visibleFutures = visibleTiles
+                .stream()
+                // A tile which cannot be loaded must not stop the wait
+                .map(tile -> tile.inlayHintsFuture().handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new);
 
         try {
-            // Wait until the future while 200ms and stop the wait if there are some ProcessCanceledException.
-            waitUntilDone(future, psiFile, 200);
-            if (isDoneNormally(future)) {
-
-                // Collect inlay hints
-                List<Pair<Integer, InlayHintData>> inlayHints = new ArrayList<>();
-                List<InlayHintData> data = future.getNow(Collections.emptyList());
-                fillInlayHints(editor.getDocument(), data, inlayHints);
-
-                // Render inlay hints and collect all unfinished inlayHint/resolve futures
-                inlayHints.stream()
-                        .collect(Collectors.groupingBy(p -> p.first))
-                        .forEach((offset, list) -> {
-                            var position = new InlineInlayPosition(offset, false, 0);
-                            buildInlayHints(psiFile, list, position, inlayHintsSink);
-                        });
-            }
-            return;
+            // Wait until the tiles of the visible area are loaded while 200ms and stop the wait if there are some ProcessCanceledException.
+            waitUntilDone(CompletableFuture.allOf(visibleFutures), psiFile, 200);
+            // The tiles of the visible area are loaded, load the next tiles of the document
+            inlayHintSupport.loadOffScreenInlayHintsTiles(document, startLine, endLine);
         } catch (TimeoutException ignore) {
-            // the future which collects all textDocument/inlayHint for all servers is not finished
-            // add it to the pending futures to refresh again the UI when this future will be finished.
-            pendingFutures.add(future);
+            // the tiles of the visible area are loading, the other tiles will be loaded when the UI is refreshed.
         } catch (ProcessCanceledException ignore) {//Since 2024.2 ProcessCanceledException extends CancellationException so we can't use multicatch to keep backward compatibility
             //TODO delete block when minimum required version is 2024.2
+            return;
         } catch (CancellationException ignore) {
+            return;
         } catch (ExecutionException e) {
             LOGGER.error("Error while consuming LSP 'textDocument/inlayHint' request", e);
         }
+
+        for (var tile : inlayHintSupport.getCachedInlayHintsTiles()) {
+            if (!tile.inlayHintsFuture().isDone()) {
+                // the tile is loading, add it to the pending futures to refresh again the UI when this tile will be loaded.
+                pendingFutures.add(tile.inlayHintsFuture());
+            }
+            // Render the last inlay hints of the tile, those computed for a previous version of the document
+            // are rebased to the current version of the document.
+            var lastResult = tile.getLastResult();
+            if (lastResult != null) {
+                var snapshot = lastResult.snapshot().isCurrent() ? null : lastResult.snapshot();
+                collectInlayHints(psiFile, document, lastResult.result(), snapshot, inlayHintsSink);
+            }
+        }
+    }
+
+    private void collectInlayHints(@NotNull PsiFile psiFile,
+                                   @NotNull Document document,
+                                   @NotNull List<InlayHintData> data,
+                                   @Nullable DocumentSnapshot snapshot,
+                                   @NotNull InlayTreeSink inlayHintsSink) {
+        // Collect inlay hints
+        List<Pair<Integer, InlayHintData>> inlayHints = new ArrayList<>();
+        fillInlayHints(document, data, snapshot, inlayHints);
+
+        // Render inlay hints and collect all unfinished inlayHint/resolve futures
+        inlayHints.stream()
+                .collect(Collectors.groupingBy(p -> p.first))
+                .forEach((offset, list) -> {
+                    var position = new InlineInlayPosition(offset, false, 0);
+                    buildInlayHints(psiFile, list, position, inlayHintsSink);
+                });
     }
 
-    private static void fillInlayHints(Document document, List<InlayHintData> data, List<Pair<Integer, InlayHintData>> inlayHints) {
+    private static void fillInlayHints(@NotNull Document document,
+                                       @NotNull List<InlayHintData> data,
+                                       @Nullable DocumentSnapshot snapshot,
+                                       @NotNull List<Pair<Integer, InlayHintData>> inlayHints) {
         for (var inlayHintData : data) {
-            int offset = LSPIJUtils.toOffset(inlayHintData.inlayHint().getPosition(), document);
+            Position position = inlayHintData.inlayHint().getPosition();
+            int offset = snapshot != null ?
+                    snapshot.toCurrentOffset(position) :
+                    LSPIJUtils.toOffset(position, document);
+            if (offset == -1) {
+                // The inlay hint cannot be rebased to the current version of the document
+                continue;
+            }
             inlayHints.add(Pair.create(offset, inlayHintData));
         }
     }
 
-    @NotNull
-    private static Range getViewPortRange(Editor editor) {
-        // LSP textDocument/inlayHint request parameter expects to fill the visible view port range.
-        // As Intellij inlay hint provider is refreshed just only when editor is opened or editor content changed
-        // and not when editor is scrolling, the view port range must be created with full text document offsets.
-        Position start = new Position(0, 0);
-        Document document = editor.getDocument();
-        Position end = LSPIJUtils.toPosition(document.getTextLength(), document);
-        return new Range(start, end);
-    }
-
     private void buildInlayHints(@NotNull PsiFile psiFile,
                                  @NotNull List<Pair<Integer, InlayHintData>> elements,
                                  @NotNull InlayPosition position,
@@ -10,19 +10,30 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.inlayhint;
 
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
-import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport.VersionedResult;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
+import com.redhat.devtools.lsp4ij.internal.DocumentEditLog;
+import com.redhat.devtools.lsp4ij.internal.DocumentSnapshot;
 import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.InlayHintParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -33,30 +44,200 @@ import java.util.concurrent.CompletableFuture;
  *     <li>LSP 'textDocument/inlayHint' requests</li>
  *     <li>LSP 'inlayHint/resolve' requests</li>
  * </ul>
+ *
+ * <p>
+ * The inlay hints are loaded by tiles of {@link #TILE_LINE_COUNT} lines (see {@link #getInlayHintsTiles(Document, int, int)}),
+ * each tile is loaded with a 'textDocument/inlayHint' request for its range and is cached until an edit modifies its lines
+ * or shifts them. The tiles outside the visible area are loaded progressively, the closest to the visible area first
+ * (see {@link #loadOffScreenInlayHintsTiles(Document, int, int)}).
+ * </p>
  */
-public class LSPInlayHintsSupport extends AbstractLSPDocumentFeatureSupport<InlayHintParams, List<InlayHintData>> {
+public class LSPInlayHintsSupport {
+
+    // Number of lines of a tile of inlay hints
+    static final int TILE_LINE_COUNT = 200;
+
+    // Max number of tiles outside the visible area loaded at the same time
+    static final int MAX_OFF_SCREEN_LOADING_TILES = 2;
+
+    // The Psi file
+    private final @NotNull PsiFile file;
+
+    // The tiles of inlay hints by tile index
+    private final Map<Integer, InlayHintsTile> tiles = new HashMap<>();
 
     public LSPInlayHintsSupport(@NotNull PsiFile file) {
-        super(file);
+        this.file = file;
+    }
+
+    /**
+     * Returns the tiles of inlay hints which cover the given lines of the document.
+     * <p>
+     * The tiles which are not cached, or whose lines have been modified or shifted by an edit since they have been loaded,
+     * are loaded with a 'textDocument/inlayHint' request for their range.
+     * </p>
+     *
+     * @param document  the document.
+     * @param startLine the first line.
+     * @param endLine   the last line.
+     * @return the tiles of inlay hints which cover the given lines of the document.
+     */
+    synchronized @NotNull List<InlayHintsTile> getInlayHintsTiles(@NotNull Document document, int startLine, int endLine) {
+        int lineCount = Math.max(document.getLineCount(), 1);
+        // Remove the tiles located after the end of the document
+        tiles.entrySet().removeIf(entry -> {
+            if (entry.getKey() * TILE_LINE_COUNT >= lineCount) {
+                entry.getValue().cancellationSupport().cancel();
+                return true;
+            }
+            return false;
+        });
+        List<InlayHintsTile> result = new ArrayList<>();
+        int lastIndex = Math.min(endLine, lineCount - 1) / TILE_LINE_COUNT;
+        for (int index = Math.max(startLine, 0) / TILE_LINE_COUNT; index <= lastIndex; index++) {
+            result.add(getInlayHintsTile(document, index, lineCount));
+        }
+        return result;
+    }
+
+    /**
+     * Loads the tiles of inlay hints outside the given visible lines of the document, the closest to the visible lines first.
+     * <p>
+     * At most {@link #MAX_OFF_SCREEN_LOADING_TILES} tiles outside the visible lines are loading at the same time,
+     * the next tiles are loaded by the next call of this method (ex : when the UI is refreshed because a tile has been loaded).
+     * </p>
+     *
+     * @param document  the document.
+     * @param startLine the first visible line.
+     * @param endLine   the last visible line.
+     */
+    synchronized void loadOffScreenInlayHintsTiles(@NotNull Document document, int startLine, int endLine) {
+        int lineCount = Math.max(document.getLineCount(), 1);
+        int lastIndex = (lineCount - 1) / TILE_LINE_COUNT;
+        int firstVisibleIndex = Math.max(startLine, 0) / TILE_LINE_COUNT;
+        int lastVisibleIndex = Math.min(endLine, lineCount - 1) / TILE_LINE_COUNT;
+        int loadingTiles = 0;
+        for (var entry : tiles.entrySet()) {
+            int index = entry.getKey();
+            if ((index < firstVisibleIndex || index > lastVisibleIndex) && !entry.getValue().inlayHintsFuture().isDone()) {
+                loadingTiles++;
+            }
+        }
+        for (int distance = 1; loadingTiles < MAX_OFF_SCREEN_LOADING_TILES; distance++) {
+            int before = firstVisibleIndex - distance;
+            int after = lastVisibleIndex + distance;
+            if (before < 0 && after > lastIndex) {
+                // All tiles are loaded or loading
+                break;
+            }
+            if (before >= 0 && loadInlayHintsTileIfNeeded(document, before, lineCount)) {
+                loadingTiles++;
+            }
+            if (after <= lastIndex && loadingTiles < MAX_OFF_SCREEN_LOADING_TILES && loadInlayHintsTileIfNeeded(document, after, lineCount)) {
+                loadingTiles++;
+            }
+        }
+    }
+
+    private boolean loadInlayHintsTileIfNeeded(@NotNull Document document, int index, int lineCount) {
+        InlayHintsTile oldTile = tiles.get(index);
+        if (oldTile != null && !oldTile.inlayHintsFuture().isDone()) {
+            // The tile is loading (and is already counted) or is reloaded because an edit has modified it
+            getInlayHintsTile(document, index, lineCount);
+            return false;
+        }
+        InlayHintsTile tile = getInlayHintsTile(document, index, lineCount);
+        // A new 'textDocument/inlayHint' request has been sent for the tile
+        return (oldTile == null || oldTile.inlayHintsFuture() != tile.inlayHintsFuture()) && !tile.inlayHintsFuture().isDone();
+    }
+
+    /**
+     * Returns the cached tiles of inlay hints, which can be computed for a previous version of the document.
+     *
+     * @return the cached tiles of inlay hints.
+     */
+    synchronized @NotNull List<InlayHintsTile> getCachedInlayHintsTiles() {
+        return new ArrayList<>(tiles.values());
+    }
+
+    private @NotNull InlayHintsTile getInlayHintsTile(@NotNull Document document, int index, int lineCount) {
+        int startLine = index * TILE_LINE_COUNT;
+        int endLine = Math.min(startLine + TILE_LINE_COUNT, lineCount) - 1;
+        int startOffset = document.getLineStartOffset(startLine);
+        int endOffset = document.getLineEndOffset(endLine);
+        InlayHintsTile tile = tiles.get(index);
+        if (tile != null && !tile.inlayHintsFuture().isCompletedExceptionally()) {
+            if (tile.snapshot().isCurrent()) {
+                return tile;
+            }
+            if (isUnchanged(tile, document, startLine, endLine, startOffset, endOffset)) {
+                // The edits have not modified nor shifted the lines of the tile, its inlay hints are valid for the current document version
+                tile = tile.withSnapshot(DocumentSnapshot.create(document), startOffset, endOffset);
+                tiles.put(index, tile);
+                return tile;
+            }
+        }
+        var previousResult = tile != null ? tile.getLastResult() : null;
+        if (tile != null) {
+            tile.cancellationSupport().cancel();
+        }
+        tile = loadInlayHintsTile(document, startLine, endLine, startOffset, endOffset, previousResult);
+        tiles.put(index, tile);
+        return tile;
+    }
+
+    private static boolean isUnchanged(@NotNull InlayHintsTile tile,
+                                       @NotNull Document document,
+                                       int startLine,
+                                       int endLine,
+                                       int startOffset,
+                                       int endOffset) {
+        if (tile.startLine() != startLine || tile.endLine() != endLine || tile.endOffset() - tile.startOffset() != endOffset - startOffset) {
+            return false;
+        }
+        // The text of the tile must be unchanged and must start at the same line
+        int rebasedStartOffset = DocumentEditLog.getInstance(document)
+                .rebaseUnchangedText(tile.startOffset(), tile.endOffset(), tile.snapshot().getModificationStamp(), document.getModificationStamp());
+        return rebasedStartOffset == startOffset;
     }
 
-    public CompletableFuture<List<InlayHintData>> getInlayHints(InlayHintParams params) {
-        return super.getFeatureData(params);
+    private @NotNull InlayHintsTile loadInlayHintsTile(@NotNull Document document,
+                                                       int startLine,
+                                                       int endLine,
+                                                       int startOffset,
+                                                       int endOffset,
+                                                       @Nullable VersionedResult<List<InlayHintData>> previousResult) {
+        Position end = endLine + 1 < document.getLineCount() ? new Position(endLine + 1, 0) : LSPIJUtils.toPosition(endOffset, document);
+        var params = new InlayHintParams(LSPIJUtils.toTextDocumentIdentifier(file.getVirtualFile()), new Range(new Position(startLine, 0), end));
+        var cancellationSupport = new CancellationSupport();
+        CompletableFuture<List<InlayHintData>> future = getInlayHints(file, params, cancellationSupport)
+                .thenApply(data -> data
+                        .stream()
+                        // An inlay hint located at the bound of 2 tiles can be returned for the 2 tiles, keep it in the tile of its line
+                        .filter(inlayHintData -> {
+                            int line = inlayHintData.inlayHint().getPosition().getLine();
+                            return line >= startLine && line <= endLine;
+                        })
+                        .toList());
+        return new InlayHintsTile(startLine, endLine, startOffset, endOffset, DocumentSnapshot.create(document), future, cancellationSupport, previousResult);
     }
 
-    @Override
-    protected CompletableFuture<List<InlayHintData>> doLoad(InlayHintParams params, CancellationSupport cancellationSupport) {
-        PsiFile file = super.getFile();
-        return getInlayHints(file, params, cancellationSupport);
+    /**
+     * Cancel the LSP requests of the tiles of inlay hints.
+     */
+    public synchronized void cancel() {
+        // Cancel the LSP requests of the tiles and keep their last inlay hints to render them until the tiles are loaded again
+        tiles.replaceAll((index, tile) -> tile.invalidate());
     }
 
     private static @NotNull CompletableFuture<List<InlayHintData>> getInlayHints(@NotNull PsiFile file,
                                                                                  @NotNull InlayHintParams params,
                                                                                  @NotNull CancellationSupport cancellationSupport) {
 
-        return getLanguageServers(file,
-                f -> f.getInlayHintFeature().isEnabled(file),
-                f -> f.getInlayHintFeature().isSupported(file))
+        return LanguageServiceAccessor.getInstance(file.getProject())
+                .getLanguageServers(file.getVirtualFile(),
+                        f -> f.getInlayHintFeature().isEnabled(file),
+                        f -> f.getInlayHintFeature().isSupported(file))
                 .thenComposeAsync(languageServers -> {
                     // Here languageServers is the list of language servers which matches the given file
                     // and which have inlay hint capability
@@ -80,7 +261,7 @@ public class LSPInlayHintsSupport extends AbstractLSPDocumentFeatureSupport<Inla
                                                                            @NotNull LanguageServerItem languageServer,
                                                                            @NotNull CancellationSupport cancellationSupport) {
         // Update textDocument Uri with custom file Uri if needed
-        updateTextDocumentUri(params.getTextDocument(), file, languageServer);
+        params.getTextDocument().setUri(FileUriSupport.getFileUri(file.getVirtualFile(), languageServer.getClientFeatures()).toASCIIString());
         return cancellationSupport.execute(languageServer
                         .getTextDocumentService()
                         .inlayHint(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_INLAY_HINT)
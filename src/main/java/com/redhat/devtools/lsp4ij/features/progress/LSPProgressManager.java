@@ -10,6 +10,7 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.progress;
 
+import com.google.gson.JsonElement;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
@@ -24,6 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -34,6 +36,7 @@ import java.util.function.Function;
 public class LSPProgressManager implements Disposable {
 
     private final Map<String /* token */ , LSPProgressInfo> progressMap;
+    private final Map<String /* partial result token */ , Consumer<JsonElement>> partialResultHandlers;
     private LanguageServer languageServer;
     private LanguageServerWrapper languageServerWrapper;
     private boolean disposed;
@@ -41,6 +44,8 @@ public class LSPProgressManager implements Disposable {
     public LSPProgressManager() {
         // Map which contains current progresses stored by their token.
         this.progressMap = new ConcurrentHashMap<>();
+        // Map which contains the handlers of the partial results stored by their token.
+        this.partialResultHandlers = new ConcurrentHashMap<>();
     }
 
     public void connect(final LanguageServer languageServer, LanguageServerWrapper languageServerWrapper) {
@@ -63,6 +68,30 @@ public class LSPProgressManager implements Disposable {
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Registers the given handler which consumes the partial results notified with the given partial result token.
+     * <p>
+     * The handler is called by the thread which reads the messages of the language server and must be fast.
+     * </p>
+     *
+     * @param token   the partial result token sent in the LSP request.
+     * @param handler the handler which consumes the partial results (as JSON).
+     */
+    public void registerPartialResultHandler(@NotNull String token, @NotNull Consumer<JsonElement> handler) {
+        if (!isDisposed()) {
+            partialResultHandlers.put(token, handler);
+        }
+    }
+
+    /**
+     * Unregisters the handler of the given partial result token.
+     *
+     * @param token the partial result token sent in the LSP request.
+     */
+    public void unregisterPartialResultHandler(@NotNull String token) {
+        partialResultHandlers.remove(token);
+    }
+
     private void createTask(LSPProgressInfo progressInfo) {
         String token = progressInfo.getToken();
         if (isProgressAlive(progressInfo)) {
@@ -150,8 +179,12 @@ public class LSPProgressManager implements Disposable {
         }
         var value = params.getValue();
         if (value.isRight()) {
-            // TODO: Partial Result Progress
+            // Partial Result Progress
             // https://microsoft.github.io/language-server-protocol/specifications/specification-current/#partialResults
+            var handler = partialResultHandlers.get(getToken(params.getToken()));
+            if (handler != null && value.getRight() instanceof JsonElement partialResult) {
+                handler.accept(partialResult);
+            }
             return;
         }
 
@@ -221,6 +254,7 @@ public class LSPProgressManager implements Disposable {
         this.disposed = true;
         progressMap.values().forEach(LSPProgressInfo::cancel);
         progressMap.clear();
+        partialResultHandlers.clear();
     }
 
     public boolean isDisposed() {
@@ -14,6 +14,7 @@ package com.redhat.devtools.lsp4ij.features.semanticTokens;
 import com.intellij.codeInsight.daemon.impl.HighlightVisitor;
 import com.intellij.codeInsight.daemon.impl.analysis.HighlightInfoHolder;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.impl.source.tree.LeafElement;
@@ -23,6 +24,9 @@ import com.redhat.devtools.lsp4ij.LanguageServersRegistry;
 import com.redhat.devtools.lsp4ij.client.ExecuteLSPFeatureStatus;
 import com.redhat.devtools.lsp4ij.client.indexing.ProjectIndexingManager;
 import com.redhat.devtools.lsp4ij.internal.SimpleLanguageUtils;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureManager;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorFeatureType;
+import com.redhat.devtools.lsp4ij.internal.editor.EditorVisibleRange;
 import org.eclipse.lsp4j.SemanticTokensParams;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -30,6 +34,7 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -104,7 +109,13 @@ public class LSPSemanticTokensHighlightVisitor implements HighlightVisitor {
         // Consume LSP 'textDocument/semanticTokens/full' request
         LSPSemanticTokensSupport semanticTokensSupport = LSPFileSupport.getSupport(file).getSemanticTokensSupport();
         var params = new SemanticTokensParams(LSPIJUtils.toTextDocumentIdentifier(file.getVirtualFile()));
-        CompletableFuture<SemanticTokensData> semanticTokensFuture = semanticTokensSupport.getSemanticTokens(params);
+        CompletableFuture<SemanticTokensData> fullSemanticTokensFuture = semanticTokensSupport.getSemanticTokens(params);
+        CompletableFuture<SemanticTokensData> semanticTokensFuture = fullSemanticTokensFuture;
+        if (!fullSemanticTokensFuture.isDone()) {
+            // The semantic tokens of the whole file are loading, highlight the visible area
+            // with LSP 'textDocument/semanticTokens/range' (if supported) as soon as possible.
+            semanticTokensFuture = getVisibleAreaSemanticTokens(file, semanticTokensSupport, fullSemanticTokensFuture);
+        }
         try {
             waitUntilDone(semanticTokensFuture, file);
         } catch (
@@ -123,7 +134,12 @@ public class LSPSemanticTokensHighlightVisitor implements HighlightVisitor {
 
         if (isDoneNormally(semanticTokensFuture)) {
             // textDocument/semanticTokens/full has been collected correctly, create list of IJ HighlightInfo from LSP SemanticTokens data
-            SemanticTokensData semanticTokens = semanticTokensFuture.getNow(null);
+            SemanticTokensData semanticTokens = isDoneNormally(fullSemanticTokensFuture) ? fullSemanticTokensFuture.getNow(null) : semanticTokensFuture.getNow(null);
+            if (semanticTokens != null && !fullSemanticTokensFuture.isDone()) {
+                // Only the visible area is highlighted, refresh the highlighting when the semantic tokens of the whole file are loaded.
+                EditorFeatureManager.getInstance(file.getProject())
+                        .refreshEditorFeatureWhenAllDone(Set.of(fullSemanticTokensFuture), file.getModificationStamp(), file, EditorFeatureType.SEMANTIC_TOKENS);
+            }
             if (semanticTokens != null) {
                 var document = LSPIJUtils.getDocument(file.getVirtualFile());
                 if (document == null) {
@@ -144,6 +160,31 @@ public class LSPSemanticTokensHighlightVisitor implements HighlightVisitor {
         return null;
     }
 
+    /**
+     * Returns the semantic tokens of the visible area of the editor of the given file if they are loaded before
+     * the semantic tokens of the whole file and the semantic tokens of the whole file otherwise.
+     *
+     * @param file                     the Psi file.
+     * @param semanticTokensSupport    the semantic tokens support.
+     * @param fullSemanticTokensFuture the future of the semantic tokens of the whole file.
+     * @return the semantic tokens of the visible area or of the whole file.
+     */
+    private static CompletableFuture<SemanticTokensData> getVisibleAreaSemanticTokens(@NotNull PsiFile file,
+                                                                                      @NotNull LSPSemanticTokensSupport semanticTokensSupport,
+                                                                                      @NotNull CompletableFuture<SemanticTokensData> fullSemanticTokensFuture) {
+        var document = LSPIJUtils.getDocument(file.getVirtualFile());
+        TextRange visibleRange = EditorVisibleRange.getVisibleRange(file);
+        if (document == null || visibleRange == null || visibleRange.getLength() >= document.getTextLength()) {
+            return fullSemanticTokensFuture;
+        }
+        // Consume LSP 'textDocument/semanticTokens/range' request for the visible area
+        CompletableFuture<SemanticTokensData> rangeSemanticTokensFuture = semanticTokensSupport.getSemanticTokensRange(visibleRange, document)
+                .handle((semanticTokens, error) -> semanticTokens)
+                .thenCompose(semanticTokens -> semanticTokens != null ? CompletableFuture.completedFuture(semanticTokens) : fullSemanticTokensFuture);
+        // Returns the first loaded semantic tokens
+        return fullSemanticTokensFuture.applyToEither(rangeSemanticTokensFuture, semanticTokens -> semanticTokens);
+    }
+
     @Override
     public @NotNull HighlightVisitor clone() {
         return new LSPSemanticTokensHighlightVisitor();
@@ -10,29 +10,56 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij.features.semanticTokens;
 
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServerWrapper;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPDocumentFeatureSupport;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import com.redhat.devtools.lsp4ij.internal.CancellationUtil;
+import com.redhat.devtools.lsp4ij.internal.json.IntArrayList;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensEdit;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * LSP semanticTokens support which loads and caches semantic tokens by consuming:
  *
  * <ul>
- *     <li>LSP 'textDocument/semanticTokens' requests</li>
+ *     <li>LSP 'textDocument/semanticTokens/full' requests</li>
+ *     <li>LSP 'textDocument/semanticTokens/full/delta' requests, when the language server supports it and a previous result is available</li>
+ *     <li>LSP 'textDocument/semanticTokens/range' requests, for the visible area of an editor while the full semantic tokens are loading</li>
  * </ul>
  */
 public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<SemanticTokensParams, SemanticTokensData> {
 
+    // The last semantic tokens (with a result id) received from each language server, used to consume 'textDocument/semanticTokens/full/delta'
+    private final Map<LanguageServerWrapper, SemanticTokens> previousResults = new ConcurrentHashMap<>();
+
+    // The cancellation support of the current 'textDocument/semanticTokens/range' request
+    private @Nullable CancellationSupport rangeCancellationSupport;
+
+    // The TextAttributesKey lookup table of the semantic tokens legend of each language server
+    private final Map<LanguageServerWrapper, SemanticTokensAttributesTable> attributesTables = new ConcurrentHashMap<>();
+
     public LSPSemanticTokensSupport(@NotNull PsiFile file) {
         super(file);
     }
@@ -41,13 +68,71 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
         return super.getFeatureData(params);
     }
 
+    /**
+     * Returns the semantic tokens of the given range of the file by consuming 'textDocument/semanticTokens/range'
+     * with the first language server which supports it.
+     * <p>
+     * The result is not cached: it is used to highlight the visible area of an editor while
+     * the full semantic tokens (see {@link #getSemanticTokens(SemanticTokensParams)}) are loading, and it is
+     * superseded by them.
+     * </p>
+     *
+     * @param textRange the range of the file.
+     * @param document  the document of the file.
+     * @return the semantic tokens of the given range of the file.
+     */
+    public synchronized CompletableFuture<SemanticTokensData> getSemanticTokensRange(@NotNull TextRange textRange,
+                                                                                   @NotNull Document document) {
+        cancelRangeRequests();
+        var cancellationSupport = new CancellationSupport();
+        this.rangeCancellationSupport = cancellationSupport;
+        PsiFile file = super.getFile();
+        return getLanguageServers(file,
+                f -> f.getSemanticTokensFeature().isEnabled(file),
+                f -> f.getSemanticTokensFeature().isSemanticTokensRangeSupported(file))
+                .thenComposeAsync(languageServers -> {
+                    if (languageServers.isEmpty()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    var languageServer = languageServers.get(0);
+                    var params = new SemanticTokensRangeParams(LSPIJUtils.toTextDocumentIdentifier(file.getVirtualFile()),
+                            new Range(LSPIJUtils.toPosition(textRange.getStartOffset(), document),
+                                    LSPIJUtils.toPosition(textRange.getEndOffset(), document)));
+                    updateTextDocumentUri(params.getTextDocument(), file, languageServer);
+                    return cancellationSupport.execute(languageServer
+                                    .getTextDocumentService()
+                                    .semanticTokensRange(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_RANGE)
+                            .thenApplyAsync(semanticTokens -> {
+                                if (semanticTokens == null) {
+                                    // textDocument/semanticTokens/range may return null
+                                    return null;
+                                }
+                                return new SemanticTokensData(semanticTokens, getAttributesTable(languageServer));
+                            });
+                });
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        cancelRangeRequests();
+    }
+
+    private synchronized void cancelRangeRequests() {
+        var cancellationSupport = this.rangeCancellationSupport;
+        this.rangeCancellationSupport = null;
+        if (cancellationSupport != null) {
+            cancellationSupport.cancel();
+        }
+    }
+
     @Override
     protected CompletableFuture<SemanticTokensData> doLoad(SemanticTokensParams params, CancellationSupport cancellationSupport) {
         PsiFile file = super.getFile();
         return getSemanticTokens(file, params, cancellationSupport);
     }
 
-    private static @NotNull CompletableFuture<SemanticTokensData> getSemanticTokens(@NotNull PsiFile file,
+    private @NotNull CompletableFuture<SemanticTokensData> getSemanticTokens(@NotNull PsiFile file,
                                                                                     @NotNull SemanticTokensParams params,
                                                                                     @NotNull CancellationSupport cancellationSupport) {
 
@@ -73,24 +158,122 @@ public class LSPSemanticTokensSupport extends AbstractLSPDocumentFeatureSupport<
                 });
     }
 
-    private static CompletableFuture<SemanticTokensData> getSemanticTokensFor(@NotNull SemanticTokensParams params,
+    private CompletableFuture<SemanticTokensData> getSemanticTokensFor(@NotNull SemanticTokensParams params,
                                                                               @NotNull PsiFile file,
                                                                               @NotNull LanguageServerItem languageServer,
                                                                               @NotNull CancellationSupport cancellationSupport) {
         // Update textDocument Uri with custom file Uri if needed
         updateTextDocumentUri(params.getTextDocument(), file, languageServer);
-        return cancellationSupport.execute(languageServer
-                        .getTextDocumentService()
-                        .semanticTokensFull(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL)
+        var serverWrapper = languageServer.getServerWrapper();
+        boolean deltaSupported = languageServer.getClientFeatures().getSemanticTokensFeature().isSemanticTokensDeltaSupported(file);
+        SemanticTokens previous = deltaSupported ? previousResults.get(serverWrapper) : null;
+        CompletableFuture<SemanticTokens> semanticTokensFuture;
+        if (previous != null) {
+            // Consume LSP 'textDocument/semanticTokens/full/delta' with the previous result id
+            var deltaParams = new SemanticTokensDeltaParams(params.getTextDocument(), previous.getResultId());
+            semanticTokensFuture = cancellationSupport.execute(languageServer
+                            .getTextDocumentService()
+                            .semanticTokensFullDelta(deltaParams), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL_DELTA)
+                    .thenApply(result -> {
+                        if (result == null || result.isLeft()) {
+                            // The language server returns the full semantic tokens
+                            return result != null ? result.getLeft() : null;
+                        }
+                        var delta = result.getRight();
+                        return new SemanticTokens(delta.getResultId(), applyEdits(previous.getData(), delta.getEdits()));
+                    });
+        } else {
+            // Consume LSP 'textDocument/semanticTokens/full'
+            semanticTokensFuture = cancellationSupport.execute(languageServer
+                    .getTextDocumentService()
+                    .semanticTokensFull(params), languageServer, LSPRequestConstants.TEXT_DOCUMENT_SEMANTIC_TOKENS_FULL);
+        }
+        return semanticTokensFuture
+                .whenComplete((semanticTokens, error) -> {
+                    if (error != null) {
+                        if (!CancellationUtil.isRequestCancelledException(error)) {
+                            // The previous result id is perhaps unknown by the language server, the next request will get the full semantic tokens
+                            previousResults.remove(serverWrapper);
+                        }
+                    } else if (deltaSupported && semanticTokens != null && semanticTokens.getResultId() != null && semanticTokens.getData() != null) {
+                        previousResults.put(serverWrapper, semanticTokens);
+                    } else {
+                        previousResults.remove(serverWrapper);
+                    }
+                })
                 .thenApplyAsync(semanticTokens -> {
                     if (semanticTokens == null) {
                         // textDocument/semanticTokens/full may return null
                         return null;
                     }
-                    return new SemanticTokensData(semanticTokens, getLegend(languageServer), languageServer.getSemanticTokensColorsProvider());
+                    return new SemanticTokensData(semanticTokens, getAttributesTable(languageServer));
                 });
     }
 
+    /**
+     * Returns the semantic tokens data of the previous result updated with the given edits.
+     * <p>
+     * The previous data is kept as is (it can still be used by a highlight), the edits are applied
+     * in one pass in a new array.
+     * </p>
+     *
+     * @param previousData the semantic tokens data of the previous result.
+     * @param edits        the edits returned by 'textDocument/semanticTokens/full/delta'.
+     * @return the semantic tokens data of the previous result updated with the given edits.
+     */
+    static @NotNull List<Integer> applyEdits(@NotNull List<Integer> previousData,
+                                             @Nullable List<SemanticTokensEdit> edits) {
+        if (edits == null || edits.isEmpty()) {
+            return previousData;
+        }
+        int[] data = IntArrayList.toIntArray(previousData);
+        List<SemanticTokensEdit> sortedEdits = new ArrayList<>(edits);
+        sortedEdits.sort(Comparator.comparingInt(SemanticTokensEdit::getStart));
+        int insertedCount = 0;
+        for (var edit : sortedEdits) {
+            insertedCount += edit.getData() != null ? edit.getData().size() : 0;
+        }
+        int[] result = new int[data.length + insertedCount];
+        int from = 0;
+        int to = 0;
+        for (var edit : sortedEdits) {
+            int start = Math.max(Math.min(edit.getStart(), data.length), from);
+            // Copy the unchanged data before the edit
+            System.arraycopy(data, from, result, to, start - from);
+            to += start - from;
+            // Copy the inserted data
+            if (edit.getData() != null) {
+                int[] inserted = IntArrayList.toIntArray(edit.getData());
+                System.arraycopy(inserted, 0, result, to, inserted.length);
+                to += inserted.length;
+            }
+            from = Math.min(start + Math.max(edit.getDeleteCount(), 0), data.length);
+        }
+        // Copy the unchanged data after the last edit
+        System.arraycopy(data, from, result, to, data.length - from);
+        to += data.length - from;
+        return new IntArrayList(to == result.length ? result : Arrays.copyOf(result, to));
+    }
+
+    /**
+     * Returns the TextAttributesKey lookup table for the semantic tokens legend of the given language server,
+     * the table is built once per legend and reused by the next semantic tokens responses.
+     *
+     * @param languageServer the language server.
+     * @return the TextAttributesKey lookup table for the semantic tokens legend of the given language server.
+     */
+    private @NotNull SemanticTokensAttributesTable getAttributesTable(@NotNull LanguageServerItem languageServer) {
+        var legend = getLegend(languageServer);
+        var colorsProvider = languageServer.getSemanticTokensColorsProvider();
+        return attributesTables.compute(languageServer.getServerWrapper(), (serverWrapper, table) -> {
+            if (table == null || !table.isFor(legend, colorsProvider)) {
+                // The legend or the colors provider of the language server has changed
+                return new SemanticTokensAttributesTable(legend, colorsProvider);
+            }
+            return table;
+        });
+    }
+
     @Nullable
     private static SemanticTokensLegend getLegend(LanguageServerItem languageServer) {
         var serverCapabilities = languageServer.getServerCapabilities();
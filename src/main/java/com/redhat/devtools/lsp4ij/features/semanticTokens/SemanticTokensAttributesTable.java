@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.psi.PsiFile;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup table of the {@link TextAttributesKey} to use for a (token type index, token modifiers bitmask)
+ * of a semantic tokens legend.
+ * <p>
+ * The {@link SemanticTokensColorsProvider} is called once per distinct (token type, token modifiers) pair,
+ * the highlight of the tokens then doesn't allocate anything per token.
+ * </p>
+ */
+final class SemanticTokensAttributesTable {
+
+    // Max number of modifiers bits stored in the per token type arrays, the other modifiers bitmasks are stored in a map.
+    private static final int MAX_INDEXED_MODIFIERS = 8;
+
+    // Marker of a (token type, token modifiers) pair which has no TextAttributesKey
+    private static final Object NO_KEY = new Object();
+
+    private final @Nullable SemanticTokensLegend legend;
+    private final @NotNull SemanticTokensColorsProvider colorsProvider;
+    private final String[] tokenTypes;
+    private final String[] tokenModifiers;
+    // [token type][token modifiers bitmask] -> TextAttributesKey or NO_KEY
+    private final Object[][] keys;
+    private final Map<Long, Object> otherKeys = new ConcurrentHashMap<>();
+
+    SemanticTokensAttributesTable(@Nullable SemanticTokensLegend legend,
+                                  @NotNull SemanticTokensColorsProvider colorsProvider) {
+        this.legend = legend;
+        this.colorsProvider = colorsProvider;
+        this.tokenTypes = legend != null && legend.getTokenTypes() != null ? legend.getTokenTypes().toArray(new String[0]) : new String[0];
+        this.tokenModifiers = legend != null && legend.getTokenModifiers() != null ? legend.getTokenModifiers().toArray(new String[0]) : new String[0];
+        this.keys = new Object[tokenTypes.length][];
+    }
+
+    /**
+     * Returns true if this table has been built for the given legend and colors provider and false otherwise.
+     *
+     * @param legend         the semantic tokens legend.
+     * @param colorsProvider the semantic tokens colors provider.
+     * @return true if this table has been built for the given legend and colors provider and false otherwise.
+     */
+    boolean isFor(@Nullable SemanticTokensLegend legend,
+                  @NotNull SemanticTokensColorsProvider colorsProvider) {
+        return this.colorsProvider == colorsProvider
+                && (this.legend == legend || (this.legend != null && this.legend.equals(legend)));
+    }
+
+    /**
+     * Returns the {@link TextAttributesKey} to use for the given token type index and token modifiers bitmask and null otherwise.
+     *
+     * @param tokenType      the token type index in the legend.
+     * @param tokenModifiers the token modifiers bitmask.
+     * @param file           the Psi file.
+     * @return the {@link TextAttributesKey} to use for the given token type index and token modifiers bitmask and null otherwise.
+     */
+    @Nullable
+    TextAttributesKey getTextAttributesKey(int tokenType, int tokenModifiers, @NotNull PsiFile file) {
+        if (tokenType < 0 || tokenType >= tokenTypes.length) {
+            return null;
+        }
+        Object key;
+        if (tokenModifiers >= 0 && tokenModifiers < (1 << MAX_INDEXED_MODIFIERS)) {
+            Object[] keysForType = keys[tokenType];
+            if (keysForType == null) {
+                keysForType = new Object[1 << Math.min(this.tokenModifiers.length, MAX_INDEXED_MODIFIERS)];
+                // Concurrent computations store equivalent arrays
+                keys[tokenType] = keysForType;
+            }
+            // Ignore the bits of the modifiers which are not in the legend
+            int modifiers = tokenModifiers & (keysForType.length - 1);
+            key = keysForType[modifiers];
+            if (key == null) {
+                key = computeKey(tokenType, modifiers, file);
+                keysForType[modifiers] = key;
+            }
+        } else {
+            key = otherKeys.computeIfAbsent(((long) tokenType << 32) | (tokenModifiers & 0xFFFFFFFFL),
+                    k -> computeKey(tokenType, tokenModifiers, file));
+        }
+        return key != NO_KEY ? (TextAttributesKey) key : null;
+    }
+
+    private Object computeKey(int tokenType, int tokenModifiers, @NotNull PsiFile file) {
+        TextAttributesKey key = colorsProvider.getTextAttributesKey(tokenTypes[tokenType], getTokenModifiers(tokenModifiers), file);
+        return key != null ? key : NO_KEY;
+    }
+
+    /**
+     * Returns the token type of the given index and null otherwise.
+     *
+     * @param tokenType the token type index in the legend.
+     * @return the token type of the given index and null otherwise.
+     */
+    @Nullable
+    String getTokenType(int tokenType) {
+        return tokenType >= 0 && tokenType < tokenTypes.length ? tokenTypes[tokenType] : null;
+    }
+
+    /**
+     * Returns the token modifiers of the given bitmask.
+     *
+     * @param tokenModifiers the token modifiers bitmask.
+     * @return the token modifiers of the given bitmask.
+     */
+    @NotNull
+    List<String> getTokenModifiers(int tokenModifiers) {
+        if (tokenModifiers == 0) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(Integer.bitCount(tokenModifiers));
+        for (int i = 0; i < this.tokenModifiers.length && i < Integer.SIZE; i++) {
+            if ((tokenModifiers & (1 << i)) != 0) {
+                result.add(this.tokenModifiers[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -16,18 +16,17 @@ import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiFile;
-import com.redhat.devtools.lsp4ij.LSPIJUtils;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.inspector.SemanticTokensHighlightInfo;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.inspector.SemanticTokensInspectorManager;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.inspector.SemanticTokensInspectorData;
+import com.redhat.devtools.lsp4ij.internal.DocumentPositionIndex;
+import com.redhat.devtools.lsp4ij.internal.json.IntArrayList;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,15 +35,18 @@ import java.util.List;
 public class SemanticTokensData {
 
     private final SemanticTokens semanticTokens;
-    private final SemanticTokensLegend semanticTokensLegend;
-    private final SemanticTokensColorsProvider semanticTokensColorsProvider;
+    private final SemanticTokensAttributesTable attributesTable;
 
     public SemanticTokensData(@NotNull SemanticTokens semanticTokens,
                               @NotNull SemanticTokensLegend semanticTokensLegend,
                               @NotNull SemanticTokensColorsProvider semanticTokensColorsProvider) {
+        this(semanticTokens, new SemanticTokensAttributesTable(semanticTokensLegend, semanticTokensColorsProvider));
+    }
+
+    SemanticTokensData(@NotNull SemanticTokens semanticTokens,
+                       @NotNull SemanticTokensAttributesTable attributesTable) {
         this.semanticTokens = semanticTokens;
-        this.semanticTokensLegend = semanticTokensLegend;
-        this.semanticTokensColorsProvider = semanticTokensColorsProvider;
+        this.attributesTable = attributesTable;
     }
 
     public SemanticTokens getSemanticTokens() {
@@ -71,56 +73,43 @@ public class SemanticTokensData {
             if (dataStream == null || dataStream.isEmpty()) {
                 return;
             }
+            int[] data = IntArrayList.toIntArray(dataStream);
 
-            int idx = 0;
-            int prevLine = 0;
+            var positionIndex = DocumentPositionIndex.getInstance(document);
             int line = 0;
             int offset = 0;
-            int length = 0;
-            String tokenType = null;
             int cancelCounter = 0;
-            for (Integer data : dataStream) {
+            for (int i = 0; i + 4 < data.length; i += 5) {
                 // Cancel LSP semantic tokens support as soon as possible.
                 cancelCounter++;
-                if (cancelCounter >= 100) {
+                if (cancelCounter >= 20) {
                     cancelCounter = 0;
                     ProgressManager.checkCanceled();
                 }
 
-                switch (idx % 5) {
-                    case 0: // line
-                        line += data;
-                        break;
-                    case 1: // offset
-                        if (line == prevLine) {
-                            offset += data;
-                        } else {
-                            offset = LSPIJUtils.toOffset(line, data, document);
-                        }
-                        break;
-                    case 2: // length
-                        length = data;
-                        break;
-                    case 3: // token type
-                        tokenType = tokenType(data, semanticTokensLegend.getTokenTypes());
-                        break;
-                    case 4: // token modifier
-                        prevLine = line;
-                        List<String> tokenModifiers = tokenModifiers(data, semanticTokensLegend.getTokenModifiers());
-                        int colorIndex = 0;//UsedColors.getOrAddColorIndex((UserDataHolderEx) context, tokenType, highlighter.getColorsCount());
-                        int start = offset;
-                        int end = offset + length;
-                        TextAttributesKey colorKey = tokenType != null ? semanticTokensColorsProvider.getTextAttributesKey(tokenType, tokenModifiers, file) : null;
-                        if (colorKey != null) {
-                            addInfo.accept(start, end, colorKey);
-                        }
+                int deltaLine = data[i];
+                int deltaStart = data[i + 1];
+                int length = data[i + 2];
+                int tokenType = data[i + 3];
+                int tokenModifiers = data[i + 4];
 
-                        if (notifyInspector) {
-                            highlightInfos.add(new SemanticTokensHighlightInfo(tokenType, tokenModifiers, start, end, colorKey));
-                        }
-                        break;
+                line += deltaLine;
+                if (deltaLine == 0) {
+                    offset += deltaStart;
+                } else {
+                    offset = positionIndex.toOffset(line, deltaStart);
+                }
+                int start = offset;
+                int end = offset + length;
+                TextAttributesKey colorKey = attributesTable.getTextAttributesKey(tokenType, tokenModifiers, file);
+                if (colorKey != null) {
+                    addInfo.accept(start, end, colorKey);
+                }
+
+                if (notifyInspector) {
+                    highlightInfos.add(new SemanticTokensHighlightInfo(attributesTable.getTokenType(tokenType),
+                            attributesTable.getTokenModifiers(tokenModifiers), start, end, colorKey));
                 }
-                idx++;
             }
         } finally {
             if (notifyInspector) {
@@ -128,27 +117,4 @@ public class SemanticTokensData {
             }
         }
     }
-
-    private List<String> tokenModifiers(Integer data, List<String> legend) {
-        if (data.intValue() == 0) {
-            return Collections.emptyList();
-        }
-        final var bitSet = BitSet.valueOf(new long[]{data});
-        final var tokenModifiers = new ArrayList<String>();
-        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
-            try {
-                tokenModifiers.add(legend.get(i));
-            } catch (IndexOutOfBoundsException e) {
-                // no match
-            }
-        }
-        return tokenModifiers;
-    }
-
-    private String tokenType(Integer index, List<String> tokenTypes) {
-        if (index == null || index >= tokenTypes.size()) {
-            return null;
-        }
-        return tokenTypes.get(index);
-    }
 }
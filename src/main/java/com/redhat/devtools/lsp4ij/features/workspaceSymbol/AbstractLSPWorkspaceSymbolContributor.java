@@ -13,19 +13,23 @@ package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
 import com.intellij.ide.util.gotoByName.ChooseByNamePopup;
 import com.intellij.navigation.ChooseByNameContributorEx;
 import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.Processor;
 import com.intellij.util.indexing.FindSymbolParameters;
 import com.intellij.util.indexing.IdFilter;
 import com.redhat.devtools.lsp4ij.LSPWorkspaceSupport;
+import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -35,11 +39,22 @@ import static com.redhat.devtools.lsp4ij.internal.CompletableFutures.waitUntilDo
 
 /**
  * Abstract base class for LSP goto symbol contributors
+ *
+ * <p>
+ * When the {@link WorkspaceSymbolIndex} of the project has received a 'workspace/symbol' result, the popup is answered
+ * with the indexed symbols and the LSP 'workspace/symbol' request is sent in background to refresh the index.
+ * When the result reports symbols which have not been shown (ex : symbols of files which have never been opened),
+ * the popup is rebuilt from the refreshed index.
+ * Otherwise, the popup waits for the LSP 'workspace/symbol' request.
+ * </p>
  */
 abstract class AbstractLSPWorkspaceSymbolContributor implements ChooseByNameContributorEx {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(AbstractLSPWorkspaceSymbolContributor.class);
 
+    // Query whose popup is rebuilt with the refreshed index, which must not be refreshed again
+    private @Nullable String refreshedQuery;
+
     @Override
     public void processNames(@NotNull Processor<? super String> processor,
                              @NotNull GlobalSearchScope scope,
@@ -52,20 +67,112 @@ abstract class AbstractLSPWorkspaceSymbolContributor implements ChooseByNameCont
         if (queryString == null) {
             queryString = "";
         }
+        LSPWorkspaceSymbolSupport workspaceSymbolSupport = LSPWorkspaceSupport.getSupport(project).getWorkspaceSymbolSupport();
+        WorkspaceSymbolIndex index = workspaceSymbolSupport.getIndex();
+        Set<String> processedNames = new HashSet<>();
+        if (index.hasWorkspaceSymbols()) {
+            // Answer the popup immediately with the indexed symbols
+            LSPWorkspaceSymbolParams params = createWorkspaceSymbolParams(queryString);
+            if (processIndexedNames(index.findSymbols(queryString, symbol -> accept(symbol, params)), processor, scope, processedNames)) {
+                refreshIndex(queryString, processedNames, project);
+            }
+            return;
+        }
+        // Consume the LSP 'workspace/symbol' request (which fills the index)
         List<WorkspaceSymbolData> items = getWorkspaceSymbols(queryString, true, project);
         if (items != null) {
-            items.stream()
-                    .filter(data -> data.getFile() != null && scope.accept(data.getFile()))
-                    .map(NavigationItem::getName)
-                    .forEach(processor::process);
+            for (var data : items) {
+                ProgressManager.checkCanceled();
+                if (data.getFile() != null && scope.accept(data.getFile()) && processedNames.add(data.getName())) {
+                    if (!processor.process(data.getName())) {
+                        return;
+                    }
+                }
+            }
         }
     }
 
+    /**
+     * Sends the LSP 'workspace/symbol' request for the given query without waiting for it, and rebuilds the popup
+     * when the result reports symbols which have not been shown.
+     */
+    private void refreshIndex(@NotNull String queryString,
+                              @NotNull Set<String> processedNames,
+                              @NotNull Project project) {
+        synchronized (this) {
+            if (queryString.equals(refreshedQuery)) {
+                // The popup is rebuilt with the index refreshed for this query
+                refreshedQuery = null;
+                return;
+            }
+        }
+        ChooseByNamePopup popup = project.getUserData(ChooseByNamePopup.CHOOSE_BY_NAME_POPUP_IN_PROJECT_KEY);
+        LSPWorkspaceSymbolSupport workspaceSymbolSupport = LSPWorkspaceSupport.getSupport(project).getWorkspaceSymbolSupport();
+        workspaceSymbolSupport.getWorkspaceSymbol(createWorkspaceSymbolParams(queryString))
+                .thenAccept(items -> {
+                    if (popup == null || items == null || items.stream().allMatch(data -> processedNames.contains(data.getName()))) {
+                        return;
+                    }
+                    ApplicationManager.getApplication().invokeLater(() -> {
+                        if (project.getUserData(ChooseByNamePopup.CHOOSE_BY_NAME_POPUP_IN_PROJECT_KEY) != popup
+                                || !queryString.equals(project.getUserData(ChooseByNamePopup.CURRENT_SEARCH_PATTERN))) {
+                            // The popup has been closed or the user has typed another pattern
+                            return;
+                        }
+                        synchronized (this) {
+                            refreshedQuery = queryString;
+                        }
+                        popup.rebuildList(false);
+                    }, project.getDisposed());
+                });
+    }
+
+    private static boolean processIndexedNames(@NotNull List<WorkspaceSymbolIndex.Symbol> symbols,
+                                               @NotNull Processor<? super String> processor,
+                                               @NotNull GlobalSearchScope scope,
+                                               @NotNull Set<String> processedNames) {
+        Map<String, VirtualFile> files = new HashMap<>();
+        for (var symbol : symbols) {
+            ProgressManager.checkCanceled();
+            if (processedNames.contains(symbol.name())) {
+                continue;
+            }
+            VirtualFile file;
+            if (files.containsKey(symbol.fileUri())) {
+                file = files.get(symbol.fileUri());
+            } else {
+                file = FileUriSupport.findFileByUri(symbol.fileUri(), symbol.clientFeatures());
+                files.put(symbol.fileUri(), file);
+            }
+            if (file != null && scope.accept(file)) {
+                processedNames.add(symbol.name());
+                if (!processor.process(symbol.name())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     public void processElementsWithName(@NotNull String name,
                                         @NotNull Processor<? super NavigationItem> processor,
                                         @NotNull FindSymbolParameters parameters) {
-        List<WorkspaceSymbolData> items = getWorkspaceSymbols(name, false, parameters.getProject());
+        Project project = parameters.getProject();
+        LSPWorkspaceSymbolParams params = createWorkspaceSymbolParams(name);
+        List<WorkspaceSymbolData> items = LSPWorkspaceSupport.getSupport(project)
+                .getWorkspaceSymbolSupport()
+                .getIndex()
+                .findSymbolsByName(name, symbol -> accept(symbol, params))
+                .stream()
+                .map(symbol -> symbol.symbolToResolve() != null ?
+                        new WorkspaceSymbolData(symbol.symbolToResolve(), symbol.clientFeatures(), project) :
+                        new WorkspaceSymbolData(symbol.name(), symbol.kind(), symbol.fileUri(), symbol.position(), symbol.clientFeatures(), project))
+                .toList();
+        if (items.isEmpty()) {
+            // The symbol is not indexed, consume LSP 'workspace/symbol' request
+            items = getWorkspaceSymbols(name, false, project);
+        }
         if (items != null) {
             items
                     .stream()
@@ -105,6 +212,14 @@ abstract class AbstractLSPWorkspaceSymbolContributor implements ChooseByNameCont
         return null;
     }
 
+    private static boolean accept(@NotNull WorkspaceSymbolIndex.Symbol symbol,
+                                  @NotNull LSPWorkspaceSymbolParams params) {
+        var workspaceSymbolFeature = symbol.clientFeatures().getWorkspaceSymbolFeature();
+        return workspaceSymbolFeature.isEnabled()
+                && params.canSupport(workspaceSymbolFeature)
+                && params.accept(symbol.kind());
+    }
+
     /**
      * Creates the {@link LSPWorkspaceSymbolParams} implementation for this symbol contributor.
      *
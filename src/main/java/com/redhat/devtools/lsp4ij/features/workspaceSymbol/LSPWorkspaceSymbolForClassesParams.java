@@ -15,6 +15,7 @@ import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
 
@@ -48,4 +49,9 @@ public class LSPWorkspaceSymbolForClassesParams extends LSPWorkspaceSymbolParams
     public boolean accept(SymbolInformation symbol) {
         return (symbol != null) && TYPE_SYMBOL_KINDS.contains(symbol.getKind());
     }
+
+    @Override
+    public boolean accept(@Nullable SymbolKind symbolKind) {
+        return (symbolKind != null) && TYPE_SYMBOL_KINDS.contains(symbolKind);
+    }
 }
\ No newline at end of file
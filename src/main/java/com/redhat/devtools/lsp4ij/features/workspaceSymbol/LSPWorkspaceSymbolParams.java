@@ -12,9 +12,11 @@ package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
 
 import com.redhat.devtools.lsp4ij.client.features.LSPWorkspaceSymbolFeature;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Extension of {@link WorkspaceSymbolParams} that includes additional parameters specific to LSP4IJ.
@@ -48,4 +50,14 @@ public class LSPWorkspaceSymbolParams extends WorkspaceSymbolParams {
     public boolean accept(SymbolInformation symbol) {
         return true;
     }
+
+    /**
+     * Determines whether or not a symbol of the provided kind should be included in the contributor's symbol list.
+     *
+     * @param symbolKind the symbol kind
+     * @return true if the symbol should be include; otherwise false
+     */
+    public boolean accept(@Nullable SymbolKind symbolKind) {
+        return true;
+    }
 }
\ No newline at end of file
@@ -11,21 +11,21 @@
 package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.LanguageServerItem;
-import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
 import com.redhat.devtools.lsp4ij.features.AbstractLSPWorkspaceFeatureSupport;
 import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
 import com.redhat.devtools.lsp4ij.internal.CompletableFutures;
 import org.eclipse.lsp4j.SymbolInformation;
-import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * LSP workspace symbol support which loads and caches symbol response by consuming:
@@ -33,25 +33,145 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *     <li>LSP 'workspace/symbol' requests</li>
  * </ul>
+ *
+ * <p>
+ * The reported symbols are stored in the {@link WorkspaceSymbolIndex} of the project.
+ * </p>
+ *
+ * <p>
+ * The results which are not truncated by the language servers (see {@link LSPClientFeatures#getWorkspaceSymbolFeature()})
+ * contain all symbols matching their query, so they answer the longer queries typed after them (ex : 'FooB' after 'Foo')
+ * by filtering their symbols, without consuming 'workspace/symbol'. Those results are dropped when the project is modified.
+ * As the Go to Class/Symbol popups answer first with the indexed symbols, this reuse avoids the request sent
+ * for the first query which has no indexed symbols and the requests sent in background to refresh the index.
+ * </p>
  */
 public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSupport<LSPWorkspaceSymbolParams, List<WorkspaceSymbolData>> {
 
+    // Max number of complete results kept to answer the narrowed queries
+    private static final int MAX_COMPLETE_RESULTS = 10;
+
+    // Max age (in ms) of the complete results
+    private static final long COMPLETE_RESULT_MAX_AGE = 30_000;
+
+    /**
+     * Result of 'workspace/symbol' which has not been truncated by the language servers.
+     *
+     * @param paramsType        the type of the params (ex : Go to Class params).
+     * @param query             the lower case query characters (see {@link WorkspaceSymbolIndex#getQueryCharacters(String)}).
+     * @param modificationCount the modification count of the project when the request has been sent.
+     * @param timestamp         the time when the request has been sent.
+     * @param symbols           the symbols.
+     */
+    private record CompleteResult(@NotNull Class<? extends LSPWorkspaceSymbolParams> paramsType,
+                                  @NotNull String query,
+                                  long modificationCount,
+                                  long timestamp,
+                                  @NotNull List<WorkspaceSymbolData> symbols) {
+    }
+
+    private final @NotNull WorkspaceSymbolIndex index;
+
+    // The complete results, the most recent first
+    private final Deque<CompleteResult> completeResults = new ArrayDeque<>();
+
+    // The params of the current 'workspace/symbol' requests
+    private @Nullable LSPWorkspaceSymbolParams currentParams;
+
     public LSPWorkspaceSymbolSupport(@NotNull Project project) {
         super(project);
+        this.index = new WorkspaceSymbolIndex();
+    }
+
+    /**
+     * Returns the index of the symbols reported by the language servers.
+     *
+     * @return the index of the symbols reported by the language servers.
+     */
+    public @NotNull WorkspaceSymbolIndex getIndex() {
+        return index;
     }
 
     public CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbol(LSPWorkspaceSymbolParams params) {
-        return super.getFeatureData(params);
+        List<WorkspaceSymbolData> symbols = getSymbolsFromCompleteResult(params);
+        if (symbols != null) {
+            // A previous result contains all symbols matching the query
+            return CompletableFuture.completedFuture(symbols);
+        }
+        synchronized (this) {
+            var currentParams = this.currentParams;
+            if (currentParams != null && (currentParams.getClass() != params.getClass() || !currentParams.getQuery().equals(params.getQuery()))) {
+                // The current requests have been sent for another query
+                cancel();
+            }
+            this.currentParams = params;
+            return super.getFeatureData(params);
+        }
     }
 
     @Override
     protected CompletableFuture<List<WorkspaceSymbolData>> doLoad(LSPWorkspaceSymbolParams params, CancellationSupport cancellationSupport) {
         Project project = super.getProject();
-        return getWorkspaceSymbol(project, params, cancellationSupport);
+        long modificationCount = getModificationCount();
+        long timestamp = System.currentTimeMillis();
+        AtomicBoolean truncated = new AtomicBoolean();
+        return getWorkspaceSymbol(project, params, index, truncated, cancellationSupport)
+                .thenApply(symbols -> {
+                    if (symbols != null && !truncated.get()) {
+                        addCompleteResult(new CompleteResult(params.getClass(),
+                                WorkspaceSymbolIndex.getQueryCharacters(params.getQuery()),
+                                modificationCount,
+                                timestamp,
+                                symbols));
+                    }
+                    return symbols;
+                });
+    }
+
+    @Nullable
+    private synchronized List<WorkspaceSymbolData> getSymbolsFromCompleteResult(@NotNull LSPWorkspaceSymbolParams params) {
+        long modificationCount = getModificationCount();
+        long minTimestamp = System.currentTimeMillis() - COMPLETE_RESULT_MAX_AGE;
+        completeResults.removeIf(result -> result.modificationCount() != modificationCount || result.timestamp() < minTimestamp);
+
+        // Find the most specific result whose query characters are contained in order in the query
+        // (ex : 'foo' for 'fooba'), since the symbols matching the query match the query of the result.
+        String query = WorkspaceSymbolIndex.getQueryCharacters(params.getQuery());
+        CompleteResult bestResult = null;
+        for (CompleteResult result : completeResults) {
+            if (result.paramsType() == params.getClass()
+                    && WorkspaceSymbolIndex.matches(query, result.query())
+                    && (bestResult == null || result.query().length() > bestResult.query().length())) {
+                bestResult = result;
+            }
+        }
+        if (bestResult == null) {
+            return null;
+        }
+        if (bestResult.query().equals(query)) {
+            return bestResult.symbols();
+        }
+        return bestResult.symbols()
+                .stream()
+                .filter(symbol -> symbol.getName() != null && WorkspaceSymbolIndex.matches(symbol.getName(), query))
+                .toList();
+    }
+
+    private synchronized void addCompleteResult(@NotNull CompleteResult result) {
+        completeResults.addFirst(result);
+        if (completeResults.size() > MAX_COMPLETE_RESULTS) {
+            completeResults.removeLast();
+        }
+    }
+
+    private long getModificationCount() {
+        return PsiModificationTracker.getInstance(getProject()).getModificationCount();
     }
 
     private static @NotNull CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbol(@NotNull Project project,
                                                                                             @NotNull LSPWorkspaceSymbolParams params,
+                                                                                            @NotNull WorkspaceSymbolIndex index,
+                                                                                            @NotNull AtomicBoolean truncated,
                                                                                             @NotNull CancellationSupport cancellationSupport) {
         return getLanguageServers(project,
                 f -> f.getWorkspaceSymbolFeature().isEnabled() && params.canSupport(f.getWorkspaceSymbolFeature()),
@@ -65,7 +185,7 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
                     // Collect list of workspace/symbol future for each language servers
                     List<CompletableFuture<List<WorkspaceSymbolData>>> workspaceSymbolPerServerFutures = languageServers
                             .stream()
-                            .map(languageServer -> getWorkspaceSymbolFor(params, languageServer, cancellationSupport, project))
+                            .map(languageServer -> getWorkspaceSymbolFor(params, languageServer, index, truncated, cancellationSupport, project))
                             .filter(Objects::nonNull)
                             .toList();
 
@@ -76,6 +196,8 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
 
     private static CompletableFuture<List<WorkspaceSymbolData>> getWorkspaceSymbolFor(@NotNull LSPWorkspaceSymbolParams params,
                                                                                       @NotNull LanguageServerItem languageServer,
+                                                                                      @NotNull WorkspaceSymbolIndex index,
+                                                                                      @NotNull AtomicBoolean truncated,
                                                                                       @NotNull CancellationSupport cancellationSupport,
                                                                                       @NotNull Project project) {
         return cancellationSupport.execute(languageServer
@@ -86,10 +208,23 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
                         // workspace/symbol may return null
                         return null;
                     }
+                    LSPClientFeatures clientFeatures = languageServer.getClientFeatures();
+                    int symbolCount = symbols.isLeft() ? symbols.getLeft().size() : symbols.getRight().size();
+                    boolean complete = symbolCount < clientFeatures.getWorkspaceSymbolFeature().getResultLimit();
+                    if (!complete) {
+                        // The language server has probably truncated the result
+                        truncated.set(true);
+                    }
                     List<WorkspaceSymbolData> items = new ArrayList<>();
+                    // All reported symbols are indexed (ex : the Go to Symbol popup uses the symbols indexed by the Go to Class popup)
+                    List<WorkspaceSymbolIndex.Symbol> indexedSymbols = new ArrayList<>();
                     if (symbols.isLeft()) {
                         List<? extends SymbolInformation> s = symbols.getLeft();
                         for (var si : s) {
+                            if (si.getName() != null && si.getLocation() != null) {
+                                indexedSymbols.add(new WorkspaceSymbolIndex.Symbol(si.getName(), si.getKind(),
+                                        si.getLocation().getUri(), si.getLocation().getRange().getStart(), clientFeatures));
+                            }
                             if (params.accept(si)) {
                                 items.add(new WorkspaceSymbolData(
                                         si.getName(), si.getKind(), si.getLocation(), languageServer.getClientFeatures(), project));
@@ -98,26 +233,28 @@ public class LSPWorkspaceSymbolSupport extends AbstractLSPWorkspaceFeatureSuppor
                     } else if (symbols.isRight()) {
                         List<? extends WorkspaceSymbol> ws = symbols.getRight();
                         for (var si : ws) {
+                            if (si.getName() != null && si.getLocation() != null) {
+                                indexedSymbols.add(createIndexedSymbol(si, clientFeatures));
+                            }
                             if (params.accept(si)) {
-                                WorkspaceSymbolData item = createItem(si, languageServer.getClientFeatures(),project);
-                                items.add(item);
+                                items.add(new WorkspaceSymbolData(si, clientFeatures, project));
                             }
                         }
                     }
+                    // A complete result replaces the indexed symbols of the language server which match the query
+                    index.addWorkspaceSymbols(clientFeatures, params.getQuery(), indexedSymbols, complete);
                     return items;
                 });
     }
 
-    private static WorkspaceSymbolData createItem(WorkspaceSymbol si,
-                                                  FileUriSupport fileUriSupport,
-                                                  Project project) {
-        String name = si.getName();
-        SymbolKind symbolKind = si.getKind();
+    private static WorkspaceSymbolIndex.Symbol createIndexedSymbol(@NotNull WorkspaceSymbol si,
+                                                                   @NotNull LSPClientFeatures clientFeatures) {
         if (si.getLocation().isLeft()) {
-            return new WorkspaceSymbolData(
-                    name, symbolKind, si.getLocation().getLeft(), fileUriSupport, project);
+            var location = si.getLocation().getLeft();
+            return new WorkspaceSymbolIndex.Symbol(si.getName(), si.getKind(), location.getUri(), location.getRange().getStart(), clientFeatures);
         }
-        return new WorkspaceSymbolData(
-                name, symbolKind, si.getLocation().getRight().getUri(), null, fileUriSupport, project);
+        // The range of the symbol is resolved with 'workspaceSymbol/resolve' when the symbol is navigated
+        var symbolToResolve = clientFeatures.getWorkspaceSymbolFeature().isResolveWorkspaceSymbolSupported() ? si : null;
+        return new WorkspaceSymbolIndex.Symbol(si.getName(), si.getKind(), si.getLocation().getRight().getUri(), null, clientFeatures, symbolToResolve);
     }
 }
\ No newline at end of file
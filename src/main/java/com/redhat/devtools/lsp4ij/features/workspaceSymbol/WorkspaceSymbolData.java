@@ -12,19 +12,26 @@ package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
 
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.util.NlsSafe;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.LSPRequestConstants;
 import com.redhat.devtools.lsp4ij.client.features.FileUriSupport;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
+import com.redhat.devtools.lsp4ij.internal.CancellationUtil;
 import com.redhat.devtools.lsp4ij.ui.IconMapper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import java.io.File;
@@ -35,9 +42,13 @@ import java.util.Optional;
  */
 public class WorkspaceSymbolData implements NavigationItem {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceSymbolData.class);
+
     private final SymbolKind symbolKind;
     private final String fileUri;
-    private final Position position;
+    private volatile Position position;
+    // The LSP workspace symbol to resolve with 'workspaceSymbol/resolve' to get its range, null otherwise
+    private volatile @Nullable WorkspaceSymbol symbolToResolve;
     private final Project project;
     private final VirtualFile file;
     private final LSPItemPresentation presentation;
@@ -80,7 +91,38 @@ public class WorkspaceSymbolData implements NavigationItem {
                                Position position,
                                FileUriSupport fileUriSupport,
                                Project project) {
+        this(name, symbolKind, fileUri, position, null, fileUriSupport, project);
+    }
+
+    /**
+     * Creates the navigation item of the given LSP workspace symbol. When the location of the symbol has no range
+     * and the language server supports 'workspaceSymbol/resolve', the range is resolved when the item is navigated.
+     *
+     * @param workspaceSymbol the LSP workspace symbol.
+     * @param clientFeatures  the client features of the language server which has reported the symbol.
+     * @param project         the project.
+     */
+    public WorkspaceSymbolData(@NotNull WorkspaceSymbol workspaceSymbol,
+                               @NotNull LSPClientFeatures clientFeatures,
+                               @NotNull Project project) {
+        this(workspaceSymbol.getName(),
+                workspaceSymbol.getKind(),
+                workspaceSymbol.getLocation().isLeft() ? workspaceSymbol.getLocation().getLeft().getUri() : workspaceSymbol.getLocation().getRight().getUri(),
+                workspaceSymbol.getLocation().isLeft() ? workspaceSymbol.getLocation().getLeft().getRange().getStart() : null,
+                workspaceSymbol.getLocation().isRight() && clientFeatures.getWorkspaceSymbolFeature().isResolveWorkspaceSymbolSupported() ? workspaceSymbol : null,
+                clientFeatures,
+                project);
+    }
+
+    private WorkspaceSymbolData(String name,
+                                SymbolKind symbolKind,
+                                String fileUri,
+                                Position position,
+                                @Nullable WorkspaceSymbol symbolToResolve,
+                                FileUriSupport fileUriSupport,
+                                Project project) {
         this.symbolKind = symbolKind;
+        this.symbolToResolve = symbolToResolve;
         this.fileUri = fileUri;
         this.position = position;
         this.project = project;
@@ -111,6 +153,27 @@ public class WorkspaceSymbolData implements NavigationItem {
 
     @Override
     public void navigate(boolean requestFocus) {
+        var symbolToResolve = this.symbolToResolve;
+        if (symbolToResolve != null && fileUriSupport instanceof LSPClientFeatures clientFeatures) {
+            // Resolve the range of the symbol before opening the file
+            clientFeatures.getServerWrapper()
+                    .getInitializedServer()
+                    .thenCompose(ls -> ls.getWorkspaceService().resolveWorkspaceSymbol(symbolToResolve))
+                    .handle((resolvedSymbol, error) -> {
+                        if (error != null) {
+                            if (!CancellationUtil.isRequestCancelledException(error)) {
+                                LOGGER.warn("Error while consuming LSP '{}' request", LSPRequestConstants.WORKSPACE_SYMBOL_RESOLVE, error);
+                            }
+                        } else if (resolvedSymbol != null && resolvedSymbol.getLocation() != null && resolvedSymbol.getLocation().isLeft()) {
+                            position = resolvedSymbol.getLocation().getLeft().getRange().getStart();
+                            this.symbolToResolve = null;
+                        }
+                        ApplicationManager.getApplication().invokeLater(() ->
+                                LSPIJUtils.openInEditor(fileUri, position, requestFocus, false, fileUriSupport, project), project.getDisposed());
+                        return null;
+                    });
+            return;
+        }
         LSPIJUtils.openInEditor(fileUri, position, requestFocus, false, fileUriSupport, project);
     }
 
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
+
+import com.intellij.util.containers.Interner;
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Project-level index of the symbols reported by the language servers with 'workspace/symbol' and
+ * 'textDocument/documentSymbol', which answers the Go to Symbol / Go to Class popups without waiting for the language servers.
+ * <p>
+ * Names and file uris are interned and the symbols are indexed by the characters of their name (one bit set of symbol ids
+ * per character), so the symbols which contain all characters of a pattern are found without scanning the whole index.
+ * The candidates are then matched in order, like the matcher of the popups which accepts abbreviations (ex : 'fb' for 'FooBar').
+ * </p>
+ * <p>
+ * Each symbol records the generation of the last result which has reported it:
+ * <ul>
+ *     <li>a 'workspace/symbol' result which has not been truncated replaces the symbols of the language server which match its query
+ *     in the files of the result. The symbols reported by 'textDocument/documentSymbol' are kept, since the language servers
+ *     can match the query differently (ex : by prefix) and don't report all the symbols of a file.</li>
+ *     <li>a symbol reported at another position of the same file replaces the symbol reported by a previous result (the symbol has moved).</li>
+ *     <li>when the index is full, the symbols which have not been reported for the longest time are evicted.</li>
+ * </ul>
+ * </p>
+ */
+@ApiStatus.Internal
+public class WorkspaceSymbolIndex {
+
+    // Max number of indexed symbols, the oldest symbols are evicted when the index is full
+    private static final int MAX_SYMBOLS = 200_000;
+
+    // Min number of removed symbols before rebuilding the index
+    private static final int MIN_REMOVED_SYMBOLS_TO_COMPACT = 1024;
+
+    /**
+     * Indexed symbol.
+     *
+     * @param name            the symbol name.
+     * @param kind            the symbol kind.
+     * @param fileUri         the uri of the file which declares the symbol.
+     * @param position        the position of the symbol in the file and null otherwise.
+     * @param clientFeatures  the client features of the language server which has reported the symbol.
+     * @param symbolToResolve the LSP workspace symbol to resolve with 'workspaceSymbol/resolve' to get its range and null otherwise.
+     */
+    public record Symbol(@NotNull String name,
+                         @Nullable SymbolKind kind,
+                         @NotNull String fileUri,
+                         @Nullable Position position,
+                         @NotNull LSPClientFeatures clientFeatures,
+                         @Nullable WorkspaceSymbol symbolToResolve) {
+
+        public Symbol(@NotNull String name,
+                      @Nullable SymbolKind kind,
+                      @NotNull String fileUri,
+                      @Nullable Position position,
+                      @NotNull LSPClientFeatures clientFeatures) {
+            this(name, kind, fileUri, position, clientFeatures, null);
+        }
+    }
+
+    private final int maxSymbols;
+
+    // Indexed symbols by id, null for the removed symbols
+    private final List<Symbol> symbols = new ArrayList<>();
+    // Generation of the last result which has reported the symbol, by id
+    private int[] symbolGenerations = new int[256];
+    private int generation;
+    private final Map<Symbol, Integer> symbolIds = new HashMap<>();
+    // Ids of the symbols whose (lower case) name contains a given character
+    private final Map<Character, BitSet> postings = new HashMap<>();
+    // Ids of the symbols declared in a given file uri
+    private final Map<String, BitSet> fileSymbolIds = new HashMap<>();
+    // Ids of the symbols reported by the last 'textDocument/documentSymbol' result of their file
+    private final BitSet documentSymbolIds = new BitSet();
+    private final Interner<String> strings = Interner.createWeakInterner();
+    private int removedCount;
+    // true if the index has received a 'workspace/symbol' result
+    private boolean hasWorkspaceSymbols;
+
+    public WorkspaceSymbolIndex() {
+        this(MAX_SYMBOLS);
+    }
+
+    WorkspaceSymbolIndex(int maxSymbols) {
+        this.maxSymbols = maxSymbols;
+    }
+
+    /**
+     * Adds the given symbols reported by 'workspace/symbol' to the index.
+     *
+     * @param clientFeatures the client features of the language server which has reported the symbols.
+     * @param query          the query of the 'workspace/symbol' request.
+     * @param newSymbols     the symbols to add.
+     * @param complete       true if the result has not been truncated by the language server and false otherwise.
+     */
+    public synchronized void addWorkspaceSymbols(@NotNull LSPClientFeatures clientFeatures,
+                                                 @NotNull String query,
+                                                 @NotNull List<Symbol> newSymbols,
+                                                 boolean complete) {
+        hasWorkspaceSymbols = true;
+        int currentGeneration = ++generation;
+        for (Symbol symbol : newSymbols) {
+            // A symbol reported by a previous result at another position of the same file has moved
+            removeSymbols(fileSymbolIds.get(symbol.fileUri()), s -> s.clientFeatures() == symbol.clientFeatures()
+                    && s.name().equals(symbol.name())
+                    && s.kind() == symbol.kind()
+                    && !Objects.equals(s.position(), symbol.position()), currentGeneration);
+            add(symbol);
+        }
+        String queryCharacters = getQueryCharacters(query);
+        if (complete && !queryCharacters.isEmpty()) {
+            // The result contains all symbols of the language server which match the query,
+            // the symbols of the files of the result which have not been reported anymore have been removed or renamed.
+            Set<String> fileUris = new HashSet<>();
+            for (Symbol symbol : newSymbols) {
+                fileUris.add(symbol.fileUri());
+            }
+            for (String fileUri : fileUris) {
+                removeSymbols(fileSymbolIds.get(fileUri), s -> s.clientFeatures() == clientFeatures
+                        && !documentSymbolIds.get(symbolIds.get(s))
+                        && matches(s.name(), queryCharacters), currentGeneration);
+            }
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Replaces the symbols of the given file reported by the given language server
+     * (ex : with the result of 'textDocument/documentSymbol').
+     *
+     * @param clientFeatures the client features of the language server.
+     * @param fileUri        the file uri.
+     * @param fileSymbols    the current symbols of the file.
+     */
+    public synchronized void updateFileSymbols(@NotNull LSPClientFeatures clientFeatures,
+                                               @NotNull String fileUri,
+                                               @NotNull List<Symbol> fileSymbols) {
+        int currentGeneration = ++generation;
+        removeSymbols(fileSymbolIds.get(fileUri), symbol -> symbol.clientFeatures() == clientFeatures, currentGeneration);
+        for (Symbol symbol : fileSymbols) {
+            int id = add(symbol);
+            if (id != -1) {
+                documentSymbolIds.set(id);
+            }
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes the symbols of the given file (ex : when the file is deleted).
+     *
+     * @param fileUri the file uri.
+     */
+    public synchronized void removeFileSymbols(@NotNull String fileUri) {
+        removeSymbols(fileSymbolIds.get(fileUri), symbol -> true, generation + 1);
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes the symbols of the given ids which match the given filter and which have been reported before the given generation.
+     */
+    private void removeSymbols(@Nullable BitSet ids, @NotNull Predicate<Symbol> filter, int beforeGeneration) {
+        if (ids == null) {
+            return;
+        }
+        // The ids are copied since the removed symbols are cleared from the bit set of their file
+        ids = (BitSet) ids.clone();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (symbolGenerations[id] < beforeGeneration && filter.test(symbols.get(id))) {
+                remove(id);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed symbols which match the given pattern of the Go to Symbol / Go to Class popup.
+     *
+     * @param pattern the pattern.
+     * @param filter  the filter of the symbols.
+     * @return the indexed symbols which match the given pattern.
+     */
+    @NotNull
+    public synchronized List<Symbol> findSymbols(@NotNull String pattern,
+                                                 @NotNull Predicate<Symbol> filter) {
+        String query = getQueryCharacters(pattern);
+        return findCandidates(query, symbol -> matches(symbol.name(), query) && filter.test(symbol));
+    }
+
+    /**
+     * Returns the indexed symbols with the given name.
+     *
+     * @param name   the symbol name.
+     * @param filter the filter of the symbols.
+     * @return the indexed symbols with the given name.
+     */
+    @NotNull
+    public synchronized List<Symbol> findSymbolsByName(@NotNull String name,
+                                                       @NotNull Predicate<Symbol> filter) {
+        StringBuilder lowerCaseName = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            lowerCaseName.append(Character.toLowerCase(name.charAt(i)));
+        }
+        return findCandidates(lowerCaseName.toString(), symbol -> symbol.name().equals(name) && filter.test(symbol));
+    }
+
+    private List<Symbol> findCandidates(@NotNull String lowerCaseQuery, @NotNull Predicate<Symbol> filter) {
+        BitSet candidates = null;
+        for (int i = 0; i < lowerCaseQuery.length(); i++) {
+            BitSet ids = postings.get(lowerCaseQuery.charAt(i));
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null) {
+                candidates = (BitSet) ids.clone();
+            } else {
+                candidates.and(ids);
+            }
+        }
+        List<Symbol> result = new ArrayList<>();
+        if (candidates == null) {
+            // Empty query, all symbols are candidates
+            for (Symbol symbol : symbols) {
+                if (symbol != null && filter.test(symbol)) {
+                    result.add(symbol);
+                }
+            }
+            return result;
+        }
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Symbol symbol = symbols.get(id);
+            if (symbol != null && filter.test(symbol)) {
+                result.add(symbol);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the index has received a 'workspace/symbol' result and false otherwise
+     * (ex : the index contains only the symbols of the opened files).
+     *
+     * @return true if the index has received a 'workspace/symbol' result and false otherwise.
+     */
+    public synchronized boolean hasWorkspaceSymbols() {
+        return hasWorkspaceSymbols;
+    }
+
+    /**
+     * Returns the number of indexed symbols.
+     *
+     * @return the number of indexed symbols.
+     */
+    public synchronized int size() {
+        return symbolIds.size();
+    }
+
+    /**
+     * Removes all symbols.
+     */
+    public synchronized void clear() {
+        hasWorkspaceSymbols = false;
+        clearSymbols();
+    }
+
+    private void clearSymbols() {
+        symbols.clear();
+        symbolGenerations = new int[256];
+        symbolIds.clear();
+        postings.clear();
+        fileSymbolIds.clear();
+        documentSymbolIds.clear();
+        removedCount = 0;
+    }
+
+    private int add(@NotNull Symbol symbol) {
+        return add(symbol, generation);
+    }
+
+    /**
+     * Adds the given symbol and returns its id and -1 if the index is full.
+     */
+    private int add(@NotNull Symbol symbol, int symbolGeneration) {
+        symbol = new Symbol(strings.intern(symbol.name()), symbol.kind(), strings.intern(symbol.fileUri()), symbol.position(), symbol.clientFeatures(), symbol.symbolToResolve());
+        Integer existingId = symbolIds.get(symbol);
+        if (existingId != null) {
+            // The symbol is reported again
+            symbolGenerations[existingId] = symbolGeneration;
+            return existingId;
+        }
+        if (symbolIds.size() >= maxSymbols && !evictOldestSymbols()) {
+            // The index is full of symbols reported by the current result
+            return -1;
+        }
+        int id = symbols.size();
+        symbols.add(symbol);
+        if (id >= symbolGenerations.length) {
+            symbolGenerations = Arrays.copyOf(symbolGenerations, symbolGenerations.length * 2);
+        }
+        symbolGenerations[id] = symbolGeneration;
+        symbolIds.put(symbol, id);
+        String name = symbol.name();
+        for (int i = 0; i < name.length(); i++) {
+            postings.computeIfAbsent(Character.toLowerCase(name.charAt(i)), c -> new BitSet()).set(id);
+        }
+        fileSymbolIds.computeIfAbsent(symbol.fileUri(), uri -> new BitSet()).set(id);
+        return id;
+    }
+
+    private void remove(int id) {
+        Symbol symbol = symbols.set(id, null);
+        symbolIds.remove(symbol);
+        String name = symbol.name();
+        for (int i = 0; i < name.length(); i++) {
+            BitSet ids = postings.get(Character.toLowerCase(name.charAt(i)));
+            if (ids != null) {
+                ids.clear(id);
+            }
+        }
+        BitSet ids = fileSymbolIds.get(symbol.fileUri());
+        ids.clear(id);
+        if (ids.isEmpty()) {
+            fileSymbolIds.remove(symbol.fileUri());
+        }
+        documentSymbolIds.clear(id);
+        removedCount++;
+    }
+
+    /**
+     * Evicts the symbols which have not been reported for the longest time to free 10% of the index.
+     *
+     * @return true if some symbols have been evicted and false otherwise.
+     */
+    private boolean evictOldestSymbols() {
+        int[] generations = new int[symbolIds.size()];
+        int count = 0;
+        for (int id = 0; id < symbols.size(); id++) {
+            if (symbols.get(id) != null) {
+                generations[count++] = symbolGenerations[id];
+            }
+        }
+        Arrays.sort(generations, 0, count);
+        int maxEvictedGeneration = generations[Math.min(count - 1, maxSymbols / 10)];
+        if (maxEvictedGeneration >= generation) {
+            // All symbols to evict have been reported by the current result
+            return false;
+        }
+        for (int id = 0; id < symbols.size(); id++) {
+            if (symbols.get(id) != null && symbolGenerations[id] <= maxEvictedGeneration) {
+                remove(id);
+            }
+        }
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (removedCount > MIN_REMOVED_SYMBOLS_TO_COMPACT && removedCount > symbols.size() / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<Symbol> liveSymbols = new ArrayList<>(symbolIds.size());
+        List<Integer> liveGenerations = new ArrayList<>(symbolIds.size());
+        BitSet liveDocumentSymbols = new BitSet();
+        for (int id = 0; id < symbols.size(); id++) {
+            Symbol symbol = symbols.get(id);
+            if (symbol != null) {
+                if (documentSymbolIds.get(id)) {
+                    liveDocumentSymbols.set(liveSymbols.size());
+                }
+                liveSymbols.add(symbol);
+                liveGenerations.add(symbolGenerations[id]);
+            }
+        }
+        clearSymbols();
+        for (int i = 0; i < liveSymbols.size(); i++) {
+            add(liveSymbols.get(i), liveGenerations.get(i));
+        }
+        // The live symbols are added again with their order as new ids
+        documentSymbolIds.or(liveDocumentSymbols);
+    }
+
+    /**
+     * Returns the lower case characters of the given pattern which must be found in order in the name of the matching symbols.
+     *
+     * <ul>
+     *     <li>the line suffix (ex : 'Foo:12') is ignored.</li>
+     *     <li>only the last segment of a qualified pattern (ex : 'foo.Bar') is used, since the symbol names are not qualified.</li>
+     *     <li>wildcards and spaces are ignored.</li>
+     * </ul>
+     *
+     * @param pattern the pattern of the popup.
+     * @return the lower case characters of the given pattern.
+     */
+    static @NotNull String getQueryCharacters(@NotNull String pattern) {
+        int end = pattern.indexOf(':');
+        if (end == -1) {
+            end = pattern.length();
+        }
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c == '.' || c == '/' || c == '\\' || c == '#') {
+                start = i + 1;
+            }
+        }
+        StringBuilder query = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c != '*' && !Character.isWhitespace(c)) {
+                query.append(Character.toLowerCase(c));
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Returns true if the given name contains the given lower case query characters in order (case-insensitive) and false otherwise.
+     *
+     * @param name           the symbol name.
+     * @param lowerCaseQuery the lower case query characters.
+     * @return true if the given name contains the given query characters in order and false otherwise.
+     */
+    static boolean matches(@NotNull String name, @NotNull String lowerCaseQuery) {
+        int queryIndex = 0;
+        for (int i = 0; i < name.length() && queryIndex < lowerCaseQuery.length(); i++) {
+            if (Character.toLowerCase(name.charAt(i)) == lowerCaseQuery.charAt(queryIndex)) {
+                queryIndex++;
+            }
+        }
+        return queryIndex == lowerCaseQuery.length();
+    }
+}
@@ -54,6 +54,8 @@ public class ClientCapabilitiesFactory {
 
         // Support for 'workspace/symbol'
         var symbolCapabilities = new SymbolCapabilities();
+        // Support for 'workspaceSymbol/resolve', the language server can return symbols without range
+        symbolCapabilities.setResolveSupport(new WorkspaceSymbolResolveSupportCapabilities(List.of("location.range")));
         workspaceClientCapabilities.setSymbol(symbolCapabilities);
 
         // See https://microsoft.github.io/language-server-protocol/specifications/lsp/3.17/specification/#executeCommandClientCapabilities
@@ -100,6 +102,9 @@ public class ClientCapabilitiesFactory {
         // Refresh support for SemanticTokens
         workspaceClientCapabilities.setSemanticTokens(new SemanticTokensWorkspaceCapabilities(Boolean.TRUE));
 
+        // Refresh support for pull Diagnostics
+        workspaceClientCapabilities.setDiagnostics(new DiagnosticWorkspaceCapabilities(Boolean.TRUE));
+
         return workspaceClientCapabilities;
     }
 
@@ -116,6 +121,9 @@ public class ClientCapabilitiesFactory {
         publishDiagnosticsCapabilities.setTagSupport(tagSupport);
         textDocumentClientCapabilities.setPublishDiagnostics(publishDiagnosticsCapabilities);
 
+        // Pull diagnostics capabilities
+        textDocumentClientCapabilities.setDiagnostic(new DiagnosticCapabilities(Boolean.FALSE, Boolean.FALSE));
+
         // Code Action support
         final var codeAction = new CodeActionCapabilities(new CodeActionLiteralSupportCapabilities(
                 new CodeActionKindCapabilities(List.of(
@@ -270,7 +278,7 @@ public class ClientCapabilitiesFactory {
         ));
         semanticTokensCapabilities.setMultilineTokenSupport(Boolean.TRUE);
         semanticTokensCapabilities.setServerCancelSupport(Boolean.TRUE);
-        var semanticTokensClientCapabilitiesRequests = new SemanticTokensClientCapabilitiesRequests(Boolean.TRUE, Boolean.FALSE);
+        var semanticTokensClientCapabilitiesRequests = new SemanticTokensClientCapabilitiesRequests(new SemanticTokensClientCapabilitiesRequestsFull(Boolean.TRUE), Boolean.TRUE);
         semanticTokensCapabilities.setFormats(List.of(TokenFormat.Relative));
         semanticTokensCapabilities.setRequests(semanticTokensClientCapabilitiesRequests);
         textDocumentClientCapabilities.setSemanticTokens(semanticTokensCapabilities);
@@ -107,7 +107,7 @@ public class CompletableFutures {
     public static void waitUntilDone(@Nullable CompletableFuture<?> future,
                                      @Nullable PsiFile file) throws ExecutionException, ProcessCanceledException {
         try {
-            waitUntilDone(future, file, null);
+            waitUntilDone(future, file, null, null);
         } catch (TimeoutException e) {
             // Should never occur since timeout is null
             throw new RuntimeException(e);
@@ -124,6 +124,36 @@ public class CompletableFutures {
     public static void waitUntilDone(@Nullable CompletableFuture<?> future,
                                      @Nullable PsiFile file,
                                      @Nullable Integer timeout) throws ExecutionException, ProcessCanceledException, TimeoutException {
+        waitUntilDone(future, file, timeout, null);
+    }
+
+    /**
+     * Wait for the done of the given future and stop the wait if {@link ProcessCanceledException} is thrown.
+     * <p>
+     * The given callback is called periodically while the future is not done, for instance to consume
+     * the partial results streamed by the language server, without restarting the wait (and the check of the indexing)
+     * for each poll.
+     * </p>
+     *
+     * @param future the future to wait.
+     * @param file   the Psi file.
+     * @param onWait the callback called periodically while the future is not done.
+     */
+    public static void waitUntilDone(@Nullable CompletableFuture<?> future,
+                                     @Nullable PsiFile file,
+                                     @NotNull Runnable onWait) throws ExecutionException, ProcessCanceledException {
+        try {
+            waitUntilDone(future, file, null, onWait);
+        } catch (TimeoutException e) {
+            // Should never occur since timeout is null
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void waitUntilDone(@Nullable CompletableFuture<?> future,
+                                      @Nullable PsiFile file,
+                                      @Nullable Integer timeout,
+                                      @Nullable Runnable onWait) throws ExecutionException, ProcessCanceledException, TimeoutException {
         if (future == null) {
             return;
         }
@@ -154,6 +184,9 @@ public class CompletableFutures {
                     // This wait can block IJ, here we stop the wait (and we could lose some LSP feature)
                     throw new CancellationException("Some projects are indexing");
                 }
+                if (onWait != null) {
+                    onWait.run();
+                }
                 // Ignore timeout
             } catch (ExecutionException | CompletionException e) {
                 Throwable cause = e.getCause();
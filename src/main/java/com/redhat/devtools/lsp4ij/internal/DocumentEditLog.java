@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.util.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+
+/**
+ * Log of the last edits of a {@link Document} connected to a language server, used to rebase
+ * offsets computed for a previous version of the document (identified by its modification stamp)
+ * to the current version of the document.
+ * <p>
+ * The log is stored in the document user data and is filled by the document content synchronizers.
+ * </p>
+ */
+@ApiStatus.Internal
+public class DocumentEditLog {
+
+    private static final Key<DocumentEditLog> DOCUMENT_EDIT_LOG_KEY = Key.create("lsp.document.edit.log");
+
+    // Max number of edits kept in the log
+    private static final int MAX_EDITS = 200;
+
+    private record Edit(long oldStamp, long newStamp, int offset, int oldLength, int newLength) {
+    }
+
+    private final ArrayDeque<Edit> edits = new ArrayDeque<>();
+
+    /**
+     * Returns the edit log of the given document.
+     *
+     * @param document the document.
+     * @return the edit log of the given document.
+     */
+    @NotNull
+    public static DocumentEditLog getInstance(@NotNull Document document) {
+        DocumentEditLog log = document.getUserData(DOCUMENT_EDIT_LOG_KEY);
+        if (log == null) {
+            synchronized (document) {
+                log = document.getUserData(DOCUMENT_EDIT_LOG_KEY);
+                if (log == null) {
+                    log = new DocumentEditLog();
+                    document.putUserData(DOCUMENT_EDIT_LOG_KEY, log);
+                }
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Records the given document change.
+     * <p>
+     * This method is called by each language server which synchronizes the document, the change is recorded once.
+     * </p>
+     *
+     * @param event the document event.
+     */
+    public synchronized void documentChanged(@NotNull DocumentEvent event) {
+        long newStamp = event.getDocument().getModificationStamp();
+        Edit last = edits.peekLast();
+        if (last != null && last.newStamp() == newStamp) {
+            // The change has already been recorded
+            return;
+        }
+        edits.addLast(new Edit(event.getOldTimeStamp(), newStamp, event.getOffset(), event.getOldLength(), event.getNewLength()));
+        if (edits.size() > MAX_EDITS) {
+            edits.removeFirst();
+        }
+    }
+
+    /**
+     * Returns the offset rebased from the document version identified by the given modification stamp
+     * to the document version identified by the given target modification stamp and -1 if the edits between
+     * the two versions are not available.
+     * <p>
+     * An offset located in a replaced text moves to the start of the replaced text,
+     * an offset where a text is inserted moves after the inserted text.
+     * </p>
+     *
+     * @param offset     the offset in the document version identified by fromStamp.
+     * @param fromStamp  the modification stamp of the document version of the offset.
+     * @param toStamp    the modification stamp of the target document version.
+     * @return the rebased offset and -1 if the edits between the two versions are not available.
+     */
+    public synchronized int rebase(int offset, long fromStamp, long toStamp) {
+        if (fromStamp == toStamp) {
+            return offset;
+        }
+        long stamp = fromStamp;
+        boolean started = false;
+        for (Edit edit : edits) {
+            if (!started) {
+                if (edit.oldStamp() != stamp) {
+                    continue;
+                }
+                started = true;
+            } else if (edit.oldStamp() != stamp) {
+                // Some edits have not been recorded
+                return -1;
+            }
+            if (offset >= edit.offset() + edit.oldLength()) {
+                offset += edit.newLength() - edit.oldLength();
+            } else if (offset > edit.offset()) {
+                offset = edit.offset();
+            }
+            stamp = edit.newStamp();
+            if (stamp == toStamp) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the start offset of the given text rebased from the document version identified by the given modification stamp
+     * to the document version identified by the given target modification stamp and -1 if the text has been modified
+     * or if the edits between the two versions are not available.
+     * <p>
+     * The text can be moved by the edits located before it, an edit which touches the bounds of the text
+     * is considered as a modification of the text.
+     * </p>
+     *
+     * @param startOffset the start offset of the text in the document version identified by fromStamp.
+     * @param endOffset   the end offset of the text in the document version identified by fromStamp.
+     * @param fromStamp   the modification stamp of the document version of the offsets.
+     * @param toStamp     the modification stamp of the target document version.
+     * @return the rebased start offset of the unchanged text and -1 otherwise.
+     */
+    public synchronized int rebaseUnchangedText(int startOffset, int endOffset, long fromStamp, long toStamp) {
+        if (fromStamp == toStamp) {
+            return startOffset;
+        }
+        long stamp = fromStamp;
+        boolean started = false;
+        for (Edit edit : edits) {
+            if (!started) {
+                if (edit.oldStamp() != stamp) {
+                    continue;
+                }
+                started = true;
+            } else if (edit.oldStamp() != stamp) {
+                // Some edits have not been recorded
+                return -1;
+            }
+            if (edit.offset() + edit.oldLength() < startOffset) {
+                // The edit is located before the text, move the text
+                int delta = edit.newLength() - edit.oldLength();
+                startOffset += delta;
+                endOffset += delta;
+            } else if (edit.offset() <= endOffset) {
+                // The edit modifies the text
+                return -1;
+            }
+            stamp = edit.newStamp();
+            if (stamp == toStamp) {
+                return startOffset;
+            }
+        }
+        return -1;
+    }
+}
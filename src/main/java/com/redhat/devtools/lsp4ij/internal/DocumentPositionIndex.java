@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Key;
+import org.eclipse.lsp4j.Position;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable index of the line start/end offsets of a {@link Document}, used to convert
+ * LSP {@link Position} to offset (and vice versa) without querying the document for each position.
+ * <p>
+ * Building the index costs O(lines), so it must be built only for bulk conversions of a document version
+ * (ex : semantic tokens, diagnostics) with {@link #getInstance(Document)}. The single conversions of
+ * {@link com.redhat.devtools.lsp4ij.LSPIJUtils} use the index only when it is up to date (see {@link #getIfUpToDate(Document)})
+ * and query the document otherwise.
+ * </p>
+ * <p>
+ * The index is cached in the document user data and is rebuilt only when the document modification stamp changes.
+ * </p>
+ */
+@ApiStatus.Internal
+public class DocumentPositionIndex {
+
+    private static final Key<DocumentPositionIndex> POSITION_INDEX_KEY = Key.create("lsp.document.position.index");
+
+    private final long modificationStamp;
+    private final int textLength;
+    private final int lineCount;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+
+    private DocumentPositionIndex(@NotNull Document document) {
+        this.modificationStamp = document.getModificationStamp();
+        this.textLength = document.getTextLength();
+        this.lineCount = document.getLineCount();
+        this.lineStarts = new int[lineCount];
+        this.lineEnds = new int[lineCount];
+        for (int line = 0; line < lineCount; line++) {
+            lineStarts[line] = document.getLineStartOffset(line);
+            lineEnds[line] = document.getLineEndOffset(line);
+        }
+    }
+
+    /**
+     * Returns the position index of the given document, up to date with the current content of the document.
+     *
+     * @param document the document.
+     * @return the position index of the given document, up to date with the current content of the document.
+     */
+    @NotNull
+    public static DocumentPositionIndex getInstance(@NotNull Document document) {
+        DocumentPositionIndex index = document.getUserData(POSITION_INDEX_KEY);
+        if (index == null || !index.isUpToDate(document)) {
+            index = new DocumentPositionIndex(document);
+            document.putUserData(POSITION_INDEX_KEY, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the position index of the given document if it has been built for the current content of the document
+     * and null otherwise. This method never builds the index.
+     *
+     * @param document the document.
+     * @return the position index of the given document if it is up to date and null otherwise.
+     */
+    @Nullable
+    public static DocumentPositionIndex getIfUpToDate(@NotNull Document document) {
+        DocumentPositionIndex index = document.getUserData(POSITION_INDEX_KEY);
+        return index != null && index.isUpToDate(document) ? index : null;
+    }
+
+    private boolean isUpToDate(@NotNull Document document) {
+        return modificationStamp == document.getModificationStamp() && textLength == document.getTextLength();
+    }
+
+    /**
+     * Returns a valid offset from the given line/character even if position is invalid.
+     *
+     * @param line      the LSP line.
+     * @param character the LSP character.
+     * @return a valid offset from the given line/character.
+     * @see com.redhat.devtools.lsp4ij.LSPIJUtils#toOffset(Position, Document)
+     */
+    public int toOffset(int line, int character) {
+        // See https://github.com/microsoft/vscode-languageserver-node/blob/8e625564b531da607859b8cb982abb7cdb2fbe2e/textDocument/src/main.ts#L304
+        if (line >= lineCount) {
+            // The line number is greater than the number of lines in a document, it defaults back to the number of lines in the document.
+            return textLength;
+        } else if (line < 0) {
+            // The line number is negative, it defaults to 0.
+            return 0;
+        }
+        int lineOffset = lineStarts[line];
+        int nextLineOffset = lineEnds[line];
+        // If the character value is greater than the line length it defaults back to the line length
+        return Math.max(Math.min(lineOffset + character, nextLineOffset), lineOffset);
+    }
+
+    /**
+     * Returns the LSP position from the given offset.
+     *
+     * @param offset the offset.
+     * @return the LSP position from the given offset.
+     */
+    @NotNull
+    public Position toPosition(int offset) {
+        // Adjust offset
+        offset = Math.max(Math.min(offset, textLength), 0);
+        int line = getLineNumber(offset);
+        int character = offset - getLineStartOffset(line);
+        return new Position(line, character);
+    }
+
+    /**
+     * Returns the line number of the given offset.
+     *
+     * @param offset a valid offset.
+     * @return the line number of the given offset.
+     */
+    public int getLineNumber(int offset) {
+        // Binary search of the last line which starts before the offset
+        int low = 0;
+        int high = lineCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (lineStarts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the start offset of the given line.
+     *
+     * @param line the line number.
+     * @return the start offset of the given line.
+     */
+    public int getLineStartOffset(int line) {
+        return line < lineCount ? lineStarts[line] : textLength;
+    }
+
+    /**
+     * Returns the end offset (without the line separator) of the given line.
+     *
+     * @param line the line number.
+     * @return the end offset (without the line separator) of the given line.
+     */
+    public int getLineEndOffset(int line) {
+        return line < lineCount ? lineEnds[line] : textLength;
+    }
+
+    public long getModificationStamp() {
+        return modificationStamp;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getTextLength() {
+        return textLength;
+    }
+}
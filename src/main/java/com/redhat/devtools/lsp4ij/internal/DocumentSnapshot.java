@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Snapshot of a version of a {@link Document}, used to convert LSP positions computed by a language server
+ * for this version to offsets of the current version of the document.
+ */
+@ApiStatus.Internal
+public class DocumentSnapshot {
+
+    private final @NotNull Document document;
+    private final @NotNull DocumentPositionIndex positionIndex;
+
+    private DocumentSnapshot(@NotNull Document document) {
+        this.document = document;
+        this.positionIndex = DocumentPositionIndex.getInstance(document);
+    }
+
+    /**
+     * Returns a snapshot of the current version of the given document.
+     *
+     * @param document the document.
+     * @return a snapshot of the current version of the given document.
+     */
+    @NotNull
+    public static DocumentSnapshot create(@NotNull Document document) {
+        return new DocumentSnapshot(document);
+    }
+
+    /**
+     * Returns the modification stamp of the document version of this snapshot.
+     *
+     * @return the modification stamp of the document version of this snapshot.
+     */
+    public long getModificationStamp() {
+        return positionIndex.getModificationStamp();
+    }
+
+    /**
+     * Returns true if this snapshot is the current version of the document and false otherwise.
+     *
+     * @return true if this snapshot is the current version of the document and false otherwise.
+     */
+    public boolean isCurrent() {
+        return getModificationStamp() == document.getModificationStamp();
+    }
+
+    /**
+     * Returns the offset in the current version of the document of the given LSP position computed for this snapshot
+     * and -1 if the position cannot be rebased to the current version of the document.
+     *
+     * @param position the LSP position computed for this snapshot.
+     * @return the offset in the current version of the document and -1 otherwise.
+     */
+    public int toCurrentOffset(@NotNull Position position) {
+        int offset = positionIndex.toOffset(position.getLine(), position.getCharacter());
+        return DocumentEditLog.getInstance(document).rebase(offset, getModificationStamp(), document.getModificationStamp());
+    }
+
+    /**
+     * Returns the text range in the current version of the document of the given LSP range computed for this snapshot
+     * and null if the range cannot be rebased to the current version of the document.
+     *
+     * @param range the LSP range computed for this snapshot.
+     * @return the text range in the current version of the document and null otherwise.
+     */
+    @Nullable
+    public TextRange toCurrentTextRange(@NotNull Range range) {
+        int start = toCurrentOffset(range.getStart());
+        int end = toCurrentOffset(range.getEnd());
+        if (start == -1 || end == -1 || start > end) {
+            return null;
+        }
+        return new TextRange(start, end);
+    }
+}
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.application.ApplicationManager;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Ordered queue of the JSON-RPC messages sent to a language server.
+ * <p>
+ * The messages are enqueued by any thread and are written, in the enqueue order, by a single writer
+ * (running with the given executor) which flushes the output stream once the queue is drained.
+ * When the language server stops reading its input stream, the queue grows and the threads which send messages
+ * wait (for a bounded time) until the writer has written some messages. The EDT and the threads which must never
+ * block (ex : the threads which dispatch the notifications and read the messages of the language server) don't wait.
+ * </p>
+ */
+@ApiStatus.Internal
+public class OutgoingMessageQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutgoingMessageQueue.class);
+
+    // Max number of pending messages before the threads which send messages wait for the writer
+    private static final int MAX_PENDING_MESSAGES = 1000;
+
+    // Max time to wait for the writer when the queue is full
+    private static final long MAX_WAIT_FOR_WRITER = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * A message waiting to be written.
+     */
+    public static final class PendingMessage {
+
+        private final @NotNull Message message;
+        private final @NotNull MessageConsumer consumer;
+        private volatile boolean written;
+
+        private PendingMessage(@NotNull Message message, @NotNull MessageConsumer consumer) {
+            this.message = message;
+            this.consumer = consumer;
+        }
+    }
+
+    private final @NotNull Executor writerExecutor;
+    private final @NotNull Consumer<Throwable> errorHandler;
+    private final @NotNull Predicate<Thread> canWaitForWriter;
+    private final int maxPendingMessages;
+
+    // Lock used by the threads which wait for the writer when the queue is full
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    private final Queue<PendingMessage> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    // Futures created by whenWritten() which are completed when their message is written
+    private final Map<PendingMessage, CompletableFuture<Void>> writeWaiters = new ConcurrentHashMap<>();
+
+    // The wrapped output stream of the language server
+    private OutputStream output;
+    // true while the writer drains the queue, the flush of the output stream is done once the queue is drained.
+    private volatile boolean batching;
+
+    /**
+     * Creates the queue.
+     *
+     * @param writerExecutor   the executor used to write the messages.
+     * @param errorHandler     the handler of the errors which occur while writing the messages.
+     * @param canWaitForWriter returns false for the threads which must never wait for the writer when the queue is full.
+     */
+    public OutgoingMessageQueue(@NotNull Executor writerExecutor,
+                                @NotNull Consumer<Throwable> errorHandler,
+                                @NotNull Predicate<Thread> canWaitForWriter) {
+        this(writerExecutor, errorHandler, canWaitForWriter, MAX_PENDING_MESSAGES);
+    }
+
+    OutgoingMessageQueue(@NotNull Executor writerExecutor,
+                         @NotNull Consumer<Throwable> errorHandler,
+                         @NotNull Predicate<Thread> canWaitForWriter,
+                         int maxPendingMessages) {
+        this.writerExecutor = writerExecutor;
+        this.errorHandler = errorHandler;
+        this.canWaitForWriter = canWaitForWriter;
+        this.maxPendingMessages = maxPendingMessages;
+    }
+
+    /**
+     * Returns the given output stream wrapped to flush it only when all pending messages are written.
+     *
+     * @param out the output stream of the language server.
+     * @return the given output stream wrapped to flush it only when all pending messages are written.
+     */
+    @NotNull
+    public OutputStream wrapOutputStream(@NotNull OutputStream out) {
+        return output = new FilterOutputStream(new BufferedOutputStream(out)) {
+
+            @Override
+            public void write(byte @NotNull [] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!batching) {
+                    super.flush();
+                }
+            }
+        };
+    }
+
+    /**
+     * Enqueues the given message to write it with the given consumer.
+     *
+     * @param message  the JSON-RPC message.
+     * @param consumer the consumer which writes the message in the output stream of the language server.
+     * @return the pending message (see {@link #whenWritten(PendingMessage)}).
+     */
+    @NotNull
+    public PendingMessage enqueue(@NotNull Message message, @NotNull MessageConsumer consumer) {
+        waitForWriterIfNeeded();
+        var pending = new PendingMessage(message, consumer);
+        messages.add(pending);
+        pendingMessages.incrementAndGet();
+        scheduleWriter();
+        return pending;
+    }
+
+    /**
+     * Returns a future which is completed when the given message has been written.
+     * <p>
+     * As messages are written in the enqueue order, the messages enqueued before the given message
+     * have been written too when the future is completed.
+     * </p>
+     *
+     * @param pending the pending message.
+     * @return a future which is completed when the given message has been written.
+     */
+    @NotNull
+    public CompletableFuture<Void> whenWritten(@NotNull PendingMessage pending) {
+        if (pending.written) {
+            return CompletableFuture.completedFuture(null);
+        }
+        var future = new CompletableFuture<Void>();
+        writeWaiters.put(pending, future);
+        if (pending.written) {
+            // The message has been written while the future was registered
+            writeWaiters.remove(pending);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of messages which are waiting to be written.
+     *
+     * @return the number of messages which are waiting to be written.
+     */
+    public int getPendingMessageCount() {
+        return pendingMessages.get();
+    }
+
+    private void waitForWriterIfNeeded() {
+        if (pendingMessages.get() < maxPendingMessages) {
+            return;
+        }
+        var application = ApplicationManager.getApplication();
+        if ((application != null && application.isDispatchThread()) || !canWaitForWriter.test(Thread.currentThread())) {
+            // The thread must never block, the message is enqueued without waiting
+            return;
+        }
+        // The language server doesn't read its input stream fast enough, wait for the writer
+        LOGGER.warn("{} messages are waiting to be written to the language server", pendingMessages.get());
+        waitingThreads.incrementAndGet();
+        lock.lock();
+        try {
+            long remaining = MAX_WAIT_FOR_WRITER;
+            while (pendingMessages.get() >= maxPendingMessages && remaining > 0) {
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (remaining <= 0) {
+                LOGGER.warn("The language server has not read its input stream for {}s", TimeUnit.NANOSECONDS.toSeconds(MAX_WAIT_FOR_WRITER));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    private void signalNotFullIfNeeded() {
+        if (waitingThreads.get() > 0 && pendingMessages.get() < maxPendingMessages) {
+            lock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void scheduleWriter() {
+        if (writing.compareAndSet(false, true)) {
+            try {
+                writerExecutor.execute(this::writeMessages);
+            } catch (RejectedExecutionException e) {
+                // The language server is disposed
+                writing.set(false);
+            }
+        }
+    }
+
+    private void writeMessages() {
+        try {
+            batching = true;
+            PendingMessage pending;
+            while ((pending = messages.poll()) != null) {
+                try {
+                    pending.consumer.consume(pending.message);
+                } catch (Throwable e) {
+                    errorHandler.accept(e);
+                }
+                pendingMessages.decrementAndGet();
+                signalNotFullIfNeeded();
+                if (messages.isEmpty()) {
+                    // The queue is drained, flush the written messages
+                    flush();
+                }
+                pending.written = true;
+                if (!writeWaiters.isEmpty()) {
+                    var future = writeWaiters.remove(pending);
+                    if (future != null) {
+                        future.complete(null);
+                    }
+                }
+            }
+        } finally {
+            batching = false;
+            writing.set(false);
+        }
+        if (!messages.isEmpty()) {
+            // Some messages have been enqueued after the last poll
+            scheduleWriter();
+        }
+    }
+
+    private void flush() {
+        var output = this.output;
+        if (output == null) {
+            return;
+        }
+        batching = false;
+        try {
+            output.flush();
+        } catch (IOException e) {
+            errorHandler.accept(e);
+        } finally {
+            batching = true;
+        }
+    }
+}
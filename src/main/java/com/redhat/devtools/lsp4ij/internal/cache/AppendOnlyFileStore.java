@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.cache;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file store of binary values by key, bounded by size with LRU eviction.
+ * <p>
+ * Each put appends a record (key, value and CRC) at the end of the file, and the in-memory index keeps the position
+ * of the last record of each key. When the file exceeds the max size, it is compacted: the most recently used entries
+ * are copied to a new file until half of the max size is reached, and the least recently used entries are evicted.
+ * </p>
+ * <p>
+ * The entries are copied from the least to the most recently used, so the LRU order is restored when the file is reopened.
+ * A truncated or corrupted record (ex : the IDE has been killed while writing) ends the file.
+ * </p>
+ */
+@ApiStatus.Internal
+public class AppendOnlyFileStore implements Closeable {
+
+    // "LSPC" and the version of the format of the file
+    private static final int MAGIC = 0x4C535043;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+
+    // key length, value length and CRC of a record
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private record Entry(long position, int keyLength, int valueLength) {
+
+        long size() {
+            return RECORD_HEADER_SIZE + keyLength + valueLength;
+        }
+    }
+
+    private final @NotNull Path file;
+    private final long maxSize;
+
+    // Position of the last record of each key, sorted from the least to the most recently used
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private FileChannel channel;
+    private long fileSize;
+
+    /**
+     * Opens the store of the given file and creates it if it doesn't exist.
+     *
+     * @param file    the file of the store.
+     * @param maxSize the max size (in bytes) of the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public AppendOnlyFileStore(@NotNull Path file, long maxSize) throws IOException {
+        this.file = file;
+        this.maxSize = maxSize;
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        if (!readFileHeader()) {
+            // New file or file written with another format, reset it
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(header, 0);
+            fileSize = FILE_HEADER_SIZE;
+            return;
+        }
+        long position = FILE_HEADER_SIZE;
+        long size = channel.size();
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= size) {
+            recordHeader.clear();
+            readFully(recordHeader, position);
+            recordHeader.flip();
+            int keyLength = recordHeader.getInt();
+            int valueLength = recordHeader.getInt();
+            int crc = recordHeader.getInt();
+            if (keyLength < 0 || valueLength < 0 || position + RECORD_HEADER_SIZE + keyLength + valueLength > size) {
+                // Truncated record
+                break;
+            }
+            ByteBuffer data = ByteBuffer.allocate(keyLength + valueLength);
+            readFully(data, position + RECORD_HEADER_SIZE);
+            if (crc != computeCrc(data.array())) {
+                // Corrupted record
+                break;
+            }
+            String key = new String(data.array(), 0, keyLength, StandardCharsets.UTF_8);
+            Entry entry = new Entry(position, keyLength, valueLength);
+            index.put(key, entry);
+            position += entry.size();
+        }
+        if (position < size) {
+            // Remove the truncated or corrupted records
+            channel.truncate(position);
+        }
+        fileSize = position;
+    }
+
+    private boolean readFileHeader() throws IOException {
+        if (channel.size() < FILE_HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        return header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION;
+    }
+
+    /**
+     * Returns the value of the given key and null otherwise.
+     *
+     * @param key the key.
+     * @return the value of the given key and null otherwise.
+     * @throws IOException if the value cannot be read.
+     */
+    public synchronized byte @Nullable [] get(@NotNull String key) throws IOException {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer value = ByteBuffer.allocate(entry.valueLength());
+        readFully(value, entry.position() + RECORD_HEADER_SIZE + entry.keyLength());
+        return value.array();
+    }
+
+    /**
+     * Stores the given value for the given key.
+     * <p>
+     * A value larger than the half of the max size of the file is not stored.
+     * </p>
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @throws IOException if the value cannot be written.
+     */
+    public synchronized void put(@NotNull String key, byte @NotNull [] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        Entry entry = new Entry(fileSize, keyBytes.length, value.length);
+        if (entry.size() > maxSize / 2) {
+            return;
+        }
+        byte[] data = new byte[keyBytes.length + value.length];
+        System.arraycopy(keyBytes, 0, data, 0, keyBytes.length);
+        System.arraycopy(value, 0, data, keyBytes.length, value.length);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length)
+                .putInt(keyBytes.length)
+                .putInt(value.length)
+                .putInt(computeCrc(data))
+                .put(data)
+                .flip();
+        writeFully(record, fileSize);
+        fileSize += entry.size();
+        index.put(key, entry);
+        if (fileSize > maxSize) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the number of entries of the store.
+     *
+     * @return the number of entries of the store.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the size (in bytes) of the file of the store.
+     *
+     * @return the size (in bytes) of the file of the store.
+     */
+    public synchronized long getFileSize() {
+        return fileSize;
+    }
+
+    private void compact() throws IOException {
+        // Keep the most recently used entries until the half of the max size is reached
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(index.entrySet());
+        long keptSize = FILE_HEADER_SIZE;
+        int first = entries.size();
+        while (first > 0 && keptSize + entries.get(first - 1).getValue().size() <= maxSize / 2) {
+            first--;
+            keptSize += entries.get(first).getValue().size();
+        }
+        // Copy the kept entries from the least to the most recently used in a new file
+        Path compactedFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel compacted = FileChannel.open(compactedFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            while (header.hasRemaining()) {
+                compacted.write(header);
+            }
+            for (int i = first; i < entries.size(); i++) {
+                Entry entry = entries.get(i).getValue();
+                long transferred = 0;
+                while (transferred < entry.size()) {
+                    transferred += channel.transferTo(entry.position() + transferred, entry.size() - transferred, compacted);
+                }
+            }
+        }
+        channel.close();
+        Files.move(compactedFile, file, StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private static int computeCrc(byte @NotNull [] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private void readFully(@NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file " + file);
+            }
+        }
+    }
+
+    private void writeFully(@NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.cache;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import org.eclipse.lsp4j.ServerInfo;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Persistent cache of the document-level LSP results (ex : 'textDocument/foldingRange') stored under the IDE system directory.
+ * <p>
+ * Only the 'textDocument/foldingRange' results are cached for now. The 'textDocument/documentSymbol',
+ * 'textDocument/documentLink' and 'textDocument/semanticTokens' results are not cached: the semantic tokens
+ * would have to be stored with the legend of the language server which has computed them.
+ * </p>
+ * <p>
+ * The results are stored by LSP feature and by hash of the document content, with the id and the version of the language server
+ * which has computed them. They are used as stale data when a file is reopened (ex : on IDE startup) while its language servers
+ * are not started, and are replaced by the results of the language servers when they are available.
+ * </p>
+ * <p>
+ * The version of a language server is known only once it is started, so the results of any version are returned
+ * before the language server is started, and the results of another version are ignored after.
+ * </p>
+ * <p>
+ * The results are not written when they are received (ex : on each edit), but are kept in memory and written
+ * in background only for settled content: when the document is saved or closed, or when it has no unsaved changes.
+ * The results are not read while they are written (the file can be compacted): they are considered as not cached.
+ * </p>
+ */
+@ApiStatus.Internal
+public class DocumentResultsCache implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentResultsCache.class);
+
+    // Max size (in bytes) of the cache file
+    private static final long MAX_CACHE_SIZE = 64 * 1024 * 1024;
+
+    private static final String SERVER_ID = "serverId";
+    private static final String SERVER_VERSION = "serverVersion";
+    private static final String RESULT = "result";
+
+    // Delay (in ms) before writing the results of a settled document, to write them once for a burst of results/saves
+    private static final long SETTLE_DELAY = 1000;
+
+    /**
+     * Cached result of a language server.
+     *
+     * @param serverId      the language server definition id.
+     * @param serverVersion the language server version and null otherwise.
+     * @param result        the LSP result.
+     */
+    public record CachedResult(@NotNull String serverId,
+                               @Nullable String serverVersion,
+                               @NotNull JsonElement result) {
+    }
+
+    /**
+     * Result received for a document and not written yet.
+     */
+    private record PendingResult(@NotNull String feature,
+                                 @NotNull String contentHash,
+                                 @NotNull String serverId,
+                                 @Nullable String serverVersion,
+                                 @NotNull JsonElement result) {
+    }
+
+    private @Nullable AppendOnlyFileStore store;
+    private volatile boolean opened;
+    // true if the store has no entries (updated when the store is opened and written)
+    private volatile boolean empty;
+    // Lock of the store, held by the writer while the results are written
+    private final ReentrantLock storeLock = new ReentrantLock();
+
+    // Results not written yet by document, and by feature and language server
+    private final Map<Document, Map<String, PendingResult>> pendingResults = Collections.synchronizedMap(new WeakHashMap<>());
+    // Debounced writes by document
+    private final Map<Document, ScheduledFuture<?>> scheduledWrites = Collections.synchronizedMap(new WeakHashMap<>());
+    // The results are written one by one with a background thread
+    private final ExecutorService writer = AppExecutorUtil.createBoundedApplicationPoolExecutor("LSP document results cache writer", 1);
+
+    public static DocumentResultsCache getInstance() {
+        return ApplicationManager.getApplication().getService(DocumentResultsCache.class);
+    }
+
+    /**
+     * Returns true if the cache is known to have no results and false otherwise.
+     * <p>
+     * This method can be used to avoid computing the hash of the document content when there are no cached results.
+     * </p>
+     *
+     * @return true if the cache is known to have no results and false otherwise.
+     */
+    public boolean isEmpty() {
+        return opened && empty;
+    }
+
+    /**
+     * Returns the cached results of the given LSP feature for the given document content hash.
+     * <p>
+     * An empty list is returned without waiting when the results are being written.
+     * </p>
+     *
+     * @param feature     the LSP feature (ex : 'foldingRange').
+     * @param contentHash the hash of the document content (see {@link #getContentHash(CharSequence)}).
+     * @return the cached results of the given LSP feature for the given document content hash.
+     */
+    @NotNull
+    public List<CachedResult> get(@NotNull String feature, @NotNull String contentHash) {
+        if (!storeLock.tryLock()) {
+            // The results are being written and the file can be compacted, don't wait for them
+            return Collections.emptyList();
+        }
+        JsonArray servers;
+        try {
+            servers = read(getKey(feature, contentHash));
+        } finally {
+            storeLock.unlock();
+        }
+        if (servers == null) {
+            return Collections.emptyList();
+        }
+        List<CachedResult> results = new ArrayList<>(servers.size());
+        for (JsonElement server : servers) {
+            JsonObject json = server.getAsJsonObject();
+            JsonElement serverVersion = json.get(SERVER_VERSION);
+            results.add(new CachedResult(json.get(SERVER_ID).getAsString(),
+                    serverVersion != null ? serverVersion.getAsString() : null,
+                    json.get(RESULT)));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the cached results of the given LSP feature for the given document content hash
+     * computed by the given language server with its current version and null otherwise.
+     *
+     * @param feature        the LSP feature (ex : 'foldingRange').
+     * @param contentHash    the hash of the document content (see {@link #getContentHash(CharSequence)}).
+     * @param languageServer the language server.
+     * @return the cached results of the given language server and null otherwise.
+     */
+    @Nullable
+    public JsonElement get(@NotNull String feature, @NotNull String contentHash, @NotNull LanguageServerItem languageServer) {
+        String serverId = languageServer.getServerDefinition().getId();
+        String serverVersion = getServerVersion(languageServer);
+        for (var result : get(feature, contentHash)) {
+            if (serverId.equals(result.serverId()) && (serverVersion == null || serverVersion.equals(result.serverVersion()))) {
+                return result.result();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the result of the given LSP feature computed by the given language server for the given document content hash.
+     * <p>
+     * The result is written in background once the content of the document is settled (see {@link #documentSettled(Document)}).
+     * </p>
+     *
+     * @param feature        the LSP feature (ex : 'foldingRange').
+     * @param document       the document.
+     * @param contentHash    the hash of the document content (see {@link #getContentHash(CharSequence)}),
+     *                       computed only if the result is stored.
+     * @param languageServer the language server which has computed the result.
+     * @param result         the LSP result.
+     */
+    public void put(@NotNull String feature,
+                    @NotNull Document document,
+                    @NotNull Supplier<String> contentHash,
+                    @NotNull LanguageServerItem languageServer,
+                    @NotNull JsonElement result) {
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            // The results must not be shared between tests
+            return;
+        }
+        String serverId = languageServer.getServerDefinition().getId();
+        pendingResults.computeIfAbsent(document, d -> new ConcurrentHashMap<>())
+                .put(feature + ":" + serverId, new PendingResult(feature, contentHash.get(), serverId, getServerVersion(languageServer), result));
+        if (!FileDocumentManager.getInstance().isDocumentUnsaved(document)) {
+            // The document has no unsaved changes, its content is settled
+            documentSettled(document);
+        }
+    }
+
+    /**
+     * Schedules the write of the results received for the given document, when its content is settled
+     * (ex : the document is saved or closed).
+     * <p>
+     * The write is debounced and is done in background, only for the results computed for the current content of the document.
+     * </p>
+     *
+     * @param document the document.
+     */
+    public void documentSettled(@NotNull Document document) {
+        if (!pendingResults.containsKey(document)) {
+            return;
+        }
+        synchronized (scheduledWrites) {
+            var scheduledWrite = scheduledWrites.get(document);
+            if (scheduledWrite != null && !scheduledWrite.isDone()) {
+                // A write is already scheduled for this document
+                return;
+            }
+            scheduledWrites.put(document, AppExecutorUtil.getAppScheduledExecutorService()
+                    .schedule(() -> writer.execute(() -> writePendingResults(document)), SETTLE_DELAY, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void writePendingResults(@NotNull Document document) {
+        scheduledWrites.remove(document);
+        var results = pendingResults.remove(document);
+        if (results == null || results.isEmpty()) {
+            return;
+        }
+        // Only the results computed for the current content are written
+        String contentHash = getContentHash(document.getImmutableCharSequence());
+        for (var result : results.values()) {
+            if (contentHash.equals(result.contentHash())) {
+                write(result);
+            }
+        }
+    }
+
+    private void write(@NotNull PendingResult result) {
+        String key = getKey(result.feature(), result.contentHash());
+        String serverId = result.serverId();
+        storeLock.lock();
+        try {
+            // Replace the result of the language server and keep the results of the other language servers
+            JsonArray servers = read(key);
+            JsonArray updatedServers = new JsonArray();
+            if (servers != null) {
+                for (JsonElement server : servers) {
+                    if (!serverId.equals(server.getAsJsonObject().get(SERVER_ID).getAsString())) {
+                        updatedServers.add(server);
+                    }
+                }
+            }
+            JsonObject server = new JsonObject();
+            server.addProperty(SERVER_ID, serverId);
+            server.addProperty(SERVER_VERSION, result.serverVersion());
+            server.add(RESULT, result.result());
+            updatedServers.add(server);
+            write(key, updatedServers);
+        } finally {
+            storeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the hash of the given document content.
+     *
+     * @param content the document content.
+     * @return the hash of the given document content.
+     */
+    @NotNull
+    public static String getContentHash(@NotNull CharSequence content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable
+    private static String getServerVersion(@NotNull LanguageServerItem languageServer) {
+        ServerInfo serverInfo = languageServer.getServerWrapper().getServerInfo();
+        return serverInfo != null ? serverInfo.getVersion() : null;
+    }
+
+    private static String getKey(@NotNull String feature, @NotNull String contentHash) {
+        return feature + ":" + contentHash;
+    }
+
+    @Nullable
+    private JsonArray read(@NotNull String key) {
+        var store = getStore();
+        if (store == null) {
+            return null;
+        }
+        try {
+            byte[] value = store.get(key);
+            return value != null ? JsonParser.parseString(new String(value, StandardCharsets.UTF_8)).getAsJsonArray() : null;
+        } catch (Exception e) {
+            LOGGER.warn("Error while reading the LSP document results cache", e);
+            return null;
+        }
+    }
+
+    private void write(@NotNull String key, @NotNull JsonArray value) {
+        var store = getStore();
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(key, value.toString().getBytes(StandardCharsets.UTF_8));
+            empty = false;
+        } catch (IOException e) {
+            LOGGER.warn("Error while writing the LSP document results cache", e);
+            closeStore();
+        }
+    }
+
+    @Nullable
+    private AppendOnlyFileStore getStore() {
+        // The store is read and written with the store lock
+        if (!opened) {
+            if (!ApplicationManager.getApplication().isUnitTestMode()) {
+                // The results must not be shared between tests
+                try {
+                    store = new AppendOnlyFileStore(Path.of(PathManager.getSystemPath(), "lsp4ij", "document-results.cache"), MAX_CACHE_SIZE);
+                } catch (IOException e) {
+                    LOGGER.warn("Error while opening the LSP document results cache", e);
+                }
+            }
+            empty = store == null || store.size() == 0;
+            opened = true;
+        }
+        return store;
+    }
+
+    private void closeStore() {
+        var store = this.store;
+        this.store = null;
+        empty = true;
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error while closing the LSP document results cache", e);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Write the results of the documents which have no unsaved changes
+        List<Document> documents;
+        synchronized (pendingResults) {
+            documents = new ArrayList<>(pendingResults.keySet());
+        }
+        for (Document document : documents) {
+            if (!FileDocumentManager.getInstance().isDocumentUnsaved(document)) {
+                writePendingResults(document);
+            }
+        }
+        storeLock.lock();
+        try {
+            closeStore();
+        } finally {
+            storeLock.unlock();
+        }
+    }
+}
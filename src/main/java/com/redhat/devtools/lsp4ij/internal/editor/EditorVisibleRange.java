@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.editor;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.VisibleAreaEvent;
+import com.intellij.openapi.editor.event.VisibleAreaListener;
+import com.intellij.openapi.editor.ex.util.EditorUtil;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Visible lines of an editor, computed on the EDT when the visible area of the editor changes,
+ * so the LSP features collected in background (semantic tokens, inlay hints) can load first the visible area.
+ * <p>
+ * The visible lines are tracked once they have been requested a first time for an editor. Until they are computed on the EDT
+ * (ex : the first highlighting pass of an editor), the visible range is the range of the lines around the caret, since
+ * an opened editor is scrolled to its caret.
+ * </p>
+ */
+@ApiStatus.Internal
+public class EditorVisibleRange implements VisibleAreaListener, Disposable {
+
+    private static final Key<EditorVisibleRange> VISIBLE_RANGE_KEY = Key.create("lsp.editor.visible.range");
+
+    // Number of lines before and after the caret used as visible range until the visible lines are computed
+    private static final int CARET_MARGIN_LINES = 50;
+
+    private final @NotNull Editor editor;
+
+    private record VisibleLines(int startLine, int endLine) {
+    }
+
+    // The visible lines of the editor, null until they are computed
+    private volatile @Nullable VisibleLines visibleLines;
+
+    private EditorVisibleRange(@NotNull Editor editor) {
+        this.editor = editor;
+    }
+
+    /**
+     * Returns the visible range of the given editor (or the range around the caret until the visible lines are computed)
+     * and null if the editor is disposed or if its document is empty.
+     *
+     * @param editor the editor.
+     * @return the visible range of the given editor and null if the editor is disposed or if its document is empty.
+     */
+    @Nullable
+    public static TextRange getVisibleRange(@NotNull Editor editor) {
+        return getOrInstall(editor).toTextRange();
+    }
+
+    /**
+     * Returns the visible range of the first editor of the given file whose visible lines are computed,
+     * otherwise the range around the caret of the first editor of the file and null if the file has no editor.
+     *
+     * @param file the Psi file.
+     * @return the visible range of an editor of the given file and null if the file has no editor.
+     */
+    @Nullable
+    public static TextRange getVisibleRange(@NotNull PsiFile file) {
+        Document document = LSPIJUtils.getDocument(file.getVirtualFile());
+        if (document == null) {
+            return null;
+        }
+        Editor[] editors = EditorFactory.getInstance().getEditors(document, file.getProject());
+        for (Editor editor : editors) {
+            EditorVisibleRange visibleRange = getOrInstall(editor);
+            if (visibleRange.visibleLines != null) {
+                return visibleRange.toTextRange();
+            }
+        }
+        return editors.length > 0 ? getVisibleRange(editors[0]) : null;
+    }
+
+    private static @NotNull EditorVisibleRange getOrInstall(@NotNull Editor editor) {
+        EditorVisibleRange visibleRange = editor.getUserData(VISIBLE_RANGE_KEY);
+        if (visibleRange != null) {
+            return visibleRange;
+        }
+        synchronized (EditorVisibleRange.class) {
+            visibleRange = editor.getUserData(VISIBLE_RANGE_KEY);
+            if (visibleRange == null) {
+                visibleRange = new EditorVisibleRange(editor);
+                editor.putUserData(VISIBLE_RANGE_KEY, visibleRange);
+                var application = ApplicationManager.getApplication();
+                if (application.isDispatchThread()) {
+                    visibleRange.install();
+                } else {
+                    application.invokeLater(visibleRange::install);
+                }
+            }
+            return visibleRange;
+        }
+    }
+
+    private void install() {
+        if (editor.isDisposed()) {
+            return;
+        }
+        EditorUtil.disposeWithEditor(editor, this);
+        editor.getScrollingModel().addVisibleAreaListener(this, this);
+        update();
+    }
+
+    @Override
+    public void dispose() {
+        visibleLines = null;
+    }
+
+    @Override
+    public void visibleAreaChanged(@NotNull VisibleAreaEvent e) {
+        update();
+    }
+
+    private void update() {
+        Rectangle visibleArea = editor.getScrollingModel().getVisibleArea();
+        if (visibleArea.isEmpty()) {
+            // The editor is not displayed
+            return;
+        }
+        int start = editor.xyToLogicalPosition(visibleArea.getLocation()).line;
+        int end = editor.xyToLogicalPosition(new Point(visibleArea.x, visibleArea.y + visibleArea.height)).line;
+        visibleLines = new VisibleLines(start, end);
+    }
+
+    @Nullable
+    private TextRange toTextRange() {
+        if (editor.isDisposed()) {
+            return null;
+        }
+        Document document = editor.getDocument();
+        int lineCount = document.getLineCount();
+        if (lineCount == 0) {
+            return null;
+        }
+        VisibleLines lines = visibleLines;
+        if (lines == null) {
+            // The visible lines are not computed yet, use the lines around the caret
+            int caretLine = document.getLineNumber(Math.min(editor.getCaretModel().getOffset(), document.getTextLength()));
+            lines = new VisibleLines(Math.max(caretLine - CARET_MARGIN_LINES, 0), caretLine + CARET_MARGIN_LINES);
+        } else if (lines.endLine() < lines.startLine()) {
+            return null;
+        }
+        int start = lines.startLine();
+        int end = lines.endLine();
+        // The visible lines are converted with the current content of the document, which can have changed since they have been computed.
+        int startOffset = document.getLineStartOffset(Math.min(start, lineCount - 1));
+        int endOffset = document.getLineEndOffset(Math.min(end, lineCount - 1));
+        return new TextRange(startOffset, endOffset);
+    }
+}
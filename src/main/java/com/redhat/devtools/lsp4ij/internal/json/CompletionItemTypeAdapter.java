@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Gson type adapter which decodes a {@link CompletionItem} in one streaming pass.
+ * <p>
+ * The default lsp4j adapter of the {@link CompletionItem#getTextEdit()} field parses the text edit
+ * into a {@link JsonElement} tree before converting it to a {@link TextEdit} / {@link InsertReplaceEdit}.
+ * With completion lists of several thousands of items, those intermediate trees
+ * are a large part of the allocations of the response decoding. This adapter reads the text edit properties directly.
+ * </p>
+ * <p>
+ * The {@link CompletionItem#getData()} is kept as raw {@link JsonElement}, like lsp4j does, to send it back
+ * as is with 'completionItem/resolve'.
+ * </p>
+ */
+@ApiStatus.Internal
+public class CompletionItemTypeAdapter extends TypeAdapter<CompletionItem> {
+
+    /**
+     * Factory which creates the adapter for the {@link CompletionItem} type.
+     */
+    public static class Factory implements TypeAdapterFactory {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != CompletionItem.class) {
+                return null;
+            }
+            var delegate = gson.getDelegateAdapter(this, (TypeToken<CompletionItem>) type);
+            return (TypeAdapter<T>) new CompletionItemTypeAdapter(gson, delegate);
+        }
+    }
+
+    private static final TypeToken<List<CompletionItemTag>> TAGS_TYPE = new TypeToken<>() {
+    };
+    private static final TypeToken<Either<String, MarkupContent>> DOCUMENTATION_TYPE = new TypeToken<>() {
+    };
+    private static final TypeToken<List<TextEdit>> TEXT_EDITS_TYPE = new TypeToken<>() {
+    };
+    private static final TypeToken<List<String>> STRINGS_TYPE = new TypeToken<>() {
+    };
+
+    private final TypeAdapter<CompletionItem> delegate;
+    private final TypeAdapter<CompletionItemLabelDetails> labelDetailsAdapter;
+    private final TypeAdapter<CompletionItemKind> kindAdapter;
+    private final TypeAdapter<List<CompletionItemTag>> tagsAdapter;
+    private final TypeAdapter<Either<String, MarkupContent>> documentationAdapter;
+    private final TypeAdapter<InsertTextFormat> insertTextFormatAdapter;
+    private final TypeAdapter<InsertTextMode> insertTextModeAdapter;
+    private final TypeAdapter<Range> rangeAdapter;
+    private final TypeAdapter<List<TextEdit>> textEditsAdapter;
+    private final TypeAdapter<List<String>> stringsAdapter;
+    private final TypeAdapter<Command> commandAdapter;
+    private final TypeAdapter<JsonElement> jsonElementAdapter;
+
+    private CompletionItemTypeAdapter(Gson gson, TypeAdapter<CompletionItem> delegate) {
+        this.delegate = delegate;
+        this.labelDetailsAdapter = gson.getAdapter(CompletionItemLabelDetails.class);
+        this.kindAdapter = gson.getAdapter(CompletionItemKind.class);
+        this.tagsAdapter = gson.getAdapter(TAGS_TYPE);
+        this.documentationAdapter = gson.getAdapter(DOCUMENTATION_TYPE);
+        this.insertTextFormatAdapter = gson.getAdapter(InsertTextFormat.class);
+        this.insertTextModeAdapter = gson.getAdapter(InsertTextMode.class);
+        this.rangeAdapter = gson.getAdapter(Range.class);
+        this.textEditsAdapter = gson.getAdapter(TEXT_EDITS_TYPE);
+        this.stringsAdapter = gson.getAdapter(STRINGS_TYPE);
+        this.commandAdapter = gson.getAdapter(Command.class);
+        this.jsonElementAdapter = gson.getAdapter(JsonElement.class);
+    }
+
+    @Override
+    public CompletionItem read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        var item = new CompletionItem();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "label" -> item.setLabel(in.nextString());
+                case "labelDetails" -> item.setLabelDetails(labelDetailsAdapter.read(in));
+                case "kind" -> item.setKind(kindAdapter.read(in));
+                case "tags" -> item.setTags(tagsAdapter.read(in));
+                case "detail" -> item.setDetail(in.nextString());
+                case "documentation" -> item.setDocumentation(documentationAdapter.read(in));
+                case "deprecated" -> item.setDeprecated(in.nextBoolean());
+                case "preselect" -> item.setPreselect(in.nextBoolean());
+                case "sortText" -> item.setSortText(in.nextString());
+                case "filterText" -> item.setFilterText(in.nextString());
+                case "insertText" -> item.setInsertText(in.nextString());
+                case "insertTextFormat" -> item.setInsertTextFormat(insertTextFormatAdapter.read(in));
+                case "insertTextMode" -> item.setInsertTextMode(insertTextModeAdapter.read(in));
+                case "textEdit" -> item.setTextEdit(readTextEdit(in));
+                case "textEditText" -> item.setTextEditText(in.nextString());
+                case "additionalTextEdits" -> item.setAdditionalTextEdits(textEditsAdapter.read(in));
+                case "commitCharacters" -> item.setCommitCharacters(stringsAdapter.read(in));
+                case "command" -> item.setCommand(commandAdapter.read(in));
+                case "data" -> item.setData(jsonElementAdapter.read(in));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return item;
+    }
+
+    private Either<TextEdit, InsertReplaceEdit> readTextEdit(JsonReader in) throws IOException {
+        String newText = null;
+        Range range = null;
+        Range insert = null;
+        Range replace = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "newText" -> newText = in.peek() != JsonToken.NULL ? in.nextString() : nextNull(in);
+                case "range" -> range = rangeAdapter.read(in);
+                case "insert" -> insert = rangeAdapter.read(in);
+                case "replace" -> replace = rangeAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (range == null && (insert != null || replace != null)) {
+            var edit = new InsertReplaceEdit();
+            edit.setNewText(newText);
+            edit.setInsert(insert);
+            edit.setReplace(replace);
+            return Either.forRight(edit);
+        }
+        var edit = new TextEdit();
+        edit.setNewText(newText);
+        edit.setRange(range);
+        return Either.forLeft(edit);
+    }
+
+    private static String nextNull(JsonReader in) throws IOException {
+        in.nextNull();
+        return null;
+    }
+
+    @Override
+    public void write(JsonWriter out, CompletionItem value) throws IOException {
+        delegate.write(out, value);
+    }
+}
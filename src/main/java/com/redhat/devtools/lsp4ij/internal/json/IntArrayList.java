@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable {@link List} of integers backed by an <code>int[]</code>.
+ * <p>
+ * This list is used to decode the LSP integer arrays (ex: semantic tokens data) without boxing each integer.
+ * The integers should be read with {@link #getInt(int)} or {@link #toIntArray(List)}.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] data;
+
+    public IntArrayList(int @NotNull [] data) {
+        this.data = data;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * Returns the integer at the given index.
+     *
+     * @param index the index.
+     * @return the integer at the given index.
+     */
+    public int getInt(int index) {
+        return data[index];
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Returns the integers of the given list as an array.
+     * <p>
+     * When the list is an {@link IntArrayList}, the returned array is the backing array of the list
+     * and must not be modified.
+     * </p>
+     *
+     * @param list the list of integers.
+     * @return the integers of the given list as an array.
+     */
+    public static int @NotNull [] toIntArray(@NotNull List<Integer> list) {
+        if (list instanceof IntArrayList intList) {
+            return intList.data;
+        }
+        int[] result = new int[list.size()];
+        int i = 0;
+        for (Integer value : list) {
+            result[i++] = value != null ? value : 0;
+        }
+        return result;
+    }
+}
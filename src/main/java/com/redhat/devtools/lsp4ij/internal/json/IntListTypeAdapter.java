@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gson type adapter which decodes a JSON array of integers (ex: semantic tokens data)
+ * directly into an {@link IntArrayList}, without boxing each integer.
+ * <p>
+ * The decoded list is unmodifiable and doesn't support null elements, so this adapter is not registered
+ * for all <code>List&lt;Integer&gt;</code> but used only for the semantic tokens data
+ * (see {@link SemanticTokensTypeAdapter} and {@link SemanticTokensEditTypeAdapter}).
+ * </p>
+ */
+@ApiStatus.Internal
+public class IntListTypeAdapter extends TypeAdapter<List<Integer>> {
+
+    @Override
+    public List<Integer> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int[] data = new int[64];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = in.nextInt();
+        }
+        in.endArray();
+        return new IntArrayList(size == data.length ? data : Arrays.copyOf(data, size));
+    }
+
+    @Override
+    public void write(JsonWriter out, List<Integer> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (Integer data : value) {
+            out.value(data);
+        }
+        out.endArray();
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+
+/**
+ * Gson type adapters used to decode large LSP responses (semantic tokens, completion)
+ * with less allocations than the default lsp4j adapters.
+ */
+@ApiStatus.Internal
+public class LSPTypeAdapters {
+
+    private static volatile Gson gson;
+
+    private LSPTypeAdapters() {
+    }
+
+    /**
+     * Returns a Gson instance configured like the Gson of the lsp4j message handler, used to decode
+     * the LSP values which are received as JSON (ex : the partial results notified with '$/progress').
+     *
+     * @return a Gson instance configured like the Gson of the lsp4j message handler.
+     */
+    @NotNull
+    public static Gson getGson() {
+        Gson result = gson;
+        if (result == null) {
+            result = new MessageJsonHandler(Collections.emptyMap(), LSPTypeAdapters::configure).getGson();
+            gson = result;
+        }
+        return result;
+    }
+
+    /**
+     * Registers the LSP4IJ type adapters in the given Gson builder.
+     * <p>
+     * The adapters are registered after the lsp4j adapters and take precedence over them.
+     * </p>
+     *
+     * @param builder the Gson builder used by the lsp4j message handler.
+     */
+    public static void configure(@NotNull GsonBuilder builder) {
+        builder.registerTypeAdapterFactory(new SemanticTokensTypeAdapter.Factory());
+        builder.registerTypeAdapterFactory(new SemanticTokensEditTypeAdapter.Factory());
+        builder.registerTypeAdapterFactory(new CompletionItemTypeAdapter.Factory());
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+
+/**
+ * Gson type adapter which decodes a {@link SemanticTokensEdit} (of a 'textDocument/semanticTokens/full/delta' result)
+ * with its {@link SemanticTokensEdit#getData()} decoded by {@link IntListTypeAdapter}.
+ */
+@ApiStatus.Internal
+public class SemanticTokensEditTypeAdapter extends TypeAdapter<SemanticTokensEdit> {
+
+    /**
+     * Factory which creates the adapter for the {@link SemanticTokensEdit} type.
+     */
+    public static class Factory implements TypeAdapterFactory {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != SemanticTokensEdit.class) {
+                return null;
+            }
+            var delegate = gson.getDelegateAdapter(this, (TypeToken<SemanticTokensEdit>) type);
+            return (TypeAdapter<T>) new SemanticTokensEditTypeAdapter(delegate);
+        }
+    }
+
+    private final TypeAdapter<SemanticTokensEdit> delegate;
+    private final IntListTypeAdapter dataAdapter = new IntListTypeAdapter();
+
+    private SemanticTokensEditTypeAdapter(TypeAdapter<SemanticTokensEdit> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SemanticTokensEdit read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        var edit = new SemanticTokensEdit();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "start" -> edit.setStart(in.nextInt());
+                case "deleteCount" -> edit.setDeleteCount(in.nextInt());
+                case "data" -> edit.setData(dataAdapter.read(in));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return edit;
+    }
+
+    @Override
+    public void write(JsonWriter out, SemanticTokensEdit value) throws IOException {
+        delegate.write(out, value);
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+
+/**
+ * Gson type adapter which decodes a {@link SemanticTokens} with its {@link SemanticTokens#getData()}
+ * decoded by {@link IntListTypeAdapter}.
+ */
+@ApiStatus.Internal
+public class SemanticTokensTypeAdapter extends TypeAdapter<SemanticTokens> {
+
+    /**
+     * Factory which creates the adapter for the {@link SemanticTokens} type.
+     */
+    public static class Factory implements TypeAdapterFactory {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != SemanticTokens.class) {
+                return null;
+            }
+            var delegate = gson.getDelegateAdapter(this, (TypeToken<SemanticTokens>) type);
+            return (TypeAdapter<T>) new SemanticTokensTypeAdapter(delegate);
+        }
+    }
+
+    private final TypeAdapter<SemanticTokens> delegate;
+    private final IntListTypeAdapter dataAdapter = new IntListTypeAdapter();
+
+    private SemanticTokensTypeAdapter(TypeAdapter<SemanticTokens> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SemanticTokens read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        var tokens = new SemanticTokens();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "resultId" -> tokens.setResultId(in.nextString());
+                case "data" -> tokens.setData(dataAdapter.read(in));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return tokens;
+    }
+
+    @Override
+    public void write(JsonWriter out, SemanticTokens value) throws IOException {
+        delegate.write(out, value);
+    }
+}
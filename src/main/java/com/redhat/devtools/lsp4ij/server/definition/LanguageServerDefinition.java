@@ -28,6 +28,7 @@ import com.redhat.devtools.lsp4ij.LanguageServerEnablementSupport;
 import com.redhat.devtools.lsp4ij.LanguageServerFactory;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.DefaultSemanticTokensColorsProvider;
 import com.redhat.devtools.lsp4ij.features.semanticTokens.SemanticTokensColorsProvider;
+import com.redhat.devtools.lsp4ij.internal.json.LSPTypeAdapters;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.NotNull;
@@ -182,8 +183,21 @@ public abstract class LanguageServerDefinition implements LanguageServerFactory,
         return languageIdFileNameMatcherMappings;
     }
 
+    /**
+     * Returns the lsp4j launcher builder used to connect the language server.
+     * <p>
+     * The default builder registers Gson type adapters which decode large responses (semantic tokens data,
+     * completion items) in a streaming way. A subclass which configures Gson with
+     * {@link Launcher.Builder#configureGson(java.util.function.Consumer)} should call
+     * {@link LSPTypeAdapters#configure(com.google.gson.GsonBuilder)} to keep them.
+     * </p>
+     *
+     * @param <S> the language server interface.
+     * @return the lsp4j launcher builder used to connect the language server.
+     */
     public <S extends LanguageServer> Launcher.Builder<S> createLauncherBuilder() {
-        return new Launcher.Builder<>();
+        return new Launcher.Builder<S>()
+                .configureGson(LSPTypeAdapters::configure);
     }
 
     public boolean supportsCurrentEditMode(@NotNull Project project) {
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.Test;
+
+import static com.redhat.devtools.lsp4ij.DocumentContentSynchronizer.mergeChangeEvents;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link DocumentContentSynchronizer#mergeChangeEvents(TextDocumentContentChangeEvent, TextDocumentContentChangeEvent)}.
+ */
+public class DocumentContentSynchronizer_mergeChangeEventsTest {
+
+    @Test
+    public void typing() {
+        // 'a' then 'b' then 'c' typed at 0:5
+        var merged = mergeChangeEvents(event(0, 5, 0, 5, "a"), event(0, 6, 0, 6, "b"));
+        assertChangeEvent(merged, 0, 5, 0, 5, "ab");
+        merged = mergeChangeEvents(merged, event(0, 7, 0, 7, "c"));
+        assertChangeEvent(merged, 0, 5, 0, 5, "abc");
+    }
+
+    @Test
+    public void backspace() {
+        var merged = mergeChangeEvents(event(0, 5, 0, 6, ""), event(0, 4, 0, 5, ""));
+        assertChangeEvent(merged, 0, 4, 0, 6, "");
+    }
+
+    @Test
+    public void delete() {
+        var merged = mergeChangeEvents(event(0, 5, 0, 6, ""), event(0, 5, 0, 6, ""));
+        assertChangeEvent(merged, 0, 5, 0, 7, "");
+    }
+
+    @Test
+    public void typingThenBackspace() {
+        var merged = mergeChangeEvents(event(0, 5, 0, 5, "ab"), event(0, 6, 0, 7, ""));
+        assertChangeEvent(merged, 0, 5, 0, 5, "a");
+    }
+
+    @Test
+    public void replaceOverPreviousText() {
+        // 'foo' replaced 0:2-0:4, then 'XY' replaces 0:1-0:6 (covers 'foo' and one character after it)
+        var merged = mergeChangeEvents(event(0, 2, 0, 4, "foo"), event(0, 1, 0, 6, "XY"));
+        assertChangeEvent(merged, 0, 1, 0, 5, "XY");
+    }
+
+    @Test
+    public void notAdjacent() {
+        assertNull(mergeChangeEvents(event(0, 5, 0, 5, "a"), event(0, 10, 0, 10, "b")));
+        assertNull(mergeChangeEvents(event(0, 5, 0, 5, "a"), event(0, 1, 0, 2, "b")));
+    }
+
+    @Test
+    public void differentLines() {
+        assertNull(mergeChangeEvents(event(0, 5, 0, 5, "a"), event(1, 6, 1, 6, "b")));
+    }
+
+    @Test
+    public void lineBreak() {
+        assertNull(mergeChangeEvents(event(0, 5, 0, 5, "a"), event(0, 6, 0, 6, "\n")));
+        assertNull(mergeChangeEvents(event(0, 5, 1, 0, ""), event(0, 5, 0, 5, "b")));
+    }
+
+    @Test
+    public void fullText() {
+        var full = new TextDocumentContentChangeEvent("foo");
+        assertNull(mergeChangeEvents(full, event(0, 0, 0, 0, "b")));
+        assertNull(mergeChangeEvents(event(0, 0, 0, 0, "b"), full));
+    }
+
+    private static TextDocumentContentChangeEvent event(int startLine, int startCharacter,
+                                                        int endLine, int endCharacter,
+                                                        String text) {
+        var event = new TextDocumentContentChangeEvent(new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)), text);
+        event.setRangeLength(endCharacter - startCharacter);
+        return event;
+    }
+
+    private static void assertChangeEvent(TextDocumentContentChangeEvent actual,
+                                          int startLine, int startCharacter,
+                                          int endLine, int endCharacter,
+                                          String text) {
+        var expected = event(startLine, startCharacter, endLine, endCharacter, text);
+        assertEquals(expected, actual);
+    }
+}
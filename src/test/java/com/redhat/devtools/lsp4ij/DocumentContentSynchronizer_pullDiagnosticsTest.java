@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.ui.UIUtil;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the LSP 'textDocument/diagnostic' requests consumed for the documents synchronized by {@link DocumentContentSynchronizer}.
+ */
+public class DocumentContentSynchronizer_pullDiagnosticsTest extends LSPCodeInsightFixtureTestCase {
+
+    private LanguageServerItem languageServer;
+
+    public DocumentContentSynchronizer_pullDiagnosticsTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (languageServer != null) {
+            languageServer.getServerCapabilities().setDiagnosticProvider(null);
+        }
+        super.tearDown();
+    }
+
+    public void testDiagnosticsArePulledWhenConnectedFileIsOpened() throws Exception {
+        PsiFile file = myFixture.addFileToProject("test.ts", "foo");
+        String fileUri = LSPIJUtils.toUriAsString(file.getVirtualFile());
+        long diagnosticRequestsStart = getDiagnosticRequests(fileUri);
+        // The file is connected to the language server without being opened in an editor
+        languageServer = getLanguageServer(file);
+        languageServer.getServerCapabilities().setDiagnosticProvider(new DiagnosticRegistrationOptions());
+        LanguageServerWrapper serverWrapper = languageServer.getServerWrapper();
+        LSPVirtualFileData data = serverWrapper.getLSPVirtualFileData(LSPIJUtils.toUri(file.getVirtualFile()));
+        assertNotNull(data);
+        data.getSynchronizer().didOpenFuture.get(5000, TimeUnit.MILLISECONDS);
+        // Wait for the notifications sent with the dispatcher after the didOpen
+        serverWrapper.sendNotificationAndWaitForWrite(ls -> {}).get(5000, TimeUnit.MILLISECONDS);
+        assertEquals(diagnosticRequestsStart, getDiagnosticRequests(fileUri));
+
+        myFixture.openFileInEditor(file.getVirtualFile());
+
+        long end = System.currentTimeMillis() + 5000;
+        while (getDiagnosticRequests(fileUri) == diagnosticRequestsStart && System.currentTimeMillis() < end) {
+            UIUtil.dispatchAllInvocationEvents();
+            Thread.sleep(50);
+        }
+        assertEquals(diagnosticRequestsStart + 1, getDiagnosticRequests(fileUri));
+    }
+
+    private static long getDiagnosticRequests(String fileUri) {
+        return MockLanguageServer.INSTANCE.getDiagnosticRequests()
+                .stream()
+                .filter(fileUri::equals)
+                .count();
+    }
+
+    private LanguageServerItem getLanguageServer(PsiFile file) {
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+}
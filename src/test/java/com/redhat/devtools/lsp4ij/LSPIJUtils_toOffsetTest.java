@@ -10,14 +10,20 @@
  ******************************************************************************/
 package com.redhat.devtools.lsp4ij;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.impl.DocumentImpl;
 import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.redhat.devtools.lsp4ij.internal.DocumentPositionIndex;
 import org.eclipse.lsp4j.Position;
 
+import java.util.List;
+
 import static com.redhat.devtools.lsp4ij.LSP4IJAssert.assertOffset;
 import static com.redhat.devtools.lsp4ij.LSPIJUtils.toOffset;
+import static com.redhat.devtools.lsp4ij.LSPIJUtils.toOffsets;
 import static com.redhat.devtools.lsp4ij.LSPIJUtils.toPosition;
+import static com.redhat.devtools.lsp4ij.LSPIJUtils.toPositions;
 
 /**
  * Tests for {@link LSPIJUtils#toOffset(Position, Document)}.
@@ -125,6 +131,47 @@ public class LSPIJUtils_toOffsetTest extends BasePlatformTestCase {
         assertEquals(new Position(1, 5), toPosition(6, document));
     }
 
+    public void testBatchConversion() {
+        String str = "ABCDE\nFGHIJ\nKLMNO\n";
+        var document = new DocumentImpl(str);
+        var positions = List.of(new Position(0, 0), new Position(1, 2), new Position(2, 999999), new Position(999999, 0), new Position(-1, 0));
+        int[] offsets = toOffsets(positions, document);
+        assertEquals(5, offsets.length);
+        assertEquals(0, offsets[0]);
+        assertEquals(8, offsets[1]);
+        assertEquals(17, offsets[2]);
+        assertEquals(18, offsets[3]);
+        assertEquals(0, offsets[4]);
+
+        var actualPositions = toPositions(new int[]{0, 8, 17, 18, 999}, document);
+        assertEquals(List.of(new Position(0, 0), new Position(1, 2), new Position(2, 5), new Position(3, 0), new Position(3, 0)), actualPositions);
+    }
+
+    public void testConversionAfterDocumentChange() {
+        var document = new DocumentImpl("foo\nbar");
+        // The bulk conversion builds the position index of the document
+        assertEquals(5, toOffsets(List.of(new Position(1, 1)), document)[0]);
+        assertEquals(5, toOffset(new Position(1, 1), document));
+        ApplicationManager.getApplication().runWriteAction(() -> document.insertString(0, "ab\n"));
+        assertEquals(4, toOffset(new Position(1, 1), document));
+        assertEquals(new Position(2, 1), toPosition(8, document));
+    }
+
+    public void testSingleConversionDoesNotBuildPositionIndex() {
+        var document = new DocumentImpl("foo\nbar");
+        toOffset(new Position(1, 1), document);
+        toPosition(5, document);
+        assertNull(DocumentPositionIndex.getIfUpToDate(document));
+
+        toPositions(new int[]{5}, document);
+        assertNotNull(DocumentPositionIndex.getIfUpToDate(document));
+
+        // The index is not rebuilt by the single conversions of the next document version
+        ApplicationManager.getApplication().runWriteAction(() -> document.insertString(0, "ab\n"));
+        assertEquals(new Position(2, 1), toPosition(8, document));
+        assertNull(DocumentPositionIndex.getIfUpToDate(document));
+    }
+
     public void test_vscode_invalidPosition() {
         // See https://github.com/microsoft/vscode-languageserver-node/blob/8e625564b531da607859b8cb982abb7cdb2fbe2e/textDocument/src/test/textdocument.test.ts#L101
         String str = "Hello World";
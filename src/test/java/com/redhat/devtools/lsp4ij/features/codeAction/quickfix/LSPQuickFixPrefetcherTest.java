@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.codeAction.quickfix;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link LSPQuickFixPrefetcher} and for the reuse of the LSP 'textDocument/codeAction' request
+ * by {@link LSPLazyCodeActions}.
+ */
+public class LSPQuickFixPrefetcherTest extends LSPCodeInsightFixtureTestCase {
+
+    private PsiFile file;
+    private LanguageServerItem languageServer;
+
+    public LSPQuickFixPrefetcherTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = myFixture.configureByText("test.ts", "foo\nbar\nbaz\n");
+        languageServer = getLanguageServer(file);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        MockLanguageServer.INSTANCE.setCodeActionError(null);
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(0);
+        super.tearDown();
+    }
+
+    public void testRequestIsReusedForTheSameDocumentVersion() {
+        var actions = createLazyCodeActions(0);
+        var request = actions.getOrCreateCodeActionsRequest();
+        assertSame(request, actions.getOrCreateCodeActionsRequest());
+        assertSame(request, actions.prefetchCodeActions());
+    }
+
+    public void testRequestIsCreatedAgainWhenDocumentChanges() {
+        var actions = createLazyCodeActions(0);
+        var request = actions.getOrCreateCodeActionsRequest();
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> myFixture.getEditor().getDocument().insertString(0, " "));
+
+        assertNotSame(request, actions.getOrCreateCodeActionsRequest());
+    }
+
+    public void testRequestIsCreatedAgainWhenCanceled() {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(1000);
+        var actions = createLazyCodeActions(0);
+        var request = actions.getOrCreateCodeActionsRequest();
+        request.cancel(true);
+
+        var newRequest = actions.getOrCreateCodeActionsRequest();
+        assertNotSame(request, newRequest);
+        assertFalse(newRequest.isCancelled());
+    }
+
+    public void testRequestIsCreatedAgainWhenFailed() throws Exception {
+        MockLanguageServer.INSTANCE.setCodeActionError(new IllegalStateException("Code action error"));
+        var actions = createLazyCodeActions(0);
+        var request = actions.getOrCreateCodeActionsRequest();
+        waitForDone(request);
+        assertTrue(request.isCompletedExceptionally());
+
+        MockLanguageServer.INSTANCE.setCodeActionError(null);
+        var newRequest = actions.getOrCreateCodeActionsRequest();
+        assertNotSame(request, newRequest);
+        waitForDone(newRequest);
+        assertFalse(newRequest.isCompletedExceptionally());
+    }
+
+    public void testPrefetchSendsAtMostMaxConcurrentRequests() throws Exception {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(1000);
+        List<LSPLazyCodeActions> actions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            actions.add(createLazyCodeActions(i % 3));
+        }
+        var prefetcher = createPrefetcher();
+        int codeActionRequests = MockLanguageServer.INSTANCE.getTextDocumentService().codeActionRequests;
+
+        prefetcher.prefetch(actions);
+        assertEquals(3, prefetcher.getRunningRequestCount());
+
+        // The pending actions are loaded when the running requests are completed
+        long end = System.currentTimeMillis() + 10000;
+        while (prefetcher.getRunningRequestCount() > 0 && System.currentTimeMillis() < end) {
+            assertTrue(prefetcher.getRunningRequestCount() <= 3);
+            Thread.sleep(50);
+        }
+        assertEquals(0, prefetcher.getRunningRequestCount());
+        assertEquals(codeActionRequests + 5, MockLanguageServer.INSTANCE.getTextDocumentService().codeActionRequests);
+    }
+
+    public void testScrollCancelsPrefetchRequests() {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(1000);
+        var visible = createLazyCodeActions(0);
+        var prefetcher = createPrefetcher();
+        prefetcher.prefetch(List.of(visible));
+        var request = visible.prefetchCodeActions();
+        assertFalse(request.isDone());
+
+        // The diagnostic is not visible anymore
+        prefetcher.prefetch(List.of(createLazyCodeActions(2)));
+
+        assertTrue(request.isCancelled());
+    }
+
+    public void testScrollDoesNotCancelRequestUsedByQuickFixes() throws Exception {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(1000);
+        var visible = createLazyCodeActions(0);
+        var prefetcher = createPrefetcher();
+        prefetcher.prefetch(List.of(visible));
+        var request = visible.prefetchCodeActions();
+        // The quick fixes menu waits for the request started by the prefetch
+        assertSame(request, visible.getOrCreateCodeActionsRequest());
+
+        // The diagnostic is not visible anymore
+        prefetcher.prefetch(List.of(createLazyCodeActions(2)));
+
+        assertFalse(request.isCancelled());
+        waitForDone(request);
+        assertFalse(request.isCompletedExceptionally());
+    }
+
+    private LSPQuickFixPrefetcher createPrefetcher() {
+        var prefetcher = new LSPQuickFixPrefetcher(myFixture.getEditor(), getProject());
+        Disposer.register(getTestRootDisposable(), prefetcher);
+        return prefetcher;
+    }
+
+    private LSPLazyCodeActions createLazyCodeActions(int line) {
+        var diagnostic = new Diagnostic(new Range(new Position(line, 0), new Position(line, 3)), "Error at line " + line);
+        return new LSPLazyCodeActions(List.of(diagnostic), file.getVirtualFile(), languageServer);
+    }
+
+    private Project getProject() {
+        return myFixture.getProject();
+    }
+
+    private static void waitForDone(CompletableFuture<?> future) throws Exception {
+        future.handle((result, error) -> null).get(5000, TimeUnit.MILLISECONDS);
+    }
+
+    private LanguageServerItem getLanguageServer(PsiFile file) {
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.codeLens;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.internal.CancellationSupport;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.CodeLens;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the LSP 'codeLens/resolve' requests sent by {@link CodeLensResolveScheduler}.
+ */
+public class CodeLensResolveSchedulerTest extends LSPCodeInsightFixtureTestCase {
+
+    private static final int CODE_LENS_COUNT = 10;
+
+    private CodeLensResolveScheduler scheduler;
+    private final List<CodeLensData> codeLenses = new ArrayList<>();
+    private int resolvedCodeLensesStart;
+
+    public CodeLensResolveSchedulerTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PsiFile file = myFixture.configureByText("test.ts", "foo\n".repeat(CODE_LENS_COUNT));
+        scheduler = new CodeLensResolveScheduler(getLanguageServer(file), new CancellationSupport());
+        for (int line = 0; line < CODE_LENS_COUNT; line++) {
+            codeLenses.add(scheduler.createCodeLensData(new CodeLens(new Range(new Position(line, 0), new Position(line, 3)))));
+        }
+        // The language server is slow to resolve code lenses
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(500);
+        resolvedCodeLensesStart = MockLanguageServer.INSTANCE.getResolvedCodeLenses().size();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        codeLenses.forEach(data -> data.resolvedCodeLensFuture().cancel(true));
+        codeLenses.clear();
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(0);
+        super.tearDown();
+    }
+
+    public void testVisibleCodeLensesAreResolvedFirst() {
+        scheduler.schedule(6, 7);
+
+        // The code lenses of the visible lines, then the closest code lenses
+        assertEquals(4, scheduler.getRunningRequestCount());
+        assertSameElements(getResolvedCodeLenses(), 5, 6, 7, 8);
+    }
+
+    public void testConcurrentRequestsAreBounded() throws Exception {
+        scheduler.schedule(0, 1);
+
+        long end = System.currentTimeMillis() + 10000;
+        while (getResolvedCodeLenses().size() < CODE_LENS_COUNT && System.currentTimeMillis() < end) {
+            assertTrue(scheduler.getRunningRequestCount() <= 4);
+            Thread.sleep(50);
+        }
+        // Each code lens is resolved once
+        assertSameElements(getResolvedCodeLenses(), 0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    public void testAtMostOneRefreshIsPending() throws Exception {
+        scheduler.schedule(6, 7);
+
+        var refresh = scheduler.registerRefresh(List.of(codeLenses.get(6).resolvedCodeLensFuture()));
+        assertNotNull(refresh);
+        // A refresh is already pending
+        assertNull(scheduler.registerRefresh(List.of(codeLenses.get(7).resolvedCodeLensFuture())));
+
+        refresh.get(5000, TimeUnit.MILLISECONDS);
+        // The refresh is done, a new refresh can be registered
+        var nextRefresh = scheduler.registerRefresh(List.of(codeLenses.get(0).resolvedCodeLensFuture()));
+        assertNotNull(nextRefresh);
+        assertNotSame(refresh, nextRefresh);
+    }
+
+    public void testOffScreenCodeLensesAreRefreshedOnce() throws Exception {
+        scheduler.schedule(0, 1);
+
+        var refresh = scheduler.registerRefresh(List.of());
+        assertNotNull(refresh);
+        // The code visions are not refreshed after each batch of requests of the code lenses which are not visible
+        assertNull(scheduler.registerRefresh(List.of()));
+
+        refresh.get(10000, TimeUnit.MILLISECONDS);
+        // The refresh is done when all code lenses are resolved
+        assertTrue(codeLenses.stream().allMatch(data -> data.resolvedCodeLensFuture().isDone()));
+        assertNull(scheduler.registerRefresh(List.of()));
+    }
+
+    public void testVisibleRefreshIsNotDelayedByOffScreenRefresh() {
+        scheduler.schedule(0, 1);
+
+        assertNotNull(scheduler.registerRefresh(List.of()));
+        // The code lenses of the new visible area are refreshed before all code lenses are resolved
+        assertNotNull(scheduler.registerRefresh(List.of(codeLenses.get(9).resolvedCodeLensFuture())));
+    }
+
+    private List<Integer> getResolvedCodeLenses() {
+        var resolvedCodeLenses = MockLanguageServer.INSTANCE.getResolvedCodeLenses();
+        return resolvedCodeLenses.subList(resolvedCodeLensesStart, resolvedCodeLenses.size());
+    }
+
+    private LanguageServerItem getLanguageServer(PsiFile file) {
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+}
@@ -242,8 +242,49 @@ public class CompletionItemComparatorTest {
         assertSortOrder(mutableItems, fooItem, foItem, bazItem, fiItem, feItem, fumItem, barItem);
     }
 
+    // Sort with precomputed sort keys tests
+
+    @Test
+    public void forEachSortedWithFirstPage() {
+        for (boolean caseSensitive : new boolean[]{false, true}) {
+            var comparators = List.of(
+                    new LSPCompletionItemComparator(null, null, caseSensitive),
+                    new LSPCompletionItemComparator(createPrefixMatcher("f", caseSensitive), null, caseSensitive),
+                    new LSPCompletionItemComparator(createPrefixMatcher("F", caseSensitive), null, caseSensitive),
+                    new LSPCompletionItemComparator(null, fumItem.getLabel(), caseSensitive),
+                    new LSPCompletionItemComparator(createPrefixMatcher(foItem.getLabel(), caseSensitive), fooItem.getLabel(), caseSensitive));
+            for (var comparator : comparators) {
+                List<CompletionItem> expectedItems = new ArrayList<>(items);
+                expectedItems.sort(comparator);
+                // The whole list, a first page and a first page larger than the list must give the same order
+                for (int firstPageSize : new int[]{0, 1, 3, 100}) {
+                    assertSortOrder(forEachSorted(comparator, items, firstPageSize), expectedItems.toArray(new CompletionItem[0]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void forEachSortedIsStable() {
+        var item1 = newItem("same", "1");
+        var item2 = newItem("same", "1");
+        var item3 = newItem("same", "1");
+        assertSortOrder(forEachSorted(caseInsensitiveComparator, List.of(item3, two, item1, item2, one), 2), one, item3, item1, item2, two);
+    }
+
     // Test utilities
 
+    private static List<CompletionItem> forEachSorted(@NotNull LSPCompletionItemComparator comparator,
+                                                      @NotNull List<CompletionItem> items,
+                                                      int firstPageSize) {
+        List<CompletionItem> sortedItems = new ArrayList<>();
+        comparator.forEachSorted(items, firstPageSize, (item, position) -> {
+            assertEquals(sortedItems.size(), position);
+            sortedItems.add(item);
+        });
+        return sortedItems;
+    }
+
     private static CompletionItem newItem(@Nullable String label, @Nullable String sortText) {
         CompletionItem item = new CompletionItem(label);
         item.setSortText(sortText);
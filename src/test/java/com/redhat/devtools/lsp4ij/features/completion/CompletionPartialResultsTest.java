@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.google.gson.JsonParser;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemDefaults;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link CompletionPartialResults}: merge of the completion items streamed with '$/progress'
+ * notifications and of the final result of the 'textDocument/completion' request.
+ */
+public class CompletionPartialResultsTest extends LSPCodeInsightFixtureTestCase {
+
+    public CompletionPartialResultsTest() {
+        super("*.ts");
+    }
+
+    public void testBatchesAreAvailableWhenReceived() {
+        var partialResults = new CompletionPartialResults();
+        var handler = partialResults.createHandler(getLanguageServer(), 0);
+
+        handler.accept(JsonParser.parseString("[{\"label\": \"a\"}]"));
+        handler.accept(JsonParser.parseString("[]"));
+        handler.accept(JsonParser.parseString("[{\"label\": \"b\"}, {\"label\": \"c\"}]"));
+
+        // Empty batches are ignored
+        assertSize(2, partialResults.getBatches(0));
+        var batches = partialResults.getBatches(1);
+        assertSize(1, batches);
+        assertEquals(List.of("b", "c"), getLabels(batches.get(0).completion()));
+        assertEmpty(partialResults.getBatches(2));
+    }
+
+    public void testMergeWithoutPartialResults() {
+        var partialResults = new CompletionPartialResults();
+        var handler = partialResults.createHandler(getLanguageServer(), 0);
+
+        Either<List<CompletionItem>, CompletionList> result = Either.forLeft(List.of(new CompletionItem("a")));
+        assertSame(result, handler.merge(result));
+        assertNull(handler.merge(null));
+    }
+
+    public void testMergeListBatchesWithFinalList() {
+        var partialResults = new CompletionPartialResults();
+        var handler = partialResults.createHandler(getLanguageServer(), 0);
+
+        handler.accept(JsonParser.parseString("[{\"label\": \"a\"}]"));
+        handler.accept(JsonParser.parseString("[{\"label\": \"b\"}]"));
+
+        var merged = handler.merge(Either.forLeft(List.of(new CompletionItem("c"))));
+        assertNotNull(merged);
+        assertTrue(merged.isLeft());
+        assertEquals(List.of("a", "b", "c"), getLabels(merged));
+    }
+
+    public void testNextBatchesInheritItemDefaultsOfFirstCompletionList() {
+        var partialResults = new CompletionPartialResults();
+        var handler = partialResults.createHandler(getLanguageServer(), 0);
+
+        // The first partial result is a CompletionList, the next ones are added to its items
+        handler.accept(JsonParser.parseString("""
+                {
+                  "isIncomplete": true,
+                  "itemDefaults": {
+                    "commitCharacters": ["."]
+                  },
+                  "items": [{"label": "a"}]
+                }"""));
+        handler.accept(JsonParser.parseString("[{\"label\": \"b\"}]"));
+
+        var batches = partialResults.getBatches(0);
+        assertSize(2, batches);
+        for (var batch : batches) {
+            var completion = batch.completion();
+            assertTrue(completion.isRight());
+            assertTrue(completion.getRight().isIncomplete());
+            assertEquals(List.of("."), completion.getRight().getItemDefaults().getCommitCharacters());
+        }
+        assertEquals(List.of("b"), getLabels(batches.get(1).completion()));
+
+        // The final result is merged with the items defaults of the first partial result
+        var merged = handler.merge(Either.forLeft(List.of(new CompletionItem("c"))));
+        assertNotNull(merged);
+        assertTrue(merged.isRight());
+        assertTrue(merged.getRight().isIncomplete());
+        assertEquals(List.of("."), merged.getRight().getItemDefaults().getCommitCharacters());
+        assertEquals(List.of("a", "b", "c"), getLabels(merged));
+    }
+
+    public void testMergeListBatchesWithFinalCompletionList() {
+        var partialResults = new CompletionPartialResults();
+        var handler = partialResults.createHandler(getLanguageServer(), 0);
+
+        handler.accept(JsonParser.parseString("[{\"label\": \"a\"}]"));
+
+        var itemDefaults = new CompletionItemDefaults();
+        itemDefaults.setCommitCharacters(List.of("("));
+        var merged = handler.merge(Either.forRight(new CompletionList(true, List.of(new CompletionItem("b")), itemDefaults)));
+        assertNotNull(merged);
+        assertTrue(merged.isRight());
+        assertTrue(merged.getRight().isIncomplete());
+        assertEquals(List.of("("), merged.getRight().getItemDefaults().getCommitCharacters());
+        assertEquals(List.of("a", "b"), getLabels(merged));
+    }
+
+    private LanguageServerItem getLanguageServer() {
+        PsiFile file = myFixture.configureByText("test.ts", "");
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+
+    private static List<String> getLabels(Either<List<CompletionItem>, CompletionList> completion) {
+        var items = completion.isLeft() ? completion.getLeft() : completion.getRight().getItems();
+        return items.stream()
+                .map(CompletionItem::getLabel)
+                .toList();
+    }
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.ui.UIUtil;
+import com.redhat.devtools.lsp4ij.JSONUtils;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.client.features.LSPCompletionProposal;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionOptions;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the LSP 'completionItem/resolve' requests sent by {@link LSPCompletionResolvePrefetcher}
+ * and cached by {@link LSPCompletionSupport}: a completion item is resolved once per completion session.
+ */
+public class CompletionResolveTest extends LSPCodeInsightFixtureTestCase {
+
+    private static final String COMPLETION_LIST = """
+            {
+              "isIncomplete": false,
+              "items": [
+                {
+                  "label": "foo",
+                  "kind": 6
+                },
+                {
+                  "label": "fooBar",
+                  "kind": 6
+                },
+                {
+                  "label": "fizz",
+                  "kind": 6
+                }
+              ]
+            }""";
+
+    private static final String FILLED_COMPLETION_LIST = """
+            {
+              "isIncomplete": false,
+              "items": [
+                {
+                  "label": "foo",
+                  "kind": 6
+                },
+                {
+                  "label": "fooBar",
+                  "kind": 6,
+                  "detail": "fooBar detail",
+                  "documentation": "fooBar documentation",
+                  "additionalTextEdits": [
+                    {
+                      "range": {
+                        "start": { "line": 0, "character": 0 },
+                        "end": { "line": 0, "character": 0 }
+                      },
+                      "newText": "import fooBar;"
+                    }
+                  ]
+                }
+              ]
+            }""";
+
+    private int resolvedItemsStart;
+
+    public CompletionResolveTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(0);
+        super.tearDown();
+    }
+
+    public void testItemIsResolvedOncePerSession() {
+        openEditor("f", 200);
+        myFixture.completeBasic();
+        var proposals = getProposals();
+        assertSize(3, proposals);
+
+        // The prefetch resolves the top items of the lookup
+        waitFor(() -> getResolvedItems().size() == 3);
+        assertSameElements(getResolvedItems(), "foo", "fooBar", "fizz");
+
+        // The documentation rendering reuses the resolved completion items
+        for (var proposal : proposals) {
+            assertFalse(proposal.needToResolveCompletionItem());
+            assertTrue(proposal.resolveCompletionItem().isDone());
+        }
+        assertSize(3, getResolvedItems());
+
+        // The completion session is reused while the word is typed, the completion items are not resolved again
+        myFixture.getLookup().hideLookup(true);
+        myFixture.type("o");
+        myFixture.completeBasic();
+        var newProposals = getProposals();
+        assertSize(2, newProposals);
+        for (var proposal : newProposals) {
+            assertTrue(proposal.resolveCompletionItem().isDone());
+        }
+
+        // The insert handling reuses the resolved completion item
+        myFixture.selectItem(ContainerUtil.find(myFixture.getLookupElements(), element -> "foo".equals(element.getLookupString())));
+        assertEquals("foo", myFixture.getEditor().getDocument().getText());
+        assertSameElements(getResolvedItems(), "foo", "fooBar", "fizz");
+    }
+
+    public void testResolveIsCanceledWhenLookupIsClosed() {
+        // The language server is slow to resolve completion items
+        openEditor("f", 1000);
+        myFixture.completeBasic();
+        var proposals = getProposals();
+        assertSize(3, proposals);
+
+        LSPCompletionProposal selected = proposals.get(0);
+        waitFor(() -> !selected.needToResolveCompletionItem());
+        assertFalse(selected.resolveCompletionItem().isDone());
+
+        myFixture.getLookup().hideLookup(true);
+
+        // The running 'completionItem/resolve' requests are canceled, they are sent again if needed
+        assertTrue(selected.needToResolveCompletionItem());
+    }
+
+    public void testFilledItemIsNotResolved() {
+        openEditor("f", 200, FILLED_COMPLETION_LIST);
+        myFixture.completeBasic();
+        var proposals = getProposals();
+        assertSize(2, proposals);
+
+        waitFor(() -> getResolvedItems().size() == 1);
+        // The detail, documentation and additional text edits of 'fooBar' are filled, the resolve is useless
+        assertEquals(List.of("foo"), getResolvedItems());
+        LSPCompletionProposal fooBar = ContainerUtil.find(proposals, proposal -> "fooBar".equals(proposal.getLookupString()));
+        assertNotNull(fooBar);
+        assertFalse(fooBar.needToResolveCompletionItem());
+    }
+
+    private void openEditor(String text, long delay) {
+        openEditor(text, delay, COMPLETION_LIST);
+    }
+
+    private void openEditor(String text, long delay, String completionList) {
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(delay);
+        MockLanguageServer.INSTANCE.setCompletionList(JSONUtils.getLsp4jGson().fromJson(completionList, CompletionList.class));
+        MockLanguageServer.INSTANCE.setCompletionItem(JSONUtils.getLsp4jGson().fromJson("""
+                {
+                  "label": "foo",
+                  "kind": 6,
+                  "detail": "resolved detail"
+                }""", CompletionItem.class));
+        PsiFile file = myFixture.configureByText("test.ts", text + "<caret>");
+
+        // Enable completion item resolution
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        languageServer.getServerCapabilities().setCompletionProvider(new CompletionOptions(true, null));
+        resolvedItemsStart = MockLanguageServer.INSTANCE.getResolvedCompletionItems().size();
+    }
+
+    private List<LSPCompletionProposal> getProposals() {
+        LookupElement[] lookupElements = myFixture.getLookupElements();
+        assertNotNull("Completion elements should be not null", lookupElements);
+        return Stream.of(lookupElements)
+                .map(LookupElement::getObject)
+                .filter(LSPCompletionProposal.class::isInstance)
+                .map(LSPCompletionProposal.class::cast)
+                .toList();
+    }
+
+    private List<String> getResolvedItems() {
+        var resolvedItems = MockLanguageServer.INSTANCE.getResolvedCompletionItems();
+        return resolvedItems.subList(resolvedItemsStart, resolvedItems.size());
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            // The prefetch is triggered by the lookup events
+            UIUtil.dispatchAllInvocationEvents();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
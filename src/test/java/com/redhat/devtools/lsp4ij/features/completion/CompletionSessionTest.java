@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.openapi.actionSystem.IdeActions;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCompletionFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the completion session of {@link LSPCompletionSupport}: a complete completion list is reused
+ * while the user types the word where the completion has been triggered.
+ */
+public class CompletionSessionTest extends LSPCompletionFixtureTestCase {
+
+    private static final String COMPLETE_LIST = """
+            {
+              "isIncomplete": false,
+              "items": [
+                {
+                  "label": "foo",
+                  "kind": 6
+                },
+                {
+                  "label": "fooBar",
+                  "kind": 6
+                },
+                {
+                  "label": "fizz",
+                  "kind": 6
+                }
+              ]
+            }""";
+
+    public CompletionSessionTest() {
+        super("*.ts");
+    }
+
+    public void testCompletionListIsReusedWhenPrefixGrows() {
+        assertCompletion("test.ts", "f<caret>", COMPLETE_LIST, "foo", "fooBar", "fizz");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        myFixture.type("oo");
+        myFixture.completeBasic();
+
+        // The completion list is filtered on client side with the new prefix
+        assertEquals(completionRequests, getCompletionRequestCount());
+        assertLookupStrings("foo", "fooBar");
+    }
+
+    public void testCompletionListIsReusedAfterBackspaceInTheSession() {
+        assertCompletion("test.ts", "f<caret>", COMPLETE_LIST, "foo", "fooBar", "fizz");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        myFixture.type("oo");
+        myFixture.performEditorAction(IdeActions.ACTION_EDITOR_BACKSPACE);
+        myFixture.completeBasic();
+
+        // The prefix 'fo' starts with the prefix 'f' of the session
+        assertEquals(completionRequests, getCompletionRequestCount());
+        assertLookupStrings("foo", "fooBar");
+    }
+
+    public void testCompletionListIsRequestedAgainWhenPrefixIsShorter() {
+        assertCompletion("test.ts", "fo<caret>", COMPLETE_LIST, "foo", "fooBar");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        myFixture.performEditorAction(IdeActions.ACTION_EDITOR_BACKSPACE);
+        myFixture.completeBasic();
+
+        // The language server could have filtered some completion items with the prefix 'fo'
+        assertEquals(completionRequests + 1, getCompletionRequestCount());
+        assertLookupStrings("foo", "fooBar", "fizz");
+    }
+
+    public void testCompletionListIsRequestedAgainWhenWordChanges() {
+        assertCompletion("test.ts", "f<caret>", COMPLETE_LIST, "foo", "fooBar", "fizz");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        myFixture.type(" f");
+        myFixture.completeBasic();
+
+        // The completion is triggered for a new word
+        assertEquals(completionRequests + 1, getCompletionRequestCount());
+    }
+
+    public void testCompletionListIsRequestedAgainWhenTextBeforeWordIsEdited() {
+        assertCompletion("test.ts", "a f<caret>", COMPLETE_LIST, "foo", "fooBar", "fizz");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        // Edit the text before the word and type in the word
+        int offset = myFixture.getCaretOffset();
+        myFixture.getEditor().getCaretModel().moveToOffset(0);
+        myFixture.type("b");
+        myFixture.getEditor().getCaretModel().moveToOffset(offset + 1);
+        myFixture.type("o");
+        myFixture.completeBasic();
+
+        assertEquals(completionRequests + 1, getCompletionRequestCount());
+    }
+
+    public void testIncompleteCompletionListIsRequestedAgain() {
+        assertCompletion("test.ts", "f<caret>", COMPLETE_LIST.replace("\"isIncomplete\": false", "\"isIncomplete\": true"),
+                "foo", "fooBar", "fizz");
+        int completionRequests = getCompletionRequestCount();
+
+        hideLookup();
+        myFixture.type("o");
+        myFixture.completeBasic();
+
+        // The language server must be queried again when the word changes
+        assertEquals(completionRequests + 1, getCompletionRequestCount());
+    }
+
+    private void hideLookup() {
+        if (myFixture.getLookup() != null) {
+            myFixture.getLookup().hideLookup(true);
+        }
+    }
+
+    private void assertLookupStrings(String... expectedItems) {
+        LookupElement[] lookupElements = myFixture.getLookupElements();
+        assertNotNull("Completion elements should be not null", lookupElements);
+        var actualItems = Stream.of(lookupElements)
+                .map(LookupElement::getLookupString)
+                .sorted()
+                .toList();
+        assertEquals(Stream.of(expectedItems).sorted().toList(), actualItems);
+    }
+
+    private static int getCompletionRequestCount() {
+        List<String> receivedMessages = MockLanguageServer.INSTANCE.getReceivedMessages();
+        return (int) receivedMessages.stream()
+                .filter("textDocument/completion"::equals)
+                .count();
+    }
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion;
+
+import com.redhat.devtools.lsp4ij.fixtures.LSPCompletionFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+
+/**
+ * Test that the pending 'textDocument/didChange' notification is received by the language server
+ * before the 'textDocument/completion' request which depends on the document content.
+ */
+public class DidChangeBeforeCompletionTest extends LSPCompletionFixtureTestCase {
+
+    public DidChangeBeforeCompletionTest() {
+        super("*.ts");
+    }
+
+    public void testDidChangeIsReceivedBeforeCompletion() {
+        // 1. Open the editor and trigger a first completion (didOpen is sent)
+        assertCompletion("test.ts",
+                "f<caret>", """
+                        [
+                          {
+                            "label": "foo",
+                            "kind": 6
+                          },
+                          {
+                            "label": "fooBar",
+                            "kind": 6
+                          }
+                        ]"""
+                ,
+                "foo", "fooBar");
+        if (myFixture.getLookup() != null) {
+            myFixture.getLookup().hideLookup(true);
+        }
+
+        // 2. Update the document and trigger the completion immediately
+        myFixture.type("o");
+        myFixture.completeBasic();
+
+        // 3. The didChange must have been received before the completion
+        var receivedMessages = MockLanguageServer.INSTANCE.getReceivedMessages();
+        int lastCompletion = receivedMessages.lastIndexOf("textDocument/completion");
+        int lastDidChange = receivedMessages.lastIndexOf("textDocument/didChange");
+        assertTrue("'textDocument/completion' should be received", lastCompletion != -1);
+        assertTrue("'textDocument/didChange' should be received", lastDidChange != -1);
+        assertTrue("'textDocument/didChange' should be received before 'textDocument/completion' but was " + receivedMessages,
+                lastDidChange < lastCompletion);
+    }
+}
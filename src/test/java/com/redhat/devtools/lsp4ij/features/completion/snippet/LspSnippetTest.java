@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat Inc. and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache License, Version 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.completion.snippet;
+
+import com.redhat.devtools.lsp4ij.features.completion.snippet.handler.LspSnippetHandlerImpl;
+import com.redhat.devtools.lsp4ij.features.completion.snippet.handler.LspSnippetNode;
+import org.junit.Test;
+
+import static com.redhat.devtools.lsp4ij.features.completion.snippet.LspSnippetAssert.*;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link LspSnippet}.
+ */
+public class LspSnippetTest {
+
+    @Test
+    public void replaySnippet() {
+        String snippet = "for (${1:i} = 0; ${1:i} < ${2|length,size|}; ${1:i}++) {\n\t${TM_SELECTED_TEXT}$0\n}";
+        LspSnippetNode[] actual = replay(snippet);
+        assertEquals(actual, LspSnippetAssert.parse(snippet));
+    }
+
+    @Test
+    public void replaySnippetTwice() {
+        String snippet = "${1:name}(${2:args})$0";
+        replay(snippet);
+        LspSnippetNode[] actual = replay(snippet);
+        assertEquals(actual, placeholder(1, "name", 1),
+                text("("),
+                placeholder(2, "args", 1),
+                text(")"),
+                tabstop(0));
+    }
+
+    @Test
+    public void cachedSnippet() {
+        assertSame(LspSnippet.parse("${1:foo}$0"), LspSnippet.parse(new String("${1:foo}$0")));
+        assertNotSame(LspSnippet.parse("${1:foo}$0"), LspSnippet.parse("${1:bar}$0"));
+    }
+
+    private static LspSnippetNode[] replay(String snippet) {
+        LspSnippetHandlerImpl handler = new LspSnippetHandlerImpl();
+        LspSnippet.parse(snippet).accept(handler);
+        return handler.getNodes();
+    }
+}
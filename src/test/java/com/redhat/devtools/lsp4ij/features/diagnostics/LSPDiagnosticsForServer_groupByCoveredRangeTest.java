@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link LSPDiagnosticsForServer#groupByCoveredRange(List)}.
+ */
+public class LSPDiagnosticsForServer_groupByCoveredRangeTest {
+
+    @Test
+    public void coveredDiagnostics() {
+        var inner = diagnostic("inner", 1, 5, 1, 8);
+        var outer = diagnostic("outer", 1, 0, 3, 0);
+        var sameRange = diagnostic("same range", 1, 0, 3, 0);
+        var other = diagnostic("other", 5, 0, 5, 2);
+
+        var groups = group(inner, other, outer, sameRange);
+
+        assertEquals(2, groups.size());
+        // The covering diagnostic is the first diagnostic of the group
+        assertEquals(List.of(outer, sameRange, inner), groups.get(0).diagnostics());
+        assertEquals(List.of(other), groups.get(1).diagnostics());
+    }
+
+    @Test
+    public void overlappingDiagnostics() {
+        var first = diagnostic("first", 0, 0, 0, 10);
+        var second = diagnostic("second", 0, 5, 0, 15);
+        var coveredByBoth = diagnostic("covered by both", 0, 6, 0, 8);
+        var coveredBySecond = diagnostic("covered by second", 0, 12, 0, 14);
+
+        var groups = group(coveredBySecond, second, coveredByBoth, first);
+
+        assertEquals(2, groups.size());
+        // A diagnostic covered by several groups belongs to the first group
+        assertEquals(List.of(first, coveredByBoth), groups.get(0).diagnostics());
+        assertEquals(List.of(second, coveredBySecond), groups.get(1).diagnostics());
+    }
+
+    @Test
+    public void manyDiagnostics() {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (int line = 0; line < 10000; line++) {
+            diagnostics.add(diagnostic("word", line, 4, line, 8));
+            diagnostics.add(diagnostic("line", line, 0, line, 20));
+        }
+
+        var groups = group(diagnostics.toArray(new Diagnostic[0]));
+
+        assertEquals(10000, groups.size());
+        assertEquals("line", groups.get(42).diagnostics().get(0).getMessage());
+        assertEquals("word", groups.get(42).diagnostics().get(1).getMessage());
+    }
+
+    private static List<LSPDiagnosticsForServer.DiagnosticGroup> group(Diagnostic... diagnostics) {
+        List<Diagnostic> sortedDiagnostics = new ArrayList<>(List.of(diagnostics));
+        sortedDiagnostics.sort(LSPDiagnosticsForServer.DIAGNOSTIC_COMPARATOR);
+        return LSPDiagnosticsForServer.groupByCoveredRange(sortedDiagnostics);
+    }
+
+    private static Diagnostic diagnostic(String message, int startLine, int startCharacter, int endLine, int endCharacter) {
+        return new Diagnostic(new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)), message);
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.diagnostics;
+
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WorkspaceDiagnosticsStore}.
+ */
+public class WorkspaceDiagnosticsStoreTest {
+
+    private static final String URI_1 = "file:///project/a.ts";
+    private static final String URI_2 = "file:///project/b.ts";
+
+    @Test
+    public void packAndUnpack() {
+        var error = new Diagnostic(new Range(new Position(1, 2), new Position(3, 4)), "Unknown type", DiagnosticSeverity.Error, "ts", "2304");
+        var warning = new Diagnostic(new Range(new Position(5, 0), new Position(5, 10)), "Unused variable", DiagnosticSeverity.Warning, "ts");
+        warning.setCode(Either.forRight(6133));
+        warning.setTags(List.of(DiagnosticTag.Unnecessary));
+        var hint = new Diagnostic(new Range(new Position(7, 1), new Position(7, 2)), "Deprecated");
+        hint.setTags(List.of(DiagnosticTag.Deprecated));
+
+        var store = new WorkspaceDiagnosticsStore();
+        store.update(URI_1, List.of(error, warning, hint), "1");
+
+        assertEquals(List.of(error, warning, hint), store.getDiagnostics(URI_1));
+        assertEquals("1", store.getResultId(URI_1));
+        assertEquals(3, store.getDiagnosticCount());
+        assertEquals(Set.of(URI_1), store.getFileUris());
+    }
+
+    @Test
+    public void internMessages() {
+        var store = new WorkspaceDiagnosticsStore();
+        store.update(URI_1, List.of(new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), new String("Missing semicolon"))), null);
+        store.update(URI_2, List.of(new Diagnostic(new Range(new Position(1, 0), new Position(1, 1)), new String("Missing semicolon"))), null);
+
+        assertSame(store.getDiagnostics(URI_1).get(0).getMessage(), store.getDiagnostics(URI_2).get(0).getMessage());
+    }
+
+    @Test
+    public void unchangedReport() {
+        var diagnostic = new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), "Error");
+        var store = new WorkspaceDiagnosticsStore();
+        store.update(URI_1, List.of(diagnostic), "1");
+        store.updateResultId(URI_1, "2");
+        store.updateResultId(URI_2, "3");
+
+        assertEquals(List.of(diagnostic), store.getDiagnostics(URI_1));
+        assertEquals("2", store.getResultId(URI_1));
+        assertEquals(List.of(), store.getDiagnostics(URI_2));
+        assertEquals(Set.of(URI_1), store.getFileUris());
+        assertEquals(Set.of(new PreviousResultId(URI_1, "2"), new PreviousResultId(URI_2, "3")), Set.copyOf(store.getPreviousResultIds()));
+    }
+
+    @Test
+    public void hasErrors() {
+        var range = new Range(new Position(0, 0), new Position(0, 1));
+        var store = new WorkspaceDiagnosticsStore();
+        store.update(URI_1, List.of(new Diagnostic(range, "Warning", DiagnosticSeverity.Warning, "ts"),
+                new Diagnostic(range, "Error", DiagnosticSeverity.Error, "ts")), null);
+        store.update(URI_2, List.of(new Diagnostic(range, "Warning", DiagnosticSeverity.Warning, "ts")), null);
+
+        assertTrue(store.hasErrors(URI_1));
+        assertFalse(store.hasErrors(URI_2));
+        assertFalse(store.hasErrors("file:///project/c.ts"));
+
+        // A diagnostic without severity is an error
+        store.update(URI_2, List.of(new Diagnostic(range, "Error")), null);
+        assertTrue(store.hasErrors(URI_2));
+    }
+
+    @Test
+    public void removeEmptyReport() {
+        var store = new WorkspaceDiagnosticsStore();
+        store.update(URI_1, List.of(new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), "Error")), null);
+        store.update(URI_1, List.of(), null);
+
+        assertEquals(0, store.getDiagnosticCount());
+        assertNull(store.getResultId(URI_1));
+        assertTrue(store.getPreviousResultIds().isEmpty());
+    }
+}
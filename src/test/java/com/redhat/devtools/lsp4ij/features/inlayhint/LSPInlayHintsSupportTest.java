@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.inlayhint;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import org.eclipse.lsp4j.InlayHintRegistrationOptions;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the tiles of inlay hints loaded by {@link LSPInlayHintsSupport}.
+ */
+public class LSPInlayHintsSupportTest extends LSPCodeInsightFixtureTestCase {
+
+    // 5 tiles of 200 lines
+    private static final int LINE_COUNT = 1000;
+
+    private Document document;
+    private LanguageServerItem languageServer;
+    private LSPInlayHintsSupport inlayHintsSupport;
+    private int inlayHintRequestsStart;
+
+    public LSPInlayHintsSupportTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PsiFile file = myFixture.configureByText("test.ts", "foo\n".repeat(LINE_COUNT - 1) + "foo");
+        document = myFixture.getEditor().getDocument();
+        languageServer = getLanguageServer(file);
+        languageServer.getServerCapabilities().setInlayHintProvider(true);
+        // A new support to start without the tiles of the other tests
+        inlayHintsSupport = new LSPInlayHintsSupport(file);
+        inlayHintRequestsStart = MockLanguageServer.INSTANCE.getInlayHintRequests().size();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        inlayHintsSupport.cancel();
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(0);
+        languageServer.getServerCapabilities().setInlayHintProvider((Either<Boolean, InlayHintRegistrationOptions>) null);
+        super.tearDown();
+    }
+
+    public void testTilesAreReused() throws Exception {
+        List<InlayHintsTile> tiles = inlayHintsSupport.getInlayHintsTiles(document, 0, 10);
+        assertSize(1, tiles);
+        List<InlayHintData> inlayHints = tiles.get(0).inlayHintsFuture().get(5000, TimeUnit.MILLISECONDS);
+        assertSize(1, inlayHints);
+
+        // Other lines of the same tile
+        assertSame(tiles.get(0), inlayHintsSupport.getInlayHintsTiles(document, 50, 60).get(0));
+        assertEquals(List.of(0), getInlayHintRequests());
+    }
+
+    public void testTilesModifiedOrShiftedByEditAreReloaded() throws Exception {
+        List<InlayHintsTile> tiles = inlayHintsSupport.getInlayHintsTiles(document, 0, LINE_COUNT - 1);
+        assertSize(5, tiles);
+        waitFor(tiles);
+
+        // Insert a line in the second tile, the lines of the next tiles are shifted
+        WriteCommandAction.runWriteCommandAction(myFixture.getProject(),
+                () -> document.insertString(document.getLineStartOffset(250), "bar\n"));
+
+        List<InlayHintsTile> newTiles = inlayHintsSupport.getInlayHintsTiles(document, 0, LINE_COUNT);
+        assertSize(6, newTiles);
+        // The first tile is not modified, its inlay hints are reused
+        assertSame(tiles.get(0).inlayHintsFuture(), newTiles.get(0).inlayHintsFuture());
+        assertTrue(newTiles.get(0).snapshot().isCurrent());
+        for (int i = 1; i < tiles.size(); i++) {
+            assertNotSame(tiles.get(i).inlayHintsFuture(), newTiles.get(i).inlayHintsFuture());
+            // The inlay hints of the previous version are rendered until the tile is loaded again
+            assertNotNull(newTiles.get(i).getLastResult());
+        }
+        waitFor(newTiles);
+        assertEquals(List.of(0, 200, 200, 400, 400, 600, 600, 800, 800, 1000), getInlayHintRequests());
+    }
+
+    public void testOffScreenTilesAreLoadedProgressively() throws Exception {
+        waitFor(inlayHintsSupport.getInlayHintsTiles(document, 0, 10));
+        // The language server is slow to return inlay hints
+        MockLanguageServer.INSTANCE.setTimeToProceedQueries(500);
+
+        inlayHintsSupport.loadOffScreenInlayHintsTiles(document, 0, 10);
+        // The closest tiles are loading
+        assertEquals(List.of(0, 200, 400), getCachedTileStartLines());
+
+        // At most 2 tiles outside the visible area are loading at the same time
+        inlayHintsSupport.loadOffScreenInlayHintsTiles(document, 0, 10);
+        assertEquals(List.of(0, 200, 400), getCachedTileStartLines());
+
+        waitFor(inlayHintsSupport.getCachedInlayHintsTiles());
+        inlayHintsSupport.loadOffScreenInlayHintsTiles(document, 0, 10);
+        assertEquals(List.of(0, 200, 400, 600, 800), getCachedTileStartLines());
+
+        // All tiles are loaded, each tile is loaded once
+        waitFor(inlayHintsSupport.getCachedInlayHintsTiles());
+        inlayHintsSupport.loadOffScreenInlayHintsTiles(document, 0, 10);
+        assertEquals(List.of(0, 200, 400, 600, 800), getInlayHintRequests());
+    }
+
+    private List<Integer> getCachedTileStartLines() {
+        return inlayHintsSupport.getCachedInlayHintsTiles()
+                .stream()
+                .map(InlayHintsTile::startLine)
+                .sorted()
+                .toList();
+    }
+
+    private static void waitFor(List<InlayHintsTile> tiles) throws Exception {
+        CompletableFuture.allOf(tiles
+                        .stream()
+                        .map(InlayHintsTile::inlayHintsFuture)
+                        .toArray(CompletableFuture[]::new))
+                .get(5000, TimeUnit.MILLISECONDS);
+    }
+
+    private List<Integer> getInlayHintRequests() {
+        var inlayHintRequests = MockLanguageServer.INSTANCE.getInlayHintRequests();
+        // The requests of the tiles are sent asynchronously
+        List<Integer> startLines = new ArrayList<>(inlayHintRequests.subList(inlayHintRequestsStart, inlayHintRequests.size()));
+        startLines.sort(null);
+        return startLines;
+    }
+
+    private LanguageServerItem getLanguageServer(PsiFile file) {
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+}
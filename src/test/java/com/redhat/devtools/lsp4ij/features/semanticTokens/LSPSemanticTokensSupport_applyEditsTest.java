@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.semanticTokens;
+
+import com.redhat.devtools.lsp4ij.internal.json.IntArrayList;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.redhat.devtools.lsp4ij.features.semanticTokens.LSPSemanticTokensSupport.applyEdits;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link LSPSemanticTokensSupport#applyEdits(List, List)}.
+ */
+public class LSPSemanticTokensSupport_applyEditsTest {
+
+    private static final List<Integer> PREVIOUS = new IntArrayList(new int[]{0, 0, 3, 1, 0, 1, 2, 4, 2, 0, 0, 6, 2, 3, 0});
+
+    @Test
+    public void noEdits() {
+        assertEquals(PREVIOUS, applyEdits(PREVIOUS, List.of()));
+    }
+
+    @Test
+    public void replaceToken() {
+        var data = applyEdits(PREVIOUS, List.of(new SemanticTokensEdit(5, 5, List.of(1, 2, 5, 2, 1))));
+        assertEquals(List.of(0, 0, 3, 1, 0, 1, 2, 5, 2, 1, 0, 6, 2, 3, 0), data);
+    }
+
+    @Test
+    public void insertAndDeleteTokens() {
+        // Edits are not sorted: delete the last token and insert a token at the start
+        var data = applyEdits(PREVIOUS, List.of(
+                new SemanticTokensEdit(10, 5, List.of()),
+                new SemanticTokensEdit(0, 0, List.of(0, 0, 1, 0, 0))));
+        assertEquals(List.of(0, 0, 1, 0, 0, 0, 0, 3, 1, 0, 1, 2, 4, 2, 0), data);
+    }
+
+    @Test
+    public void appendTokens() {
+        var data = applyEdits(PREVIOUS, List.of(new SemanticTokensEdit(15, 0, List.of(1, 0, 2, 1, 0))));
+        assertEquals(List.of(0, 0, 3, 1, 0, 1, 2, 4, 2, 0, 0, 6, 2, 3, 0, 1, 0, 2, 1, 0), data);
+    }
+}
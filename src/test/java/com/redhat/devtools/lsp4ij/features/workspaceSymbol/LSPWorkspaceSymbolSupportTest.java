@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.ui.UIUtil;
+import com.redhat.devtools.lsp4ij.LSPFileSupport;
+import com.redhat.devtools.lsp4ij.LSPIJUtils;
+import com.redhat.devtools.lsp4ij.LSPWorkspaceSupport;
+import com.redhat.devtools.lsp4ij.LanguageServerItem;
+import com.redhat.devtools.lsp4ij.LanguageServiceAccessor;
+import com.redhat.devtools.lsp4ij.fixtures.LSPCodeInsightFixtureTestCase;
+import com.redhat.devtools.lsp4ij.mock.MockLanguageServer;
+import com.redhat.devtools.lsp4ij.mock.MockWorkspaceService;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
+import org.eclipse.lsp4j.WorkspaceSymbolOptions;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tests for the reuse of the complete 'workspace/symbol' results by {@link LSPWorkspaceSymbolSupport}
+ * and for the 'workspaceSymbol/resolve' request consumed by {@link WorkspaceSymbolData}.
+ */
+public class LSPWorkspaceSymbolSupportTest extends LSPCodeInsightFixtureTestCase {
+
+    private PsiFile file;
+    private String fileUri;
+    private LanguageServerItem languageServer;
+    private LSPWorkspaceSymbolSupport workspaceSymbolSupport;
+    private int symbolQueriesStart;
+    private int resolvedSymbolsStart;
+
+    public LSPWorkspaceSymbolSupportTest() {
+        super("*.ts");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = myFixture.configureByText("test.ts", "foo\nbar\n  fooBar\n");
+        fileUri = LSPIJUtils.toUriAsString(file.getVirtualFile());
+        languageServer = getLanguageServer(file);
+        languageServer.getServerCapabilities().setWorkspaceSymbolProvider(Either.forRight(new WorkspaceSymbolOptions(true)));
+        // A new support to start without the complete results of the other tests
+        workspaceSymbolSupport = new LSPWorkspaceSymbolSupport(myFixture.getProject());
+        symbolQueriesStart = getWorkspaceService().getWorkspaceSymbolQueries().size();
+        resolvedSymbolsStart = getWorkspaceService().getResolvedWorkspaceSymbols().size();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        getWorkspaceService().setWorkspaceSymbols(Collections.emptyList());
+        getWorkspaceService().setResolvedWorkspaceSymbol(null);
+        MockLanguageServer.INSTANCE.setDocumentSymbols();
+        languageServer.getServerCapabilities().setWorkspaceSymbolProvider((Either<Boolean, WorkspaceSymbolOptions>) null);
+        super.tearDown();
+    }
+
+    public void testNarrowedQueryIsAnsweredByCompleteResult() throws Exception {
+        getWorkspaceService().setWorkspaceSymbols(List.of(
+                symbol("Foo", 0),
+                symbol("FooBar", 2),
+                symbol("FooBaz", 2)));
+        assertNames(getWorkspaceSymbol("Foo"), "Foo", "FooBar", "FooBaz");
+        assertEquals(List.of("Foo"), getSymbolQueries());
+
+        // Prefix of the query
+        assertNames(getWorkspaceSymbol("FooB"), "FooBar", "FooBaz");
+        // Subsequence of the query
+        assertNames(getWorkspaceSymbol("FooBr"), "FooBar");
+        assertEquals(List.of("Foo"), getSymbolQueries());
+
+        // A query which doesn't contain the query of the complete result is sent to the language server
+        getWorkspaceSymbol("Bar");
+        assertEquals(List.of("Foo", "Bar"), getSymbolQueries());
+    }
+
+    public void testTruncatedResultIsNotReused() throws Exception {
+        List<WorkspaceSymbol> symbols = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            symbols.add(symbol("Foo" + i, 0));
+        }
+        getWorkspaceService().setWorkspaceSymbols(symbols);
+        assertSize(100, getWorkspaceSymbol("Foo"));
+
+        // The language server has probably truncated the result
+        getWorkspaceSymbol("Foo1");
+        assertEquals(List.of("Foo", "Foo1"), getSymbolQueries());
+    }
+
+    public void testCompleteResultExpiresWhenProjectIsModified() throws Exception {
+        getWorkspaceService().setWorkspaceSymbols(List.of(symbol("Foo", 0), symbol("FooBar", 2)));
+        getWorkspaceSymbol("Foo");
+
+        WriteCommandAction.runWriteCommandAction(myFixture.getProject(), () -> {
+            myFixture.getEditor().getDocument().insertString(0, "fooBaz\n");
+            PsiDocumentManager.getInstance(myFixture.getProject()).commitAllDocuments();
+        });
+
+        // The symbols of the complete result can be obsolete
+        getWorkspaceSymbol("FooB");
+        assertEquals(List.of("Foo", "FooB"), getSymbolQueries());
+    }
+
+    public void testNavigationResolvesSymbolLocation() {
+        var unresolved = new WorkspaceSymbol("fooBar", SymbolKind.Function, Either.forRight(new WorkspaceSymbolLocation(fileUri)));
+        getWorkspaceService().setResolvedWorkspaceSymbol(symbol("fooBar", 2));
+        var data = new WorkspaceSymbolData(unresolved, languageServer.getClientFeatures(), myFixture.getProject());
+
+        data.navigate(true);
+
+        // The range of the symbol is resolved when the symbol is navigated
+        waitFor(() -> myFixture.getEditor().getCaretModel().getLogicalPosition().line == 2);
+        assertEquals(List.of("fooBar"), getResolvedSymbols());
+    }
+
+    public void testSymbolIsResolvedAgainWhenResolveFails() {
+        var unresolved = new WorkspaceSymbol("fooBar", SymbolKind.Function, Either.forRight(new WorkspaceSymbolLocation(fileUri)));
+        var data = new WorkspaceSymbolData(unresolved, languageServer.getClientFeatures(), myFixture.getProject());
+
+        // The language server doesn't return the range of the symbol, the file is opened without the range
+        data.navigate(true);
+        waitFor(() -> getResolvedSymbols().size() == 1);
+
+        getWorkspaceService().setResolvedWorkspaceSymbol(symbol("fooBar", 2));
+        data.navigate(true);
+        waitFor(() -> myFixture.getEditor().getCaretModel().getLogicalPosition().line == 2);
+        assertEquals(List.of("fooBar", "fooBar"), getResolvedSymbols());
+    }
+
+    public void testDocumentSymbolsIndexMembersButNotLocals() throws Exception {
+        var local = documentSymbol("localVariable", SymbolKind.Variable, 2, null);
+        var method = documentSymbol("fooMethod", SymbolKind.Method, 1, List.of(local));
+        var typeParameter = documentSymbol("T", SymbolKind.TypeParameter, 0, null);
+        MockLanguageServer.INSTANCE.setDocumentSymbols(documentSymbol("FooClass", SymbolKind.Class, 0, List.of(typeParameter, method)));
+
+        LSPFileSupport.getSupport(file)
+                .getDocumentSymbolSupport()
+                .getDocumentSymbols(new DocumentSymbolParams(new TextDocumentIdentifier(fileUri)))
+                .get(5000, TimeUnit.MILLISECONDS);
+
+        // The class and its members are indexed, not the local symbols of the method
+        var index = LSPWorkspaceSupport.getSupport(myFixture.getProject()).getWorkspaceSymbolSupport().getIndex();
+        assertSize(1, index.findSymbolsByName("FooClass", symbol -> true));
+        assertSize(1, index.findSymbolsByName("fooMethod", symbol -> true));
+        assertEmpty(index.findSymbolsByName("localVariable", symbol -> true));
+        assertEmpty(index.findSymbolsByName("T", symbol -> true));
+    }
+
+    private static DocumentSymbol documentSymbol(String name, SymbolKind kind, int line, List<DocumentSymbol> children) {
+        var range = new Range(new Position(line, 0), new Position(line, name.length()));
+        return new DocumentSymbol(name, kind, range, range, null, children);
+    }
+
+    private List<WorkspaceSymbolData> getWorkspaceSymbol(String query) throws Exception {
+        return workspaceSymbolSupport.getWorkspaceSymbol(new LSPWorkspaceSymbolParams(query)).get(5000, TimeUnit.MILLISECONDS);
+    }
+
+    private WorkspaceSymbol symbol(String name, int line) {
+        var range = new Range(new Position(line, 0), new Position(line, name.length()));
+        return new WorkspaceSymbol(name, SymbolKind.Class, Either.forLeft(new Location(fileUri, range)));
+    }
+
+    private static void assertNames(List<WorkspaceSymbolData> symbols, String... expectedNames) {
+        assertSameElements(symbols.stream().map(WorkspaceSymbolData::getName).toList(), expectedNames);
+    }
+
+    private List<String> getSymbolQueries() {
+        var queries = getWorkspaceService().getWorkspaceSymbolQueries();
+        return queries.subList(symbolQueriesStart, queries.size());
+    }
+
+    private List<String> getResolvedSymbols() {
+        var resolvedSymbols = getWorkspaceService().getResolvedWorkspaceSymbols();
+        return resolvedSymbols.subList(resolvedSymbolsStart, resolvedSymbols.size());
+    }
+
+    private static MockWorkspaceService getWorkspaceService() {
+        return MockLanguageServer.INSTANCE.getWorkspaceService();
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            // The file is opened with invokeLater
+            UIUtil.dispatchAllInvocationEvents();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private LanguageServerItem getLanguageServer(PsiFile file) {
+        List<LanguageServerItem> languageServers = new LinkedList<>();
+        try {
+            ContainerUtil.addAllNotNull(languageServers, LanguageServiceAccessor.getInstance(myFixture.getProject())
+                    .getLanguageServers(file.getVirtualFile(), null, null)
+                    .get(5000, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        LanguageServerItem languageServer = ContainerUtil.getFirstItem(languageServers);
+        assertNotNull(languageServer);
+        return languageServer;
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.features.workspaceSymbol;
+
+import com.redhat.devtools.lsp4ij.client.features.LSPClientFeatures;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WorkspaceSymbolIndex}.
+ */
+public class WorkspaceSymbolIndexTest {
+
+    private static final String URI_1 = "file:///project/a.ts";
+    private static final String URI_2 = "file:///project/b.ts";
+    private static final String URI_3 = "file:///project/c.ts";
+
+    private final LSPClientFeatures clientFeatures = new LSPClientFeatures();
+
+    @Test
+    public void findSymbols() {
+        var fooBar = symbol("FooBar", SymbolKind.Class, URI_1, 0);
+        var fooBaz = symbol("fooBaz", SymbolKind.Function, URI_1, 5);
+        var other = symbol("Other", SymbolKind.Class, URI_2, 0);
+
+        var index = new WorkspaceSymbolIndex();
+        index.addWorkspaceSymbols(clientFeatures, "", List.of(fooBar, fooBaz, other, fooBar), true);
+
+        assertTrue(index.hasWorkspaceSymbols());
+        assertEquals(3, index.size());
+        assertEquals(List.of(fooBar, fooBaz), index.findSymbols("foo", symbol -> true));
+        // Abbreviation
+        assertEquals(List.of(fooBar), index.findSymbols("FBr", symbol -> true));
+        // Qualified pattern with line suffix
+        assertEquals(List.of(fooBar), index.findSymbols("pkg.FoBar:12", symbol -> true));
+        assertEquals(List.of(fooBar, other), index.findSymbols("", symbol -> symbol.kind() == SymbolKind.Class));
+        assertEquals(List.of(), index.findSymbols("xyz", symbol -> true));
+        assertEquals(List.of(fooBaz), index.findSymbolsByName("fooBaz", symbol -> true));
+    }
+
+    @Test
+    public void updateFileSymbols() {
+        var index = new WorkspaceSymbolIndex();
+        index.addWorkspaceSymbols(clientFeatures, "", List.of(symbol("Foo", SymbolKind.Class, URI_1, 0), symbol("Bar", SymbolKind.Class, URI_2, 0)), true);
+        var renamed = symbol("Foo2", SymbolKind.Class, URI_1, 0);
+        index.updateFileSymbols(clientFeatures, URI_1, List.of(renamed));
+
+        assertEquals(List.of(), index.findSymbolsByName("Foo", symbol -> true));
+        assertEquals(List.of(renamed), index.findSymbolsByName("Foo2", symbol -> true));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void completeResultReplacesMatchingSymbols() {
+        var otherClientFeatures = new LSPClientFeatures();
+        var foo = symbol("Foo", SymbolKind.Class, URI_1, 0);
+        var fooRemoved = symbol("FooRemoved", SymbolKind.Class, URI_1, 5);
+        var bar = symbol("Bar", SymbolKind.Class, URI_2, 0);
+        var fooOfOtherServer = new WorkspaceSymbolIndex.Symbol("FooOther", SymbolKind.Class, URI_2, new Position(3, 0), otherClientFeatures);
+
+        var index = new WorkspaceSymbolIndex();
+        index.addWorkspaceSymbols(clientFeatures, "", List.of(foo, fooRemoved, bar), true);
+        index.addWorkspaceSymbols(otherClientFeatures, "", List.of(fooOfOtherServer), true);
+
+        // A truncated result doesn't remove the symbols
+        index.addWorkspaceSymbols(clientFeatures, "foo", List.of(foo), false);
+        assertEquals(List.of(foo, fooRemoved, fooOfOtherServer), index.findSymbols("foo", symbol -> true));
+
+        // A complete result removes the symbols of the language server which match the query and which are not reported anymore
+        index.addWorkspaceSymbols(clientFeatures, "foo", List.of(foo), true);
+        assertEquals(List.of(foo, fooOfOtherServer), index.findSymbols("foo", symbol -> true));
+        assertEquals(List.of(bar), index.findSymbols("bar", symbol -> true));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void completeResultKeepsSymbolsOfOtherFiles() {
+        var foo = symbol("Foo", SymbolKind.Class, URI_1, 0);
+        var fooDocumentSymbol = symbol("foo_impl", SymbolKind.Function, URI_2, 2);
+        var fooOfOtherFile = symbol("FooOther", SymbolKind.Class, URI_3, 0);
+
+        var index = new WorkspaceSymbolIndex();
+        index.updateFileSymbols(clientFeatures, URI_2, List.of(fooDocumentSymbol));
+        index.addWorkspaceSymbols(clientFeatures, "", List.of(foo, fooOfOtherFile), true);
+
+        // The language server matches the query by prefix, the symbols of the other files are kept
+        var prefixMatching = symbol("FooPrefix", SymbolKind.Class, URI_2, 5);
+        index.addWorkspaceSymbols(clientFeatures, "fo", List.of(prefixMatching), true);
+        assertEquals(List.of(fooDocumentSymbol, foo, fooOfOtherFile, prefixMatching), index.findSymbols("fo", symbol -> true));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void movedSymbolReplacesPreviousPosition() {
+        var index = new WorkspaceSymbolIndex();
+        var foo = symbol("Foo", SymbolKind.Class, URI_1, 0);
+        index.addWorkspaceSymbols(clientFeatures, "foo", List.of(foo), false);
+
+        var movedFoo = symbol("Foo", SymbolKind.Class, URI_1, 10);
+        index.addWorkspaceSymbols(clientFeatures, "foo", List.of(movedFoo), false);
+        assertEquals(List.of(movedFoo), index.findSymbolsByName("Foo", symbol -> true));
+
+        // Symbols with the same name reported by the same result (ex : overloaded functions) are kept
+        var overload1 = symbol("foo", SymbolKind.Function, URI_2, 1);
+        var overload2 = symbol("foo", SymbolKind.Function, URI_2, 2);
+        index.addWorkspaceSymbols(clientFeatures, "foo", List.of(overload1, overload2), false);
+        assertEquals(List.of(overload1, overload2), index.findSymbolsByName("foo", symbol -> true));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void removeFileSymbols() {
+        var index = new WorkspaceSymbolIndex();
+        var bar = symbol("Bar", SymbolKind.Class, URI_2, 0);
+        index.addWorkspaceSymbols(clientFeatures, "", List.of(symbol("Foo", SymbolKind.Class, URI_1, 0), bar), true);
+
+        index.removeFileSymbols(URI_1);
+        assertEquals(List.of(), index.findSymbolsByName("Foo", symbol -> true));
+        assertEquals(List.of(bar), index.findSymbols("", symbol -> true));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void evictOldestSymbolsWhenFull() {
+        var index = new WorkspaceSymbolIndex(100);
+        for (int i = 0; i < 100; i++) {
+            index.updateFileSymbols(clientFeatures, "file:///project/file" + i + ".ts",
+                    List.of(symbol("Symbol" + i, SymbolKind.Class, "file:///project/file" + i + ".ts", 0)));
+        }
+        assertEquals(100, index.size());
+
+        // The index is full, the oldest symbols are evicted
+        var newSymbol = symbol("NewSymbol", SymbolKind.Class, URI_1, 0);
+        index.addWorkspaceSymbols(clientFeatures, "new", List.of(newSymbol), false);
+        assertEquals(List.of(newSymbol), index.findSymbolsByName("NewSymbol", symbol -> true));
+        assertEquals(List.of(), index.findSymbolsByName("Symbol0", symbol -> true));
+        assertEquals(1, index.findSymbolsByName("Symbol99", symbol -> true).size());
+        assertTrue(index.size() <= 100);
+
+        // The symbols reported again are not evicted
+        index.updateFileSymbols(clientFeatures, "file:///project/file20.ts",
+                List.of(symbol("Symbol20", SymbolKind.Class, "file:///project/file20.ts", 0)));
+        for (int i = 0; i < 20; i++) {
+            index.addWorkspaceSymbols(clientFeatures, "other", List.of(symbol("Other" + i, SymbolKind.Class, URI_2, i)), false);
+        }
+        assertEquals(1, index.findSymbolsByName("Symbol20", symbol -> true).size());
+        assertTrue(index.size() <= 100);
+    }
+
+    @Test
+    public void compact() {
+        var index = new WorkspaceSymbolIndex();
+        for (int i = 0; i < 5000; i++) {
+            index.updateFileSymbols(clientFeatures, URI_1, List.of(symbol("Symbol" + i, SymbolKind.Class, URI_1, i)));
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.findSymbols("sym", symbol -> true).size());
+        assertEquals(1, index.findSymbolsByName("Symbol4999", symbol -> true).size());
+        assertFalse(index.hasWorkspaceSymbols());
+    }
+
+    @Test
+    public void queryCharacters() {
+        assertEquals("foobar", WorkspaceSymbolIndex.getQueryCharacters("Foo Bar"));
+        assertEquals("bar", WorkspaceSymbolIndex.getQueryCharacters("foo.Bar"));
+        assertEquals("foo", WorkspaceSymbolIndex.getQueryCharacters("*Foo:12"));
+    }
+
+    private WorkspaceSymbolIndex.Symbol symbol(String name, SymbolKind kind, String uri, int line) {
+        return new WorkspaceSymbolIndex.Symbol(name, kind, uri, new Position(line, 0), clientFeatures);
+    }
+}
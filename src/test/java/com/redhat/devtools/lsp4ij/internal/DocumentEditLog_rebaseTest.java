@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.editor.impl.DocumentImpl;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.eclipse.lsp4j.Position;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tests for {@link DocumentEditLog#rebase(int, long, long)}, {@link DocumentEditLog#rebaseUnchangedText(int, int, long, long)}
+ * and {@link DocumentSnapshot}.
+ */
+public class DocumentEditLog_rebaseTest extends BasePlatformTestCase {
+
+    public void testRebase() {
+        var document = new DocumentImpl("foo bar baz");
+        var log = DocumentEditLog.getInstance(document);
+        document.addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                log.documentChanged(event);
+            }
+        }, getTestRootDisposable());
+
+        var snapshot = DocumentSnapshot.create(document);
+        long stamp = document.getModificationStamp();
+        // "foo bar baz" -> "xxfoo bar baz" -> "xxfoo  baz"
+        ApplicationManager.getApplication().runWriteAction(() -> document.insertString(0, "xx"));
+        ApplicationManager.getApplication().runWriteAction(() -> document.deleteString(6, 9));
+        long currentStamp = document.getModificationStamp();
+
+        assertFalse(snapshot.isCurrent());
+        // offset where a text is inserted moves after the inserted text
+        assertEquals(2, log.rebase(0, stamp, currentStamp));
+        // offset at the start of a deleted text doesn't move
+        assertEquals(6, log.rebase(4, stamp, currentStamp));
+        // offset inside a deleted text moves to the start of the deleted text
+        assertEquals(6, log.rebase(5, stamp, currentStamp));
+        // offset after a deleted text moves back
+        assertEquals(7, log.rebase(8, stamp, currentStamp));
+        // unknown version
+        assertEquals(-1, log.rebase(8, -1, currentStamp));
+
+        assertEquals(8, snapshot.toCurrentOffset(new Position(0, 9), null));
+    }
+
+    public void testRebaseUnchangedText() {
+        var document = new DocumentImpl("foo bar baz");
+        var log = DocumentEditLog.getInstance(document);
+        document.addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                log.documentChanged(event);
+            }
+        }, getTestRootDisposable());
+
+        long stamp = document.getModificationStamp();
+        // "foo bar baz" -> "xxfoo bar baz" -> "xxfoo  baz"
+        ApplicationManager.getApplication().runWriteAction(() -> document.insertString(0, "xx"));
+        ApplicationManager.getApplication().runWriteAction(() -> document.deleteString(6, 9));
+        long currentStamp = document.getModificationStamp();
+
+        // 'foo' is touched by the inserted text
+        assertEquals(-1, log.rebaseUnchangedText(0, 3, stamp, currentStamp));
+        // 'bar' is deleted
+        assertEquals(-1, log.rebaseUnchangedText(4, 7, stamp, currentStamp));
+        // 'baz' is moved by the edits
+        assertEquals(7, log.rebaseUnchangedText(8, 11, stamp, currentStamp));
+        // unknown version
+        assertEquals(-1, log.rebaseUnchangedText(8, 11, -1, currentStamp));
+    }
+}
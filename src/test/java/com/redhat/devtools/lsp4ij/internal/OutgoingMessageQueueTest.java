@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal;
+
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link OutgoingMessageQueue}.
+ */
+public class OutgoingMessageQueueTest {
+
+    /**
+     * Executor which runs the writer only when {@link #runAll()} is called.
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return tasks.poll();
+        }
+    }
+
+    @Test
+    public void messagesAreWrittenInEnqueueOrder() throws Exception {
+        var writer = Executors.newSingleThreadExecutor();
+        try {
+            var queue = new OutgoingMessageQueue(writer, e -> fail(e.getMessage()), thread -> true);
+            List<String> written = Collections.synchronizedList(new ArrayList<>());
+            OutgoingMessageQueue.PendingMessage last = null;
+            for (int i = 0; i < 100; i++) {
+                last = queue.enqueue(message("m" + i), message -> written.add(((NotificationMessage) message).getMethod()));
+            }
+            queue.whenWritten(last).get(5, TimeUnit.SECONDS);
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add("m" + i);
+            }
+            assertEquals(expected, written);
+            assertEquals(0, queue.getPendingMessageCount());
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void whenWritten() {
+        var writer = new ManualExecutor();
+        var queue = new OutgoingMessageQueue(writer, e -> fail(e.getMessage()), thread -> true);
+        List<String> written = new ArrayList<>();
+
+        var first = queue.enqueue(message("first"), message -> written.add("first"));
+        var second = queue.enqueue(message("second"), message -> written.add("second"));
+        var firstWritten = queue.whenWritten(first);
+        var secondWritten = queue.whenWritten(second);
+        assertFalse(firstWritten.isDone());
+        assertFalse(secondWritten.isDone());
+        assertEquals(2, queue.getPendingMessageCount());
+
+        writer.runAll();
+        assertTrue(firstWritten.isDone());
+        assertTrue(secondWritten.isDone());
+        assertEquals(List.of("first", "second"), written);
+        // The message is already written
+        assertTrue(queue.whenWritten(first).isDone());
+    }
+
+    @Test
+    public void whenWrittenIsCompletedWhenWriteFails() {
+        var writer = new ManualExecutor();
+        List<Throwable> errors = new ArrayList<>();
+        var queue = new OutgoingMessageQueue(writer, errors::add, thread -> true);
+
+        var pending = queue.enqueue(message("failed"), message -> {
+            throw new IllegalStateException("closed stream");
+        });
+        var future = queue.whenWritten(pending);
+        writer.runAll();
+
+        assertTrue(future.isDone());
+        assertEquals(1, errors.size());
+        assertEquals(0, queue.getPendingMessageCount());
+    }
+
+    @Test
+    public void waitForWriterWhenQueueIsFull() throws Exception {
+        var writer = new ManualExecutor();
+        var queue = new OutgoingMessageQueue(writer, e -> fail(e.getMessage()), thread -> true, 2);
+        queue.enqueue(message("m1"), message -> {});
+        queue.enqueue(message("m2"), message -> {});
+
+        // The queue is full, the sender waits for the writer
+        var sent = new CountDownLatch(1);
+        var sender = new Thread(() -> {
+            queue.enqueue(message("m3"), message -> {});
+            sent.countDown();
+        });
+        sender.start();
+        assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+
+        // The writer drains the queue, the sender is unblocked
+        writer.runAll();
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        sender.join(5000);
+    }
+
+    @Test
+    public void nonBlockingThreadDoesNotWaitForWriter() throws Exception {
+        var writer = new ManualExecutor();
+        var queue = new OutgoingMessageQueue(writer, e -> fail(e.getMessage()), thread -> !thread.getName().startsWith("listener"), 2);
+        queue.enqueue(message("m1"), message -> {});
+        queue.enqueue(message("m2"), message -> {});
+
+        // The queue is full, but the listener thread must never wait
+        var sent = new AtomicBoolean();
+        var listener = new Thread(() -> {
+            queue.enqueue(message("m3"), message -> {});
+            sent.set(true);
+        }, "listener-1");
+        listener.start();
+        listener.join(1000);
+
+        assertTrue(sent.get());
+        assertEquals(3, queue.getPendingMessageCount());
+        writer.runAll();
+        assertEquals(0, queue.getPendingMessageCount());
+    }
+
+    private static Message message(String method) {
+        var message = new NotificationMessage();
+        message.setMethod(method);
+        return message;
+    }
+}
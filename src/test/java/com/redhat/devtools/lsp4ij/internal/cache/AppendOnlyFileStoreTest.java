@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AppendOnlyFileStore}.
+ */
+public class AppendOnlyFileStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void putAndGet() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache/store");
+        try (var store = new AppendOnlyFileStore(file, 1024 * 1024)) {
+            store.put("a", bytes("foo"));
+            store.put("b", bytes("bar"));
+            store.put("a", bytes("baz"));
+
+            assertEquals("baz", string(store.get("a")));
+            assertEquals("bar", string(store.get("b")));
+            assertNull(store.get("c"));
+            assertEquals(2, store.size());
+        }
+        // Reopen the store
+        try (var store = new AppendOnlyFileStore(file, 1024 * 1024)) {
+            assertEquals("baz", string(store.get("a")));
+            assertEquals("bar", string(store.get("b")));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("store");
+        // A record of 'key<i>' with a value of 100 bytes takes 116 bytes, the file keeps 4 records after a compaction
+        try (var store = new AppendOnlyFileStore(file, 1000)) {
+            for (int i = 0; i < 6; i++) {
+                store.put("key" + i, new byte[100]);
+            }
+            // key0 is the most recently used entry
+            assertNotNull(store.get("key0"));
+            // key8 exceeds the max size and compacts the file
+            for (int i = 6; i < 9; i++) {
+                store.put("key" + i, new byte[100]);
+            }
+
+            assertTrue(store.getFileSize() <= 1000);
+            assertNotNull(store.get("key0"));
+            assertNull(store.get("key1"));
+            assertNull(store.get("key5"));
+            assertNotNull(store.get("key8"));
+            assertEquals(4, store.size());
+        }
+        try (var store = new AppendOnlyFileStore(file, 1000)) {
+            assertNotNull(store.get("key0"));
+            assertNull(store.get("key1"));
+            assertNotNull(store.get("key8"));
+            assertEquals(4, store.size());
+        }
+    }
+
+    @Test
+    public void ignoreTruncatedRecord() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("store");
+        long size;
+        try (var store = new AppendOnlyFileStore(file, 1024 * 1024)) {
+            store.put("a", bytes("foo"));
+            size = store.getFileSize();
+            store.put("b", bytes("bar"));
+        }
+        // Simulate a crash while the last record was written
+        try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        try (var store = new AppendOnlyFileStore(file, 1024 * 1024)) {
+            assertEquals("foo", string(store.get("a")));
+            assertNull(store.get("b"));
+            assertEquals(size, store.getFileSize());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+}
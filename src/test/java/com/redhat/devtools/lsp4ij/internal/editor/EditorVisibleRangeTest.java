@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.editor;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+/**
+ * Tests for {@link EditorVisibleRange}.
+ */
+public class EditorVisibleRangeTest extends BasePlatformTestCase {
+
+    public void testRangeAroundCaretUntilVisibleLinesAreComputed() {
+        // The editor of the test is not displayed, its visible lines are never computed
+        String text = "line\n".repeat(120) + "<caret>caret\n" + "line\n".repeat(200);
+        var file = myFixture.configureByText("test.txt", text);
+        var document = myFixture.getEditor().getDocument();
+
+        TextRange visibleRange = EditorVisibleRange.getVisibleRange(myFixture.getEditor());
+        assertNotNull(visibleRange);
+        assertEquals(70, document.getLineNumber(visibleRange.getStartOffset()));
+        assertEquals(170, document.getLineNumber(visibleRange.getEndOffset()));
+        assertEquals(visibleRange, EditorVisibleRange.getVisibleRange(file));
+    }
+
+    public void testRangeAroundCaretAtStartOfDocument() {
+        myFixture.configureByText("test.txt", "<caret>" + "line\n".repeat(10));
+        var document = myFixture.getEditor().getDocument();
+
+        TextRange visibleRange = EditorVisibleRange.getVisibleRange(myFixture.getEditor());
+        assertNotNull(visibleRange);
+        assertEquals(0, visibleRange.getStartOffset());
+        assertEquals(document.getTextLength(), visibleRange.getEndOffset());
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package com.redhat.devtools.lsp4ij.internal.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
+import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LSPTypeAdapters}.
+ */
+public class LSPTypeAdaptersTest {
+
+    private static final Gson GSON = new MessageJsonHandler(new HashMap<>(), LSPTypeAdapters::configure).getGson();
+
+    @Test
+    public void semanticTokens() {
+        var tokens = GSON.fromJson("{\"resultId\":\"1\",\"data\":[0,5,3,300,1,1,2,4,0,0]}", SemanticTokens.class);
+        assertEquals("1", tokens.getResultId());
+        assertTrue(tokens.getData() instanceof IntArrayList);
+        assertArrayEquals(new int[]{0, 5, 3, 300, 1, 1, 2, 4, 0, 0}, IntArrayList.toIntArray(tokens.getData()));
+        assertEquals(List.of(0, 5, 3, 300, 1, 1, 2, 4, 0, 0), tokens.getData());
+        assertEquals("{\"resultId\":\"1\",\"data\":[0,5,3,300,1,1,2,4,0,0]}", GSON.toJson(tokens));
+    }
+
+    @Test
+    public void semanticTokensDelta() {
+        var delta = GSON.fromJson("{\"resultId\":\"2\",\"edits\":[{\"start\":5,\"deleteCount\":1,\"data\":[2]},{\"start\":10,\"deleteCount\":0}]}",
+                SemanticTokensDelta.class);
+        assertEquals("2", delta.getResultId());
+        var edits = delta.getEdits();
+        assertEquals(new SemanticTokensEdit(5, 1, List.of(2)), edits.get(0));
+        assertTrue(edits.get(0).getData() instanceof IntArrayList);
+        assertEquals(10, edits.get(1).getStart());
+        assertNull(edits.get(1).getData());
+    }
+
+    @Test
+    public void otherIntegerListsAreNotDecodedAsIntArrayList() {
+        List<Integer> list = GSON.fromJson("[1,null,3]", new TypeToken<List<Integer>>() {
+        }.getType());
+        assertTrue(list instanceof ArrayList);
+        assertEquals(Arrays.asList(1, null, 3), list);
+        list.add(4);
+    }
+
+    @Test
+    public void completionItemWithTextEdit() {
+        var item = GSON.fromJson("""
+                {"label":"foo","kind":3,"sortText":"a","unknown":{"a":[1]},
+                 "textEdit":{"range":{"start":{"line":1,"character":2},"end":{"line":1,"character":4}},"newText":"foo()"},
+                 "documentation":"doc","data":{"id":1}}""", CompletionItem.class);
+        assertEquals("foo", item.getLabel());
+        assertEquals(CompletionItemKind.Function, item.getKind());
+        assertEquals("a", item.getSortText());
+        assertEquals("doc", item.getDocumentation().getLeft());
+        assertTrue(item.getTextEdit().isLeft());
+        assertEquals(new TextEdit(new Range(new Position(1, 2), new Position(1, 4)), "foo()"), item.getTextEdit().getLeft());
+        assertTrue(item.getData() instanceof JsonElement);
+        // The item is sent back as is with 'completionItem/resolve'
+        assertEquals(item, GSON.fromJson(GSON.toJson(item), CompletionItem.class));
+    }
+
+    @Test
+    public void completionItemWithInsertReplaceEdit() {
+        var item = GSON.fromJson("""
+                {"label":"foo",
+                 "textEdit":{"newText":"foo","insert":{"start":{"line":0,"character":1},"end":{"line":0,"character":2}},
+                             "replace":{"start":{"line":0,"character":1},"end":{"line":0,"character":5}}}}""", CompletionItem.class);
+        assertTrue(item.getTextEdit().isRight());
+        var edit = item.getTextEdit().getRight();
+        assertEquals("foo", edit.getNewText());
+        assertEquals(new Range(new Position(0, 1), new Position(0, 2)), edit.getInsert());
+        assertEquals(new Range(new Position(0, 1), new Position(0, 5)), edit.getReplace());
+    }
+}
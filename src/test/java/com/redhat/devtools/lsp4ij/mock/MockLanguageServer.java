@@ -190,6 +190,26 @@ public final class MockLanguageServer implements LanguageServer {
 		return this.textDocumentService.getDidChangeEvents();
 	}
 
+	public List<String> getReceivedMessages() {
+		return this.textDocumentService.getReceivedMessages();
+	}
+
+	public List<String> getResolvedCompletionItems() {
+		return this.textDocumentService.getResolvedCompletionItems();
+	}
+
+	public List<Integer> getInlayHintRequests() {
+		return this.textDocumentService.getInlayHintRequests();
+	}
+
+	public List<String> getDiagnosticRequests() {
+		return this.textDocumentService.getDiagnosticRequests();
+	}
+
+	public List<Integer> getResolvedCodeLenses() {
+		return this.textDocumentService.getResolvedCodeLenses();
+	}
+
 	public void setDidSaveCallback(CompletableFuture<DidSaveTextDocumentParams> didSaveExpectation) {
 		this.textDocumentService.setDidSaveCallback(didSaveExpectation);
 	}
@@ -270,6 +290,10 @@ public final class MockLanguageServer implements LanguageServer {
 		this.textDocumentService.setCodeActions(codeActions);
 	}
 
+	public void setCodeActionError(RuntimeException codeActionError) {
+		this.textDocumentService.setCodeActionError(codeActionError);
+	}
+
 	public void setSignatureHelp(SignatureHelp signatureHelp) {
 		this.textDocumentService.setSignatureHelp(signatureHelp);
 	}
@@ -52,12 +52,23 @@ public class MockTextDocumentService implements TextDocumentService {
     private CompletableFuture<DidCloseTextDocumentParams> didCloseCallback;
     private List<TextEdit> mockWillSaveWaitUntilTextEdits;
     private ConcurrentLinkedQueue<DidChangeTextDocumentParams> didChangeEvents = new ConcurrentLinkedQueue<>();
+    // Names of the LSP messages received by the language server, in the reception order
+    private ConcurrentLinkedQueue<String> receivedMessages = new ConcurrentLinkedQueue<>();
+    // Labels of the completion items received by 'completionItem/resolve'
+    private ConcurrentLinkedQueue<String> resolvedCompletionItems = new ConcurrentLinkedQueue<>();
+    // Start lines of the code lenses received by 'codeLens/resolve'
+    private ConcurrentLinkedQueue<Integer> resolvedCodeLenses = new ConcurrentLinkedQueue<>();
+    // Start lines of the ranges received by 'textDocument/inlayHint'
+    private ConcurrentLinkedQueue<Integer> inlayHintRequests = new ConcurrentLinkedQueue<>();
+    // Uris of the documents received by 'textDocument/diagnostic'
+    private ConcurrentLinkedQueue<String> diagnosticRequests = new ConcurrentLinkedQueue<>();
 
     private Function<?, ? extends CompletableFuture<?>> _futureFactory;
     private List<LanguageClient> remoteProxies;
     private Location[] mockReferences = new Location[0];
     private List<Diagnostic> diagnostics;
     private List<Either<Command, CodeAction>> mockCodeActions;
+    private RuntimeException mockCodeActionError;
     private List<ColorInformation> mockDocumentColors;
     private Function<PrepareRenameParams, Either3<Range, PrepareRenameResult, PrepareRenameDefaultBehavior>> prepareRenameProcessor;
     private Function<RenameParams, WorkspaceEdit> renameProcessor;
@@ -77,6 +88,7 @@ public class MockTextDocumentService implements TextDocumentService {
         this.remoteProxies = new ArrayList<>();
         this.documentSymbols = Collections.emptyList();
         this.codeActionRequests = 0;
+        this.receivedMessages.clear();
     }
 
     private <U> CompletableFuture<U> futureFactory(U value) {
@@ -85,12 +97,15 @@ public class MockTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(CompletionParams position) {
+        receivedMessages.add("textDocument/completion");
         return futureFactory(Either.forRight(mockCompletionList));
     }
 
     @Override
     public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
-        return CompletableFuture.completedFuture(mockCompletionItem);
+        receivedMessages.add("completionItem/resolve");
+        resolvedCompletionItems.add(unresolved.getLabel());
+        return futureFactory(mockCompletionItem);
     }
 
     @Override
@@ -144,6 +159,9 @@ public class MockTextDocumentService implements TextDocumentService {
     @Override
     public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
         codeActionRequests++;
+        if (mockCodeActionError != null) {
+            return CompletableFuture.failedFuture(mockCodeActionError);
+        }
         return futureFactory(this.mockCodeActions);
     }
 
@@ -162,7 +180,24 @@ public class MockTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<CodeLens> resolveCodeLens(CodeLens unresolved) {
-        return CompletableFuture.completedFuture(null);
+        receivedMessages.add("codeLens/resolve");
+        resolvedCodeLenses.add(unresolved.getRange().getStart().getLine());
+        return futureFactory(null);
+    }
+
+    @Override
+    public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
+        receivedMessages.add("textDocument/inlayHint");
+        inlayHintRequests.add(params.getRange().getStart().getLine());
+        // An inlay hint at the start of the requested range
+        return futureFactory(List.of(new InlayHint(params.getRange().getStart(), Either.forLeft("hint"))));
+    }
+
+    @Override
+    public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
+        receivedMessages.add("textDocument/diagnostic");
+        diagnosticRequests.add(params.getTextDocument().getUri());
+        return futureFactory(new DocumentDiagnosticReport(new RelatedFullDocumentDiagnosticReport(Collections.emptyList())));
     }
 
     @Override
@@ -193,6 +228,7 @@ public class MockTextDocumentService implements TextDocumentService {
 
     @Override
     public void didOpen(DidOpenTextDocumentParams params) {
+        receivedMessages.add("textDocument/didOpen");
         if (didOpenCallback != null) {
             didOpenCallback.complete(params);
             didOpenCallback = null;
@@ -223,6 +259,7 @@ public class MockTextDocumentService implements TextDocumentService {
     @Override
     public void didChange(DidChangeTextDocumentParams params) {
         this.didChangeEvents.add(params);
+        receivedMessages.add("textDocument/didChange");
     }
 
     @Override
@@ -281,6 +318,26 @@ public class MockTextDocumentService implements TextDocumentService {
         return new ArrayList<>(this.didChangeEvents);
     }
 
+    public List<String> getReceivedMessages() {
+        return new ArrayList<>(this.receivedMessages);
+    }
+
+    public List<String> getResolvedCompletionItems() {
+        return new ArrayList<>(this.resolvedCompletionItems);
+    }
+
+    public List<Integer> getResolvedCodeLenses() {
+        return new ArrayList<>(this.resolvedCodeLenses);
+    }
+
+    public List<Integer> getInlayHintRequests() {
+        return new ArrayList<>(this.inlayHintRequests);
+    }
+
+    public List<String> getDiagnosticRequests() {
+        return new ArrayList<>(this.diagnosticRequests);
+    }
+
     public void setDidSaveCallback(CompletableFuture<DidSaveTextDocumentParams> didSaveExpectation) {
         this.didSaveCallback = didSaveExpectation;
     }
@@ -323,6 +380,7 @@ public class MockTextDocumentService implements TextDocumentService {
         this.mockReferences = null;
         this.remoteProxies = new ArrayList<>();
         this.mockCodeActions = new ArrayList<>();
+        this.mockCodeActionError = null;
         this.renameProcessor = null;
         this.prepareRenameProcessor = null;
         this.documentSymbols = Collections.emptyList();
@@ -338,6 +396,10 @@ public class MockTextDocumentService implements TextDocumentService {
         this.remoteProxies.add(remoteProxy);
     }
 
+    public void setCodeActionError(RuntimeException codeActionError) {
+        this.mockCodeActionError = codeActionError;
+    }
+
     public void setCodeActions(List<Either<Command, CodeAction>> codeActions) {
         this.mockCodeActions = codeActions;
     }
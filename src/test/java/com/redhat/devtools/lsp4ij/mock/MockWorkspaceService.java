@@ -17,8 +17,10 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 
 /**
@@ -29,6 +31,12 @@ public class MockWorkspaceService implements WorkspaceService {
 	private Function<?, ?> _futureFactory;
 	private CompletableFuture<ExecuteCommandParams> executedCommand = new CompletableFuture<>();
 	private List<DidChangeWorkspaceFoldersParams> workspaceFoldersEvents = new ArrayList<>();
+	private List<? extends WorkspaceSymbol> workspaceSymbols = Collections.emptyList();
+	private WorkspaceSymbol resolvedWorkspaceSymbol;
+	// Queries received by 'workspace/symbol', in the reception order
+	private ConcurrentLinkedQueue<String> workspaceSymbolQueries = new ConcurrentLinkedQueue<>();
+	// Names of the workspace symbols received by 'workspaceSymbol/resolve'
+	private ConcurrentLinkedQueue<String> resolvedWorkspaceSymbols = new ConcurrentLinkedQueue<>();
 
 	public <U> MockWorkspaceService(Function<U, CompletableFuture<U>> futureFactory) {
 		this._futureFactory = futureFactory;
@@ -47,8 +55,30 @@ public class MockWorkspaceService implements WorkspaceService {
 	@Override
 	public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(
 			WorkspaceSymbolParams params) {
-		// TODO Auto-generated method stub
-		return null;
+		workspaceSymbolQueries.add(params.getQuery());
+		return futureFactory(Either.forRight(workspaceSymbols));
+	}
+
+	@Override
+	public CompletableFuture<WorkspaceSymbol> resolveWorkspaceSymbol(WorkspaceSymbol workspaceSymbol) {
+		resolvedWorkspaceSymbols.add(workspaceSymbol.getName());
+		return futureFactory(resolvedWorkspaceSymbol);
+	}
+
+	public void setWorkspaceSymbols(List<? extends WorkspaceSymbol> workspaceSymbols) {
+		this.workspaceSymbols = workspaceSymbols;
+	}
+
+	public void setResolvedWorkspaceSymbol(WorkspaceSymbol resolvedWorkspaceSymbol) {
+		this.resolvedWorkspaceSymbol = resolvedWorkspaceSymbol;
+	}
+
+	public List<String> getWorkspaceSymbolQueries() {
+		return new ArrayList<>(this.workspaceSymbolQueries);
+	}
+
+	public List<String> getResolvedWorkspaceSymbols() {
+		return new ArrayList<>(this.resolvedWorkspaceSymbols);
 	}
 
 	@Override